@@ -0,0 +1,44 @@
+package org.folio;
+
+import static org.folio.support.kafka.KafkaConfigConstants.DOMAIN_EVENT_RETRY_BATCH_SIZE;
+import static org.folio.support.kafka.KafkaConfigConstants.DOMAIN_EVENT_RETRY_INTERVAL_MS;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.service.event.DomainEventRetryService;
+import org.folio.support.kafka.KafkaProducerPool;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Promise;
+
+/**
+ * Periodically replays the domain events that could not be sent to Kafka when they were
+ * published.
+ */
+public class DomainEventRetryVerticle extends AbstractVerticle {
+
+  private static final Logger log = LogManager.getLogger(DomainEventRetryVerticle.class);
+
+  private long timerId;
+
+  @Override
+  public void start(Promise<Void> promise) {
+    int batchSize = config().getInteger(DOMAIN_EVENT_RETRY_BATCH_SIZE);
+    long intervalMs = config().getLong(DOMAIN_EVENT_RETRY_INTERVAL_MS);
+
+    log.info("start:: starting verticle, batchSize = {}, intervalMs = {}", batchSize, intervalMs);
+
+    DomainEventRetryService retryService = new DomainEventRetryService(vertx,
+      KafkaProducerPool.getInstance(vertx), batchSize);
+
+    timerId = vertx.setPeriodic(intervalMs, id -> retryService.retryAllTenants());
+    promise.complete();
+  }
+
+  @Override
+  public void stop(Promise<Void> promise) {
+    vertx.cancelTimer(timerId);
+    promise.complete();
+  }
+
+}
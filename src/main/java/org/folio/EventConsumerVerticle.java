@@ -1,6 +1,7 @@
 package org.folio;
 
 import static java.util.stream.Collectors.toList;
+import static org.apache.kafka.clients.CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG;
 import static org.folio.rest.tools.utils.ModuleName.getModuleName;
 import static org.folio.rest.tools.utils.ModuleName.getModuleVersion;
 import static org.folio.service.event.InventoryEventType.INVENTORY_ITEM_UPDATED;
@@ -9,6 +10,19 @@ import static org.folio.service.event.InventoryEventType.INVENTORY_LOCATION_DELE
 import static org.folio.service.event.InventoryEventType.INVENTORY_LOCATION_UPDATED;
 import static org.folio.service.event.InventoryEventType.INVENTORY_SERVICE_POINT_DELETED;
 import static org.folio.service.event.InventoryEventType.INVENTORY_SERVICE_POINT_UPDATED;
+import static org.folio.support.DbUtil.findTenantsWithTable;
+import static org.folio.support.ModuleConstants.INVENTORY_EVENT_PROCESSED_RECORD_TABLE;
+import static org.folio.support.kafka.topic.CirculationStorageKafkaTopic.CIRCULATION_SETTINGS;
+import static org.folio.support.kafka.topic.CirculationStorageKafkaTopic.REFERENCE_DATA;
+import static org.folio.support.kafka.topic.CirculationStorageKafkaTopic.RULES;
+import static org.folio.support.kafka.KafkaConfigConstants.EVENT_CONSUMER_LAG_INTERVAL_MS;
+import static org.folio.support.kafka.KafkaConfigConstants.EVENT_CONSUMER_LOAD_LIMIT;
+import static org.folio.support.kafka.KafkaConfigConstants.EVENT_CONSUMER_NODE_ID;
+import static org.folio.support.kafka.KafkaConfigConstants.INVENTORY_EVENT_BATCH_SIZE;
+import static org.folio.support.kafka.KafkaConfigConstants.INVENTORY_EVENT_BATCH_WINDOW_MS;
+import static org.folio.support.kafka.KafkaConfigConstants.INVENTORY_EVENT_DEDUP_MAX_SIZE;
+import static org.folio.support.kafka.KafkaConfigConstants.INVENTORY_EVENT_DEDUP_PERSISTENT;
+import static org.folio.support.kafka.KafkaConfigConstants.INVENTORY_EVENT_DEDUP_WINDOW_MS;
 import static org.folio.support.kafka.KafkaConfigConstants.KAFKA_ENV;
 import static org.folio.support.kafka.KafkaConfigConstants.KAFKA_HOST;
 import static org.folio.support.kafka.KafkaConfigConstants.KAFKA_MAX_REQUEST_SIZE;
@@ -16,8 +30,11 @@ import static org.folio.support.kafka.KafkaConfigConstants.KAFKA_PORT;
 import static org.folio.support.kafka.KafkaConfigConstants.KAFKA_REPLICATION_FACTOR;
 import static org.folio.support.kafka.KafkaConfigConstants.OKAPI_URL;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -27,17 +44,34 @@ import org.folio.kafka.KafkaConfig;
 import org.folio.kafka.KafkaConsumerWrapper;
 import org.folio.kafka.SubscriptionDefinition;
 import org.folio.kafka.services.KafkaTopic;
+import org.folio.persist.InventoryEventDeadLetterRepository;
+import org.folio.persist.InventoryEventProcessedRecordRepository;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.service.CirculationRulesCache;
+import org.folio.service.CirculationSettingsCache;
+import org.folio.service.ReferenceDataCache;
+import org.folio.service.TenantCache;
 import org.folio.service.event.InventoryEventType;
+import org.folio.service.event.handler.BatchingRecordHandler;
+import org.folio.service.event.handler.CacheInvalidationEventHandler;
+import org.folio.service.event.handler.DeadLetterRecordHandler;
+import org.folio.service.event.handler.DeduplicatingRecordHandler;
 import org.folio.service.event.handler.ItemUpdateEventHandler;
+import org.folio.service.event.handler.KeyOrderedRecordHandler;
 import org.folio.service.event.handler.LocationDeleteEventHandler;
 import org.folio.service.event.handler.LocationUpdateEventHandler;
+import org.folio.service.event.handler.MeasuredRecordHandler;
+import org.folio.service.event.handler.ProcessedRecordCache;
 import org.folio.service.event.handler.ServicePointDeleteEventHandler;
 import org.folio.service.event.handler.ServicePointUpdateEventHandler;
+import org.folio.support.kafka.ConsumerLagMonitor;
+import org.folio.support.kafka.topic.CirculationStorageKafkaTopic;
 
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.admin.KafkaAdminClient;
 
 public class EventConsumerVerticle extends AbstractVerticle {
 
@@ -47,12 +81,18 @@ public class EventConsumerVerticle extends AbstractVerticle {
   private static final String MODULE_ID = getModuleId();
 
   private final List<KafkaConsumerWrapper<String, String>> consumers = new ArrayList<>();
+  private final Map<String, String> groupIdByEventType = new HashMap<>();
+  private ConsumerLagMonitor lagMonitor;
+  private long lagTimerId = -1;
+  private long dedupCleanupTimerId = -1;
 
   @Override
   public void start(Promise<Void> promise) {
     log.info("start:: starting verticle");
 
     createConsumers()
+      .onSuccess(v -> startLagMonitor())
+      .onSuccess(v -> startDedupCleanup())
       .onSuccess(v -> log.info("start:: verticle started"))
       .onFailure(t -> log.error("start:: verticle start failed", t))
       .onComplete(promise);
@@ -62,12 +102,59 @@ public class EventConsumerVerticle extends AbstractVerticle {
   public void stop(Promise<Void> promise) {
     log.info("stop:: stopping verticle");
 
-    stopConsumers()
+    vertx.cancelTimer(dedupCleanupTimerId);
+    stopLagMonitor()
+      .compose(v -> stopConsumers())
       .onSuccess(v -> log.info("stop:: verticle stopped"))
       .onFailure(t -> log.error("stop:: verticle stop failed", t))
       .onComplete(promise);
   }
 
+  /**
+   * Records the lag of the consumer groups periodically, see {@link ConsumerLagMonitor}.
+   */
+  private void startLagMonitor() {
+    long intervalMs = config().getLong(EVENT_CONSUMER_LAG_INTERVAL_MS, 0L);
+    if (intervalMs <= 0) {
+      return;
+    }
+
+    var adminClient = KafkaAdminClient.create(vertx,
+      Map.of(BOOTSTRAP_SERVERS_CONFIG, getKafkaConfig().getKafkaUrl()));
+    lagMonitor = new ConsumerLagMonitor(adminClient, Map.copyOf(groupIdByEventType));
+    lagTimerId = vertx.setPeriodic(intervalMs, id -> lagMonitor.update());
+  }
+
+  /**
+   * Deletes the processed records that are outside of the dedup window periodically, when
+   * the processed records are persisted.
+   */
+  private void startDedupCleanup() {
+    long windowMs = getDedupWindowMs();
+    if (windowMs <= 0 || !isDedupPersistent()) {
+      return;
+    }
+
+    dedupCleanupTimerId = vertx.setPeriodic(windowMs, id ->
+      findTenantsWithTable(vertx, INVENTORY_EVENT_PROCESSED_RECORD_TABLE)
+        .compose(tenants -> Future.join(tenants.stream()
+          .map(tenantId -> getProcessedRecordRepository(tenantId).deleteExpired(windowMs))
+          .toList()))
+        .onFailure(t -> log.warn("startDedupCleanup:: failed to delete expired processed " +
+          "records", t)));
+  }
+
+  private Future<Void> stopLagMonitor() {
+    if (lagMonitor == null) {
+      return Future.succeededFuture();
+    }
+
+    vertx.cancelTimer(lagTimerId);
+    return lagMonitor.close()
+      .onFailure(t -> log.warn("stop:: failed to close consumer lag monitor", t))
+      .recover(t -> Future.succeededFuture());
+  }
+
   private Future<Void> stopConsumers() {
     return Future.all(
       consumers.stream()
@@ -82,8 +169,7 @@ public class EventConsumerVerticle extends AbstractVerticle {
     final KafkaConfig config = getKafkaConfig();
     var locationDeleteHandler = new LocationDeleteEventHandler();
 
-    return createInventoryEventConsumer(INVENTORY_ITEM_UPDATED, config,
-      new ItemUpdateEventHandler(context))
+    return createItemUpdateEventConsumer(config)
       .compose(r -> createInventoryEventConsumer(INVENTORY_SERVICE_POINT_UPDATED, config,
         new ServicePointUpdateEventHandler(context)))
       .compose(r -> createInventoryEventConsumer(INVENTORY_SERVICE_POINT_DELETED, config,
@@ -94,34 +180,152 @@ public class EventConsumerVerticle extends AbstractVerticle {
         locationDeleteHandler))
       .compose(r -> createInventoryEventConsumer(INVENTORY_LOCATION_DELETED_ALL, config,
         locationDeleteHandler))
+      .compose(r -> createCacheInvalidationEventConsumer(CIRCULATION_SETTINGS, config,
+        CirculationSettingsCache.getInstance()))
+      .compose(r -> createCacheInvalidationEventConsumer(RULES, config,
+        CirculationRulesCache.getInstance()))
+      .compose(r -> createCacheInvalidationEventConsumer(REFERENCE_DATA, config,
+        ReferenceDataCache.allTables()))
       .mapEmpty();
   }
 
+  /**
+   * Events of cached data are consumed in a consumer group of this node, so that each node
+   * invalidates its own cache. The group is named after the stable id of the node, so a
+   * restarted node reuses its group instead of leaving an orphaned one behind.
+   */
+  private Future<KafkaConsumerWrapper<String, String>> createCacheInvalidationEventConsumer(
+    CirculationStorageKafkaTopic topic, KafkaConfig kafkaConfig, TenantCache cache) {
+
+    SubscriptionDefinition subscriptionDefinition = SubscriptionDefinition.builder()
+      .eventType(topic.name())
+      .subscriptionPattern(buildSubscriptionPattern(topic, kafkaConfig))
+      .build();
+
+    return createConsumer(kafkaConfig, subscriptionDefinition,
+      new CacheInvalidationEventHandler(cache), DEFAULT_LOAD_LIMIT,
+      MODULE_ID + "." + config().getString(EVENT_CONSUMER_NODE_ID));
+  }
+
+  /**
+   * Item update events are processed in batches when a batch size greater than 1 is
+   * configured, the consumer then keeps up to a batch of records in flight. The records of
+   * the same key are not held back by a {@link KeyOrderedRecordHandler}, so that they can be
+   * coalesced in one batch, the batches themselves are processed in order.
+   */
+  private Future<KafkaConsumerWrapper<String, String>> createItemUpdateEventConsumer(
+    KafkaConfig kafkaConfig) {
+
+    JsonObject vertxConfig = config();
+    int batchSize = vertxConfig.getInteger(INVENTORY_EVENT_BATCH_SIZE, 1);
+    var itemUpdateEventHandler = new ItemUpdateEventHandler(context);
+
+    if (batchSize <= 1) {
+      return createInventoryEventConsumer(INVENTORY_ITEM_UPDATED, kafkaConfig,
+        itemUpdateEventHandler);
+    }
+
+    long windowMs = vertxConfig.getLong(INVENTORY_EVENT_BATCH_WINDOW_MS);
+    log.info("createItemUpdateEventConsumer:: processing item update events in batches of " +
+      "up to {} record(s) collected within {} ms", batchSize, windowMs);
+
+    return createInventoryEventConsumer(INVENTORY_ITEM_UPDATED, kafkaConfig,
+      new BatchingRecordHandler(vertx, batchSize, windowMs, itemUpdateEventHandler::handleBatch),
+      Math.max(batchSize, getLoadLimit(INVENTORY_ITEM_UPDATED)), false);
+  }
+
   private Future<KafkaConsumerWrapper<String, String>> createInventoryEventConsumer(
     InventoryEventType eventType, KafkaConfig kafkaConfig,
     AsyncRecordHandler<String, String> handler) {
 
+    return createInventoryEventConsumer(eventType, kafkaConfig, handler, getLoadLimit(eventType),
+      true);
+  }
+
+  private int getLoadLimit(InventoryEventType eventType) {
+    JsonObject loadLimits = config().getJsonObject(EVENT_CONSUMER_LOAD_LIMIT, new JsonObject());
+    return loadLimits.getInteger(eventType.name(), DEFAULT_LOAD_LIMIT);
+  }
+
+  private Future<KafkaConsumerWrapper<String, String>> createInventoryEventConsumer(
+    InventoryEventType eventType, KafkaConfig kafkaConfig,
+    AsyncRecordHandler<String, String> handler, int loadLimit, boolean keyOrdered) {
+
     SubscriptionDefinition subscriptionDefinition = SubscriptionDefinition.builder()
       .eventType(eventType.name())
       .subscriptionPattern(buildSubscriptionPattern(eventType.getKafkaTopic(), kafkaConfig))
       .build();
 
-    return createConsumer(kafkaConfig, subscriptionDefinition, handler);
+    groupIdByEventType.put(eventType.name(), eventType.name() + "." + MODULE_ID);
+
+    // records are handled concurrently up to the load limit, but in order for the same key,
+    // records that fail are parked in the dead-letter table so that the partition moves on
+    AsyncRecordHandler<String, String> recordHandler = deduplicating(eventType,
+      new DeadLetterRecordHandler(eventType.name(), this::getDeadLetterRepository,
+        new MeasuredRecordHandler(eventType.name(), handler)));
+
+    return createConsumer(kafkaConfig, subscriptionDefinition,
+      keyOrdered ? new KeyOrderedRecordHandler(recordHandler) : recordHandler, loadLimit);
+  }
+
+  /**
+   * Records delivered again within the dedup window, e.g. after a rebalance, are skipped.
+   */
+  private AsyncRecordHandler<String, String> deduplicating(InventoryEventType eventType,
+    AsyncRecordHandler<String, String> handler) {
+
+    long windowMs = getDedupWindowMs();
+    if (windowMs <= 0) {
+      return handler;
+    }
+
+    var processedRecords = ProcessedRecordCache.getInstance(vertx, Duration.ofMillis(windowMs),
+      config().getLong(INVENTORY_EVENT_DEDUP_MAX_SIZE));
+
+    return isDedupPersistent()
+      ? new DeduplicatingRecordHandler(eventType.name(), processedRecords,
+        this::getProcessedRecordRepository, handler)
+      : new DeduplicatingRecordHandler(eventType.name(), processedRecords, handler);
+  }
+
+  private long getDedupWindowMs() {
+    return config().getLong(INVENTORY_EVENT_DEDUP_WINDOW_MS, 0L);
+  }
+
+  private boolean isDedupPersistent() {
+    return config().getBoolean(INVENTORY_EVENT_DEDUP_PERSISTENT, false);
+  }
+
+  private InventoryEventProcessedRecordRepository getProcessedRecordRepository(String tenantId) {
+    return new InventoryEventProcessedRecordRepository(PostgresClient.getInstance(vertx, tenantId));
+  }
+
+  private InventoryEventDeadLetterRepository getDeadLetterRepository(String tenantId) {
+    return new InventoryEventDeadLetterRepository(PostgresClient.getInstance(vertx, tenantId));
+  }
+
+  private Future<KafkaConsumerWrapper<String, String>> createConsumer(KafkaConfig kafkaConfig,
+    SubscriptionDefinition subscriptionDefinition, AsyncRecordHandler<String, String> recordHandler,
+    int loadLimit) {
+
+    return createConsumer(kafkaConfig, subscriptionDefinition, recordHandler, loadLimit,
+      MODULE_ID);
   }
 
   private Future<KafkaConsumerWrapper<String, String>> createConsumer(KafkaConfig kafkaConfig,
-    SubscriptionDefinition subscriptionDefinition, AsyncRecordHandler<String, String> recordHandler) {
+    SubscriptionDefinition subscriptionDefinition, AsyncRecordHandler<String, String> recordHandler,
+    int loadLimit, String groupSuffix) {
 
     var consumer = KafkaConsumerWrapper.<String, String>builder()
       .context(context)
       .vertx(vertx)
       .kafkaConfig(kafkaConfig)
-      .loadLimit(DEFAULT_LOAD_LIMIT)
+      .loadLimit(loadLimit)
       .globalLoadSensor(new GlobalLoadSensor())
       .subscriptionDefinition(subscriptionDefinition)
       .build();
 
-    return consumer.start(recordHandler, MODULE_ID)
+    return consumer.start(recordHandler, groupSuffix)
       .onSuccess(v -> consumers.add(consumer))
       .map(consumer);
   }
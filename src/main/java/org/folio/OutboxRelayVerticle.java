@@ -0,0 +1,55 @@
+package org.folio;
+
+import static org.folio.service.event.OutboxRelayService.OUTBOX_RELAY_ADDRESS;
+import static org.folio.support.kafka.KafkaConfigConstants.OUTBOX_RELAY_BATCH_SIZE;
+import static org.folio.support.kafka.KafkaConfigConstants.OUTBOX_RELAY_INTERVAL_MS;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.service.event.OutboxRelayService;
+import org.folio.support.kafka.KafkaProducerPool;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Promise;
+import io.vertx.core.eventbus.MessageConsumer;
+
+/**
+ * Drains the domain event outbox to Kafka. Every tenant is relayed periodically so that
+ * events left behind by a broker outage or a restart are caught up, and a tenant is relayed
+ * immediately when a request has committed new events.
+ */
+public class OutboxRelayVerticle extends AbstractVerticle {
+
+  private static final Logger log = LogManager.getLogger(OutboxRelayVerticle.class);
+
+  private long timerId;
+  private MessageConsumer<String> consumer;
+
+  @Override
+  public void start(Promise<Void> promise) {
+    int batchSize = config().getInteger(OUTBOX_RELAY_BATCH_SIZE);
+    long intervalMs = config().getLong(OUTBOX_RELAY_INTERVAL_MS);
+
+    log.info("start:: starting verticle, batchSize = {}, intervalMs = {}", batchSize, intervalMs);
+
+    OutboxRelayService relayService = new OutboxRelayService(vertx,
+      KafkaProducerPool.getInstance(vertx), batchSize);
+
+    timerId = vertx.setPeriodic(intervalMs, id -> relayService.relayAllTenants());
+    consumer = vertx.eventBus().<String>localConsumer(OUTBOX_RELAY_ADDRESS,
+      message -> relayService.relay(message.body()));
+
+    consumer.completion()
+      .onSuccess(v -> log.info("start:: verticle started"))
+      .onFailure(t -> log.error("start:: verticle start failed", t))
+      .onComplete(promise);
+  }
+
+  @Override
+  public void stop(Promise<Void> promise) {
+    vertx.cancelTimer(timerId);
+    consumer.unregister()
+      .onComplete(promise);
+  }
+
+}
@@ -3,6 +3,7 @@ package org.folio.persist;
 import static io.vertx.core.Future.succeededFuture;
 import static io.vertx.core.Promise.promise;
 import static java.lang.String.format;
+import static org.folio.support.DbUtil.rowSetToStream;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -12,22 +13,47 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.folio.dbschema.ObjectMapperTool;
 import org.folio.rest.persist.Criteria.Criterion;
 import org.folio.rest.persist.cql.CQLWrapper;
 import org.folio.cql2pgjson.CQL2PgJSON;
+import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.SQLConnection;
 import org.folio.rest.persist.interfaces.Results;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.json.JsonArray;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
 
 public abstract class AbstractRepository<T> {
 
+  private static final ObjectMapper MAPPER = ObjectMapperTool.getMapper();
+  private static final String UPSERT_RETURNING_OLD_AND_NEW_SQL =
+    "WITH old_record AS (SELECT jsonb FROM %s WHERE id = $1::uuid FOR UPDATE), " +
+    "new_record AS (INSERT INTO %s (id, jsonb) VALUES ($1::uuid, $2) " +
+    "ON CONFLICT (id) DO UPDATE SET jsonb = EXCLUDED.jsonb RETURNING jsonb, xmax = 0 AS inserted) " +
+    "SELECT (SELECT jsonb FROM old_record) AS old_jsonb, new_record.jsonb AS new_jsonb, " +
+    "new_record.inserted FROM new_record";
+
+  private static final String DELETE_BY_ID_RETURNING_SQL =
+    "DELETE FROM %s WHERE id = $1::uuid RETURNING jsonb";
+
+  // %1$s: table, %2$s: property
+  private static final String SELECT_BY_PROPERTY_VALUES_SQL = "SELECT jsonb FROM %1$s " +
+    "WHERE jsonb->>'%2$s' = ANY($1)";
+
+  // %1$s: table, %2$s: new jsonb, %3$s: criterion (WHERE clause), %4$s: changed condition
+  private static final String UPDATE_PROPERTIES_SQL = "UPDATE %1$s SET jsonb = %2$s " +
+    "WHERE id IN (SELECT id FROM %1$s %3$s) AND (%4$s)";
+
   protected final PostgresClient postgresClient;
   protected final String tableName;
   protected final Class<T> recordType;
@@ -44,6 +70,10 @@ public abstract class AbstractRepository<T> {
     return postgresClient.saveAndReturnUpdatedEntity(tableName, id, entity);
   }
 
+  public Future<T> saveAndReturnUpdatedEntity(Conn conn, String id, T entity) {
+    return conn.saveAndReturnUpdatedEntity(tableName, id, entity);
+  }
+
   public Future<String> save(String id, T entity) {
     return postgresClient.save(tableName, id, entity);
   }
@@ -68,6 +98,18 @@ public abstract class AbstractRepository<T> {
     return getItemsResult.future().map(Results::getResults);
   }
 
+  /**
+   * Returns the records having any of the values of the top-level string property, using a
+   * single {@code = ANY($1)} condition.
+   */
+  public Future<List<T>> getByPropertyValues(String property, Collection<String> values) {
+    return postgresClient.execute(format(SELECT_BY_PROPERTY_VALUES_SQL, fullTableName(),
+        property), Tuple.tuple().addArrayOfString(values.toArray(String[]::new)))
+      .map(rowSet -> rowSetToStream(rowSet)
+        .map(row -> toRecord(row.getValue("jsonb")))
+        .toList());
+  }
+
   public Future<Map<String, T>> getById(Collection<String> ids) {
     final Promise<Map<String, T>> promise = promise();
 
@@ -117,6 +159,72 @@ public abstract class AbstractRepository<T> {
     return postgresClient.upsert(tableName, id, rec);
   }
 
+  /**
+   * Upserts the record and returns its jsonb before and after the change, including
+   * the changes made by triggers, in a single statement. Whether the record was created
+   * is decided by the insert itself: when a concurrent request creates the record first,
+   * this upsert is an update and its old record is unknown ({@code null}).
+   */
+  public Future<UpsertResult<T>> upsertAndReturnOldAndNew(Conn conn, String id, T rec) {
+    try {
+      return conn.execute(format(UPSERT_RETURNING_OLD_AND_NEW_SQL, fullTableName(), fullTableName()),
+          Tuple.of(id, PostgresClient.pojo2JsonObject(rec)))
+        .map(rowSet -> {
+          Row row = rowSet.iterator().next();
+          return new UpsertResult<>(toRecord(row.getValue("old_jsonb")),
+            toRecord(row.getValue("new_jsonb")), row.getBoolean("inserted"));
+        });
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Sets string properties of the records matching the criterion with a single statement,
+   * without loading the records. Records that already have the new values, or that lack
+   * the object containing a property, are not written. Returns the number of updated records.
+   */
+  public Future<Integer> updateProperties(Criterion criterion, List<PropertyUpdate> updates) {
+    Tuple parameters = Tuple.tuple();
+    String newJsonb = "jsonb";
+    List<String> changedConditions = new ArrayList<>();
+
+    for (PropertyUpdate update : updates) {
+      List<String> path = update.path();
+      parameters.addArrayOfString(path.toArray(String[]::new));
+      int pathParameter = parameters.size();
+
+      if (update.value() == null) {
+        newJsonb = format("(%s #- $%d)", newJsonb, pathParameter);
+        changedConditions.add(format("jsonb #> $%d IS NOT NULL", pathParameter));
+        continue;
+      }
+
+      parameters.addString(update.value());
+      int valueParameter = parameters.size();
+      newJsonb = format("jsonb_set(%s, $%d, to_jsonb($%d::text))", newJsonb, pathParameter,
+        valueParameter);
+      String changedCondition = format("jsonb #>> $%d IS DISTINCT FROM $%d", pathParameter,
+        valueParameter);
+      if (path.size() > 1) {
+        parameters.addArrayOfString(path.subList(0, path.size() - 1).toArray(String[]::new));
+        changedCondition += format(" AND jsonb_typeof(jsonb #> $%d) = 'object'",
+          parameters.size());
+      }
+      changedConditions.add("(" + changedCondition + ")");
+    }
+
+    String sql = format(UPDATE_PROPERTIES_SQL, fullTableName(), newJsonb, criterion,
+      String.join(" OR ", changedConditions));
+
+    return postgresClient.execute(sql, parameters)
+      .map(RowSet::rowCount);
+  }
+
+  public <R> Future<R> withTrans(Function<Conn, Future<R>> function) {
+    return postgresClient.withTrans(function);
+  }
+
   public Future<RowSet<Row>> deleteAll() {
     return postgresClient.delete(tableName, new Criterion());
   }
@@ -128,16 +236,57 @@ public abstract class AbstractRepository<T> {
    */
   public Future<RowSet<Row>> deleteByCql(String cql) {
     try {
-      CQLWrapper cqlWrapper = new CQLWrapper(new CQL2PgJSON(tableName + ".jsonb"), cql, -1, -1);
-      String sql = "DELETE FROM " + postgresClient.getSchemaName() + "." + tableName
-        + " " + cqlWrapper.getWhereClause()
-        + " RETURNING id::text, jsonb::text";
-      return postgresClient.execute(sql);
+      return postgresClient.execute(deleteByCqlSql(cql));
     } catch (Exception e) {
       return Future.failedFuture(e);
     }
   }
 
+  /**
+   * Same as {@link #deleteByCql(String)} but runs within the transaction of the connection.
+   */
+  public Future<RowSet<Row>> deleteByCql(Conn conn, String cql) {
+    try {
+      return conn.execute(deleteByCqlSql(cql));
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Deletes the record within the transaction of the connection and returns it as it was
+   * before the delete, or {@code null} when there is no record with the id.
+   */
+  public Future<T> deleteById(Conn conn, String id) {
+    return conn.execute(format(DELETE_BY_ID_RETURNING_SQL, fullTableName()), Tuple.of(id))
+      .map(rowSet -> rowSet.rowCount() == 0
+        ? null
+        : toRecord(rowSet.iterator().next().getValue("jsonb")));
+  }
+
+  protected String fullTableName() {
+    return postgresClient.getSchemaName() + "." + tableName;
+  }
+
+  private T toRecord(Object jsonb) {
+    if (jsonb == null) {
+      return null;
+    }
+
+    try {
+      return MAPPER.readValue(jsonb.toString(), recordType);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to decode " + tableName + " record", e);
+    }
+  }
+
+  private String deleteByCqlSql(String cql) throws Exception {
+    CQLWrapper cqlWrapper = new CQLWrapper(new CQL2PgJSON(tableName + ".jsonb"), cql, -1, -1);
+    return "DELETE FROM " + fullTableName()
+      + " " + cqlWrapper.getWhereClause()
+      + " RETURNING id::text, jsonb::text";
+  }
+
   public Future<RowSet<Row>> deleteById(String id) {
     return postgresClient.delete(tableName, id);
   }
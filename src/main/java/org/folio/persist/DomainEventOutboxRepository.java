@@ -0,0 +1,128 @@
+package org.folio.persist;
+
+import static java.lang.String.format;
+import static org.folio.support.DbUtil.rowSetToStream;
+import static org.folio.support.ModuleConstants.DOMAIN_EVENT_OUTBOX_TABLE;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Stores serialized domain events until the outbox relay has sent them to Kafka.
+ */
+public class DomainEventOutboxRepository {
+
+  private static final String INSERT_SQL = "INSERT INTO %s (topic, event_key, payload, headers) " +
+    "VALUES ($1, $2, $3, $4)";
+  private static final String CLAIM_SQL = "UPDATE %1$s " +
+    "SET claimed_until = CURRENT_TIMESTAMP + make_interval(secs => $2) " +
+    "WHERE id IN (SELECT id FROM %1$s ORDER BY id LIMIT $1) " +
+    "AND NOT EXISTS (SELECT 1 FROM %1$s WHERE claimed_until > CURRENT_TIMESTAMP) " +
+    "RETURNING id, topic, event_key, payload, headers";
+  private static final String DELETE_SQL = "DELETE FROM %s WHERE id = ANY($1)";
+  private static final String RELEASE_SQL = "UPDATE %s SET claimed_until = NULL " +
+    "WHERE id = ANY($1)";
+  private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext($1))";
+
+  private final PostgresClient postgresClient;
+
+  public DomainEventOutboxRepository(PostgresClient postgresClient) {
+    this.postgresClient = postgresClient;
+  }
+
+  public Future<Void> save(OutboxEntry entry) {
+    return postgresClient.execute(insertSql(), toTuple(entry))
+      .mapEmpty();
+  }
+
+  public Future<Void> save(Conn conn, OutboxEntry entry) {
+    return conn.execute(insertSql(), toTuple(entry))
+      .mapEmpty();
+  }
+
+  /**
+   * Takes a transaction-scoped lock so that only one module instance claims entries of the
+   * tenant's outbox at a time; together with the claim this keeps the events of a key in
+   * their original order.
+   */
+  public Future<Boolean> tryLock(Conn conn) {
+    return conn.execute(TRY_LOCK_SQL, Tuple.of(fullTableName()))
+      .map(rowSet -> rowSet.iterator().next().getBoolean(0));
+  }
+
+  /**
+   * Claims the oldest entries for the given number of seconds so that they can be sent
+   * outside of a transaction. Nothing is claimed while an earlier claim has not expired
+   * yet; an instance that stops before it has released its claim delays the outbox by at
+   * most the claim duration, after which its entries are claimed and sent again.
+   */
+  public Future<List<OutboxEntry>> claimOldest(Conn conn, int limit, int claimSeconds) {
+    return conn.execute(format(CLAIM_SQL, fullTableName()),
+        Tuple.of(limit, claimSeconds))
+      .map(rowSet -> rowSetToStream(rowSet)
+        .map(DomainEventOutboxRepository::toEntry)
+        .sorted(Comparator.comparing(OutboxEntry::id))
+        .toList());
+  }
+
+  public Future<Void> delete(Conn conn, List<Long> ids) {
+    return executeForIds(conn, DELETE_SQL, ids);
+  }
+
+  /**
+   * Releases the claim of the entries so that they are sent with the next batch.
+   */
+  public Future<Void> release(Conn conn, List<Long> ids) {
+    return executeForIds(conn, RELEASE_SQL, ids);
+  }
+
+  public <T> Future<T> withTrans(Function<Conn, Future<T>> function) {
+    return postgresClient.withTrans(function);
+  }
+
+  private Future<Void> executeForIds(Conn conn, String sql, List<Long> ids) {
+    if (ids.isEmpty()) {
+      return Future.succeededFuture();
+    }
+
+    return conn.execute(format(sql, fullTableName()),
+        Tuple.tuple().addArrayOfLong(ids.toArray(Long[]::new)))
+      .mapEmpty();
+  }
+
+  private String insertSql() {
+    return format(INSERT_SQL, fullTableName());
+  }
+
+  private String fullTableName() {
+    return postgresClient.getSchemaName() + "." + DOMAIN_EVENT_OUTBOX_TABLE;
+  }
+
+  private static Tuple toTuple(OutboxEntry entry) {
+    return Tuple.of(entry.topic(), entry.key(), entry.payload(), entry.headers());
+  }
+
+  private static OutboxEntry toEntry(Row row) {
+    return new OutboxEntry(row.getLong("id"), row.getString("topic"),
+      row.getString("event_key"), row.getString("payload"),
+      (JsonArray) row.getValue("headers"));
+  }
+
+  public record OutboxEntry(Long id, String topic, String key, String payload,
+    JsonArray headers) {
+
+    public OutboxEntry(String topic, String key, String payload, JsonArray headers) {
+      this(null, topic, key, payload, headers);
+    }
+  }
+
+}
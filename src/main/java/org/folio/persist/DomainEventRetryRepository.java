@@ -0,0 +1,99 @@
+package org.folio.persist;
+
+import static java.lang.String.format;
+import static org.folio.support.DbUtil.rowSetToStream;
+import static org.folio.support.ModuleConstants.DOMAIN_EVENT_RETRY_TABLE;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.folio.persist.DomainEventOutboxRepository.OutboxEntry;
+import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Stores the domain events that could not be sent to Kafka until they are replayed.
+ */
+public class DomainEventRetryRepository {
+
+  private static final String INSERT_SQL = "INSERT INTO %s (topic, event_key, payload, headers, " +
+    "last_error) VALUES ($1, $2, $3, $4, $5)";
+  private static final String SELECT_DUE_SQL = "SELECT id, topic, event_key, payload, headers, " +
+    "attempts FROM %1$s entry WHERE next_attempt_date <= CURRENT_TIMESTAMP " +
+    "AND NOT EXISTS (SELECT 1 FROM %1$s earlier WHERE earlier.topic = entry.topic " +
+    "AND earlier.event_key = entry.event_key AND earlier.id < entry.id) " +
+    "ORDER BY id LIMIT $1 FOR UPDATE SKIP LOCKED";
+  private static final String DELETE_SQL = "DELETE FROM %s WHERE id = ANY($1)";
+  private static final String RESCHEDULE_SQL = "UPDATE %s SET attempts = attempts + 1, " +
+    "next_attempt_date = CURRENT_TIMESTAMP + $2 * INTERVAL '1 millisecond', last_error = $3 " +
+    "WHERE id = $1";
+  private static final String COUNT_SQL = "SELECT count(*) FROM %s";
+
+  private final PostgresClient postgresClient;
+
+  public DomainEventRetryRepository(PostgresClient postgresClient) {
+    this.postgresClient = postgresClient;
+  }
+
+  public Future<Void> save(OutboxEntry entry, String error) {
+    return postgresClient.execute(format(INSERT_SQL, fullTableName()),
+        Tuple.of(entry.topic(), entry.key(), entry.payload(), entry.headers(), error))
+      .mapEmpty();
+  }
+
+  /**
+   * Returns the entries due for replay and locks them; entries locked by another module
+   * instance are skipped. Only the oldest entry of each key is returned, the later ones wait
+   * until it has been sent, so that the events of a key are replayed in their order even when
+   * the oldest one is rescheduled.
+   */
+  public Future<List<RetryEntry>> getDue(Conn conn, int limit) {
+    return conn.execute(format(SELECT_DUE_SQL, fullTableName()), Tuple.of(limit))
+      .map(rowSet -> rowSetToStream(rowSet)
+        .map(DomainEventRetryRepository::toRetryEntry)
+        .toList());
+  }
+
+  public Future<Void> delete(Conn conn, List<Long> ids) {
+    if (ids.isEmpty()) {
+      return Future.succeededFuture();
+    }
+
+    return conn.execute(format(DELETE_SQL, fullTableName()),
+        Tuple.tuple().addArrayOfLong(ids.toArray(Long[]::new)))
+      .mapEmpty();
+  }
+
+  public Future<Void> reschedule(Conn conn, long id, long delayMs, String error) {
+    return conn.execute(format(RESCHEDULE_SQL, fullTableName()), Tuple.of(id, delayMs, error))
+      .mapEmpty();
+  }
+
+  public Future<Long> count() {
+    return postgresClient.execute(format(COUNT_SQL, fullTableName()))
+      .map(rowSet -> rowSet.iterator().next().getLong(0));
+  }
+
+  public <T> Future<T> withTrans(Function<Conn, Future<T>> function) {
+    return postgresClient.withTrans(function);
+  }
+
+  private String fullTableName() {
+    return postgresClient.getSchemaName() + "." + DOMAIN_EVENT_RETRY_TABLE;
+  }
+
+  private static RetryEntry toRetryEntry(Row row) {
+    return new RetryEntry(new OutboxEntry(row.getLong("id"), row.getString("topic"),
+      row.getString("event_key"), row.getString("payload"), (JsonArray) row.getValue("headers")),
+      row.getInteger("attempts"));
+  }
+
+  public record RetryEntry(OutboxEntry event, int attempts) {
+  }
+
+}
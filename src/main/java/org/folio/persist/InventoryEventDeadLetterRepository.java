@@ -0,0 +1,108 @@
+package org.folio.persist;
+
+import static java.lang.String.format;
+import static org.folio.support.DbUtil.rowSetToStream;
+import static org.folio.support.ModuleConstants.INVENTORY_EVENT_DEAD_LETTER_TABLE;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Stores the inventory events that could not be processed until they are replayed.
+ */
+public class InventoryEventDeadLetterRepository {
+
+  private static final String INSERT_SQL = "INSERT INTO %s (event_type, topic, event_key, " +
+    "payload, headers, last_error) VALUES ($1, $2, $3, $4, $5, $6)";
+  private static final String SELECT_SQL = "SELECT id, event_type, topic, event_key, payload, " +
+    "headers, last_error FROM %s ORDER BY id LIMIT $1";
+  private static final String LOCK_SQL = "SELECT id FROM %s WHERE id = $1 FOR UPDATE SKIP LOCKED";
+  private static final String UPDATE_ERROR_SQL = "UPDATE %s SET last_error = $2 WHERE id = $1";
+  private static final String DELETE_SQL = "DELETE FROM %s WHERE id = ANY($1)";
+  private static final String COUNT_SQL = "SELECT count(*) FROM %s";
+
+  private final PostgresClient postgresClient;
+
+  public InventoryEventDeadLetterRepository(PostgresClient postgresClient) {
+    this.postgresClient = postgresClient;
+  }
+
+  public Future<Void> save(DeadLetter deadLetter) {
+    return postgresClient.execute(format(INSERT_SQL, fullTableName()),
+        Tuple.of(deadLetter.eventType(), deadLetter.topic(), deadLetter.key(),
+          deadLetter.payload(), deadLetter.headers(), deadLetter.error()))
+      .mapEmpty();
+  }
+
+  /**
+   * Returns the oldest parked events, they are not locked.
+   */
+  public Future<List<DeadLetter>> getOldest(int limit) {
+    return postgresClient.execute(format(SELECT_SQL, fullTableName()), Tuple.of(limit))
+      .map(rowSet -> rowSetToStream(rowSet)
+        .map(InventoryEventDeadLetterRepository::toDeadLetter)
+        .toList());
+  }
+
+  /**
+   * Locks the parked event until the end of the transaction. Returns false when the event
+   * is locked by another replay or has already been removed.
+   */
+  public Future<Boolean> lock(Conn conn, long id) {
+    return conn.execute(format(LOCK_SQL, fullTableName()), Tuple.of(id))
+      .map(rowSet -> rowSet.iterator().hasNext());
+  }
+
+  public Future<Void> updateError(Conn conn, long id, String error) {
+    return conn.execute(format(UPDATE_ERROR_SQL, fullTableName()), Tuple.of(id, error))
+      .mapEmpty();
+  }
+
+  public Future<Void> delete(Conn conn, List<Long> ids) {
+    if (ids.isEmpty()) {
+      return Future.succeededFuture();
+    }
+
+    return conn.execute(format(DELETE_SQL, fullTableName()),
+        Tuple.tuple().addArrayOfLong(ids.toArray(Long[]::new)))
+      .mapEmpty();
+  }
+
+  public Future<Long> count() {
+    return postgresClient.execute(format(COUNT_SQL, fullTableName()))
+      .map(rowSet -> rowSet.iterator().next().getLong(0));
+  }
+
+  public <T> Future<T> withTrans(Function<Conn, Future<T>> function) {
+    return postgresClient.withTrans(function);
+  }
+
+  private String fullTableName() {
+    return postgresClient.getSchemaName() + "." + INVENTORY_EVENT_DEAD_LETTER_TABLE;
+  }
+
+  private static DeadLetter toDeadLetter(Row row) {
+    return new DeadLetter(row.getLong("id"), row.getString("event_type"), row.getString("topic"),
+      row.getString("event_key"), row.getString("payload"), (JsonArray) row.getValue("headers"),
+      row.getString("last_error"));
+  }
+
+  public record DeadLetter(Long id, String eventType, String topic, String key, String payload,
+    JsonArray headers, String error) {
+
+    public DeadLetter(String eventType, String topic, String key, String payload,
+      JsonArray headers, String error) {
+
+      this(null, eventType, topic, key, payload, headers, error);
+    }
+  }
+
+}
@@ -0,0 +1,51 @@
+package org.folio.persist;
+
+import static java.lang.String.format;
+import static org.folio.support.ModuleConstants.INVENTORY_EVENT_PROCESSED_RECORD_TABLE;
+
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Stores the keys of the inventory event records that have been processed, so that records
+ * delivered again after a rebalance can be recognized by any module instance.
+ */
+public class InventoryEventProcessedRecordRepository {
+
+  private static final String EXISTS_SQL = "SELECT EXISTS (SELECT 1 FROM %s " +
+    "WHERE record_key = $1 AND processed_date > CURRENT_TIMESTAMP - $2 * INTERVAL '1 millisecond')";
+  private static final String UPSERT_SQL = "INSERT INTO %s (record_key) VALUES ($1) " +
+    "ON CONFLICT (record_key) DO UPDATE SET processed_date = CURRENT_TIMESTAMP";
+  private static final String DELETE_EXPIRED_SQL = "DELETE FROM %s " +
+    "WHERE processed_date <= CURRENT_TIMESTAMP - $1 * INTERVAL '1 millisecond'";
+
+  private final PostgresClient postgresClient;
+
+  public InventoryEventProcessedRecordRepository(PostgresClient postgresClient) {
+    this.postgresClient = postgresClient;
+  }
+
+  public Future<Boolean> isProcessed(String recordKey, long windowMs) {
+    return postgresClient.execute(format(EXISTS_SQL, fullTableName()),
+        Tuple.of(recordKey, windowMs))
+      .map(rowSet -> rowSet.iterator().next().getBoolean(0));
+  }
+
+  public Future<Void> markProcessed(String recordKey) {
+    return postgresClient.execute(format(UPSERT_SQL, fullTableName()), Tuple.of(recordKey))
+      .mapEmpty();
+  }
+
+  public Future<Integer> deleteExpired(long windowMs) {
+    return postgresClient.execute(format(DELETE_EXPIRED_SQL, fullTableName()),
+        Tuple.of(windowMs))
+      .map(rowSet -> rowSet.rowCount());
+  }
+
+  private String fullTableName() {
+    return postgresClient.getSchemaName() + "." + INVENTORY_EVENT_PROCESSED_RECORD_TABLE;
+  }
+
+}
@@ -0,0 +1,53 @@
+package org.folio.persist;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Base64;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Position of the last record of a keyset page: the value of the sort key and the id of
+ * the record. It is handed to clients as an opaque string.
+ */
+public record KeysetCursor(String sortBy, String value, String id) {
+
+  /**
+   * Cursor value a client sends to request the first page.
+   */
+  public static final String FIRST_PAGE = "*";
+
+  private static final String SORT_BY = "s";
+  private static final String VALUE = "v";
+  private static final String ID = "i";
+
+  public static boolean isFirstPage(String cursor) {
+    return cursor == null || cursor.isBlank() || FIRST_PAGE.equals(cursor);
+  }
+
+  public String encode() {
+    JsonObject json = new JsonObject()
+      .put(SORT_BY, sortBy)
+      .put(VALUE, value)
+      .put(ID, id);
+
+    return Base64.getUrlEncoder().withoutPadding()
+      .encodeToString(json.encode().getBytes(UTF_8));
+  }
+
+  public static KeysetCursor decode(String cursor) {
+    JsonObject json;
+    try {
+      json = new JsonObject(new String(Base64.getUrlDecoder().decode(cursor), UTF_8));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+    }
+
+    if (json.getString(ID) == null) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+
+    return new KeysetCursor(json.getString(SORT_BY), json.getString(VALUE), json.getString(ID));
+  }
+
+}
@@ -0,0 +1,10 @@
+package org.folio.persist;
+
+import java.util.List;
+
+/**
+ * A page of records read by {@link KeysetPageRepository}. {@code nextCursor} is {@code null}
+ * on the last page, {@code totalRecords} is {@code null} when the count was not requested.
+ */
+public record KeysetPage<T>(List<T> records, String nextCursor, Integer totalRecords) {
+}
@@ -0,0 +1,179 @@
+package org.folio.persist;
+
+import static java.lang.String.format;
+import static org.folio.support.DbUtil.rowSetToStream;
+
+import java.util.List;
+import java.util.Map;
+
+import org.folio.cql2pgjson.CQL2PgJSON;
+import org.folio.dbschema.ObjectMapperTool;
+import org.folio.rest.persist.PostgresClient;
+import org.z3950.zing.cql.CQLNode;
+import org.z3950.zing.cql.CQLParser;
+import org.z3950.zing.cql.CQLSortNode;
+import org.z3950.zing.cql.ModifierSet;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Reads a table page by page using keyset pagination: instead of skipping {@code offset}
+ * records, each page continues after the (sort key, id) of the last record of the previous
+ * page, so that every page is an index range scan no matter how deep it is.
+ * <p>
+ * Only the sort keys passed to the constructor can be used; each of them needs a btree index
+ * on {@code (<expression>, id)}. A query without {@code sortBy} is sorted by id.
+ */
+public class KeysetPageRepository<T> {
+
+  private static final ObjectMapper MAPPER = ObjectMapperTool.getMapper();
+  private static final String ID = "id";
+  private static final String SORT_DESCENDING = "sort.descending";
+  private static final String SELECT_SQL = "SELECT id::text AS cursor_id, %s AS cursor_value, " +
+    "jsonb FROM %s WHERE (%s)%s ORDER BY %s LIMIT %d";
+  private static final String COUNT_SQL = "SELECT count(*) FROM %s WHERE (%s)";
+
+  private final PostgresClient postgresClient;
+  private final String tableName;
+  private final Class<T> recordType;
+  private final Map<String, String> sortKeys;
+
+  /**
+   * @param sortKeys SQL expressions of the supported sort keys by their CQL index name
+   */
+  public KeysetPageRepository(PostgresClient postgresClient, String tableName,
+    Class<T> recordType, Map<String, String> sortKeys) {
+
+    this.postgresClient = postgresClient;
+    this.tableName = tableName;
+    this.recordType = recordType;
+    this.sortKeys = sortKeys;
+  }
+
+  /**
+   * Returns the page following the cursor. An invalid query or cursor fails the future with
+   * {@link IllegalArgumentException}.
+   */
+  public Future<KeysetPage<T>> getPage(String cql, String cursor, int limit,
+    boolean countTotalRecords) {
+
+    KeysetQuery query;
+    KeysetCursor after;
+    try {
+      query = parse(cql);
+      after = KeysetCursor.isFirstPage(cursor) ? null : KeysetCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      return Future.failedFuture(e);
+    } catch (Exception e) {
+      return Future.failedFuture(new IllegalArgumentException(e.getMessage(), e));
+    }
+
+    if (after != null && !query.sortBy().equals(after.sortBy())) {
+      return Future.failedFuture(new IllegalArgumentException(format(
+        "Cursor was issued for sortBy %s, the query is sorted by %s", after.sortBy(),
+        query.sortBy())));
+    }
+
+    Future<Integer> totalRecords = countTotalRecords
+      ? postgresClient.execute(format(COUNT_SQL, fullTableName(), query.where()))
+          .map(rowSet -> rowSet.iterator().next().getInteger(0))
+      : Future.succeededFuture();
+
+    return postgresClient.execute(selectSql(query, after, limit), parameters(query, after))
+      .compose(rowSet -> totalRecords.map(total -> toPage(query,
+        rowSetToStream(rowSet).toList(), limit, total)));
+  }
+
+  private KeysetQuery parse(String cql) throws Exception {
+    CQLNode node = new CQLParser().parse(cql);
+    String sortBy = ID;
+    boolean descending = false;
+
+    if (node instanceof CQLSortNode sortNode) {
+      List<ModifierSet> sortIndexes = sortNode.getSortIndexes();
+      if (sortIndexes.size() > 1) {
+        throw new IllegalArgumentException("Paging by cursor supports a single sort key only");
+      }
+      sortBy = sortIndexes.get(0).getBase();
+      descending = sortIndexes.get(0).getModifiers().stream()
+        .anyMatch(modifier -> SORT_DESCENDING.equalsIgnoreCase(modifier.getType()));
+      node = sortNode.getSubtree();
+    }
+
+    String sortExpression = ID.equals(sortBy) ? null : sortKeys.get(sortBy);
+    if (!ID.equals(sortBy) && sortExpression == null) {
+      throw new IllegalArgumentException(format("Paging by cursor does not support sortBy %s, " +
+        "supported sort keys: %s, %s", sortBy, ID, String.join(", ", sortKeys.keySet())));
+    }
+
+    String where = new CQL2PgJSON(tableName + ".jsonb").toSql(node.toCQL()).getWhere();
+
+    return new KeysetQuery(sortBy, sortExpression, descending, where);
+  }
+
+  private String selectSql(KeysetQuery query, KeysetCursor after, int limit) {
+    String direction = query.descending() ? " DESC" : "";
+    String cursorValue = query.sortExpression() == null ? "NULL" : query.sortExpression();
+    String orderBy = query.sortExpression() == null
+      ? ID + direction
+      : query.sortExpression() + direction + ", " + ID + direction;
+    String afterCursor = "";
+    if (after != null) {
+      String comparison = query.descending() ? " < " : " > ";
+      afterCursor = query.sortExpression() == null
+        ? " AND id" + comparison + "$1::uuid"
+        : " AND (" + query.sortExpression() + ", id)" + comparison + "($1, $2::uuid)";
+    }
+
+    // one more record than requested tells whether there is a next page
+    return format(SELECT_SQL, cursorValue, fullTableName(), query.where(), afterCursor, orderBy,
+      limit + 1);
+  }
+
+  private static Tuple parameters(KeysetQuery query, KeysetCursor after) {
+    if (after == null) {
+      return Tuple.tuple();
+    }
+
+    return query.sortExpression() == null
+      ? Tuple.of(after.id())
+      : Tuple.of(after.value(), after.id());
+  }
+
+  private KeysetPage<T> toPage(KeysetQuery query, List<Row> rows, int limit,
+    Integer totalRecords) {
+
+    List<Row> pageRows = rows.size() > limit ? rows.subList(0, limit) : rows;
+    String nextCursor = null;
+    if (rows.size() > limit && limit > 0) {
+      Row last = pageRows.get(limit - 1);
+      nextCursor = new KeysetCursor(query.sortBy(), last.getString("cursor_value"),
+        last.getString("cursor_id")).encode();
+    }
+
+    return new KeysetPage<>(pageRows.stream().map(this::toRecord).toList(), nextCursor,
+      totalRecords);
+  }
+
+  private T toRecord(Row row) {
+    try {
+      return MAPPER.readValue(row.getValue("jsonb").toString(), recordType);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to decode " + tableName + " record", e);
+    }
+  }
+
+  private String fullTableName() {
+    return postgresClient.getSchemaName() + "." + tableName;
+  }
+
+  private record KeysetQuery(String sortBy, String sortExpression, boolean descending,
+    String where) {
+  }
+
+}
@@ -0,0 +1,54 @@
+package org.folio.persist;
+
+import static java.lang.String.format;
+import static org.folio.support.ModuleConstants.MIGRATION_CHECKPOINT_TABLE;
+
+import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Stores the id of the last record a data migration has committed, so that an interrupted
+ * migration continues after it instead of starting over.
+ */
+public class MigrationCheckpointRepository {
+
+  private static final String SELECT_SQL = "SELECT last_id FROM %s WHERE migration_name = $1";
+  private static final String UPSERT_SQL = "INSERT INTO %s (migration_name, last_id) " +
+    "VALUES ($1, $2::uuid) ON CONFLICT (migration_name) DO UPDATE " +
+    "SET last_id = EXCLUDED.last_id, updated_date = CURRENT_TIMESTAMP";
+  private static final String DELETE_SQL = "DELETE FROM %s WHERE migration_name = $1";
+
+  private final PostgresClient postgresClient;
+
+  public MigrationCheckpointRepository(PostgresClient postgresClient) {
+    this.postgresClient = postgresClient;
+  }
+
+  /**
+   * Returns the id of the last migrated record, or null if the migration has no checkpoint.
+   */
+  public Future<String> getLastId(String migrationName) {
+    return postgresClient.execute(format(SELECT_SQL, fullTableName()), Tuple.of(migrationName))
+      .map(rowSet -> rowSet.iterator().hasNext()
+        ? rowSet.iterator().next().getUUID(0).toString()
+        : null);
+  }
+
+  public Future<Void> save(Conn conn, String migrationName, String lastId) {
+    return conn.execute(format(UPSERT_SQL, fullTableName()), Tuple.of(migrationName, lastId))
+      .mapEmpty();
+  }
+
+  public Future<Void> delete(String migrationName) {
+    return postgresClient.execute(format(DELETE_SQL, fullTableName()), Tuple.of(migrationName))
+      .mapEmpty();
+  }
+
+  private String fullTableName() {
+    return postgresClient.getSchemaName() + "." + MIGRATION_CHECKPOINT_TABLE;
+  }
+
+}
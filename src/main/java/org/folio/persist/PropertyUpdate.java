@@ -0,0 +1,10 @@
+package org.folio.persist;
+
+import java.util.List;
+
+/**
+ * A new value of a string property of a record's jsonb, {@code path} is the path of the
+ * property from the root of the jsonb. A {@code null} value removes the property.
+ */
+public record PropertyUpdate(List<String> path, String value) {
+}
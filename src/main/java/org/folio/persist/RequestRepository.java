@@ -1,19 +1,122 @@
 package org.folio.persist;
 
+import static io.vertx.core.Future.succeededFuture;
+import static java.lang.String.format;
 import static org.folio.rest.persist.PgUtil.postgresClient;
+import static org.folio.support.DbUtil.rowSetToStream;
 import static org.folio.support.ModuleConstants.REQUEST_CLASS;
 import static org.folio.support.ModuleConstants.REQUEST_TABLE;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.folio.rest.jaxrs.model.Request;
+import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.PostgresClient;
 
 import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
 
 public class RequestRepository extends AbstractRepository<Request> {
 
+  // Must match the predicates of the partial indexes created by
+  // create_request_expiration_indexes.sql, otherwise the indexes cannot be used.
+  private static final String OPEN_STATUSES = "('Open - Not yet filled', " +
+    "'Open - Awaiting delivery', 'Open - In transit', 'Open - Awaiting pickup')";
+
+  // %1$s: table, %2$s: queue property (itemId or instanceId)
+  private static final String SELECT_OPEN_QUEUE_IDS_SQL = "SELECT DISTINCT jsonb->>'%2$s' " +
+    "FROM %1$s WHERE jsonb->>'status' IN " + OPEN_STATUSES + " AND jsonb->>'%2$s' > $1 " +
+    "ORDER BY 1 LIMIT $2";
+  private static final String SELECT_OPEN_REQUEST_WITHOUT_QUEUE_ID_SQL = "SELECT id FROM %1$s " +
+    "WHERE jsonb->>'status' IN " + OPEN_STATUSES + " AND jsonb->>'%2$s' IS NULL LIMIT 1";
+
+  // Positions are removed first and set in a second statement, because the unique
+  // (itemId, position) index is checked row by row and would reject a shifted queue.
+  private static final String RESET_QUEUE_POSITIONS_SQL = "WITH ranked AS (" +
+      "SELECT id, row_number() OVER (PARTITION BY jsonb->>'%2$s' " +
+        "ORDER BY (jsonb->>'position')::int NULLS LAST, jsonb->>'requestDate', " +
+        "jsonb->'metadata'->>'createdDate', id) AS position " +
+      "FROM %1$s WHERE jsonb->>'status' IN " + OPEN_STATUSES + " " +
+      "AND jsonb->>'%2$s' = ANY($1)) " +
+    "UPDATE %1$s request SET jsonb = request.jsonb - 'position' " +
+    "FROM ranked WHERE request.id = ranked.id " +
+    "RETURNING request.id, ranked.position";
+  private static final String SET_QUEUE_POSITIONS_SQL = "UPDATE %1$s request " +
+    "SET jsonb = jsonb_set(request.jsonb, '{position}', to_jsonb(positions.position)) " +
+    "FROM unnest($1::uuid[], $2::int[]) AS positions(id, position) " +
+    "WHERE request.id = positions.id";
+
   public RequestRepository(Context context, Map<String, String> okapiHeaders) {
-    super(postgresClient(context, okapiHeaders), REQUEST_TABLE, REQUEST_CLASS);
+    this(postgresClient(context, okapiHeaders));
+  }
+
+  public RequestRepository(PostgresClient postgresClient) {
+    super(postgresClient, REQUEST_TABLE, REQUEST_CLASS);
+  }
+
+  /**
+   * Returns the ids of the items or instances (depending on the queue property) that have
+   * open requests, in ascending order and starting after the given id.
+   */
+  public Future<List<String>> getOpenQueueIds(String queueProperty, String afterQueueId,
+    int limit) {
+
+    return postgresClient.execute(format(SELECT_OPEN_QUEUE_IDS_SQL, fullTableName(),
+        queueProperty), Tuple.of(afterQueueId, limit))
+      .map(rowSet -> rowSetToStream(rowSet)
+        .map(row -> row.getString(0))
+        .toList());
+  }
+
+  /**
+   * Returns the id of an open request that is not in any queue because it has no value of
+   * the queue property, or null if there is none.
+   */
+  public Future<String> findOpenRequestWithoutQueueId(String queueProperty) {
+    return postgresClient.execute(format(SELECT_OPEN_REQUEST_WITHOUT_QUEUE_ID_SQL,
+        fullTableName(), queueProperty))
+      .map(rowSet -> rowSet.iterator().hasNext()
+        ? rowSet.iterator().next().getUUID(0).toString()
+        : null);
+  }
+
+  /**
+   * Numbers the open requests of every given queue consecutively from 1, keeping their
+   * order, and returns the number of requests in these queues.
+   */
+  public Future<Integer> renumberQueues(Conn conn, String queueProperty,
+    Collection<String> queueIds) {
+
+    if (queueIds.isEmpty()) {
+      return succeededFuture(0);
+    }
+
+    return conn.execute(resetQueuePositionsSql(fullTableName(), queueProperty),
+        Tuple.tuple().addArrayOfString(queueIds.toArray(String[]::new)))
+      .compose(rowSet -> {
+        List<Row> rows = rowSetToStream(rowSet).toList();
+        if (rows.isEmpty()) {
+          return succeededFuture(0);
+        }
+        return conn.execute(format(SET_QUEUE_POSITIONS_SQL, fullTableName()), Tuple.tuple()
+            .addArrayOfUUID(rows.stream().map(row -> row.getUUID("id")).toArray(UUID[]::new))
+            .addArrayOfInteger(rows.stream().map(row -> row.getLong("position").intValue())
+              .toArray(Integer[]::new)))
+          .map(rows.size());
+      });
+  }
+
+  /**
+   * Returns the statement that removes and ranks the positions of the open requests in the
+   * given queues, exposed so that the query plan can be checked against the indexes.
+   */
+  public static String resetQueuePositionsSql(String tableName, String queueProperty) {
+    return format(RESET_QUEUE_POSITIONS_SQL, tableName, queueProperty);
   }
 
 }
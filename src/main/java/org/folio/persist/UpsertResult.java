@@ -0,0 +1,18 @@
+package org.folio.persist;
+
+/**
+ * The state of a record before and after an upsert. {@code oldRecord} is {@code null}
+ * when the upsert has created the record, and when a concurrent upsert has created it
+ * first, {@code created} tells the two apart.
+ */
+public record UpsertResult<T>(T oldRecord, T newRecord, boolean created) {
+
+  public UpsertResult(T oldRecord, T newRecord) {
+    this(oldRecord, newRecord, oldRecord == null);
+  }
+
+  public boolean isCreated() {
+    return created;
+  }
+
+}
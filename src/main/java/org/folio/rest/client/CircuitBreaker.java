@@ -0,0 +1,149 @@
+package org.folio.rest.client;
+
+import static java.lang.System.getenv;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.support.exception.CircuitBreakerOpenException;
+import org.folio.support.metrics.ModuleMetrics;
+
+import io.vertx.core.Future;
+
+/**
+ * Stops sending requests to an endpoint after a number of consecutive failures, so that
+ * callers fail fast instead of waiting for timeouts. After the open duration a single trial
+ * request is let through, which closes the breaker when it succeeds and opens it again when
+ * it fails. There is a breaker per tenant and endpoint, so that the failures of one tenant's
+ * requests (e.g. a module not enabled for the tenant) do not stop the requests of the others.
+ */
+public class CircuitBreaker {
+  public static final String STATE_METRIC = "okapi_client_circuit_breaker_state";
+  public static final String REJECTED_METRIC = "okapi_client_circuit_breaker_rejected_total";
+  public static final String FAILURE_THRESHOLD_ENV = "OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD";
+  public static final String OPEN_MS_ENV = "OKAPI_CLIENT_CIRCUIT_BREAKER_OPEN_MS";
+
+  private static final Logger log = LogManager.getLogger(CircuitBreaker.class);
+  private static final Map<BreakerKey, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+  public enum State {
+    // the ordinal is the value of the state metric
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final String tenantId;
+  private final String endpoint;
+  private final int failureThreshold;
+  private final long openDurationNanos;
+  private final LongSupplier nanoTime;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAtNanos;
+  private boolean trialInFlight;
+
+  CircuitBreaker(String tenantId, String endpoint, int failureThreshold, Duration openDuration,
+    LongSupplier nanoTime) {
+
+    this.tenantId = Objects.toString(tenantId, "");
+    this.endpoint = endpoint;
+    this.failureThreshold = failureThreshold;
+    this.openDurationNanos = openDuration.toNanos();
+    this.nanoTime = nanoTime;
+    updateStateMetric();
+  }
+
+  public static CircuitBreaker forEndpoint(String tenantId, String endpoint) {
+    return breakers.computeIfAbsent(new BreakerKey(tenantId, endpoint), key -> new CircuitBreaker(
+      key.tenantId(), key.endpoint(), Integer.parseInt(getenv().getOrDefault(FAILURE_THRESHOLD_ENV, "5")),
+      Duration.ofMillis(Long.parseLong(getenv().getOrDefault(OPEN_MS_ENV, "30000"))),
+      System::nanoTime));
+  }
+
+  /**
+   * Runs the action unless the breaker is open. Failed futures and results matching
+   * {@code isFailure} count as failures.
+   */
+  public <T> Future<T> execute(Supplier<Future<T>> action, Predicate<T> isFailure) {
+    if (!tryAcquire()) {
+      ModuleMetrics.counter(REJECTED_METRIC, "tenant", tenantId, "endpoint", endpoint)
+        .increment();
+      return Future.failedFuture(new CircuitBreakerOpenException(endpoint));
+    }
+
+    Future<T> result;
+    try {
+      result = action.get();
+    } catch (Exception e) {
+      result = Future.failedFuture(e);
+    }
+
+    return result.onComplete(ar -> {
+      if (ar.failed() || isFailure.test(ar.result())) {
+        onFailure();
+      } else {
+        onSuccess();
+      }
+    });
+  }
+
+  public synchronized State state() {
+    return state;
+  }
+
+  private synchronized boolean tryAcquire() {
+    if (state == State.OPEN && nanoTime.getAsLong() - openedAtNanos >= openDurationNanos) {
+      transitionTo(State.HALF_OPEN);
+    }
+    if (state == State.HALF_OPEN) {
+      if (trialInFlight) {
+        return false;
+      }
+      trialInFlight = true;
+      return true;
+    }
+    return state == State.CLOSED;
+  }
+
+  private synchronized void onSuccess() {
+    consecutiveFailures = 0;
+    trialInFlight = false;
+    if (state != State.CLOSED) {
+      transitionTo(State.CLOSED);
+    }
+  }
+
+  private synchronized void onFailure() {
+    trialInFlight = false;
+    consecutiveFailures++;
+    if (state == State.HALF_OPEN ||
+      (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+
+      openedAtNanos = nanoTime.getAsLong();
+      transitionTo(State.OPEN);
+    }
+  }
+
+  private void transitionTo(State newState) {
+    log.info("transitionTo:: circuit breaker for {} of tenant {} changed from {} to {} after {} " +
+      "consecutive failure(s)", endpoint, tenantId, state, newState, consecutiveFailures);
+    state = newState;
+    updateStateMetric();
+  }
+
+  private void updateStateMetric() {
+    ModuleMetrics.gauge(STATE_METRIC, "tenant", tenantId, "endpoint", endpoint)
+      .set(state.ordinal());
+  }
+
+  private record BreakerKey(String tenantId, String endpoint) {
+  }
+
+}
@@ -0,0 +1,235 @@
+package org.folio.rest.client;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.client.InventoryStorageClient.CacheKey;
+import org.folio.support.metrics.ModuleMetrics;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+
+/**
+ * Cache of inventory records with a size quota per tenant. Records missing in the cache are
+ * fetched with a single request per call; callers asking for records that are already being
+ * fetched wait for that request instead of sending their own. Records older than the refresh
+ * interval are returned and refreshed in the background, and the cached record is kept until
+ * the refresh succeeds or the record expires. Both fetches and refreshes use the fetcher of
+ * the call that needs them, i.e. the Okapi URL and token of that call's client.
+ */
+public class InventoryCache<T> {
+  public static final String HITS_METRIC = "inventory_cache_hit_count";
+  public static final String MISSES_METRIC = "inventory_cache_miss_count";
+  public static final String LOAD_FAILURES_METRIC = "inventory_cache_load_failure_count";
+  public static final String EVICTIONS_METRIC = "inventory_cache_eviction_count";
+  public static final String SIZE_METRIC = "inventory_cache_size";
+
+  private static final Logger log = LogManager.getLogger(InventoryCache.class);
+
+  private final String name;
+  private final Function<T, String> idExtractor;
+  private final long maxSizePerTenant;
+  private final Duration expireAfterWrite;
+  private final Duration refreshAfterWrite;
+  private final Ticker ticker;
+  private final Map<String, AsyncCache<String, Entry<T>>> cachesByTenant =
+    new ConcurrentHashMap<>();
+  private final Set<CacheKey> refreshing = ConcurrentHashMap.newKeySet();
+
+  public InventoryCache(String name, Function<T, String> idExtractor, long maxSizePerTenant,
+    Duration expireAfterWrite, Duration refreshAfterWrite) {
+
+    this(name, idExtractor, maxSizePerTenant, expireAfterWrite, refreshAfterWrite,
+      Ticker.systemTicker());
+  }
+
+  InventoryCache(String name, Function<T, String> idExtractor, long maxSizePerTenant,
+    Duration expireAfterWrite, Duration refreshAfterWrite, Ticker ticker) {
+
+    this.name = name;
+    this.idExtractor = idExtractor;
+    this.maxSizePerTenant = maxSizePerTenant;
+    this.expireAfterWrite = expireAfterWrite;
+    this.refreshAfterWrite = refreshAfterWrite;
+    this.ticker = ticker;
+  }
+
+  /**
+   * Returns the records with the ids, the records missing in the cache are fetched with the
+   * fetcher. Records that do not exist are left out. The returned future completes on the
+   * context.
+   */
+  public Future<Collection<T>> getAll(Context context, String tenantId, Collection<String> ids,
+    Function<Collection<String>, Future<Collection<T>>> fetcher) {
+
+    List<String> nonNullIds = ids.stream()
+      .filter(Objects::nonNull)
+      .toList();
+
+    AsyncCache<String, Entry<T>> cache = cache(tenantId);
+    CompletableFuture<Map<String, Entry<T>>> entries = cache.getAll(nonNullIds,
+      (missingIds, executor) -> fetch(fetcher, missingIds));
+
+    return Future.fromCompletionStage(entries, context)
+      .<Collection<T>>map(entriesById -> {
+        refreshStaleEntries(tenantId, cache, entriesById, fetcher);
+        return new ArrayList<>(entriesById.values().stream()
+          .map(Entry::value)
+          .toList());
+      })
+      .onComplete(ar -> updateMetrics(tenantId, cache));
+  }
+
+  public T getIfPresent(CacheKey key) {
+    AsyncCache<String, Entry<T>> cache = cachesByTenant.get(key.tenantId());
+    CompletableFuture<Entry<T>> cached = cache == null ? null : cache.getIfPresent(key.recordId());
+
+    return cached != null && cached.isDone() && !cached.isCompletedExceptionally()
+      ? cached.join().value()
+      : null;
+  }
+
+  public void put(CacheKey key, T value) {
+    cache(key.tenantId()).put(key.recordId(), completedFuture(newEntry(value)));
+  }
+
+  public void invalidate(CacheKey key) {
+    AsyncCache<String, Entry<T>> cache = cachesByTenant.get(key.tenantId());
+    if (cache != null) {
+      cache.synchronous().invalidate(key.recordId());
+    }
+  }
+
+  public void invalidateAll() {
+    cachesByTenant.values().forEach(cache -> cache.synchronous().invalidateAll());
+  }
+
+  public long estimatedSize() {
+    return cachesByTenant.values().stream()
+      .mapToLong(cache -> cache.synchronous().estimatedSize())
+      .sum();
+  }
+
+  public void cleanUp() {
+    cachesByTenant.values().forEach(cache -> cache.synchronous().cleanUp());
+  }
+
+  private AsyncCache<String, Entry<T>> cache(String tenantId) {
+    return cachesByTenant.computeIfAbsent(tenantId, this::createCache);
+  }
+
+  private AsyncCache<String, Entry<T>> createCache(String tenantId) {
+    log.info("createCache:: creating {} cache for tenant {}, maxSize: {}, expireAfterWrite: {}, " +
+      "refreshAfterWrite: {}", name, tenantId, maxSizePerTenant, expireAfterWrite,
+      refreshAfterWrite);
+
+    return Caffeine.newBuilder()
+      .maximumSize(maxSizePerTenant)
+      .expireAfterWrite(expireAfterWrite)
+      .ticker(ticker)
+      // loads are started on the calling thread, the fetcher's future does not block it
+      .executor(Runnable::run)
+      .recordStats()
+      .buildAsync();
+  }
+
+  private CompletableFuture<Map<String, Entry<T>>> fetch(
+    Function<Collection<String>, Future<Collection<T>>> fetcher, Set<? extends String> ids) {
+
+    log.debug("fetch:: fetching {} {} record(s)", ids.size(), name);
+
+    return fetcher.apply(List.copyOf(ids))
+      .map(this::toEntries)
+      .toCompletionStage()
+      .toCompletableFuture();
+  }
+
+  /**
+   * Fetches the records that are due for refresh again in the background. Records that no
+   * longer exist are removed, records that cannot be fetched are kept until they expire.
+   */
+  private void refreshStaleEntries(String tenantId, AsyncCache<String, Entry<T>> cache,
+    Map<String, Entry<T>> entriesById, Function<Collection<String>, Future<Collection<T>>> fetcher) {
+
+    if (refreshAfterWrite.isZero() || refreshAfterWrite.compareTo(expireAfterWrite) >= 0) {
+      return;
+    }
+
+    long now = ticker.read();
+    List<String> staleIds = entriesById.entrySet().stream()
+      .filter(entry -> now - entry.getValue().writeNanos() >= refreshAfterWrite.toNanos())
+      .map(Map.Entry::getKey)
+      .filter(id -> refreshing.add(new CacheKey(tenantId, id)))
+      .toList();
+
+    if (staleIds.isEmpty()) {
+      return;
+    }
+
+    log.debug("refreshStaleEntries:: refreshing {} {} record(s) of tenant {}", staleIds.size(),
+      name, tenantId);
+
+    fetcher.apply(staleIds)
+      .map(this::toEntries)
+      .onSuccess(refreshed -> staleIds.forEach(id -> {
+        Entry<T> entry = refreshed.get(id);
+        if (entry == null) {
+          cache.synchronous().invalidate(id);
+        } else {
+          cache.put(id, completedFuture(entry));
+        }
+      }))
+      .onFailure(t -> log.warn("refreshStaleEntries:: failed to refresh {} record(s) of " +
+        "tenant {}", name, tenantId, t))
+      .onComplete(ar -> staleIds.forEach(id -> refreshing.remove(new CacheKey(tenantId, id))));
+  }
+
+  private Map<String, Entry<T>> toEntries(Collection<T> records) {
+    Map<String, Entry<T>> entriesById = new HashMap<>();
+    for (T value : records) {
+      String id = idExtractor.apply(value);
+      if (id != null) {
+        entriesById.put(id, newEntry(value));
+      }
+    }
+    return entriesById;
+  }
+
+  private Entry<T> newEntry(T value) {
+    return new Entry<>(value, ticker.read());
+  }
+
+  private void updateMetrics(String tenantId, AsyncCache<String, Entry<T>> cache) {
+    CacheStats stats = cache.synchronous().stats();
+    ModuleMetrics.gauge(HITS_METRIC, "cache", name, "tenant", tenantId).set(stats.hitCount());
+    ModuleMetrics.gauge(MISSES_METRIC, "cache", name, "tenant", tenantId).set(stats.missCount());
+    ModuleMetrics.gauge(LOAD_FAILURES_METRIC, "cache", name, "tenant", tenantId)
+      .set(stats.loadFailureCount());
+    ModuleMetrics.gauge(EVICTIONS_METRIC, "cache", name, "tenant", tenantId)
+      .set(stats.evictionCount());
+    ModuleMetrics.gauge(SIZE_METRIC, "cache", name, "tenant", tenantId)
+      .set(cache.synchronous().estimatedSize());
+  }
+
+  private record Entry<T>(T value, long writeNanos) {
+  }
+
+}
@@ -1,10 +1,11 @@
 package org.folio.rest.client;
 
 import static io.vertx.core.Future.succeededFuture;
+import static java.lang.System.getenv;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -13,11 +14,6 @@ import org.apache.logging.log4j.Logger;
 import org.folio.rest.jaxrs.model.Location;
 import org.folio.rest.jaxrs.model.Servicepoint;
 
-import java.util.concurrent.TimeUnit;
-
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 
@@ -26,31 +22,34 @@ public class InventoryStorageClient extends OkapiClient {
 
   public record CacheKey(String tenantId, String recordId) {}
 
+  public static final String INVENTORY_CACHE_MAX_SIZE_PER_TENANT =
+    "INVENTORY_CACHE_MAX_SIZE_PER_TENANT";
+  public static final String INVENTORY_CACHE_EXPIRE_AFTER_WRITE_MS =
+    "INVENTORY_CACHE_EXPIRE_AFTER_WRITE_MS";
+  public static final String INVENTORY_CACHE_REFRESH_AFTER_WRITE_MS =
+    "INVENTORY_CACHE_REFRESH_AFTER_WRITE_MS";
+
   private static final String SERVICE_POINTS_URL = "/service-points";
   private static final String SERVICE_POINTS_COLLECTION_NAME = "servicepoints";
 
   private static final String LOCATION_URL = "/locations";
   private static final String LOCATION_COLLECTION_NAME = "locations";
 
-  private static final Cache<CacheKey, Location> locationCache = Caffeine.newBuilder()
-    .maximumSize(1000)
-    .expireAfterWrite(1, TimeUnit.HOURS)
-    .build();
+  private static final InventoryCache<Location> locationCache =
+    createCache("location", Location::getId);
 
-  private static final Cache<CacheKey, Servicepoint> servicePointCache = Caffeine.newBuilder()
-    .maximumSize(1000)
-    .expireAfterWrite(1, TimeUnit.HOURS)
-    .build();
+  private static final InventoryCache<Servicepoint> servicePointCache =
+    createCache("service-point", Servicepoint::getId);
 
   public InventoryStorageClient(Vertx vertx, Map<String, String> okapiHeaders) {
     super(vertx, okapiHeaders);
   }
 
-  public static Cache<CacheKey, Location> locationCache() {
+  public static InventoryCache<Location> locationCache() {
     return locationCache;
   }
 
-  public static Cache<CacheKey, Servicepoint> servicePointCache() {
+  public static InventoryCache<Servicepoint> servicePointCache() {
     return servicePointCache;
   }
 
@@ -91,57 +90,36 @@ public class InventoryStorageClient extends OkapiClient {
 
   public Future<Collection<Servicepoint>> getServicePoints(Collection<String> ids) {
     return fetchWithCache(ids, SERVICE_POINTS_URL, SERVICE_POINTS_COLLECTION_NAME,
-      Servicepoint.class, servicePointCache, Servicepoint::getId);
+      Servicepoint.class, servicePointCache);
   }
 
   public Future<Collection<Location>> getLocations(Collection<String> ids) {
     return fetchWithCache(ids, LOCATION_URL, LOCATION_COLLECTION_NAME,
-      Location.class, locationCache, Location::getId);
+      Location.class, locationCache);
   }
 
   private <T> Future<Collection<T>> fetchWithCache(Collection<String> ids, String url,
-    String collectionName, Class<T> type, Cache<CacheKey, T> cache,
-    Function<T, String> idExtractor) {
+    String collectionName, Class<T> type, InventoryCache<T> cache) {
 
     if (ids == null || ids.isEmpty()) {
       log.info("fetchWithCache:: ids are null or empty, returning empty collection");
       return succeededFuture(new ArrayList<>());
     }
 
-    List<T> cachedResults = new ArrayList<>();
-    List<String> missingIds = new ArrayList<>();
-
-    for (String id : ids) {
-      if (id == null) {
-        log.warn("fetchWithCache:: null id encountered, skipping");
-        continue;
-      }
-      T cached = cache.getIfPresent(new CacheKey(getTenant(), id));
-      if (cached != null) {
-        log.info("fetchWithCache:: Cache hit for tenantId: {}, id: {}", getTenant(), id);
-        cachedResults.add(cached);
-      } else {
-        log.info("fetchWithCache:: Cache miss for tenantId: {}, id: {}", getTenant(), id);
-        missingIds.add(id);
-      }
-    }
+    log.debug("fetchWithCache:: tenantId: {}, ids: {}", this::getTenant, () -> ids);
 
-    if (missingIds.isEmpty()) {
-      return succeededFuture(cachedResults);
-    }
+    return cache.getAll(getContext(), getTenant(), ids,
+      missingIds -> get(url, missingIds, collectionName, type));
+  }
+
+  private static <T> InventoryCache<T> createCache(String name,
+    Function<T, String> idExtractor) {
 
-    return get(url, missingIds, collectionName, type)
-      .onSuccess(fetched -> fetched.forEach(item -> {
-        String id = idExtractor.apply(item);
-        if (id != null) {
-          cache.put(new CacheKey(getTenant(), id), item);
-          log.info("fetchWithCache:: Cached item with tenantId: {}, id: {}", getTenant(), id);
-        }
-      }))
-      .map(fetched -> {
-        List<T> merged = new ArrayList<>(cachedResults);
-        merged.addAll(fetched);
-        return merged;
-      });
+    return new InventoryCache<>(name, idExtractor,
+      Long.parseLong(getenv().getOrDefault(INVENTORY_CACHE_MAX_SIZE_PER_TENANT, "1000")),
+      Duration.ofMillis(Long.parseLong(
+        getenv().getOrDefault(INVENTORY_CACHE_EXPIRE_AFTER_WRITE_MS, "3600000"))),
+      Duration.ofMillis(Long.parseLong(
+        getenv().getOrDefault(INVENTORY_CACHE_REFRESH_AFTER_WRITE_MS, "900000"))));
   }
 }
@@ -4,66 +4,113 @@ import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
 import static io.vertx.core.http.HttpMethod.GET;
 import static java.lang.System.currentTimeMillis;
-import static java.util.stream.Collectors.toList;
+import static java.lang.System.getenv;
 import static java.util.stream.Collectors.toSet;
 import static javax.ws.rs.core.HttpHeaders.ACCEPT;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
-import static org.folio.support.AsyncUtils.mapSequentially;
+import static org.folio.support.AsyncUtils.mapConcurrently;
 import static org.folio.util.StringUtil.urlEncode;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.support.exception.CircuitBreakerOpenException;
 import org.folio.support.exception.HttpException;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.jackson.DatabindCodec;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 
 public class OkapiClient {
   protected static final Logger log = LogManager.getLogger(OkapiClient.class);
+  public static final String OKAPI_CLIENT_CONCURRENCY = "OKAPI_CLIENT_CONCURRENCY";
+  public static final String OKAPI_CLIENT_MAX_URL_LENGTH = "OKAPI_CLIENT_MAX_URL_LENGTH";
+  public static final String OKAPI_CLIENT_TIMEOUT_MS = "OKAPI_CLIENT_TIMEOUT_MS";
   private static final String OKAPI_URL_HEADER = "x-okapi-url";
-  private static final int ID_BATCH_SIZE = 88;
+  private static final int CONCURRENCY = Integer.parseInt(
+    getenv().getOrDefault(OKAPI_CLIENT_CONCURRENCY, "4"));
+  // leaves room for the method and protocol within the default limit of 4096 bytes of the
+  // HTTP request line
+  private static final int MAX_URL_LENGTH = Integer.parseInt(
+    getenv().getOrDefault(OKAPI_CLIENT_MAX_URL_LENGTH, "4000"));
+  private static final String ID_SEPARATOR = " or ";
+  private static final long DEFAULT_TIMEOUT_MS = 10_000;
+  private static final Map<String, Long> timeoutsByEndpoint = new ConcurrentHashMap<>();
   protected static final ObjectMapper objectMapper = new ObjectMapper();
 
+  private final Vertx vertx;
   private final WebClient webClient;
   private final String okapiUrl;
   private final String tenant;
-  private final String token;
+  private final Map<String, String> okapiHeaders;
 
+  /**
+   * The token is read from the headers for every request, so that a client kept for the
+   * events of a tenant uses the token of the latest event, see TenantResourceRegistry.
+   */
   public OkapiClient(Vertx vertx, Map<String, String> okapiHeaders) {
+    this.vertx = vertx;
     this.webClient = WebClientProvider.getWebClient(vertx);
+    this.okapiHeaders = okapiHeaders;
     okapiUrl = okapiHeaders.get(OKAPI_URL_HEADER);
     tenant = okapiHeaders.get(OKAPI_HEADER_TENANT);
-    token = okapiHeaders.get(OKAPI_HEADER_TOKEN);
   }
 
   protected String getTenant() {
     return tenant;
   }
 
+  protected Context getContext() {
+    return vertx.getOrCreateContext();
+  }
+
+  /**
+   * Sends the request through the circuit breaker of the tenant and endpoint, i.e. the path
+   * without the query. Connection failures, timeouts and server errors count as failures.
+   */
   Future<HttpResponse<Buffer>> okapiGet(String path) {
     log.debug("okapiGet:: path: {}", path);
 
+    String endpoint = endpointOf(path);
+
+    return CircuitBreaker.forEndpoint(tenant, endpoint)
+      .execute(() -> send(path, endpoint), response -> response.statusCode() >= 500)
+      .onFailure(t -> {
+        if (t instanceof CircuitBreakerOpenException) {
+          log.warn("okapiGet:: GET request not sent: {}", t.getMessage());
+        }
+      });
+  }
+
+  private Future<HttpResponse<Buffer>> send(String path, String endpoint) {
+    long timeoutMs = timeoutOf(endpoint);
+
     try {
       return webClient.getAbs(okapiUrl + path)
+        .connectTimeout(timeoutMs)
+        .idleTimeout(timeoutMs)
         .putHeader(OKAPI_HEADER_TENANT, tenant)
         .putHeader(OKAPI_URL_HEADER, okapiUrl)
-        .putHeader(OKAPI_HEADER_TOKEN, token)
+        .putHeader(OKAPI_HEADER_TOKEN, okapiHeaders.get(OKAPI_HEADER_TOKEN))
         .putHeader(ACCEPT, APPLICATION_JSON)
         .send()
         .onSuccess(r -> log.debug("okapiGet:: GET request success: {}{}", okapiUrl, path))
@@ -74,6 +121,31 @@ public class OkapiClient {
     }
   }
 
+  static String endpointOf(String path) {
+    int queryStart = path.indexOf('?');
+    return queryStart < 0 ? path : path.substring(0, queryStart);
+  }
+
+  /**
+   * Timeout of the requests to the endpoint, {@code OKAPI_CLIENT_TIMEOUT_MS} can be
+   * overridden for a single endpoint, e.g. {@code OKAPI_CLIENT_TIMEOUT_MS_SERVICE_POINTS}
+   * for /service-points.
+   */
+  static long timeoutOf(String endpoint) {
+    return timeoutsByEndpoint.computeIfAbsent(endpoint, OkapiClient::readTimeout);
+  }
+
+  private static long readTimeout(String endpoint) {
+    String defaultTimeout = getenv().getOrDefault(OKAPI_CLIENT_TIMEOUT_MS,
+      String.valueOf(DEFAULT_TIMEOUT_MS));
+    String endpointSuffix = endpoint.replaceAll("^/+", "")
+      .replaceAll("[^A-Za-z0-9]+", "_")
+      .toUpperCase();
+
+    return Long.parseLong(getenv().getOrDefault(OKAPI_CLIENT_TIMEOUT_MS + "_" + endpointSuffix,
+      defaultTimeout));
+  }
+
   public <T> Future<Collection<T>> get(String path, Collection<String> ids, String collectionName,
     Class<T> objectType) {
 
@@ -92,12 +164,42 @@ public class OkapiClient {
     }
 
     log.info("get:: fetching {} {} by IDs", ids.size(), objectType.getSimpleName());
-    List<List<String>> batches = ListUtils.partition(new ArrayList<>(filteredIds), ID_BATCH_SIZE);
+    List<List<String>> batches = partitionByUrlLength(path, new ArrayList<>(filteredIds));
 
-    return mapSequentially(batches, batch -> fetchBatch(path, batch, objectType, collectionName))
+    return mapConcurrently(batches, CONCURRENCY,
+        batch -> fetchBatch(path, batch, objectType, collectionName))
       .map(results -> results.stream().flatMap(Collection::stream).toList());
   }
 
+  /**
+   * Splits the ids into batches whose query URL does not exceed the maximum URL length.
+   */
+  static List<List<String>> partitionByUrlLength(String path, List<String> ids) {
+    // path, query parameter, id==( ) and the limit parameter of the largest possible batch
+    int fixedLength = queryPath(path, "", ids.size()).length() +
+      urlEncode("id==()").length();
+    int separatorLength = urlEncode(ID_SEPARATOR).length();
+
+    List<List<String>> batches = new ArrayList<>();
+    List<String> batch = new ArrayList<>();
+    int length = fixedLength;
+
+    for (String id : ids) {
+      int idLength = urlEncode(id).length() + (batch.isEmpty() ? 0 : separatorLength);
+      if (!batch.isEmpty() && length + idLength > MAX_URL_LENGTH) {
+        batches.add(batch);
+        batch = new ArrayList<>();
+        length = fixedLength;
+        idLength = urlEncode(id).length();
+      }
+      batch.add(id);
+      length += idLength;
+    }
+    batches.add(batch);
+
+    return batches;
+  }
+
   private <T> Future<Collection<T>> fetchBatch(String resourcePath, List<String> batch,
     Class<T> objectType, String collectionName) {
 
@@ -105,7 +207,7 @@ public class OkapiClient {
       log.debug("fetchBatch:: fetching batch of {} {}", batch.size(), objectType.getSimpleName());
     }
 
-    String query = String.format("id==(%s)", String.join(" or ", batch));
+    String query = String.format("id==(%s)", String.join(ID_SEPARATOR, batch));
 
     return get(resourcePath, query, objectType, collectionName, batch.size());
   }
@@ -118,7 +220,7 @@ public class OkapiClient {
         resourcePath, query, objectType.getSimpleName(), collectionName, limit);
     }
 
-    String path = String.format("%s?query=%s&limit=%d", resourcePath, urlEncode(query), limit);
+    String path = queryPath(resourcePath, urlEncode(query), limit);
 
     final long startTimeMillis = log.isDebugEnabled() ? -1L : currentTimeMillis();
 
@@ -134,14 +236,50 @@ public class OkapiClient {
           log.warn("get:: GET by query failed: {}", path, exception);
           return failedFuture(exception);
         }
-        return succeededFuture(
-          response.bodyAsJsonObject()
-            .getJsonArray(collectionName)
-            .stream()
-            .map(JsonObject::mapFrom)
-            .map(json -> json.mapTo(objectType))
-            .collect(toList())
-        );
+        try {
+          return succeededFuture(readCollection(response.body(), collectionName, objectType));
+        } catch (IOException e) {
+          log.warn("get:: failed to decode response of GET {}", path, e);
+          return failedFuture(new DecodeException(e.getMessage(), e));
+        }
       });
   }
+
+  private static String queryPath(String resourcePath, String encodedQuery, int limit) {
+    return String.format("%s?query=%s&limit=%d", resourcePath, encodedQuery, limit);
+  }
+
+  /**
+   * Decodes the objects of the collection array directly from the response body, the other
+   * properties of the response are skipped.
+   */
+  static <T> List<T> readCollection(Buffer body, String collectionName, Class<T> objectType)
+    throws IOException {
+
+    if (body == null) {
+      throw new IOException("Response has no body");
+    }
+
+    ObjectMapper mapper = DatabindCodec.mapper();
+    List<T> objects = new ArrayList<>();
+
+    try (JsonParser parser = mapper.createParser(body.getBytes())) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("Response is not a JSON object");
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = parser.currentName();
+        JsonToken valueToken = parser.nextToken();
+        if (collectionName.equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            objects.add(mapper.readValue(parser, objectType));
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+
+    return objects;
+  }
 }
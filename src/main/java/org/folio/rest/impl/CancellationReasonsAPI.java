@@ -13,10 +13,13 @@ import org.folio.rest.jaxrs.resource.CancellationReasonStorage;
 import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.tools.utils.ModuleName;
+import org.folio.service.ReferenceDataCache;
 
 import javax.ws.rs.core.Response;
 import java.util.Map;
 import static org.folio.rest.impl.Headers.TENANT_HEADER;
+import static org.folio.service.ReferenceDataCache.collectionKey;
+import static org.folio.service.ReferenceDataCache.itemKey;
 
 /**
  *
@@ -26,6 +29,7 @@ public class CancellationReasonsAPI implements CancellationReasonStorage {
 
   private static final Logger logger = LogManager.getLogger();
   private static final String TABLE_NAME = "cancellation_reason";
+  private static final ReferenceDataCache cache = ReferenceDataCache.forTable(TABLE_NAME);
   private boolean suppressErrorResponse = false;
 
   private String logAndSaveError(Throwable err) {
@@ -50,7 +54,7 @@ public class CancellationReasonsAPI implements CancellationReasonStorage {
       String deleteAllQuery = String.format("DELETE FROM %s_%s.%s", tenantId,
           ModuleName.getModuleName(), TABLE_NAME);
       PostgresClient.getInstance(vertxContext.owner(), tenantId).execute(deleteAllQuery,
-          mutateReply -> {
+          cache.invalidating(vertxContext, okapiHeaders, mutateReply -> {
         if(mutateReply.failed()) {
           String message = logAndSaveError(mutateReply.cause());
           asyncResultHandler.handle(Future.succeededFuture(
@@ -61,7 +65,7 @@ public class CancellationReasonsAPI implements CancellationReasonStorage {
               DeleteCancellationReasonStorageCancellationReasonsResponse
               .noContent().build()));
         }
-      });
+      }));
     } catch(Exception e) {
       String message = logAndSaveError(e);
       asyncResultHandler.handle(Future.succeededFuture(
@@ -73,12 +77,14 @@ public class CancellationReasonsAPI implements CancellationReasonStorage {
   @Override
   @Validate
   public void getCancellationReasonStorageCancellationReasons(String totalRecords, int offset,
-    int limit, String query, Map<String, String> okapiHeaders,
+    int limit, String query, String ifNoneMatch, Map<String, String> okapiHeaders,
     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
-    PgUtil.get(TABLE_NAME, CancellationReason.class, CancellationReasons.class,
-        query, offset, limit, okapiHeaders, vertxContext,
-        GetCancellationReasonStorageCancellationReasonsResponse.class, asyncResultHandler);
+    cache.get(okapiHeaders, collectionKey(query, offset, limit), ifNoneMatch, () ->
+        PgUtil.get(TABLE_NAME, CancellationReason.class, CancellationReasons.class,
+          query, offset, limit, okapiHeaders, vertxContext,
+          GetCancellationReasonStorageCancellationReasonsResponse.class))
+      .onComplete(asyncResultHandler);
   }
 
   @Override
@@ -88,17 +94,20 @@ public class CancellationReasonsAPI implements CancellationReasonStorage {
     Context vertxContext) {
 
     PgUtil.post(TABLE_NAME, entity, okapiHeaders, vertxContext,
-        PostCancellationReasonStorageCancellationReasonsResponse.class, asyncResultHandler);
+        PostCancellationReasonStorageCancellationReasonsResponse.class,
+        cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler));
   }
 
   @Override
   @Validate
   public void getCancellationReasonStorageCancellationReasonsByCancellationReasonId(
-      String cancellationReasonId, Map<String, String> okapiHeaders,
+      String cancellationReasonId, String ifNoneMatch, Map<String, String> okapiHeaders,
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
-    PgUtil.getById(TABLE_NAME, CancellationReason.class, cancellationReasonId, okapiHeaders, vertxContext,
-        GetCancellationReasonStorageCancellationReasonsByCancellationReasonIdResponse.class, asyncResultHandler);
+    cache.get(okapiHeaders, itemKey(cancellationReasonId), ifNoneMatch, () ->
+        PgUtil.getById(TABLE_NAME, CancellationReason.class, cancellationReasonId, okapiHeaders,
+          vertxContext, GetCancellationReasonStorageCancellationReasonsByCancellationReasonIdResponse.class))
+      .onComplete(asyncResultHandler);
   }
 
   @Override
@@ -108,7 +117,8 @@ public class CancellationReasonsAPI implements CancellationReasonStorage {
     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
     PgUtil.deleteById(TABLE_NAME, cancellationReasonId, okapiHeaders, vertxContext,
-        DeleteCancellationReasonStorageCancellationReasonsByCancellationReasonIdResponse.class, asyncResultHandler);
+        DeleteCancellationReasonStorageCancellationReasonsByCancellationReasonIdResponse.class,
+        cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler));
   }
 
   @Override
@@ -118,6 +128,7 @@ public class CancellationReasonsAPI implements CancellationReasonStorage {
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
     PgUtil.put(TABLE_NAME, entity, cancellationReasonId, okapiHeaders, vertxContext,
-        PutCancellationReasonStorageCancellationReasonsByCancellationReasonIdResponse.class, asyncResultHandler);
+        PutCancellationReasonStorageCancellationReasonsByCancellationReasonIdResponse.class,
+        cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler));
   }
 }
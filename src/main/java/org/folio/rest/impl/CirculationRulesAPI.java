@@ -1,8 +1,11 @@
 package org.folio.rest.impl;
 
 import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.jaxrs.resource.CirculationRulesStorage.GetCirculationRulesStorageResponse.headersFor200;
+import static org.folio.rest.jaxrs.resource.CirculationRulesStorage.GetCirculationRulesStorageResponse.headersFor304;
+import static org.folio.rest.jaxrs.resource.CirculationRulesStorage.GetCirculationRulesStorageResponse.respond200WithApplicationJson;
+import static org.folio.rest.jaxrs.resource.CirculationRulesStorage.GetCirculationRulesStorageResponse.respond304;
 
-import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.core.Response;
@@ -12,10 +15,9 @@ import org.apache.logging.log4j.Logger;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.CirculationRules;
 import org.folio.rest.jaxrs.resource.CirculationRulesStorage;
-import org.folio.rest.persist.Criteria.Criterion;
-import org.folio.rest.persist.PostgresClient;
-import org.folio.rest.tools.utils.TenantTool;
+import org.folio.service.CirculationRulesCache.VersionedCirculationRules;
 import org.folio.service.CirculationRulesService;
+import org.folio.support.EntityTag;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
@@ -32,47 +34,31 @@ public class CirculationRulesAPI implements CirculationRulesStorage {
         respond500WithTextPlain(e.getMessage())));
   }
 
+  /**
+   * Responds with 304 when the rules still match the tag sent in {@code If-None-Match}, the
+   * rules are read from {@link org.folio.service.CirculationRulesCache}.
+   */
   @Override
   @Validate
-  public void getCirculationRulesStorage(Map<String, String> okapiHeaders,
+  public void getCirculationRulesStorage(String ifNoneMatch, Map<String, String> okapiHeaders,
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    try {
-      vertxContext.runOnContext(v -> {
-        try {
-          Criterion filter = new Criterion();
-          PostgresClient postgresClient = PostgresClient.getInstance(
-              vertxContext.owner(), TenantTool.tenantId(okapiHeaders));
 
-          postgresClient.get(CIRCULATION_RULES_TABLE, CirculationRules.class, filter, true,
-            reply -> {
-              try {
-                if (reply.failed()) {
-                  internalErrorGet(asyncResultHandler, reply.cause());
-                  return;
-                }
-
-                List<CirculationRules> circulationRulesList = reply.result().getResults();
+    new CirculationRulesService(vertxContext, okapiHeaders)
+      .get()
+      .onSuccess(versionedRules -> asyncResultHandler.handle(succeededFuture(
+        getResponse(versionedRules, ifNoneMatch))))
+      .onFailure(t -> internalErrorGet(asyncResultHandler, t));
+  }
 
-                if (circulationRulesList.size() != 1) {
-                  internalErrorGet(asyncResultHandler, new IllegalStateException("circulationRulesList.size() = "
-                      + circulationRulesList.size()));
-                  return;
-                }
+  private static Response getResponse(VersionedCirculationRules versionedRules,
+    String ifNoneMatch) {
 
-                CirculationRules circulationRules = circulationRulesList.get(0);
-                asyncResultHandler.handle(succeededFuture(
-                  CirculationRulesStorage.GetCirculationRulesStorageResponse.respond200WithApplicationJson(circulationRules)));
-              } catch (Exception e) {
-                internalErrorGet(asyncResultHandler, e);
-              }
-            });
-        } catch (Exception e) {
-          internalErrorGet(asyncResultHandler, e);
-        }
-      });
-    } catch (Exception e) {
-      internalErrorGet(asyncResultHandler, e);
+    String etag = versionedRules.etag();
+    if (EntityTag.matches(ifNoneMatch, etag)) {
+      return respond304(headersFor304().withETag(etag));
     }
+
+    return respond200WithApplicationJson(versionedRules.rules(), headersFor200().withETag(etag));
   }
 
   @Override
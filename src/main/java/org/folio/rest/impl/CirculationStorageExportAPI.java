@@ -0,0 +1,64 @@
+package org.folio.rest.impl;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.jaxrs.resource.CirculationStorageExport.CirculationStorageExportResponse.respond400WithTextPlain;
+import static org.folio.rest.jaxrs.resource.CirculationStorageExport.CirculationStorageExportResponse.respond500WithTextPlain;
+import static org.folio.support.ModuleConstants.LOAN_HISTORY_TABLE;
+import static org.folio.support.ModuleConstants.LOAN_TABLE;
+import static org.folio.support.ModuleConstants.REQUEST_TABLE;
+
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.folio.rest.annotations.Validate;
+import org.folio.rest.jaxrs.resource.CirculationStorageExport;
+import org.folio.service.export.NdjsonExportService;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+public class CirculationStorageExportAPI implements CirculationStorageExport {
+
+  @Validate
+  @Override
+  public void getCirculationStorageExportLoans(String query, RoutingContext routingContext,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+    Context vertxContext) {
+
+    export(LOAN_TABLE, query, routingContext, okapiHeaders, asyncResultHandler, vertxContext);
+  }
+
+  @Validate
+  @Override
+  public void getCirculationStorageExportRequests(String query, RoutingContext routingContext,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+    Context vertxContext) {
+
+    export(REQUEST_TABLE, query, routingContext, okapiHeaders, asyncResultHandler, vertxContext);
+  }
+
+  @Validate
+  @Override
+  public void getCirculationStorageExportLoanHistory(String query, RoutingContext routingContext,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+    Context vertxContext) {
+
+    export(LOAN_HISTORY_TABLE, query, routingContext, okapiHeaders, asyncResultHandler,
+      vertxContext);
+  }
+
+  private static void export(String tableName, String query, RoutingContext routingContext,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+    Context vertxContext) {
+
+    new NdjsonExportService(vertxContext, okapiHeaders)
+      .export(tableName, query, routingContext.response())
+      .onFailure(e -> asyncResultHandler.handle(succeededFuture(
+        e instanceof IllegalArgumentException
+          ? respond400WithTextPlain(e.getMessage())
+          : respond500WithTextPlain(e.getMessage()))));
+  }
+}
@@ -0,0 +1,51 @@
+package org.folio.rest.impl;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.jaxrs.resource.CirculationStorageInventoryEvents.PostCirculationStorageInventoryEventsDeadLettersReplayResponse.respond200WithApplicationJson;
+import static org.folio.rest.jaxrs.resource.CirculationStorageInventoryEvents.PostCirculationStorageInventoryEventsDeadLettersReplayResponse.respond400WithTextPlain;
+import static org.folio.rest.jaxrs.resource.CirculationStorageInventoryEvents.PostCirculationStorageInventoryEventsDeadLettersReplayResponse.respond500WithTextPlain;
+
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.folio.persist.InventoryEventDeadLetterRepository;
+import org.folio.rest.annotations.Validate;
+import org.folio.rest.jaxrs.resource.CirculationStorageInventoryEvents;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.rest.tools.utils.TenantTool;
+import org.folio.service.event.InventoryEventReplayService;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+
+public class CirculationStorageInventoryEventsAPI implements CirculationStorageInventoryEvents {
+
+  private static final int MAX_REPLAY_LIMIT = 10_000;
+
+  @Validate
+  @Override
+  public void postCirculationStorageInventoryEventsDeadLettersReplay(int limit,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+    Context vertxContext) {
+
+    if (limit < 1 || limit > MAX_REPLAY_LIMIT) {
+      asyncResultHandler.handle(succeededFuture(respond400WithTextPlain(
+        "limit must be between 1 and " + MAX_REPLAY_LIMIT)));
+      return;
+    }
+
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    var repository = new InventoryEventDeadLetterRepository(
+      PostgresClient.getInstance(vertxContext.owner(), tenantId));
+
+    new InventoryEventReplayService(repository,
+        InventoryEventReplayService.recordHandlers(vertxContext))
+      .replay(okapiHeaders, limit)
+      .onSuccess(result -> asyncResultHandler.handle(succeededFuture(
+        respond200WithApplicationJson(result.toJson().encode()))))
+      .onFailure(e -> asyncResultHandler.handle(succeededFuture(
+        respond500WithTextPlain(e.getMessage()))));
+  }
+}
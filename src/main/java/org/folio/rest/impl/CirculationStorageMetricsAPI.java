@@ -0,0 +1,26 @@
+package org.folio.rest.impl;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.jaxrs.resource.CirculationStorageMetrics.CirculationStorageMetricsResponse.respond200WithTextPlain;
+
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.folio.rest.jaxrs.resource.CirculationStorageMetrics;
+import org.folio.support.metrics.PrometheusFormatter;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+
+public class CirculationStorageMetricsAPI implements CirculationStorageMetrics {
+
+  @Override
+  public void getCirculationStorageMetrics(Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    asyncResultHandler.handle(succeededFuture(respond200WithTextPlain(
+      PrometheusFormatter.format(), PrometheusFormatter.CONTENT_TYPE)));
+  }
+}
@@ -15,6 +15,7 @@ import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.tools.utils.ModuleName;
 import org.folio.rest.tools.utils.TenantTool;
 import org.folio.rest.tools.utils.ValidationHelper;
+import org.folio.service.ReferenceDataCache;
 import org.folio.support.UUIDValidation;
 
 import javax.ws.rs.core.Response;
@@ -22,6 +23,8 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import static org.folio.rest.impl.Headers.TENANT_HEADER;
+import static org.folio.service.ReferenceDataCache.collectionKey;
+import static org.folio.service.ReferenceDataCache.itemKey;
 
 public class FixedDueDateSchedulesAPI implements FixedDueDateScheduleStorage {
 
@@ -31,6 +34,8 @@ public class FixedDueDateSchedulesAPI implements FixedDueDateScheduleStorage {
 
   private static final Class<FixedDueDateSchedule> DUE_DATE_SCHEDULE_CLASS = FixedDueDateSchedule.class;
 
+  private static final ReferenceDataCache cache = ReferenceDataCache.forTable(FIXED_SCHEDULE_TABLE);
+
   @Override
   @Validate
   public void deleteFixedDueDateScheduleStorageFixedDueDateSchedules(
@@ -46,7 +51,8 @@ public class FixedDueDateSchedulesAPI implements FixedDueDateScheduleStorage {
 
         postgresClient.execute(
             String.format("DELETE FROM %s_%s.%s", tenantId,
-              ModuleName.getModuleName(), FIXED_SCHEDULE_TABLE), reply -> {
+              ModuleName.getModuleName(), FIXED_SCHEDULE_TABLE),
+            cache.invalidating(vertxContext, okapiHeaders, reply -> {
                 if(reply.succeeded()){
                   asyncResultHandler.handle(io.vertx.core.Future.succeededFuture(
                     FixedDueDateScheduleStorage
@@ -59,7 +65,7 @@ public class FixedDueDateSchedulesAPI implements FixedDueDateScheduleStorage {
                       FixedDueDateScheduleStorage.DeleteFixedDueDateScheduleStorageFixedDueDateSchedulesResponse
                           .respond500WithTextPlain(reply.cause().getMessage())));
                 }
-            });
+            }));
       } catch (Exception e) {
         log.error(e);
         asyncResultHandler.handle(io.vertx.core.Future.succeededFuture(
@@ -72,13 +78,14 @@ public class FixedDueDateSchedulesAPI implements FixedDueDateScheduleStorage {
   @Override
   @Validate
   public void getFixedDueDateScheduleStorageFixedDueDateSchedules(String totalRecords, int offset,
-    int limit, String query, Map<String, String> okapiHeaders,
+    int limit, String query, String ifNoneMatch, Map<String, String> okapiHeaders,
     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
-    PgUtil.get(FIXED_SCHEDULE_TABLE, DUE_DATE_SCHEDULE_CLASS, FixedDueDateSchedules.class,
-        query, offset, limit, okapiHeaders, vertxContext,
-        FixedDueDateScheduleStorage.GetFixedDueDateScheduleStorageFixedDueDateSchedulesResponse.class,
-        asyncResultHandler);
+    cache.get(okapiHeaders, collectionKey(query, offset, limit), ifNoneMatch, () ->
+        PgUtil.get(FIXED_SCHEDULE_TABLE, DUE_DATE_SCHEDULE_CLASS, FixedDueDateSchedules.class,
+          query, offset, limit, okapiHeaders, vertxContext,
+          FixedDueDateScheduleStorage.GetFixedDueDateScheduleStorageFixedDueDateSchedulesResponse.class))
+      .onComplete(asyncResultHandler);
   }
 
   @Override
@@ -97,13 +104,13 @@ public class FixedDueDateSchedulesAPI implements FixedDueDateScheduleStorage {
 
     PgUtil.post(FIXED_SCHEDULE_TABLE, entity, okapiHeaders, vertxContext,
         FixedDueDateScheduleStorage.PostFixedDueDateScheduleStorageFixedDueDateSchedulesResponse.class,
-        asyncResultHandler);
+        cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler));
   }
 
   @Override
   @Validate
   public void getFixedDueDateScheduleStorageFixedDueDateSchedulesByFixedDueDateScheduleId(
-    String fixedDueDateScheduleId, Map<String, String> okapiHeaders,
+    String fixedDueDateScheduleId, String ifNoneMatch, Map<String, String> okapiHeaders,
     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
     // TODO: do we really need this special check?
@@ -114,9 +121,11 @@ public class FixedDueDateSchedulesAPI implements FixedDueDateScheduleStorage {
           .respond404WithTextPlain("Not found, invalid UUID format")));
       return;
     }
-    PgUtil.getById(FIXED_SCHEDULE_TABLE, DUE_DATE_SCHEDULE_CLASS, fixedDueDateScheduleId, okapiHeaders, vertxContext,
-        GetFixedDueDateScheduleStorageFixedDueDateSchedulesByFixedDueDateScheduleIdResponse.class,
-        asyncResultHandler);
+    cache.get(okapiHeaders, itemKey(fixedDueDateScheduleId), ifNoneMatch, () ->
+        PgUtil.getById(FIXED_SCHEDULE_TABLE, DUE_DATE_SCHEDULE_CLASS, fixedDueDateScheduleId,
+          okapiHeaders, vertxContext,
+          GetFixedDueDateScheduleStorageFixedDueDateSchedulesByFixedDueDateScheduleIdResponse.class))
+      .onComplete(asyncResultHandler);
   }
 
   @Override
@@ -127,7 +136,7 @@ public class FixedDueDateSchedulesAPI implements FixedDueDateScheduleStorage {
 
     PgUtil.deleteById(FIXED_SCHEDULE_TABLE, fixedDueDateScheduleId, okapiHeaders, vertxContext,
         DeleteFixedDueDateScheduleStorageFixedDueDateSchedulesByFixedDueDateScheduleIdResponse.class,
-        asyncResultHandler);
+        cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler));
   }
 
   @Override
@@ -145,7 +154,8 @@ public class FixedDueDateSchedulesAPI implements FixedDueDateScheduleStorage {
     }
 
     MyPgUtil.putUpsert204(FIXED_SCHEDULE_TABLE, entity, fixedDueDateScheduleId, okapiHeaders, vertxContext,
-        PutFixedDueDateScheduleStorageFixedDueDateSchedulesByFixedDueDateScheduleIdResponse.class, asyncResultHandler);
+        PutFixedDueDateScheduleStorageFixedDueDateSchedulesByFixedDueDateScheduleIdResponse.class,
+        cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler));
   }
 
   private Errors isDateRangeValid(List<Schedule> schedules) {
@@ -1,18 +1,38 @@
 package org.folio.rest.impl;
 
 import static java.lang.System.getenv;
+import static org.folio.support.kafka.KafkaConfigConstants.EVENT_CONSUMER_INSTANCES;
+import static org.folio.support.kafka.KafkaConfigConstants.EVENT_CONSUMER_LAG_INTERVAL_MS;
+import static org.folio.support.kafka.KafkaConfigConstants.EVENT_CONSUMER_LOAD_LIMIT;
+import static org.folio.support.kafka.KafkaConfigConstants.EVENT_CONSUMER_NODE_ID;
+import static org.folio.support.kafka.KafkaConfigConstants.EVENT_CONSUMER_WORKER_POOL_SIZE;
+import static org.folio.support.kafka.KafkaConfigConstants.INVENTORY_EVENT_BATCH_SIZE;
+import static org.folio.support.kafka.KafkaConfigConstants.INVENTORY_EVENT_BATCH_WINDOW_MS;
+import static org.folio.support.kafka.KafkaConfigConstants.INVENTORY_EVENT_DEDUP_MAX_SIZE;
+import static org.folio.support.kafka.KafkaConfigConstants.INVENTORY_EVENT_DEDUP_PERSISTENT;
+import static org.folio.support.kafka.KafkaConfigConstants.INVENTORY_EVENT_DEDUP_WINDOW_MS;
 import static org.folio.support.kafka.KafkaConfigConstants.KAFKA_ENV;
 import static org.folio.support.kafka.KafkaConfigConstants.KAFKA_HOST;
 import static org.folio.support.kafka.KafkaConfigConstants.KAFKA_MAX_REQUEST_SIZE;
 import static org.folio.support.kafka.KafkaConfigConstants.KAFKA_PORT;
 import static org.folio.support.kafka.KafkaConfigConstants.KAFKA_REPLICATION_FACTOR;
 import static org.folio.support.kafka.KafkaConfigConstants.OKAPI_URL;
+import static org.folio.support.kafka.KafkaConfigConstants.DOMAIN_EVENT_RETRY_BATCH_SIZE;
+import static org.folio.support.kafka.KafkaConfigConstants.DOMAIN_EVENT_RETRY_INTERVAL_MS;
+import static org.folio.support.kafka.KafkaConfigConstants.OUTBOX_RELAY_BATCH_SIZE;
+import static org.folio.support.kafka.KafkaConfigConstants.OUTBOX_RELAY_INTERVAL_MS;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.DomainEventRetryVerticle;
 import org.folio.EventConsumerVerticle;
+import org.folio.OutboxRelayVerticle;
 import org.folio.kafka.services.KafkaEnvironmentProperties;
 import org.folio.rest.resource.interfaces.InitAPI;
+import org.folio.service.event.InventoryEventType;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
@@ -28,10 +48,24 @@ public class InitAPIImpl implements InitAPI {
   private static final Logger log = LogManager.getLogger(InitAPIImpl.class);
   private static final String DEFAULT_OKAPI_URL = "http://okapi:9130";
   private static final int DEFAULT_MAX_REQUEST_SIZE = 4000000;
+  private static final int DEFAULT_EVENT_CONSUMER_INSTANCES = 1;
+  private static final int DEFAULT_EVENT_CONSUMER_LOAD_LIMIT = 5;
+  private static final long DEFAULT_EVENT_CONSUMER_LAG_INTERVAL_MS = 60000;
+  private static final String EVENT_CONSUMER_WORKER_POOL_NAME = "event-consumer-worker";
+  private static final int DEFAULT_INVENTORY_EVENT_BATCH_SIZE = 1;
+  private static final long DEFAULT_INVENTORY_EVENT_BATCH_WINDOW_MS = 500;
+  private static final long DEFAULT_INVENTORY_EVENT_DEDUP_WINDOW_MS = 600000;
+  private static final long DEFAULT_INVENTORY_EVENT_DEDUP_MAX_SIZE = 100000;
+  private static final int DEFAULT_OUTBOX_RELAY_BATCH_SIZE = 500;
+  private static final long DEFAULT_OUTBOX_RELAY_INTERVAL_MS = 5000;
+  private static final int DEFAULT_DOMAIN_EVENT_RETRY_BATCH_SIZE = 100;
+  private static final long DEFAULT_DOMAIN_EVENT_RETRY_INTERVAL_MS = 30000;
 
   @Override
   public void init(Vertx vertx, Context context, Handler<AsyncResult<Boolean>> resultHandler) {
     deployEventConsumerVerticle(vertx)
+      .compose(r -> deployOutboxRelayVerticle(vertx))
+      .compose(r -> deployDomainEventRetryVerticle(vertx))
       .map(true)
       .onSuccess(r -> log.info("init:: initialization complete"))
       .onFailure(t -> log.error("init:: initialization failed", t))
@@ -46,15 +80,100 @@ public class InitAPIImpl implements InitAPI {
       .put(KAFKA_ENV, KafkaEnvironmentProperties.environment())
       .put(OKAPI_URL, getenv().getOrDefault(OKAPI_URL, DEFAULT_OKAPI_URL))
       .put(KAFKA_MAX_REQUEST_SIZE, getenv().getOrDefault(KAFKA_MAX_REQUEST_SIZE,
-        String.valueOf(DEFAULT_MAX_REQUEST_SIZE)));
+        String.valueOf(DEFAULT_MAX_REQUEST_SIZE)))
+      .put(INVENTORY_EVENT_BATCH_SIZE, Integer.parseInt(getenv().getOrDefault(
+        INVENTORY_EVENT_BATCH_SIZE, String.valueOf(DEFAULT_INVENTORY_EVENT_BATCH_SIZE))))
+      .put(INVENTORY_EVENT_BATCH_WINDOW_MS, Long.parseLong(getenv().getOrDefault(
+        INVENTORY_EVENT_BATCH_WINDOW_MS, String.valueOf(DEFAULT_INVENTORY_EVENT_BATCH_WINDOW_MS))))
+      .put(INVENTORY_EVENT_DEDUP_WINDOW_MS, Long.parseLong(getenv().getOrDefault(
+        INVENTORY_EVENT_DEDUP_WINDOW_MS, String.valueOf(DEFAULT_INVENTORY_EVENT_DEDUP_WINDOW_MS))))
+      .put(INVENTORY_EVENT_DEDUP_MAX_SIZE, Long.parseLong(getenv().getOrDefault(
+        INVENTORY_EVENT_DEDUP_MAX_SIZE, String.valueOf(DEFAULT_INVENTORY_EVENT_DEDUP_MAX_SIZE))))
+      .put(INVENTORY_EVENT_DEDUP_PERSISTENT, Boolean.parseBoolean(getenv().getOrDefault(
+        INVENTORY_EVENT_DEDUP_PERSISTENT, "false")))
+      .put(EVENT_CONSUMER_LOAD_LIMIT, getEventConsumerLoadLimits())
+      .put(EVENT_CONSUMER_NODE_ID, getEventConsumerNodeId())
+      .put(EVENT_CONSUMER_LAG_INTERVAL_MS, Long.parseLong(getenv().getOrDefault(
+        EVENT_CONSUMER_LAG_INTERVAL_MS, String.valueOf(DEFAULT_EVENT_CONSUMER_LAG_INTERVAL_MS))));
 
     DeploymentOptions deploymentOptions = new DeploymentOptions()
       .setThreadingModel(ThreadingModel.WORKER)
+      .setInstances(Integer.parseInt(getenv().getOrDefault(EVENT_CONSUMER_INSTANCES,
+        String.valueOf(DEFAULT_EVENT_CONSUMER_INSTANCES))))
       .setConfig(kafkaConfig);
 
+    String workerPoolSize = getenv(EVENT_CONSUMER_WORKER_POOL_SIZE);
+    if (workerPoolSize != null) {
+      deploymentOptions
+        .setWorkerPoolName(EVENT_CONSUMER_WORKER_POOL_NAME)
+        .setWorkerPoolSize(Integer.parseInt(workerPoolSize));
+    }
+
+    log.info("deployEventConsumerVerticle:: deploying {} instance(s), worker pool size: {}",
+      deploymentOptions.getInstances(), deploymentOptions.getWorkerPoolSize());
+
     return vertx.deployVerticle(EventConsumerVerticle.class, deploymentOptions)
       .onSuccess(r -> log.info("deployEventConsumerVerticle:: deployment complete"))
       .onFailure(t -> log.error("deployEventConsumerVerticle:: deployment failed", t));
   }
 
+  /**
+   * Load limit of the consumer of every inventory event type, set by
+   * {@code EVENT_CONSUMER_LOAD_LIMIT} and overridden for a single event type by
+   * {@code EVENT_CONSUMER_LOAD_LIMIT_<event type>}.
+   */
+  private static JsonObject getEventConsumerLoadLimits() {
+    int defaultLoadLimit = Integer.parseInt(getenv().getOrDefault(EVENT_CONSUMER_LOAD_LIMIT,
+      String.valueOf(DEFAULT_EVENT_CONSUMER_LOAD_LIMIT)));
+    JsonObject loadLimits = new JsonObject();
+    for (InventoryEventType eventType : InventoryEventType.values()) {
+      loadLimits.put(eventType.name(), Integer.parseInt(getenv().getOrDefault(
+        EVENT_CONSUMER_LOAD_LIMIT + "_" + eventType.name(), String.valueOf(defaultLoadLimit))));
+    }
+    return loadLimits;
+  }
+
+  /**
+   * Id of this module instance in the names of its own consumer groups, set by
+   * {@code EVENT_CONSUMER_NODE_ID}, the host name by default. The id should stay the same when
+   * the instance is restarted, so that it keeps using the same consumer groups.
+   */
+  private static String getEventConsumerNodeId() {
+    String nodeId = getenv().getOrDefault(EVENT_CONSUMER_NODE_ID, getenv("HOSTNAME"));
+    if (nodeId != null && !nodeId.isBlank()) {
+      return nodeId;
+    }
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      log.warn("getEventConsumerNodeId:: failed to resolve the host name", e);
+      return "localhost";
+    }
+  }
+
+  private static Future<String> deployOutboxRelayVerticle(Vertx vertx) {
+    JsonObject config = new JsonObject()
+      .put(OUTBOX_RELAY_BATCH_SIZE, Integer.parseInt(getenv().getOrDefault(
+        OUTBOX_RELAY_BATCH_SIZE, String.valueOf(DEFAULT_OUTBOX_RELAY_BATCH_SIZE))))
+      .put(OUTBOX_RELAY_INTERVAL_MS, Long.parseLong(getenv().getOrDefault(
+        OUTBOX_RELAY_INTERVAL_MS, String.valueOf(DEFAULT_OUTBOX_RELAY_INTERVAL_MS))));
+
+    return vertx.deployVerticle(OutboxRelayVerticle.class, new DeploymentOptions().setConfig(config))
+      .onSuccess(r -> log.info("deployOutboxRelayVerticle:: deployment complete"))
+      .onFailure(t -> log.error("deployOutboxRelayVerticle:: deployment failed", t));
+  }
+
+  private static Future<String> deployDomainEventRetryVerticle(Vertx vertx) {
+    JsonObject config = new JsonObject()
+      .put(DOMAIN_EVENT_RETRY_BATCH_SIZE, Integer.parseInt(getenv().getOrDefault(
+        DOMAIN_EVENT_RETRY_BATCH_SIZE, String.valueOf(DEFAULT_DOMAIN_EVENT_RETRY_BATCH_SIZE))))
+      .put(DOMAIN_EVENT_RETRY_INTERVAL_MS, Long.parseLong(getenv().getOrDefault(
+        DOMAIN_EVENT_RETRY_INTERVAL_MS, String.valueOf(DEFAULT_DOMAIN_EVENT_RETRY_INTERVAL_MS))));
+
+    return vertx.deployVerticle(DomainEventRetryVerticle.class,
+        new DeploymentOptions().setConfig(config))
+      .onSuccess(r -> log.info("deployDomainEventRetryVerticle:: deployment complete"))
+      .onFailure(t -> log.error("deployDomainEventRetryVerticle:: deployment failed", t));
+  }
+
 }
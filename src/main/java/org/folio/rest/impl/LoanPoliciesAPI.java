@@ -14,15 +14,19 @@ import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.tools.utils.TenantTool;
 import org.folio.rest.tools.utils.ValidationHelper;
+import org.folio.service.ReferenceDataCache;
 import javax.ws.rs.core.Response;
 import java.util.Map;
 import java.util.function.Consumer;
 
 import static org.folio.rest.impl.Headers.TENANT_HEADER;
+import static org.folio.service.ReferenceDataCache.collectionKey;
+import static org.folio.service.ReferenceDataCache.itemKey;
 
 public class LoanPoliciesAPI implements LoanPolicyStorage {
   private static final String LOAN_POLICY_TABLE = "loan_policy";
   private static final Class<LoanPolicy> LOAN_POLICY_CLASS = LoanPolicy.class;
+  private static final ReferenceDataCache cache = ReferenceDataCache.forTable(LOAN_POLICY_TABLE);
 
   @Override
   @Validate
@@ -38,8 +42,8 @@ public class LoanPoliciesAPI implements LoanPolicyStorage {
 
         postgresClient.execute(String.format("TRUNCATE TABLE %s_%s.%s",
           tenantId, "mod_circulation_storage", LOAN_POLICY_TABLE),
-          reply -> asyncResultHandler.handle(Future.succeededFuture(
-            DeleteLoanPolicyStorageLoanPoliciesResponse.respond204())));
+          cache.invalidating(vertxContext, okapiHeaders, reply -> asyncResultHandler.handle(
+            Future.succeededFuture(DeleteLoanPolicyStorageLoanPoliciesResponse.respond204()))));
       }
       catch(Exception e) {
         asyncResultHandler.handle(io.vertx.core.Future.succeededFuture(
@@ -52,12 +56,13 @@ public class LoanPoliciesAPI implements LoanPolicyStorage {
   @Override
   @Validate
   public void getLoanPolicyStorageLoanPolicies(String totalRecords, int offset, int limit,
-    String query, Map<String, String> okapiHeaders,
+    String query, String ifNoneMatch, Map<String, String> okapiHeaders,
     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
-    PgUtil.get(LOAN_POLICY_TABLE,  LOAN_POLICY_CLASS, LoanPolicies.class, query, offset, limit,
-        okapiHeaders, vertxContext,
-        GetLoanPolicyStorageLoanPoliciesResponse.class, asyncResultHandler);
+    cache.get(okapiHeaders, collectionKey(query, offset, limit), ifNoneMatch, () ->
+        PgUtil.get(LOAN_POLICY_TABLE, LOAN_POLICY_CLASS, LoanPolicies.class, query, offset, limit,
+          okapiHeaders, vertxContext, GetLoanPolicyStorageLoanPoliciesResponse.class))
+      .onComplete(asyncResultHandler);
   }
 
   @Override
@@ -68,17 +73,20 @@ public class LoanPoliciesAPI implements LoanPolicyStorage {
 
     validate(entity, errors -> respond422(errors, asyncResultHandler), () ->
       PgUtil.post(LOAN_POLICY_TABLE, entity, okapiHeaders, vertxContext,
-          PostLoanPolicyStorageLoanPoliciesResponse.class, asyncResultHandler));
+          PostLoanPolicyStorageLoanPoliciesResponse.class,
+          cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler)));
   }
 
   @Override
   @Validate
   public void getLoanPolicyStorageLoanPoliciesByLoanPolicyId(String loanPolicyId,
-    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
-    Context vertxContext) {
+    String ifNoneMatch, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
-    PgUtil.getById(LOAN_POLICY_TABLE, LOAN_POLICY_CLASS, loanPolicyId, okapiHeaders, vertxContext,
-        GetLoanPolicyStorageLoanPoliciesByLoanPolicyIdResponse.class, asyncResultHandler);
+    cache.get(okapiHeaders, itemKey(loanPolicyId), ifNoneMatch, () ->
+        PgUtil.getById(LOAN_POLICY_TABLE, LOAN_POLICY_CLASS, loanPolicyId, okapiHeaders,
+          vertxContext, GetLoanPolicyStorageLoanPoliciesByLoanPolicyIdResponse.class))
+      .onComplete(asyncResultHandler);
   }
 
   @Override
@@ -88,7 +96,8 @@ public class LoanPoliciesAPI implements LoanPolicyStorage {
     Context vertxContext) {
 
     PgUtil.deleteById(LOAN_POLICY_TABLE, loanPolicyId, okapiHeaders, vertxContext,
-        DeleteLoanPolicyStorageLoanPoliciesByLoanPolicyIdResponse.class, asyncResultHandler);
+        DeleteLoanPolicyStorageLoanPoliciesByLoanPolicyIdResponse.class,
+        cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler));
   }
 
   @Override
@@ -99,7 +108,8 @@ public class LoanPoliciesAPI implements LoanPolicyStorage {
 
     validate(entity, errors -> respond422(errors, asyncResultHandler), () ->
       MyPgUtil.putUpsert204(LOAN_POLICY_TABLE, entity, loanPolicyId, okapiHeaders, vertxContext,
-          PutLoanPolicyStorageLoanPoliciesByLoanPolicyIdResponse.class, asyncResultHandler));
+          PutLoanPolicyStorageLoanPoliciesByLoanPolicyIdResponse.class,
+          cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler)));
   }
 
   private void respond422(Errors errors, Handler<AsyncResult<Response>> asyncResultHandler) {
@@ -26,11 +26,15 @@ public class LoansAPI implements LoanStorage {
 
   @Validate
   @Override
-  public void getLoanStorageLoans(String totalRecords, int offset, int limit, String query,
-    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
-    Context vertxContext) {
+  public void getLoanStorageLoans(String cursor, String totalRecords, int offset, int limit,
+    String query, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    LoanService service = new LoanService(vertxContext, okapiHeaders);
 
-    new LoanService(vertxContext, okapiHeaders).findByQuery(query, offset, limit)
+    (cursor == null
+      ? service.findByQuery(query, offset, limit)
+      : service.findByCursor(query, cursor, totalRecords, limit))
         .onComplete(asyncResultHandler);
   }
 
@@ -85,11 +89,15 @@ public class LoansAPI implements LoanStorage {
 
   @Validate
   @Override
-  public void getLoanStorageLoanHistory(String totalRecords, int offset, int limit, String query,
-    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
-    Context vertxContext) {
+  public void getLoanStorageLoanHistory(String cursor, String totalRecords, int offset,
+    int limit, String query, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    LoanService service = new LoanService(vertxContext, okapiHeaders);
 
-    new LoanService(vertxContext, okapiHeaders).getLoanHistory(query, offset, limit)
+    (cursor == null
+      ? service.getLoanHistory(query, offset, limit)
+      : service.getLoanHistoryByCursor(query, cursor, totalRecords, limit))
         .onComplete(asyncResultHandler);
   }
 
@@ -10,6 +10,8 @@ import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 import static org.folio.rest.impl.CirculationRulesAPI.CIRCULATION_RULES_TABLE;
 import static org.folio.rest.jaxrs.model.SendOptions.SendWhen.AGED_TO_LOST;
 import static org.folio.rest.jaxrs.model.SendOptions.SendWhen.DUE_DATE;
+import static org.folio.service.ReferenceDataCache.collectionKey;
+import static org.folio.service.ReferenceDataCache.itemKey;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -54,6 +56,7 @@ import org.folio.rest.persist.Criteria.Offset;
 import org.folio.rest.persist.cql.CQLWrapper;
 import org.folio.rest.persist.interfaces.Results;
 import org.folio.rest.tools.utils.ValidationHelper;
+import org.folio.service.ReferenceDataCache;
 import org.folio.support.exception.NoticePolicyInUseException;
 
 public class PatronNoticePoliciesAPI implements PatronNoticePolicyStorage {
@@ -70,12 +73,26 @@ public class PatronNoticePoliciesAPI implements PatronNoticePolicyStorage {
   private static final Set<SendOptions.SendWhen> TRIGGERING_EVENTS_FOR_SCHEDULED_LOAN_NOTICES =
     EnumSet.of(DUE_DATE, AGED_TO_LOST);
 
+  private static final ReferenceDataCache cache =
+    ReferenceDataCache.forTable(PATRON_NOTICE_POLICY_TABLE);
+
   @Validate
   @Override
   public void getPatronNoticePolicyStoragePatronNoticePolicies(String totalRecords, int offset,
-    int limit, String query, Map<String, String> okapiHeaders,
+    int limit, String query, String ifNoneMatch, Map<String, String> okapiHeaders,
     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
+    cache.get(okapiHeaders, collectionKey(query, offset, limit), ifNoneMatch, () -> {
+      Promise<Response> promise = Promise.promise();
+      getPatronNoticePolicies(offset, limit, query, okapiHeaders, promise::handle, vertxContext);
+      return promise.future();
+    }).onComplete(asyncResultHandler);
+  }
+
+  private void getPatronNoticePolicies(int offset, int limit, String query,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+    Context vertxContext) {
+
     vertxContext.runOnContext(v -> {
       try {
         String tenantId = okapiHeaders.get(RestVerticle.OKAPI_HEADER_TENANT);
@@ -130,7 +147,7 @@ public class PatronNoticePoliciesAPI implements PatronNoticePolicyStorage {
           entity.setId(UUID.randomUUID().toString());
         }
 
-        pgClient.save(PATRON_NOTICE_POLICY_TABLE, entity.getId(), entity, save -> {
+        pgClient.save(PATRON_NOTICE_POLICY_TABLE, entity.getId(), entity, cache.invalidating(vertxContext, okapiHeaders, save -> {
           if (save.failed()) {
             logger.error(save.cause());
             if (ValidationHelper.isDuplicate(save.cause().getMessage())) {
@@ -144,7 +161,7 @@ public class PatronNoticePoliciesAPI implements PatronNoticePolicyStorage {
           }
           asyncResultHandler.handle(succeededFuture(
             PostPatronNoticePolicyStoragePatronNoticePoliciesResponse.respond201WithApplicationJson(entity)));
-        });
+        }));
       } catch (Exception e) {
         logger.error(e);
         asyncResultHandler.handle(succeededFuture(
@@ -157,13 +174,15 @@ public class PatronNoticePoliciesAPI implements PatronNoticePolicyStorage {
   @Override
   public void getPatronNoticePolicyStoragePatronNoticePoliciesByPatronNoticePolicyId(
     String patronNoticePolicyId,
+    String ifNoneMatch,
     Map<String, String> okapiHeaders,
     Handler<AsyncResult<Response>> asyncResultHandler,
     Context vertxContext) {
 
-    PgUtil.getById(PATRON_NOTICE_POLICY_TABLE, PatronNoticePolicy.class, patronNoticePolicyId, okapiHeaders,
-      vertxContext, GetPatronNoticePolicyStoragePatronNoticePoliciesByPatronNoticePolicyIdResponse.class,
-      asyncResultHandler);
+    cache.get(okapiHeaders, itemKey(patronNoticePolicyId), ifNoneMatch, () ->
+      PgUtil.getById(PATRON_NOTICE_POLICY_TABLE, PatronNoticePolicy.class, patronNoticePolicyId, okapiHeaders,
+        vertxContext, GetPatronNoticePolicyStoragePatronNoticePoliciesByPatronNoticePolicyIdResponse.class))
+      .onComplete(asyncResultHandler);
   }
 
   @Validate
@@ -184,7 +203,7 @@ public class PatronNoticePoliciesAPI implements PatronNoticePolicyStorage {
       .map(v -> DeletePatronNoticePolicyStoragePatronNoticePoliciesByPatronNoticePolicyIdResponse.respond204())
       .map(Response.class::cast)
       .otherwise(this::mapExceptionToResponse)
-      .onComplete(asyncResultHandler);
+      .onComplete(cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler));
   }
 
   @Validate
@@ -209,7 +228,7 @@ public class PatronNoticePoliciesAPI implements PatronNoticePolicyStorage {
         String tenantId = okapiHeaders.get(RestVerticle.OKAPI_HEADER_TENANT);
         PostgresClient pgClient = PostgresClient.getInstance(vertxContext.owner(), tenantId);
 
-        pgClient.update(PATRON_NOTICE_POLICY_TABLE, entity, patronNoticePolicyId, update -> {
+        pgClient.update(PATRON_NOTICE_POLICY_TABLE, entity, patronNoticePolicyId, cache.invalidating(vertxContext, okapiHeaders, update -> {
           if (update.failed()) {
             logger.error(update.cause());
             if (ValidationHelper.isDuplicate(update.cause().getMessage())) {
@@ -232,7 +251,7 @@ public class PatronNoticePoliciesAPI implements PatronNoticePolicyStorage {
           }
           asyncResultHandler.handle(succeededFuture(
             PutPatronNoticePolicyStoragePatronNoticePoliciesByPatronNoticePolicyIdResponse.respond204()));
-        });
+        }));
       } catch (Exception e) {
         logger.error(e);
         asyncResultHandler.handle(succeededFuture(
@@ -18,6 +18,7 @@ import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.cql.CQLWrapper;
 import org.folio.rest.tools.utils.OutStream;
 import org.folio.rest.tools.utils.TenantTool;
+import org.folio.service.ReferenceDataCache;
 import org.folio.service.policy.RequestPolicyValidationService;
 import org.folio.support.exception.ValidationException;
 
@@ -28,21 +29,27 @@ import java.util.UUID;
 
 import static io.vertx.core.Future.succeededFuture;
 import static org.folio.rest.impl.Headers.TENANT_HEADER;
+import static org.folio.service.ReferenceDataCache.collectionKey;
+import static org.folio.service.ReferenceDataCache.itemKey;
 import static org.folio.support.ModuleConstants.REQUEST_POLICY_CLASS;
 import static org.folio.support.ModuleConstants.REQUEST_POLICY_TABLE;
 
 public class RequestPoliciesAPI implements RequestPolicyStorage {
   private static final Logger log = LogManager.getLogger();
+  private static final ReferenceDataCache cache =
+    ReferenceDataCache.forTable(REQUEST_POLICY_TABLE);
 
   @Validate
   @Override
   public void getRequestPolicyStorageRequestPolicies(String totalRecords, int offset, int limit,
-    String query, Map<String, String> okapiHeaders,
+    String query, String ifNoneMatch, Map<String, String> okapiHeaders,
     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
-    PgUtil.get(REQUEST_POLICY_TABLE, REQUEST_POLICY_CLASS, RequestPolicies.class,
-        query, offset, limit, okapiHeaders, vertxContext,
-        GetRequestPolicyStorageRequestPoliciesResponse.class, asyncResultHandler);
+    cache.get(okapiHeaders, collectionKey(query, offset, limit), ifNoneMatch, () ->
+        PgUtil.get(REQUEST_POLICY_TABLE, REQUEST_POLICY_CLASS, RequestPolicies.class,
+          query, offset, limit, okapiHeaders, vertxContext,
+          GetRequestPolicyStorageRequestPoliciesResponse.class))
+      .onComplete(asyncResultHandler);
   }
 
   @Validate
@@ -83,7 +90,7 @@ public class RequestPoliciesAPI implements RequestPolicyStorage {
             })
             .onSuccess(ignored ->
               postgresClient.save(REQUEST_POLICY_TABLE, entity.getId(), entity,
-                reply -> {
+                cache.invalidating(vertxContext, okapiHeaders, reply -> {
                   try {
                     if (reply.succeeded()) {
                       OutStream stream = new OutStream();
@@ -108,7 +115,7 @@ public class RequestPoliciesAPI implements RequestPolicyStorage {
                         RequestPolicyStorage.PostRequestPolicyStorageRequestPoliciesResponse
                           .respond500WithTextPlain(e.getMessage())));
                   }
-                })
+                }))
             );
         } catch (Exception e) {
           log.error(e);
@@ -141,8 +148,8 @@ public class RequestPoliciesAPI implements RequestPolicyStorage {
         CQLWrapper cql = new CQLWrapper(cql2pgJson, null);
 
         postgresClient.delete(REQUEST_POLICY_TABLE, cql,
-          reply -> asyncResultHandler.handle(succeededFuture(
-            DeleteRequestPolicyStorageRequestPoliciesResponse.respond204())));
+          cache.invalidating(vertxContext, okapiHeaders, reply -> asyncResultHandler.handle(succeededFuture(
+            DeleteRequestPolicyStorageRequestPoliciesResponse.respond204()))));
       }
       catch(Exception e) {
         asyncResultHandler.handle(succeededFuture(
@@ -155,11 +162,13 @@ public class RequestPoliciesAPI implements RequestPolicyStorage {
   @Validate
   @Override
   public void getRequestPolicyStorageRequestPoliciesByRequestPolicyId(String requestPolicyId,
-    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
-    Context vertxContext) {
+    String ifNoneMatch, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
-    PgUtil.getById(REQUEST_POLICY_TABLE, REQUEST_POLICY_CLASS, requestPolicyId, okapiHeaders, vertxContext,
-        GetRequestPolicyStorageRequestPoliciesByRequestPolicyIdResponse.class, asyncResultHandler);
+    cache.get(okapiHeaders, itemKey(requestPolicyId), ifNoneMatch, () ->
+        PgUtil.getById(REQUEST_POLICY_TABLE, REQUEST_POLICY_CLASS, requestPolicyId, okapiHeaders,
+          vertxContext, GetRequestPolicyStorageRequestPoliciesByRequestPolicyIdResponse.class))
+      .onComplete(asyncResultHandler);
   }
 
   @Validate
@@ -184,7 +193,8 @@ public class RequestPoliciesAPI implements RequestPolicyStorage {
       .onSuccess(ignored ->
         // TODO: on insert return 201, not 204
         MyPgUtil.putUpsert204(REQUEST_POLICY_TABLE, entity, requestPolicyId, okapiHeaders, vertxContext,
-        PutRequestPolicyStorageRequestPoliciesByRequestPolicyIdResponse.class, asyncResultHandler));
+        PutRequestPolicyStorageRequestPoliciesByRequestPolicyIdResponse.class,
+        cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler)));
   }
 
   @Validate
@@ -194,6 +204,7 @@ public class RequestPoliciesAPI implements RequestPolicyStorage {
     Context vertxContext) {
 
     PgUtil.deleteById(REQUEST_POLICY_TABLE, requestPolicyId, okapiHeaders, vertxContext,
-        DeleteRequestPolicyStorageRequestPoliciesByRequestPolicyIdResponse.class, asyncResultHandler);
+        DeleteRequestPolicyStorageRequestPoliciesByRequestPolicyIdResponse.class,
+        cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler));
   }
 }
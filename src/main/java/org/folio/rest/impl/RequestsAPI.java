@@ -26,11 +26,15 @@ public class RequestsAPI implements RequestStorage {
 
   @Validate
   @Override
-  public void getRequestStorageRequests(String totalRecords, int offset, int limit, String query,
-    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
-    Context vertxContext) {
+  public void getRequestStorageRequests(String cursor, String totalRecords, int offset, int limit,
+    String query, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    RequestService service = new RequestService(vertxContext, okapiHeaders);
 
-    new RequestService(vertxContext, okapiHeaders).findByQuery(query, offset, limit)
+    (cursor == null
+      ? service.findByQuery(query, offset, limit)
+      : service.findByCursor(query, cursor, totalRecords, limit))
         .onComplete(asyncResultHandler);
   }
 
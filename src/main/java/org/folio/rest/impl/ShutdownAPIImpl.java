@@ -0,0 +1,27 @@
+package org.folio.rest.impl;
+
+import static io.vertx.core.Future.succeededFuture;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.resource.interfaces.ShutdownAPI;
+import org.folio.support.kafka.KafkaProducerPool;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+public class ShutdownAPIImpl implements ShutdownAPI {
+
+  private static final Logger log = LogManager.getLogger(ShutdownAPIImpl.class);
+
+  @Override
+  public void shutdown(Vertx vertx, Handler<AsyncResult<Void>> handler) {
+    KafkaProducerPool.closeAll(vertx)
+      .onSuccess(r -> log.info("shutdown:: shutdown complete"))
+      .onFailure(t -> log.error("shutdown:: failed to close Kafka producers", t))
+      .recover(t -> succeededFuture())
+      .onComplete(handler);
+  }
+
+}
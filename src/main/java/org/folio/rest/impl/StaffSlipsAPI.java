@@ -12,12 +12,15 @@ import org.folio.rest.jaxrs.resource.StaffSlipsStorage;
 import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.tools.utils.TenantTool;
+import org.folio.service.ReferenceDataCache;
 
 import javax.ws.rs.core.Response;
 import java.util.Map;
 import java.util.StringJoiner;
 import static io.vertx.core.Future.succeededFuture;
 import static org.folio.rest.impl.Headers.TENANT_HEADER;
+import static org.folio.service.ReferenceDataCache.collectionKey;
+import static org.folio.service.ReferenceDataCache.itemKey;
 
 public class StaffSlipsAPI implements StaffSlipsStorage {
 
@@ -25,6 +28,8 @@ public class StaffSlipsAPI implements StaffSlipsStorage {
 
   private static final Class<StaffSlip> STAFF_SLIP_CLASS = StaffSlip.class;
 
+  private static final ReferenceDataCache cache = ReferenceDataCache.forTable(STAFF_SLIP_TABLE);
+
   @Validate
   @Override
   public void deleteStaffSlipsStorageStaffSlips(Map<String, String> okapiHeaders,
@@ -42,8 +47,8 @@ public class StaffSlipsAPI implements StaffSlipsStorage {
         postgresClient.execute(
           // TODO: Need to add 204 response to staff slips RAML interface definition!
           String.format("TRUNCATE TABLE %s_%s.%s", tenantId, "mod_circulation_storage", STAFF_SLIP_TABLE),
-          reply -> asyncResultHandler.handle(succeededFuture(
-            DeleteStaffSlipsStorageStaffSlipsResponse.noContent().build())));
+          cache.invalidating(vertxContext, okapiHeaders, reply -> asyncResultHandler.handle(succeededFuture(
+            DeleteStaffSlipsStorageStaffSlipsResponse.noContent().build()))));
 
       } catch (Exception e) {
         asyncResultHandler
@@ -58,11 +63,13 @@ public class StaffSlipsAPI implements StaffSlipsStorage {
   @Validate
   @Override
   public void getStaffSlipsStorageStaffSlips(String totalRecords, int offset, int limit,
-    String query, Map<String, String> okapiHeaders,
+    String query, String ifNoneMatch, Map<String, String> okapiHeaders,
     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
-    PgUtil.get(STAFF_SLIP_TABLE, STAFF_SLIP_CLASS, StaffSlips.class, query, offset, limit, okapiHeaders, vertxContext,
-        GetStaffSlipsStorageStaffSlipsResponse.class, asyncResultHandler);
+    cache.get(okapiHeaders, collectionKey(query, offset, limit), ifNoneMatch, () ->
+        PgUtil.get(STAFF_SLIP_TABLE, STAFF_SLIP_CLASS, StaffSlips.class, query, offset, limit,
+          okapiHeaders, vertxContext, GetStaffSlipsStorageStaffSlipsResponse.class))
+      .onComplete(asyncResultHandler);
   }
 
   @Validate
@@ -86,11 +93,13 @@ public class StaffSlipsAPI implements StaffSlipsStorage {
   @Validate
   @Override
   public void getStaffSlipsStorageStaffSlipsByStaffSlipId(String staffSlipId,
-    Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
-    Context vertxContext) {
+    String ifNoneMatch, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
-    PgUtil.getById(STAFF_SLIP_TABLE, STAFF_SLIP_CLASS, staffSlipId, okapiHeaders, vertxContext,
-        GetStaffSlipsStorageStaffSlipsByStaffSlipIdResponse.class, asyncResultHandler);
+    cache.get(okapiHeaders, itemKey(staffSlipId), ifNoneMatch, () ->
+        PgUtil.getById(STAFF_SLIP_TABLE, STAFF_SLIP_CLASS, staffSlipId, okapiHeaders, vertxContext,
+          GetStaffSlipsStorageStaffSlipsByStaffSlipIdResponse.class))
+      .onComplete(asyncResultHandler);
   }
 
   @Validate
@@ -100,7 +109,8 @@ public class StaffSlipsAPI implements StaffSlipsStorage {
     Context vertxContext) {
 
     PgUtil.deleteById(STAFF_SLIP_TABLE, staffSlipId, okapiHeaders, vertxContext,
-        DeleteStaffSlipsStorageStaffSlipsByStaffSlipIdResponse.class, asyncResultHandler);
+        DeleteStaffSlipsStorageStaffSlipsByStaffSlipIdResponse.class,
+        cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler));
   }
 
   @Validate
@@ -119,7 +129,8 @@ public class StaffSlipsAPI implements StaffSlipsStorage {
     }
 
     PgUtil.put(STAFF_SLIP_TABLE, entity, staffSlipId, okapiHeaders, vertxContext,
-        PutStaffSlipsStorageStaffSlipsByStaffSlipIdResponse.class, reply -> {
+        PutStaffSlipsStorageStaffSlipsByStaffSlipIdResponse.class,
+        cache.invalidating(vertxContext, okapiHeaders, reply -> {
           if (reply.failed() || reply.result().getStatus() != 404) {
             asyncResultHandler.handle(reply);
             return;
@@ -129,7 +140,7 @@ public class StaffSlipsAPI implements StaffSlipsStorage {
           // FIXME: This returns the non-declared 201 status code by using
           // PostStaffSlipsStorageStaffSlipsResponse
           createStaffSlip(entity, okapiHeaders, asyncResultHandler, vertxContext);
-        });
+        }));
   }
 
   private void createStaffSlip(StaffSlip entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
@@ -139,7 +150,8 @@ public class StaffSlipsAPI implements StaffSlipsStorage {
       entity.setActive(true);
     }
     PgUtil.post(STAFF_SLIP_TABLE, entity, okapiHeaders, vertxContext,
-        PostStaffSlipsStorageStaffSlipsResponse.class, asyncResultHandler);
+        PostStaffSlipsStorageStaffSlipsResponse.class,
+        cache.invalidating(vertxContext, okapiHeaders, asyncResultHandler));
   }
 
   private ImmutablePair<Boolean, String> validateStaffSlip(StaffSlip staffSlip) {
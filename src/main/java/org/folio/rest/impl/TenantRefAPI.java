@@ -13,7 +13,10 @@ import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.TenantAttributes;
 import org.folio.rest.tools.utils.TenantLoading;
 import org.folio.rest.tools.utils.TenantTool;
+import org.folio.service.CirculationRulesCache;
+import org.folio.service.CirculationSettingsCache;
 import org.folio.service.PubSubRegistrationService;
+import org.folio.service.ReferenceDataCache;
 import org.folio.service.migration.TlrDataMigrationService;
 import org.folio.service.migration.RequestSearchFieldsMigrationService;
 
@@ -42,6 +45,8 @@ public class TenantRefAPI extends TenantAPI {
       .compose(r -> super.loadData(attributes, tenantId, headers, vertxContext))
       .compose(r -> loadData(attributes, headers, vertxContext))
       .compose(r -> registerModuleInPubSub(headers, vertxContext))
+      // schema scripts and migrations can change the settings
+      .onComplete(r -> invalidateCaches(tenantId))
       .mapEmpty();
   }
 
@@ -100,6 +105,12 @@ public class TenantRefAPI extends TenantAPI {
     return result;
   }
 
+  private static void invalidateCaches(String tenantId) {
+    CirculationSettingsCache.getInstance().invalidate(tenantId);
+    CirculationRulesCache.getInstance().invalidate(tenantId);
+    ReferenceDataCache.invalidateAllTables(tenantId);
+  }
+
   private Future<Boolean> registerModuleInPubSub(Map<String, String> headers, Context vertxContext) {
     var vertx = vertxContext.owner();
     return Future.fromCompletionStage(PubSubRegistrationService.registerModule(headers, vertx));
@@ -114,6 +125,7 @@ public class TenantRefAPI extends TenantAPI {
     Future<Void> result = tenantAttributes.getPurge() != null && tenantAttributes.getPurge()
       ? new KafkaAdminClientService(context.owner()).deleteKafkaTopics(CirculationStorageKafkaTopic.values(), tenantId)
       : Future.succeededFuture();
+    invalidateCaches(tenantId);
     result.onComplete(x -> super.postTenant(tenantAttributes, headers, handler, context));
   }
 
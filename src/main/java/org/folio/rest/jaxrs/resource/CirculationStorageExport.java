@@ -0,0 +1,77 @@
+package org.folio.rest.jaxrs.resource;
+
+import java.util.Map;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Response;
+
+import org.folio.rest.jaxrs.resource.support.ResponseDelegate;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+
+/**
+ * Exports the records matching a CQL query as newline-delimited JSON. The records are
+ * written to the response of the routing context while they are read from the database;
+ * the handler only receives a response when the export fails before the first record.
+ */
+@Path("/circulation-storage-export")
+public interface CirculationStorageExport {
+
+  String NDJSON = "application/x-ndjson";
+
+  @GET
+  @Path("/loans")
+  @Produces({NDJSON, "text/plain"})
+  void getCirculationStorageExportLoans(@QueryParam("query") String query,
+                                        RoutingContext routingContext,
+                                        Map<String, String> okapiHeaders,
+                                        Handler<AsyncResult<Response>> asyncResultHandler,
+                                        Context vertxContext);
+
+  @GET
+  @Path("/requests")
+  @Produces({NDJSON, "text/plain"})
+  void getCirculationStorageExportRequests(@QueryParam("query") String query,
+                                           RoutingContext routingContext,
+                                           Map<String, String> okapiHeaders,
+                                           Handler<AsyncResult<Response>> asyncResultHandler,
+                                           Context vertxContext);
+
+  @GET
+  @Path("/loan-history")
+  @Produces({NDJSON, "text/plain"})
+  void getCirculationStorageExportLoanHistory(@QueryParam("query") String query,
+                                              RoutingContext routingContext,
+                                              Map<String, String> okapiHeaders,
+                                              Handler<AsyncResult<Response>> asyncResultHandler,
+                                              Context vertxContext);
+
+  class CirculationStorageExportResponse extends ResponseDelegate {
+    private CirculationStorageExportResponse(Response response, Object entity) {
+      super(response, entity);
+    }
+
+    public static CirculationStorageExportResponse respond400WithTextPlain(String reason) {
+      Response.ResponseBuilder responseBuilder = Response.status(400).header(CONTENT_TYPE, TEXT_PLAIN);
+      responseBuilder.entity(reason);
+
+      return new CirculationStorageExportResponse(responseBuilder.build(), reason);
+    }
+
+    public static CirculationStorageExportResponse respond500WithTextPlain(String reason) {
+      Response.ResponseBuilder responseBuilder = Response.status(500).header(CONTENT_TYPE, TEXT_PLAIN);
+      responseBuilder.entity(reason);
+
+      return new CirculationStorageExportResponse(responseBuilder.build(), reason);
+    }
+  }
+}
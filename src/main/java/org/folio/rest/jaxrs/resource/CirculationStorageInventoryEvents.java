@@ -0,0 +1,75 @@
+package org.folio.rest.jaxrs.resource;
+
+import java.util.Map;
+
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Response;
+
+import org.folio.rest.jaxrs.resource.support.ResponseDelegate;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+
+/**
+ * Administration of the inventory events that could not be processed and were parked in the
+ * tenant's dead-letter table.
+ */
+@Path("/circulation-storage-inventory-events")
+public interface CirculationStorageInventoryEvents {
+
+  @POST
+  @Path("/dead-letters/replay")
+  @Produces({"application/json", "text/plain"})
+  void postCirculationStorageInventoryEventsDeadLettersReplay(
+    @DefaultValue("1000") @QueryParam("limit") int limit,
+    Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler,
+    Context vertxContext);
+
+  class PostCirculationStorageInventoryEventsDeadLettersReplayResponse extends ResponseDelegate {
+    private PostCirculationStorageInventoryEventsDeadLettersReplayResponse(Response response,
+      Object entity) {
+
+      super(response, entity);
+    }
+
+    public static PostCirculationStorageInventoryEventsDeadLettersReplayResponse
+      respond200WithApplicationJson(String entity) {
+
+      Response.ResponseBuilder responseBuilder = Response.status(200).header(CONTENT_TYPE, APPLICATION_JSON);
+      responseBuilder.entity(entity);
+
+      return new PostCirculationStorageInventoryEventsDeadLettersReplayResponse(
+        responseBuilder.build(), entity);
+    }
+
+    public static PostCirculationStorageInventoryEventsDeadLettersReplayResponse
+      respond400WithTextPlain(String reason) {
+
+      Response.ResponseBuilder responseBuilder = Response.status(400).header(CONTENT_TYPE, TEXT_PLAIN);
+      responseBuilder.entity(reason);
+
+      return new PostCirculationStorageInventoryEventsDeadLettersReplayResponse(
+        responseBuilder.build(), reason);
+    }
+
+    public static PostCirculationStorageInventoryEventsDeadLettersReplayResponse
+      respond500WithTextPlain(String reason) {
+
+      Response.ResponseBuilder responseBuilder = Response.status(500).header(CONTENT_TYPE, TEXT_PLAIN);
+      responseBuilder.entity(reason);
+
+      return new PostCirculationStorageInventoryEventsDeadLettersReplayResponse(
+        responseBuilder.build(), reason);
+    }
+  }
+}
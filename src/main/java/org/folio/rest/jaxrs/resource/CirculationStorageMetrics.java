@@ -0,0 +1,44 @@
+package org.folio.rest.jaxrs.resource;
+
+import java.util.Map;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+
+import org.folio.rest.jaxrs.resource.support.ResponseDelegate;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+
+/**
+ * Operational metrics of the module instance in the Prometheus text exposition format.
+ */
+@Path("/circulation-storage-metrics")
+public interface CirculationStorageMetrics {
+
+  @GET
+  @Produces("text/plain")
+  void getCirculationStorageMetrics(Map<String, String> okapiHeaders,
+                                    Handler<AsyncResult<Response>> asyncResultHandler,
+                                    Context vertxContext);
+
+  class CirculationStorageMetricsResponse extends ResponseDelegate {
+    private CirculationStorageMetricsResponse(Response response, Object entity) {
+      super(response, entity);
+    }
+
+    public static CirculationStorageMetricsResponse respond200WithTextPlain(String entity,
+      String contentType) {
+
+      Response.ResponseBuilder responseBuilder = Response.status(200).header(CONTENT_TYPE, contentType);
+      responseBuilder.entity(entity);
+
+      return new CirculationStorageMetricsResponse(responseBuilder.build(), entity);
+    }
+  }
+}
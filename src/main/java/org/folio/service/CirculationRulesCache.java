@@ -0,0 +1,86 @@
+package org.folio.service;
+
+import static java.lang.System.getenv;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.jaxrs.model.CirculationRules;
+import org.folio.support.EntityTag;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.vertx.core.Future;
+
+/**
+ * Keeps the circulation rules of each tenant together with their entity tag, so that the
+ * rules polled by the circulation module are read from memory and unchanged rules are not sent
+ * again. The tag is a hash of the rules, see {@link EntityTag}. The rules of a
+ * tenant are invalidated when they are changed on this node and when a circulation rules event
+ * is consumed, the entries also expire after a while in case an event is lost.
+ */
+public class CirculationRulesCache implements TenantCache {
+  public static final String CIRCULATION_RULES_CACHE_TTL_MS = "CIRCULATION_RULES_CACHE_TTL_MS";
+
+  private static final Logger log = LogManager.getLogger(CirculationRulesCache.class);
+  private static final CirculationRulesCache instance = new CirculationRulesCache(
+    Duration.ofMillis(Long.parseLong(getenv().getOrDefault(CIRCULATION_RULES_CACHE_TTL_MS,
+      "300000"))), Ticker.systemTicker());
+
+  private final AsyncCache<String, VersionedCirculationRules> rules;
+
+  CirculationRulesCache(Duration timeToLive, Ticker ticker) {
+    this.rules = Caffeine.newBuilder()
+      .expireAfterWrite(timeToLive)
+      .ticker(ticker)
+      .executor(Runnable::run)
+      .buildAsync();
+  }
+
+  public static CirculationRulesCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Returns the cached rules, or reads them with the loader. Concurrent reads share one load,
+   * and failed loads are not cached. The returned rules must not be modified.
+   */
+  public Future<VersionedCirculationRules> get(String tenantId,
+    Supplier<Future<CirculationRules>> loader) {
+
+    return Future.fromCompletionStage(rules.get(tenantId, (key, executor) -> {
+      log.debug("get:: loading circulation rules of tenant {}", tenantId);
+      return loader.get()
+        .map(VersionedCirculationRules::of)
+        .toCompletionStage()
+        .toCompletableFuture();
+    }));
+  }
+
+  /**
+   * Drops the rules of the tenant, a load in progress is dropped too so that the rules read
+   * before the change are not cached.
+   */
+  @Override
+  public void invalidate(String tenantId) {
+    log.debug("invalidate:: invalidating circulation rules of tenant {}", tenantId);
+    rules.synchronous().invalidate(tenantId);
+  }
+
+  @Override
+  public void invalidateAll() {
+    rules.synchronous().invalidateAll();
+  }
+
+  public record VersionedCirculationRules(CirculationRules rules, String etag) {
+
+    static VersionedCirculationRules of(CirculationRules rules) {
+      return new VersionedCirculationRules(rules, EntityTag.of(rules));
+    }
+  }
+
+}
@@ -1,11 +1,16 @@
 package org.folio.service;
 
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.tools.utils.TenantTool.tenantId;
 import static org.folio.service.event.EntityChangedEventPublisherFactory.circulationRulesEventPublisher;
 
 import java.util.Map;
 
 import org.folio.persist.CirculationRulesRepository;
 import org.folio.rest.jaxrs.model.CirculationRules;
+import org.folio.rest.persist.Criteria.Criterion;
+import org.folio.service.CirculationRulesCache.VersionedCirculationRules;
 import org.folio.service.event.EntityChangedEventPublisher;
 
 import io.vertx.core.Context;
@@ -17,10 +22,18 @@ public class CirculationRulesService {
 
   private final CirculationRulesRepository repository;
   private final EntityChangedEventPublisher<String, CirculationRules> eventPublisher;
+  private final CirculationRulesCache cache;
+  private final String tenantId;
 
   public CirculationRulesService(Context vertxContext, Map<String, String> okapiHeaders) {
     this.repository = new CirculationRulesRepository(vertxContext, okapiHeaders);
     this.eventPublisher = circulationRulesEventPublisher(vertxContext, okapiHeaders);
+    this.cache = CirculationRulesCache.getInstance();
+    this.tenantId = tenantId(okapiHeaders);
+  }
+
+  public Future<VersionedCirculationRules> get() {
+    return cache.get(tenantId, this::getSingleRules);
   }
 
   public Future<Void> update(CirculationRules newRules) {
@@ -29,9 +42,17 @@ public class CirculationRulesService {
 
     return repository.get()
       .compose(oldRules -> repository.update(newRules)
+        .onComplete(r -> cache.invalidate(tenantId))
         .compose(updatedRules -> eventPublisher.publishUpdated(oldRules.getId(), oldRules, updatedRules)))
       .onSuccess(ignored -> log.info("update:: circulation rules updated"))
       .onFailure(t -> log.error("update:: circulation rules update failed", t));
   }
 
+  private Future<CirculationRules> getSingleRules() {
+    return repository.get(new Criterion())
+      .compose(rules -> rules.size() == 1
+        ? succeededFuture(rules.get(0))
+        : failedFuture(new IllegalStateException("circulationRulesList.size() = " + rules.size())));
+  }
+
 }
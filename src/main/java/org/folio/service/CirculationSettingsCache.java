@@ -0,0 +1,84 @@
+package org.folio.service;
+
+import static java.lang.System.getenv;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.jaxrs.model.CirculationSetting;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.vertx.core.Future;
+
+/**
+ * Keeps the circulation settings read by name per tenant, so that the settings checked on
+ * every request (e.g. TLR settings) are read from memory. The settings of a tenant are
+ * invalidated when they are changed on this node and when a circulation settings event is
+ * consumed, which covers changes made on the other nodes. The entries also expire after a
+ * while in case an event is lost.
+ */
+public class CirculationSettingsCache implements TenantCache {
+  public static final String CIRCULATION_SETTINGS_CACHE_TTL_MS = "CIRCULATION_SETTINGS_CACHE_TTL_MS";
+
+  private static final Logger log = LogManager.getLogger(CirculationSettingsCache.class);
+  private static final CirculationSettingsCache instance = new CirculationSettingsCache(
+    Duration.ofMillis(Long.parseLong(getenv().getOrDefault(CIRCULATION_SETTINGS_CACHE_TTL_MS,
+      "300000"))), Ticker.systemTicker());
+
+  private final AsyncCache<SettingKey, List<CirculationSetting>> settings;
+
+  CirculationSettingsCache(Duration timeToLive, Ticker ticker) {
+    this.settings = Caffeine.newBuilder()
+      .expireAfterWrite(timeToLive)
+      .ticker(ticker)
+      .executor(Runnable::run)
+      .buildAsync();
+  }
+
+  public static CirculationSettingsCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Returns the cached settings, or reads them with the loader. Concurrent reads of the same
+   * settings share one load, and failed loads are not cached. The returned settings must not
+   * be modified.
+   */
+  public Future<List<CirculationSetting>> getByName(String tenantId, String name,
+    Supplier<Future<List<CirculationSetting>>> loader) {
+
+    return Future.fromCompletionStage(settings.get(new SettingKey(tenantId, name),
+      (key, executor) -> {
+        log.debug("getByName:: loading circulation settings {} of tenant {}", name, tenantId);
+        return loader.get()
+          .<List<CirculationSetting>>map(List::copyOf)
+          .toCompletionStage()
+          .toCompletableFuture();
+      }));
+  }
+
+  /**
+   * Drops the settings of the tenant, loads in progress are dropped too so that the settings
+   * read before the change are not cached.
+   */
+  @Override
+  public void invalidate(String tenantId) {
+    log.debug("invalidate:: invalidating circulation settings of tenant {}", tenantId);
+    settings.asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId));
+  }
+
+  @Override
+  public void invalidateAll() {
+    settings.synchronous().invalidateAll();
+  }
+
+  private record SettingKey(String tenantId, String name) {
+  }
+
+}
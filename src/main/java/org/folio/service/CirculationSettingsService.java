@@ -2,12 +2,14 @@ package org.folio.service;
 
 import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.tools.utils.TenantTool.tenantId;
 import static org.folio.rest.tools.utils.ValidationHelper.isDuplicate;
 import static org.folio.service.event.EntityChangedEventPublisherFactory.circulationSettingsEventPublisher;
 import static org.folio.support.ModuleConstants.CIRCULATION_SETTINGS_TABLE;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import javax.ws.rs.core.Response;
 
@@ -37,12 +39,16 @@ public class CirculationSettingsService {
   private final Map<String, String> okapiHeaders;
   private final CirculationSettingsRepository repository;
   private final EntityChangedEventPublisher<String, CirculationSetting> eventPublisher;
+  private final CirculationSettingsCache cache;
+  private final String tenantId;
 
   public CirculationSettingsService(Context vertxContext, Map<String, String> okapiHeaders) {
     this.vertxContext = vertxContext;
     this.okapiHeaders = okapiHeaders;
     this.repository = new CirculationSettingsRepository(vertxContext, okapiHeaders);
     this.eventPublisher = circulationSettingsEventPublisher(vertxContext, okapiHeaders);
+    this.cache = CirculationSettingsCache.getInstance();
+    this.tenantId = tenantId(okapiHeaders);
   }
 
   public Future<Response> getAll(int offset, int limit, String query) {
@@ -56,6 +62,9 @@ public class CirculationSettingsService {
     log.debug("create:: trying to save circulationSetting: {}", circulationSetting);
     return repository.saveAndReturnUpdatedEntity(circulationSetting.getId(),
         circulationSetting)
+      .onComplete(r -> cache.invalidate(tenantId))
+      .compose(created -> eventPublisher.publishCreated(created.getId(), created)
+        .map(created))
       .recover(throwable -> updateSettingsValue(circulationSetting, throwable));
   }
 
@@ -71,6 +80,7 @@ public class CirculationSettingsService {
     return PgUtil.put(CIRCULATION_SETTINGS_TABLE, circulationSetting, circulationSettingsId,
         okapiHeaders, vertxContext,
         PutCirculationSettingsStorageCirculationSettingsByCirculationSettingsIdResponse.class)
+      .onComplete(r -> cache.invalidate(tenantId))
       .compose(eventPublisher.publishUpdated(circulationSetting));
   }
 
@@ -79,6 +89,7 @@ public class CirculationSettingsService {
       .compose(circulationSetting -> PgUtil.deleteById(CIRCULATION_SETTINGS_TABLE,
           circulationSettingsId, okapiHeaders, vertxContext,
           DeleteCirculationSettingsStorageCirculationSettingsByCirculationSettingsIdResponse.class)
+        .onComplete(r -> cache.invalidate(tenantId))
         .compose(eventPublisher.publishRemoved(circulationSetting))
     );
   }
@@ -92,8 +103,8 @@ public class CirculationSettingsService {
   }
 
   private Future<TlrSettings> getTlrSettings(boolean throwIfNotFound) {
-    return getSettingsByName("generalTlr")
-      .compose(gt -> gt.isEmpty() ? getSettingsByName("TLR") : succeededFuture(gt))
+    return getCachedSettingsByName("generalTlr")
+      .compose(gt -> gt.isEmpty() ? getCachedSettingsByName("TLR") : succeededFuture(gt))
       .compose(settings -> handleTlrSettings(settings, throwIfNotFound));
   }
 
@@ -138,13 +149,25 @@ public class CirculationSettingsService {
   private Future<CirculationSetting> updateSettings(List<CirculationSetting> settings,
     CirculationSetting circulationSetting) {
 
+    List<CirculationSetting> oldSettings = settings.stream()
+      .map(setting -> JsonObject.mapFrom(setting).mapTo(CirculationSetting.class))
+      .toList();
     settings.forEach(setting -> setting.setValue(circulationSetting.getValue()));
     log.debug("updateSettings:: updating {} setting(s) with name '{}'",
       settings::size, circulationSetting::getName);
     return repository.update(settings)
+      .onComplete(r -> cache.invalidate(tenantId))
+      .compose(r -> Future.all(IntStream.range(0, settings.size())
+        .mapToObj(i -> eventPublisher.publishUpdated(settings.get(i).getId(),
+          oldSettings.get(i), settings.get(i)))
+        .toList()))
       .map(circulationSetting);
   }
 
+  private Future<List<CirculationSetting>> getCachedSettingsByName(String settingsName) {
+    return cache.getByName(tenantId, settingsName, () -> getSettingsByName(settingsName));
+  }
+
   private Future<List<CirculationSetting>> getSettingsByName(String settingsName) {
     log.debug("getSettingsByName:: trying to fetch setting by name: {}", settingsName);
     Criterion filter = new Criterion(new Criteria()
@@ -0,0 +1,258 @@
+package org.folio.service;
+
+import static io.vertx.core.Future.succeededFuture;
+import static java.lang.System.getenv;
+import static org.folio.rest.tools.utils.TenantTool.tenantId;
+import static org.folio.service.event.DomainEventType.UPDATED;
+import static org.folio.service.event.EntityChangedEventPublisherFactory.referenceDataEventPublisher;
+import static org.folio.support.ResponseUtil.entityTagResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.service.event.DomainEvent;
+import org.folio.service.event.EventPublisher;
+import org.folio.support.EntityTag;
+import org.folio.support.metrics.ModuleMetrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+/**
+ * Keeps the responses of the GET requests of a reference data table (policies, cancellation
+ * reasons, staff slips, ...) per tenant, together with their entity tag, see
+ * {@link EntityTag}. The cached responses of a tenant are dropped by every write to the table,
+ * on this node right away and on the other nodes when they consume the {@code reference-data}
+ * event published by the write.
+ */
+public class ReferenceDataCache implements TenantCache {
+  public static final String REFERENCE_DATA_CACHE_MAX_SIZE_PER_TENANT =
+    "REFERENCE_DATA_CACHE_MAX_SIZE_PER_TENANT";
+  public static final String REFERENCE_DATA_CACHE_TTL_MS = "REFERENCE_DATA_CACHE_TTL_MS";
+  public static final String REQUESTS_METRIC = "reference_data_cache_requests_total";
+
+  private static final Logger log = LogManager.getLogger(ReferenceDataCache.class);
+  private static final Map<String, ReferenceDataCache> caches = new ConcurrentHashMap<>();
+
+  private final String table;
+  private final long maximumSize;
+  private final Duration timeToLive;
+  private final Ticker ticker;
+  private final BiFunction<Context, Map<String, String>,
+    EventPublisher<String, Map<String, String>>> eventPublishers;
+  private final Map<String, TenantEntries> entriesByTenant = new ConcurrentHashMap<>();
+
+  ReferenceDataCache(String table, long maximumSize, Duration timeToLive, Ticker ticker,
+    BiFunction<Context, Map<String, String>,
+      EventPublisher<String, Map<String, String>>> eventPublishers) {
+
+    this.table = table;
+    this.maximumSize = maximumSize;
+    this.timeToLive = timeToLive;
+    this.ticker = ticker;
+    this.eventPublishers = eventPublishers;
+  }
+
+  public static ReferenceDataCache forTable(String table) {
+    return caches.computeIfAbsent(table, key -> new ReferenceDataCache(key,
+      Long.parseLong(getenv().getOrDefault(REFERENCE_DATA_CACHE_MAX_SIZE_PER_TENANT, "1000")),
+      Duration.ofMillis(Long.parseLong(getenv().getOrDefault(REFERENCE_DATA_CACHE_TTL_MS,
+        "60000"))),
+      Ticker.systemTicker(), (vertxContext, okapiHeaders) ->
+        referenceDataEventPublisher(vertxContext, okapiHeaders)));
+  }
+
+  public static String collectionKey(String query, int offset, int limit) {
+    return "collection?query=" + query + "&offset=" + offset + "&limit=" + limit;
+  }
+
+  public static String itemKey(String id) {
+    return "item/" + id;
+  }
+
+  /**
+   * Drops the cached responses of the tenant for all reference data tables, e.g. after the
+   * tenant upgrade.
+   */
+  public static void invalidateAllTables(String tenantId) {
+    caches.values().forEach(cache -> cache.invalidate(tenantId));
+  }
+
+  /**
+   * Drops the cached responses of all reference data tables when a {@code reference-data}
+   * event is consumed, the event of a write to one table drops the other tables of the tenant
+   * too.
+   */
+  public static TenantCache allTables() {
+    return new TenantCache() {
+      @Override
+      public void invalidate(String tenantId) {
+        invalidateAllTables(tenantId);
+      }
+
+      @Override
+      public void invalidateAll() {
+        caches.values().forEach(ReferenceDataCache::invalidateAll);
+      }
+    };
+  }
+
+  /**
+   * Returns the cached response of the request, or gets it with the loader. Only successful
+   * responses are cached, responses loaded while the table was written are not. The response
+   * is 304 without a body when its tag matches {@code ifNoneMatch}.
+   *
+   * @param requestKey identifies the request within the table, e.g. the id or the query
+   */
+  public Future<Response> get(Map<String, String> okapiHeaders, String requestKey,
+    String ifNoneMatch, Supplier<Future<Response>> loader) {
+
+    if (!isEnabled()) {
+      return loader.get().map(response -> withEntityTag(response, ifNoneMatch));
+    }
+
+    TenantEntries entries = entriesByTenant.computeIfAbsent(tenantId(okapiHeaders),
+      tenantId -> new TenantEntries(newCache()));
+    CachedEntity cached = entries.get(requestKey);
+    if (cached != null) {
+      ModuleMetrics.counter(REQUESTS_METRIC, "table", table, "result", "hit").increment();
+      return succeededFuture(entityTagResponse(cached.entity(), cached.etag(), ifNoneMatch));
+    }
+
+    ModuleMetrics.counter(REQUESTS_METRIC, "table", table, "result", "miss").increment();
+    long generation = entries.generation();
+
+    return loader.get().map(response -> {
+      if (!isCacheable(response)) {
+        return response;
+      }
+
+      var loaded = new CachedEntity(response.getEntity(), EntityTag.of(response.getEntity()));
+      entries.putIfUnchanged(generation, requestKey, loaded);
+      return entityTagResponse(loaded.entity(), loaded.etag(), ifNoneMatch);
+    });
+  }
+
+  /**
+   * Wraps the result handler of a write to the table, so that the cached responses of the
+   * tenant are dropped before the result is sent.
+   */
+  public <T> Handler<AsyncResult<T>> invalidating(Context vertxContext,
+    Map<String, String> okapiHeaders, Handler<AsyncResult<T>> handler) {
+
+    return result -> {
+      invalidateOnAllNodes(vertxContext, okapiHeaders);
+      handler.handle(result);
+    };
+  }
+
+  /**
+   * Drops the cached responses of the tenant on this node and publishes a
+   * {@code reference-data} event, so that the other nodes drop theirs too.
+   */
+  public void invalidateOnAllNodes(Context vertxContext, Map<String, String> okapiHeaders) {
+    String tenantId = tenantId(okapiHeaders);
+    invalidate(tenantId);
+
+    DomainEvent<Map<String, String>> event = DomainEvent.<Map<String, String>>builder()
+      .id(UUID.randomUUID())
+      .type(UPDATED)
+      .tenant(tenantId)
+      .timestamp(System.currentTimeMillis())
+      .data(Map.of("table", table))
+      .build();
+
+    eventPublishers.apply(vertxContext, okapiHeaders)
+      .publish(table, event, okapiHeaders)
+      .onFailure(t -> log.warn("invalidateOnAllNodes:: failed to publish invalidation of {} " +
+        "responses of tenant {}", table, tenantId, t));
+  }
+
+  @Override
+  public void invalidate(String tenantId) {
+    TenantEntries entries = entriesByTenant.get(tenantId);
+    if (entries != null) {
+      log.debug("invalidate:: invalidating cached {} responses of tenant {}", table, tenantId);
+      entries.invalidate();
+    }
+  }
+
+  @Override
+  public void invalidateAll() {
+    entriesByTenant.values().forEach(TenantEntries::invalidate);
+  }
+
+  private boolean isEnabled() {
+    return maximumSize > 0 && !timeToLive.isZero() && !timeToLive.isNegative();
+  }
+
+  private Cache<String, CachedEntity> newCache() {
+    return Caffeine.newBuilder()
+      .maximumSize(maximumSize)
+      .expireAfterWrite(timeToLive)
+      .ticker(ticker)
+      .build();
+  }
+
+  private static Response withEntityTag(Response response, String ifNoneMatch) {
+    return isCacheable(response)
+      ? entityTagResponse(response.getEntity(), EntityTag.of(response.getEntity()), ifNoneMatch)
+      : response;
+  }
+
+  private static boolean isCacheable(Response response) {
+    return response.getStatus() == 200 && response.getEntity() != null;
+  }
+
+  private record CachedEntity(Object entity, String etag) {
+  }
+
+  /**
+   * The generation is incremented by every invalidation, a response loaded in an older
+   * generation may miss a write and is not cached.
+   */
+  private static final class TenantEntries {
+    private final Cache<String, CachedEntity> entities;
+    private long generation;
+
+    private TenantEntries(Cache<String, CachedEntity> entities) {
+      this.entities = entities;
+    }
+
+    CachedEntity get(String requestKey) {
+      return entities.getIfPresent(requestKey);
+    }
+
+    synchronized long generation() {
+      return generation;
+    }
+
+    synchronized void putIfUnchanged(long loadGeneration, String requestKey,
+      CachedEntity entity) {
+
+      if (generation == loadGeneration) {
+        entities.put(requestKey, entity);
+      }
+    }
+
+    synchronized void invalidate() {
+      generation++;
+      entities.invalidateAll();
+    }
+  }
+
+}
@@ -2,15 +2,10 @@ package org.folio.service;
 
 import static io.vertx.core.Future.succeededFuture;
 import static java.lang.String.format;
-import static java.util.Collections.emptyList;
-import static java.util.stream.Collectors.toList;
+import static java.lang.System.getenv;
 import static org.folio.rest.impl.Headers.TENANT_HEADER;
 import static org.folio.rest.jaxrs.model.Request.Status.CLOSED_PICKUP_EXPIRED;
 import static org.folio.rest.jaxrs.model.Request.Status.CLOSED_UNFILLED;
-import static org.folio.rest.jaxrs.model.Request.Status.OPEN_AWAITING_DELIVERY;
-import static org.folio.rest.jaxrs.model.Request.Status.OPEN_AWAITING_PICKUP;
-import static org.folio.rest.jaxrs.model.Request.Status.OPEN_IN_TRANSIT;
-import static org.folio.rest.jaxrs.model.Request.Status.OPEN_NOT_YET_FILLED;
 import static org.folio.service.event.EntityChangedEventPublisherFactory.requestEventPublisher;
 import static org.folio.support.DbUtil.rowSetToStream;
 import static org.folio.support.LogEventPayloadField.ORIGINAL;
@@ -21,20 +16,16 @@ import static org.folio.support.exception.LogEventType.REQUEST_EXPIRED;
 
 import java.text.SimpleDateFormat;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
 import java.util.TimeZone;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.persist.RequestRepository;
 import org.folio.rest.jaxrs.model.Request;
 import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.PostgresClient;
@@ -43,216 +34,132 @@ import org.folio.service.event.EntityChangedEventPublisher;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
-import io.vertx.sqlclient.Row;
-import io.vertx.sqlclient.RowSet;
-
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Closes the requests whose request expiration date or hold shelf expiration date has passed
+ * and renumbers the queues they were in. Expired requests are processed in chunks, each in its
+ * own transaction, until none are left or the time budget of the run is used up; the rest is
+ * picked up by the next run.
+ */
 public class RequestExpirationService {
   private static final Logger log = LogManager.getLogger();
-  private static final String JSONB_COLUMN = "jsonb";
+
+  private static final String CHUNK_SIZE_ENV = "REQUEST_EXPIRATION_CHUNK_SIZE";
+  private static final String TIME_BUDGET_MS_ENV = "REQUEST_EXPIRATION_TIME_BUDGET_MS";
+  private static final int DEFAULT_CHUNK_SIZE = 500;
+  private static final long DEFAULT_TIME_BUDGET_MS = 60_000;
+
+  // The status literals must match the predicates of the partial indexes created by
+  // create_request_expiration_indexes.sql, otherwise the indexes cannot be used.
+  // $1: now, $2: chunk size, $3: status for expired awaiting pickup, $4: for the others
+  private static final String CLOSE_EXPIRED_REQUESTS_SQL = "WITH expired AS (" +
+      "SELECT id, jsonb FROM %1$s " +
+      "WHERE (jsonb->>'status' IN ('Open - Not yet filled', 'Open - Awaiting delivery', " +
+        "'Open - In transit') AND jsonb->>'requestExpirationDate' < $1) " +
+      "OR (jsonb->>'status' = 'Open - Awaiting pickup' " +
+        "AND jsonb->>'holdShelfExpirationDate' < $1) " +
+      "LIMIT $2 FOR UPDATE SKIP LOCKED) " +
+    "UPDATE %1$s request SET jsonb = (request.jsonb - 'position') || jsonb_build_object(" +
+      "'status', CASE WHEN request.jsonb->>'status' = 'Open - Awaiting pickup' " +
+        "THEN $3::text ELSE $4::text END, " +
+      "'metadata', COALESCE(request.jsonb->'metadata', '{}'::jsonb) || jsonb_build_object(" +
+        "'updatedDate', date_trunc('milliseconds', CURRENT_TIMESTAMP))) " +
+    "FROM expired WHERE request.id = expired.id " +
+    "RETURNING expired.jsonb AS old_jsonb, request.jsonb AS new_jsonb";
+
   private final String requestClassifierProperty;
   private final Function<Request, String> requestClassifier;
   private final PostgresClient pgClient;
+  private final RequestRepository requestRepository;
   private final EventPublisherService eventPublisherService;
   private final EntityChangedEventPublisher<String, Request> eventPublisher;
+  private final int chunkSize;
+  private final long timeBudgetMs;
 
   public RequestExpirationService(Map<String, String> okapiHeaders, Vertx vertx,
     String requestClassifierProperty, Function<Request, String> requestClassifier) {
     this(requestClassifierProperty, requestClassifier,
       PostgresClient.getInstance(vertx, okapiHeaders.get(TENANT_HEADER)),
       new EventPublisherService(vertx, okapiHeaders),
-      requestEventPublisher(vertx.getOrCreateContext(), okapiHeaders));
+      requestEventPublisher(vertx.getOrCreateContext(), okapiHeaders),
+      Integer.parseInt(getenv().getOrDefault(CHUNK_SIZE_ENV, String.valueOf(DEFAULT_CHUNK_SIZE))),
+      Long.parseLong(getenv().getOrDefault(TIME_BUDGET_MS_ENV,
+        String.valueOf(DEFAULT_TIME_BUDGET_MS))));
   }
 
   RequestExpirationService(String requestClassifierProperty,
     Function<Request, String> requestClassifier,
     PostgresClient postgresClient, EventPublisherService eventPublisherService,
-    EntityChangedEventPublisher<String, Request> eventPublisher) {
+    EntityChangedEventPublisher<String, Request> eventPublisher, int chunkSize,
+    long timeBudgetMs) {
     this.requestClassifierProperty = requestClassifierProperty;
     this.requestClassifier = requestClassifier;
     this.pgClient = postgresClient;
+    this.requestRepository = new RequestRepository(postgresClient);
     this.eventPublisherService = eventPublisherService;
     this.eventPublisher = eventPublisher;
+    this.chunkSize = chunkSize;
+    this.timeBudgetMs = timeBudgetMs;
   }
 
   public Future<Void> doRequestExpiration() {
-    List<ExpiredRequestWrapper> context = new ArrayList<>();
-
-    return pgClient.withTrans(conn -> getExpiredRequests(conn)
-        .compose(expiredRequests -> closeRequests(conn, expiredRequests, context))
-        .compose(associatedIds -> getOpenRequestsByIdFields(conn, associatedIds))
-        .compose(openRequests -> reorderRequests(conn, openRequests))
-        .onSuccess(x -> publishPubSubLogEvents(context)))
-        .compose(x -> publishExpiredRequestsEvents(context))
-        .onFailure(e -> log.error("Error in request processing", e));
-  }
-
-  private Future<List<Request>> getExpiredRequests(Conn conn) {
-    SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
-    df.setTimeZone(TimeZone.getTimeZone(ZoneOffset.UTC));
-
-    String where = format("WHERE " +
-        "(jsonb->>'status' = '%1$s' AND jsonb->>'requestExpirationDate' < '%5$s') OR " +
-        "(jsonb->>'status' = '%2$s' AND jsonb->>'requestExpirationDate' < '%5$s') OR " +
-        "(jsonb->>'status' = '%3$s' AND jsonb->>'requestExpirationDate' < '%5$s') OR " +
-        "(jsonb->>'status' = '%4$s' AND jsonb->>'holdShelfExpirationDate' < '%5$s') " +
-        "LIMIT 150",
-
-      OPEN_NOT_YET_FILLED.value(),
-      OPEN_AWAITING_DELIVERY.value(),
-      OPEN_IN_TRANSIT.value(),
-      OPEN_AWAITING_PICKUP.value(),
-      df.format(new Date()));
-
-    String fullTableName = format("%s.%s", PostgresClient.convertToPsqlStandard(
-      pgClient.getTenantId()), REQUEST_TABLE);
-    String query = format("SELECT jsonb FROM %s %s", fullTableName, where);
-
-    return conn.execute(query)
-      .map(rs -> rowSetToStream(rs)
-        .map(row -> row.get(JsonObject.class, row.getColumnIndex(JSONB_COLUMN)))
-        .map(json -> json.mapTo(Request.class))
-        .collect(toList()));
-  }
-
-  private Future<List<Request>> getOpenRequestsByIdFields(Conn conn,
-    Set<String> idFields) {
-
-    if (idFields.isEmpty()) {
-      return succeededFuture(emptyList());
-    }
-
-    String quotedFieldIds = idFields.stream()
-      .map(id -> format("'%s'", id))
-      .collect(Collectors.joining(","));
-    String where = format("WHERE " +
-        "(jsonb->>'status' = '%1$s' OR " +
-        "jsonb->>'status' = '%2$s' OR " +
-        "jsonb->>'status' = '%3$s' OR " +
-        "jsonb->>'status' = '%4$s') AND " +
-        "jsonb->>'%5$s' IN (%6$s) " +
-        "ORDER BY jsonb->>'position' ASC",
-
-      OPEN_NOT_YET_FILLED.value(),
-      OPEN_AWAITING_PICKUP.value(),
-      OPEN_AWAITING_DELIVERY.value(),
-      OPEN_IN_TRANSIT.value(),
-      requestClassifierProperty,
-      quotedFieldIds);
-
-    String fullTableName = format("%s.%s", PostgresClient.convertToPsqlStandard(
-      pgClient.getTenantId()), REQUEST_TABLE);
-    String sql = format("SELECT jsonb FROM %s %s", fullTableName, where);
-
-    return conn.execute(sql)
-      .map(rs -> rowSetToStream(rs)
-        .map(row -> row.get(JsonObject.class, row.getColumnIndex(JSONB_COLUMN)))
-        .map(json -> json.mapTo(Request.class))
-        .collect(toList()));
-  }
-
-  private Request changeRequestStatus(Request request) {
-    if (request.getStatus() == OPEN_NOT_YET_FILLED ||
-          request.getStatus() == OPEN_IN_TRANSIT ||
-          request.getStatus() == OPEN_AWAITING_DELIVERY) {
-      request.setStatus(CLOSED_UNFILLED);
-    } else if (request.getStatus() == OPEN_AWAITING_PICKUP) {
-      request.setStatus(CLOSED_PICKUP_EXPIRED);
-    }
-    return request;
+    return expireChunks(System.currentTimeMillis() + timeBudgetMs, 0)
+      .onFailure(e -> log.error("Error in request processing", e));
   }
 
-  private Future<Void> reorderRequests(Conn conn,
-    List<Request> requests) {
-
-    if (requests.isEmpty()) {
-      return succeededFuture();
-    }
-
-    Map<String, List<Request>> groupedRequests = requests.stream()
-      .collect(Collectors.groupingBy(requestClassifier));
-
-    return resetPositionsForOpenRequests(conn, groupedRequests.keySet())
-      .compose(v -> reorderGroupedRequests(conn, groupedRequests));
+  private Future<Void> expireChunks(long deadline, int expiredCount) {
+    return expireChunk()
+      .compose(chunkCount -> {
+        int totalCount = expiredCount + chunkCount;
+        if (chunkCount < chunkSize) {
+          log.info("expireChunks:: {} request(s) expired", totalCount);
+          return succeededFuture();
+        }
+        if (System.currentTimeMillis() >= deadline) {
+          log.info("expireChunks:: {} request(s) expired, time budget of {} ms used up, " +
+            "the rest is left for the next run", totalCount, timeBudgetMs);
+          return succeededFuture();
+        }
+        return expireChunks(deadline, totalCount);
+      });
   }
 
-  private Future<Void> reorderGroupedRequests(Conn conn,
-    Map<String, List<Request>> groupedRequests) {
-
-    Future<Void> future = succeededFuture();
-    for (Map.Entry<String, List<Request>> entry : groupedRequests.entrySet()) {
-      future = future.compose(v -> updateRequestsPositions(conn, entry.getValue()));
-    }
-
-    return future;
+  private Future<Integer> expireChunk() {
+    return pgClient.withTrans(conn -> closeExpiredRequests(conn)
+        .compose(expiredRequests -> renumberQueues(conn, expiredRequests)
+          .compose(v -> publishExpiredRequestsEvents(conn, expiredRequests))
+          .map(expiredRequests)))
+      .onSuccess(expiredRequests -> {
+        eventPublisher.committed();
+        publishPubSubLogEvents(expiredRequests);
+      })
+      .map(List::size);
   }
 
-  private Future<Void> updateRequestsPositions(Conn conn,
-    List<Request> requests) {
-
-    requests.sort(Comparator.comparing(Request::getPosition, Comparator.nullsLast(
-      Integer::compareTo)));
-    AtomicInteger pos = new AtomicInteger(1);
-    Future<Void> future = succeededFuture();
-
-    for (Request request : requests) {
-      future = future.compose(v -> updateRequest(conn, request.withPosition(
-        pos.getAndIncrement())));
-    }
-
-    return future;
-  }
-
-  private Future<Set<String>> closeRequests(Conn conn,
-    List<Request> requests, List<ExpiredRequestWrapper> context) {
-
-    Future<Void> future = succeededFuture();
-    Set<String> closedRequestsAssociatedIds = new HashSet<>();
+  private Future<List<ExpiredRequestWrapper>> closeExpiredRequests(Conn conn) {
+    SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    df.setTimeZone(TimeZone.getTimeZone(ZoneOffset.UTC));
 
-    for (Request request : requests) {
-      var oldRequest = JsonObject.mapFrom(request);
-      closedRequestsAssociatedIds.add(requestClassifier.apply(request));
-      Request updatedRequest = changeRequestStatus(request).withPosition(null);
-      updatedRequest.getMetadata().withUpdatedDate(new Date());
-      context.add(new ExpiredRequestWrapper(oldRequest, JsonObject.mapFrom(updatedRequest)));
-      future = future.compose(v -> updateRequest(conn, updatedRequest));
-    }
+    Tuple parameters = Tuple.of(df.format(new Date()), chunkSize, CLOSED_PICKUP_EXPIRED.value(),
+      CLOSED_UNFILLED.value());
 
-    return future.map(v -> closedRequestsAssociatedIds);
+    return conn.execute(closeExpiredRequestsSql(fullTableName()), parameters)
+      .map(rowSet -> rowSetToStream(rowSet)
+        .map(row -> new ExpiredRequestWrapper((JsonObject) row.getValue("old_jsonb"),
+          (JsonObject) row.getValue("new_jsonb")))
+        .toList());
   }
 
-  private Future<RowSet<Row>> resetPositionsForOpenRequests(Conn conn,
-    Set<String> associatedIds) {
-
-    if (associatedIds.isEmpty()) {
-      return succeededFuture();
-    }
-
-    String quotedFieldIds = associatedIds.stream()
-      .map(id -> format("'%s'", id))
-      .collect(Collectors.joining(","));
-
-    String fullTableName = format("%s.%s", PostgresClient.convertToPsqlStandard(
-      pgClient.getTenantId()), REQUEST_TABLE);
+  private Future<Void> renumberQueues(Conn conn, List<ExpiredRequestWrapper> expiredRequests) {
+    List<String> queueIds = expiredRequests.stream()
+      .map(request -> requestClassifier.apply(request.originalValue().mapTo(Request.class)))
+      .filter(Objects::nonNull)
+      .distinct()
+      .toList();
 
-    String sql = format("UPDATE %1$s SET jsonb = jsonb - 'position' WHERE " +
-        "(jsonb->>'status' = '%2$s' OR " +
-        "jsonb->>'status' = '%3$s' OR " +
-        "jsonb->>'status' = '%4$s' OR " +
-        "jsonb->>'status' = '%5$s') AND " +
-        "jsonb->>'%6$s' IN (%7$s)",
-      fullTableName,
-      OPEN_NOT_YET_FILLED.value(),
-      OPEN_AWAITING_PICKUP.value(),
-      OPEN_AWAITING_DELIVERY.value(),
-      OPEN_IN_TRANSIT.value(),
-      requestClassifierProperty,
-      quotedFieldIds);
-
-    return conn.execute(sql).mapEmpty();
-  }
-
-  private Future<Void> updateRequest(Conn conn, Request request) {
-    return conn.update(REQUEST_TABLE, request, request.getId()).mapEmpty();
+    return requestRepository.renumberQueues(conn, requestClassifierProperty, queueIds)
+      .mapEmpty();
   }
 
   private void publishPubSubLogEvents(List<ExpiredRequestWrapper> context) {
@@ -265,21 +172,30 @@ public class RequestExpirationService {
     });
   }
 
-  private Future<Void> publishExpiredRequestsEvents(List<ExpiredRequestWrapper> context) {
-    Future<Void> future = succeededFuture();
-    AtomicInteger count = new AtomicInteger(0);
-    for (ExpiredRequestWrapper requestWrapper : context) {
-      Request oldEntity = requestWrapper.originalValue().mapTo(Request.class);
-      Request newEntity = requestWrapper.updatedValue().mapTo(Request.class);
-      String id = newEntity.getId();
+  private Future<Void> publishExpiredRequestsEvents(Conn conn,
+    List<ExpiredRequestWrapper> context) {
+
+    return Future.all(context.stream()
+        .map(requestWrapper -> {
+          Request oldEntity = requestWrapper.originalValue().mapTo(Request.class);
+          Request newEntity = requestWrapper.updatedValue().mapTo(Request.class);
+          return eventPublisher.publishUpdated(conn, newEntity.getId(), oldEntity, newEntity);
+        })
+        .toList())
+      .mapEmpty();
+  }
 
-      future = future.compose(x -> eventPublisher.publishUpdated(id, oldEntity, newEntity)
-        .onSuccess(voidResult -> count.getAndIncrement())
-        .onFailure(err -> log.warn("publishExpiredRequestsEvents:: failed to send: {}", id, err))
-        .otherwiseEmpty());
-    }
+  /**
+   * Returns the statement that closes a chunk of expired requests, exposed so that the
+   * query plan can be checked against the indexes.
+   */
+  public static String closeExpiredRequestsSql(String tableName) {
+    return format(CLOSE_EXPIRED_REQUESTS_SQL, tableName);
+  }
 
-    return future.onSuccess(x -> log.info("publishExpiredRequestsEvents:: count: {}", count.get()));
+  private String fullTableName() {
+    return format("%s.%s", PostgresClient.convertToPsqlStandard(pgClient.getTenantId()),
+      REQUEST_TABLE);
   }
 
   public record ExpiredRequestWrapper(JsonObject originalValue, JsonObject updatedValue) {}
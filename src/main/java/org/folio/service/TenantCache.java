@@ -0,0 +1,12 @@
+package org.folio.service;
+
+/**
+ * In-process cache of tenant data that is invalidated when the data is changed on any node.
+ */
+public interface TenantCache {
+
+  void invalidate(String tenantId);
+
+  void invalidateAll();
+
+}
@@ -5,19 +5,17 @@ import static org.apache.logging.log4j.LogManager.getLogger;
 import java.util.Map;
 
 import org.apache.logging.log4j.Logger;
-import org.folio.kafka.KafkaConfig;
 import org.folio.kafka.KafkaProducerManager;
-import org.folio.kafka.SimpleKafkaProducerManager;
-import org.folio.kafka.services.KafkaEnvironmentProperties;
 import org.folio.kafka.services.KafkaProducerRecordBuilder;
 import org.folio.rest.tools.utils.TenantTool;
+import org.folio.support.kafka.KafkaProducerPool;
 
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.kafka.client.producer.KafkaProducer;
 import io.vertx.kafka.client.producer.KafkaProducerRecord;
 
-public class DomainEventPublisher<K, T> {
+public class DomainEventPublisher<K, T> implements EventPublisher<K, T> {
 
   private static final Logger log = getLogger(DomainEventPublisher.class);
 
@@ -33,45 +31,45 @@ public class DomainEventPublisher<K, T> {
   }
 
   public DomainEventPublisher(Context vertxContext, String kafkaTopic, FailureHandler failureHandler) {
-    this(kafkaTopic, createProducerManager(vertxContext), failureHandler);
+    this(kafkaTopic, KafkaProducerPool.getInstance(vertxContext.owner()), failureHandler);
   }
 
+  @Override
   public Future<Void> publish(K key, DomainEvent<T> event, Map<String, String> okapiHeaders) {
     log.info("publish:: key = {}, eventId = {}, type = {}, topic = {}", key, event.getId(),
       event.getType(), kafkaTopic);
 
     KafkaProducerRecord<K, String> producerRecord =
-      new KafkaProducerRecordBuilder<K, DomainEvent<T>>(TenantTool.tenantId(okapiHeaders))
-        .key(key)
-        .value(event)
-        .topic(kafkaTopic)
-        .propagateOkapiHeaders(okapiHeaders)
-        .build();
-    KafkaProducer<K, String> producer = null;
+      buildProducerRecord(kafkaTopic, key, event, okapiHeaders);
     try {
-      producer = getOrCreateProducer();
-      log.info("publish:: Producer created, sending the record...");
+      KafkaProducer<K, String> producer = getOrCreateProducer();
+      log.info("publish:: Producer obtained, sending the record...");
 
       producer.send(producerRecord)
         .onSuccess(r -> log.info("publish:: Succeeded sending domain event with key [{}]", key))
         .onFailure(cause -> {
           log.error("publish:: Unable to send domain event with key [{}]", key, cause);
           failureHandler.handle(cause, producerRecord);
-        })
-        .eventually(producer::flush)
-        .eventually(producer::close);
+        });
     } catch (Exception e) {
       log.error("publish:: Failed to initiate send for domain event with key [{}]", key, e);
-      if (producer != null) {
-        log.info("publish:: Producer is not null, trying to close. Event key: {}.", key);
-        producer.close();
-      }
       failureHandler.handle(e, producerRecord);
     }
 
     return Future.succeededFuture();
   }
 
+  static <K, T> KafkaProducerRecord<K, String> buildProducerRecord(String kafkaTopic, K key,
+    DomainEvent<T> event, Map<String, String> okapiHeaders) {
+
+    return new KafkaProducerRecordBuilder<K, DomainEvent<T>>(TenantTool.tenantId(okapiHeaders))
+      .key(key)
+      .value(event)
+      .topic(kafkaTopic)
+      .propagateOkapiHeaders(okapiHeaders)
+      .build();
+  }
+
   private KafkaProducer<K, String> getOrCreateProducer() {
     return getOrCreateProducer("");
   }
@@ -80,13 +78,4 @@ public class DomainEventPublisher<K, T> {
     return producerManager.createShared(prefix + kafkaTopic);
   }
 
-  private static KafkaProducerManager createProducerManager(Context vertxContext) {
-    var kafkaConfig = KafkaConfig.builder()
-        .kafkaPort(KafkaEnvironmentProperties.port())
-        .kafkaHost(KafkaEnvironmentProperties.host())
-        .build();
-
-    return new SimpleKafkaProducerManager(vertxContext.owner(), kafkaConfig);
-  }
-
 }
@@ -0,0 +1,147 @@
+package org.folio.service.event;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.apache.logging.log4j.LogManager.getLogger;
+import static org.folio.support.DbUtil.findTenantsWithTable;
+import static org.folio.support.ModuleConstants.DOMAIN_EVENT_RETRY_TABLE;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.KafkaProducerManager;
+import org.folio.persist.DomainEventRetryRepository;
+import org.folio.persist.DomainEventRetryRepository.RetryEntry;
+import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.support.metrics.ModuleMetrics;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.producer.KafkaProducer;
+
+/**
+ * Replays the domain events queued by {@link RetryQueueFailureHandler}. Due events are read
+ * in bounded batches; an event that fails again is rescheduled with an exponential backoff.
+ * A batch holds at most one event per key, the later events of a key follow in the next
+ * batches once the earlier ones have been sent.
+ */
+public class DomainEventRetryService {
+
+  public static final String QUEUED_METRIC = "domain_event_retry_queued_total";
+  public static final String REPLAYED_METRIC = "domain_event_retry_replayed_total";
+  public static final String FAILED_METRIC = "domain_event_retry_failed_total";
+  public static final String BACKLOG_METRIC = "domain_event_retry_backlog";
+
+  static final long INITIAL_DELAY_MS = 30_000;
+  static final long MAX_DELAY_MS = 3_600_000;
+
+  private static final Logger log = getLogger(DomainEventRetryService.class);
+
+  private final Vertx vertx;
+  private final KafkaProducerManager producerManager;
+  private final int batchSize;
+  private final Set<String> tenantsInProgress = new HashSet<>();
+
+  public DomainEventRetryService(Vertx vertx, KafkaProducerManager producerManager,
+    int batchSize) {
+
+    this.vertx = vertx;
+    this.producerManager = producerManager;
+    this.batchSize = batchSize;
+  }
+
+  public Future<Void> retryAllTenants() {
+    return findTenantsWithTable(vertx, DOMAIN_EVENT_RETRY_TABLE)
+      .compose(tenants -> Future.join(tenants.stream().map(this::retry).toList()))
+      .onFailure(t -> log.warn("retryAllTenants:: failed to replay queued events", t))
+      .mapEmpty();
+  }
+
+  public Future<Void> retry(String tenantId) {
+    if (!tenantsInProgress.add(tenantId)) {
+      return succeededFuture();
+    }
+
+    var repository = new DomainEventRetryRepository(PostgresClient.getInstance(vertx, tenantId));
+
+    return retryBatches(tenantId, repository)
+      .compose(v -> repository.count())
+      .onSuccess(count -> ModuleMetrics.gauge(BACKLOG_METRIC, "tenant", tenantId).set(count))
+      .onFailure(t -> log.warn("retry:: failed to replay queued events of tenant {}", tenantId, t))
+      .eventually(() -> {
+        tenantsInProgress.remove(tenantId);
+        return succeededFuture();
+      })
+      .mapEmpty();
+  }
+
+  static long backoffDelay(int attempts) {
+    return Math.min(INITIAL_DELAY_MS << Math.min(attempts, 20), MAX_DELAY_MS);
+  }
+
+  private Future<Void> retryBatches(String tenantId, DomainEventRetryRepository repository) {
+    return repository.withTrans(conn -> retryBatch(conn, tenantId, repository))
+      .compose(sentCount -> sentCount > 0
+        ? retryBatches(tenantId, repository)
+        : succeededFuture());
+  }
+
+  private Future<Integer> retryBatch(Conn conn, String tenantId,
+    DomainEventRetryRepository repository) {
+
+    return repository.getDue(conn, batchSize)
+      .compose(entries -> send(conn, tenantId, repository, entries));
+  }
+
+  /**
+   * Sends the entries and returns the number of sent ones; the entries are of different keys
+   * and are sent concurrently.
+   */
+  private Future<Integer> send(Conn conn, String tenantId, DomainEventRetryRepository repository,
+    List<RetryEntry> entries) {
+
+    if (entries.isEmpty()) {
+      return succeededFuture(0);
+    }
+
+    List<Future<Void>> sendResults = entries.stream()
+      .map(this::send)
+      .toList();
+
+    return Future.join(sendResults)
+      .transform(ar -> {
+        List<Long> sentIds = new ArrayList<>();
+        List<Future<Void>> rescheduled = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+          RetryEntry entry = entries.get(i);
+          Future<Void> result = sendResults.get(i);
+          if (result.succeeded()) {
+            sentIds.add(entry.event().id());
+          } else {
+            rescheduled.add(repository.reschedule(conn, entry.event().id(),
+              backoffDelay(entry.attempts()), String.valueOf(result.cause())));
+          }
+        }
+
+        log.info("send:: {} of {} queued event(s) replayed for tenant {}", sentIds.size(),
+          entries.size(), tenantId);
+        ModuleMetrics.counter(REPLAYED_METRIC, "tenant", tenantId).add(sentIds.size());
+        ModuleMetrics.counter(FAILED_METRIC, "tenant", tenantId).add(rescheduled.size());
+
+        return Future.all(rescheduled)
+          .compose(v -> repository.delete(conn, sentIds))
+          .map(sentIds.size());
+      });
+  }
+
+  private Future<Void> send(RetryEntry entry) {
+    KafkaProducer<String, String> producer = producerManager.createShared(entry.event().topic());
+
+    return producer.send(ProducerRecords.toProducerRecord(entry.event()))
+      .mapEmpty();
+  }
+
+}
@@ -14,6 +14,8 @@ import javax.ws.rs.core.Response;
 
 import org.apache.logging.log4j.Logger;
 import org.folio.persist.AbstractRepository;
+import org.folio.persist.UpsertResult;
+import org.folio.rest.persist.Conn;
 
 import io.vertx.core.Future;
 
@@ -25,13 +27,13 @@ public class EntityChangedEventPublisher<K, T> {
   private final Function<T, K> keyExtractor;
   private final K nullKey;
   private final EntityChangedEventFactory<T> eventFactory;
-  private final DomainEventPublisher<K, EntityChangedData<T>> eventPublisher;
+  private final EventPublisher<K, EntityChangedData<T>> eventPublisher;
   private final AbstractRepository<T> repository;
 
   EntityChangedEventPublisher(Map<String, String> okapiHeaders,
       Function<T, K> keyExtractor, K nullKey,
       EntityChangedEventFactory<T> eventFactory,
-      DomainEventPublisher<K, EntityChangedData<T>> eventPublisher,
+      EventPublisher<K, EntityChangedData<T>> eventPublisher,
       AbstractRepository<T> repository) {
 
     this.okapiHeaders = okapiHeaders;
@@ -112,4 +114,33 @@ public class EntityChangedEventPublisher<K, T> {
     return eventPublisher.publish(key, eventFactory.allDeleted(tenantId(okapiHeaders)), okapiHeaders);
   }
 
+  public Future<Void> publishCreated(Conn conn, K key, T newEntity) {
+    return eventPublisher.publish(conn, key, eventFactory.created(newEntity, tenantId(okapiHeaders)), okapiHeaders);
+  }
+
+  public Future<Void> publishUpdated(Conn conn, K key, T oldEntity, T newEntity) {
+    return eventPublisher.publish(conn, key, eventFactory.updated(oldEntity, newEntity, tenantId(okapiHeaders)), okapiHeaders);
+  }
+
+  public Future<Void> publishUpserted(Conn conn, K key, UpsertResult<T> upsertResult) {
+    return upsertResult.isCreated()
+        ? publishCreated(conn, key, upsertResult.newRecord())
+        : publishUpdated(conn, key, upsertResult.oldRecord(), upsertResult.newRecord());
+  }
+
+  public Future<Void> publishRemoved(Conn conn, K key, T oldEntity) {
+    return eventPublisher.publish(conn, key, eventFactory.deleted(oldEntity, tenantId(okapiHeaders)), okapiHeaders);
+  }
+
+  public Future<Void> publishAllRemoved(Conn conn) {
+    return eventPublisher.publish(conn, nullKey, eventFactory.allDeleted(tenantId(okapiHeaders)), okapiHeaders);
+  }
+
+  /**
+   * Must be called once the transaction the events were published in has been committed.
+   */
+  public void committed() {
+    eventPublisher.committed(okapiHeaders);
+  }
+
 }
@@ -1,9 +1,11 @@
 package org.folio.service.event;
 
+import static org.folio.rest.persist.PgUtil.postgresClient;
 import static org.folio.rest.tools.utils.TenantTool.tenantId;
 import static org.folio.support.kafka.topic.CirculationStorageKafkaTopic.CHECK_IN;
 import static org.folio.support.kafka.topic.CirculationStorageKafkaTopic.CIRCULATION_SETTINGS;
 import static org.folio.support.kafka.topic.CirculationStorageKafkaTopic.LOAN;
+import static org.folio.support.kafka.topic.CirculationStorageKafkaTopic.REFERENCE_DATA;
 import static org.folio.support.kafka.topic.CirculationStorageKafkaTopic.REQUEST;
 import static org.folio.support.kafka.topic.CirculationStorageKafkaTopic.REQUEST_QUEUE_REORDERING;
 import static org.folio.support.kafka.topic.CirculationStorageKafkaTopic.RULES;
@@ -13,6 +15,8 @@ import java.util.Map;
 import org.folio.persist.CheckInRepository;
 import org.folio.persist.CirculationRulesRepository;
 import org.folio.persist.CirculationSettingsRepository;
+import org.folio.persist.DomainEventOutboxRepository;
+import org.folio.persist.DomainEventRetryRepository;
 import org.folio.persist.LoanRepository;
 import org.folio.persist.RequestRepository;
 import org.folio.rest.jaxrs.model.CheckIn;
@@ -38,9 +42,8 @@ public class EntityChangedEventPublisherFactory {
 
     return new EntityChangedEventPublisher<>(okapiHeaders, Loan::getId, NULL_ID,
         new EntityChangedEventFactory<>(),
-        new DomainEventPublisher<>(vertxContext,
-            LOAN.fullTopicName(tenantId(okapiHeaders)),
-            FailureHandler.noOperation()),
+        outboxEventPublisher(vertxContext, okapiHeaders,
+            LOAN.fullTopicName(tenantId(okapiHeaders))),
         new LoanRepository(vertxContext, okapiHeaders));
   }
 
@@ -49,9 +52,8 @@ public class EntityChangedEventPublisherFactory {
 
     return new EntityChangedEventPublisher<>(okapiHeaders, Request::getId, NULL_ID,
         new EntityChangedEventFactory<>(),
-        new DomainEventPublisher<>(vertxContext,
-            REQUEST.fullTopicName(tenantId(okapiHeaders)),
-            FailureHandler.noOperation()),
+        outboxEventPublisher(vertxContext, okapiHeaders,
+            REQUEST.fullTopicName(tenantId(okapiHeaders))),
         new RequestRepository(vertxContext, okapiHeaders));
   }
 
@@ -61,7 +63,7 @@ public class EntityChangedEventPublisherFactory {
     return new EntityChangedEventPublisher<>(okapiHeaders, RequestQueueReordering::getInstanceId,
       NULL_ID, new EntityChangedEventFactory<>(), new DomainEventPublisher<>(vertxContext,
       REQUEST_QUEUE_REORDERING.fullTopicName(tenantId(okapiHeaders)),
-      FailureHandler.noOperation()), null);
+      retryQueueFailureHandler(vertxContext, okapiHeaders)), null);
   }
 
   public static EntityChangedEventPublisher<String, CheckIn> checkInEventPublisher(
@@ -69,9 +71,8 @@ public class EntityChangedEventPublisherFactory {
 
     return new EntityChangedEventPublisher<>(okapiHeaders, CheckIn::getId, NULL_ID,
         new EntityChangedEventFactory<>(),
-        new DomainEventPublisher<>(vertxContext,
-            CHECK_IN.fullTopicName(tenantId(okapiHeaders)),
-            FailureHandler.noOperation()),
+        outboxEventPublisher(vertxContext, okapiHeaders,
+            CHECK_IN.fullTopicName(tenantId(okapiHeaders))),
         new CheckInRepository(vertxContext, okapiHeaders));
   }
 
@@ -84,7 +85,7 @@ public class EntityChangedEventPublisherFactory {
       new EntityChangedEventFactory<>(),
       new DomainEventPublisher<>(vertxContext,
         RULES.fullTopicName(tenantId(okapiHeaders)),
-        FailureHandler.noOperation()),
+        retryQueueFailureHandler(vertxContext, okapiHeaders)),
       new CirculationRulesRepository(vertxContext, okapiHeaders));
   }
 
@@ -95,8 +96,30 @@ public class EntityChangedEventPublisherFactory {
       new EntityChangedEventFactory<>(),
       new DomainEventPublisher<>(vertxContext,
         CIRCULATION_SETTINGS.fullTopicName(tenantId(okapiHeaders)),
-        FailureHandler.noOperation()),
+        retryQueueFailureHandler(vertxContext, okapiHeaders)),
       new CirculationSettingsRepository(vertxContext, okapiHeaders));
   }
 
+  public static EventPublisher<String, Map<String, String>> referenceDataEventPublisher(
+    Context vertxContext, Map<String, String> okapiHeaders) {
+
+    return new DomainEventPublisher<>(vertxContext,
+      REFERENCE_DATA.fullTopicName(tenantId(okapiHeaders)),
+      retryQueueFailureHandler(vertxContext, okapiHeaders));
+  }
+
+  private static <T> OutboxEventPublisher<String, EntityChangedData<T>> outboxEventPublisher(
+      Context vertxContext, Map<String, String> okapiHeaders, String kafkaTopic) {
+
+    return new OutboxEventPublisher<>(vertxContext.owner(), kafkaTopic,
+        new DomainEventOutboxRepository(postgresClient(vertxContext, okapiHeaders)));
+  }
+
+  private static FailureHandler retryQueueFailureHandler(Context vertxContext,
+      Map<String, String> okapiHeaders) {
+
+    return new RetryQueueFailureHandler(tenantId(okapiHeaders),
+        new DomainEventRetryRepository(postgresClient(vertxContext, okapiHeaders)));
+  }
+
 }
@@ -0,0 +1,29 @@
+package org.folio.service.event;
+
+import java.util.Map;
+
+import org.folio.rest.persist.Conn;
+
+import io.vertx.core.Future;
+
+public interface EventPublisher<K, T> {
+
+  Future<Void> publish(K key, DomainEvent<T> event, Map<String, String> okapiHeaders);
+
+  /**
+   * Publishes the event as part of the transaction the connection belongs to. Publishers
+   * that are not backed by the database ignore the connection.
+   */
+  default Future<Void> publish(Conn conn, K key, DomainEvent<T> event,
+    Map<String, String> okapiHeaders) {
+
+    return publish(key, event, okapiHeaders);
+  }
+
+  /**
+   * Signals that events published within a transaction have been committed.
+   */
+  default void committed(Map<String, String> okapiHeaders) {
+  }
+
+}
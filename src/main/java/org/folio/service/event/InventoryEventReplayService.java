@@ -0,0 +1,188 @@
+package org.folio.service.event;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.logging.log4j.LogManager.getLogger;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+import static org.folio.service.event.handler.DeadLetterRecordHandler.HEADER_KEY;
+import static org.folio.service.event.handler.DeadLetterRecordHandler.HEADER_VALUE;
+import static org.folio.support.AsyncUtils.mapSequentially;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.persist.InventoryEventDeadLetterRepository;
+import org.folio.persist.InventoryEventDeadLetterRepository.DeadLetter;
+import org.folio.rest.tools.utils.TenantTool;
+import org.folio.service.event.handler.ItemUpdateEventHandler;
+import org.folio.service.event.handler.LocationDeleteEventHandler;
+import org.folio.service.event.handler.LocationUpdateEventHandler;
+import org.folio.service.event.handler.ServicePointDeleteEventHandler;
+import org.folio.service.event.handler.ServicePointUpdateEventHandler;
+import org.folio.support.metrics.ModuleMetrics;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
+
+/**
+ * Replays the inventory events parked by
+ * {@link org.folio.service.event.handler.DeadLetterRecordHandler}: the parked records are
+ * handled again by the event handlers of this module, they are not published to the inventory
+ * topics again because other modules consume these topics too.
+ * <p>
+ * The records are replayed one after another in the order in which they were parked, each in
+ * a short transaction that only locks the record being replayed, so that a concurrent replay
+ * skips it. A handled record is removed from the dead-letter table. A record that fails again
+ * stays parked with the new error, and so do the later records with the same key, so that the
+ * events of an entity are not applied out of order. The records are handled with the Okapi URL
+ * and token of the replay request, parked records have no token.
+ * <p>
+ * A replayed event is applied as it is, the handlers do not know whether the entity has been
+ * changed by a later event in the meantime. Replaying an event that is older than the current
+ * state of its entity (e.g. an item moved again after the event was parked) overwrites the
+ * newer values, such events should be replayed before the entity changes again.
+ */
+public class InventoryEventReplayService {
+
+  public static final String REPLAYED_METRIC = "inventory_event_dead_letter_replayed_total";
+
+  private static final Logger log = getLogger(InventoryEventReplayService.class);
+  private static final String OKAPI_URL_HEADER = "x-okapi-url";
+
+  private final InventoryEventDeadLetterRepository repository;
+  private final Function<String, AsyncRecordHandler<String, String>> recordHandlers;
+
+  /**
+   * @param recordHandlers the handler of the records of an event type, see
+   * {@link #recordHandlers(Context)}
+   */
+  public InventoryEventReplayService(InventoryEventDeadLetterRepository repository,
+    Function<String, AsyncRecordHandler<String, String>> recordHandlers) {
+
+    this.repository = repository;
+    this.recordHandlers = recordHandlers;
+  }
+
+  /**
+   * Returns the handlers of the records of the inventory event types, the handler of an event
+   * type is built when it is needed first.
+   */
+  public static Function<String, AsyncRecordHandler<String, String>> recordHandlers(
+    Context context) {
+
+    Map<InventoryEventType, AsyncRecordHandler<String, String>> handlers = new HashMap<>();
+
+    return eventType -> handlers.computeIfAbsent(InventoryEventType.valueOf(eventType),
+      type -> switch (type) {
+        case INVENTORY_ITEM_UPDATED -> new ItemUpdateEventHandler(context);
+        case INVENTORY_SERVICE_POINT_UPDATED -> new ServicePointUpdateEventHandler(context);
+        case INVENTORY_SERVICE_POINT_DELETED -> new ServicePointDeleteEventHandler(context);
+        case INVENTORY_LOCATION_UPDATED -> new LocationUpdateEventHandler(context);
+        case INVENTORY_LOCATION_DELETED, INVENTORY_LOCATION_DELETED_ALL ->
+          new LocationDeleteEventHandler();
+      });
+  }
+
+  /**
+   * Replays up to {@code limit} of the oldest parked events of the tenant of the headers.
+   */
+  public Future<ReplayResult> replay(Map<String, String> okapiHeaders, int limit) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    Set<String> failedKeys = new HashSet<>();
+
+    return repository.getOldest(limit)
+      .compose(deadLetters -> mapSequentially(deadLetters,
+        deadLetter -> replay(deadLetter, okapiHeaders, failedKeys)))
+      .map(results -> (int) results.stream().filter(Boolean::booleanValue).count())
+      .compose(replayedCount -> repository.count()
+        .map(remaining -> new ReplayResult(replayedCount, remaining)))
+      .onSuccess(result -> {
+        log.info("replay:: {} parked event(s) replayed for tenant {}, {} remaining",
+          result.replayed(), tenantId, result.remaining());
+        ModuleMetrics.counter(REPLAYED_METRIC, "tenant", tenantId).add(result.replayed());
+      });
+  }
+
+  private Future<Boolean> replay(DeadLetter deadLetter, Map<String, String> okapiHeaders,
+    Set<String> failedKeys) {
+
+    if (failedKeys.contains(deadLetter.key())) {
+      log.info("replay:: parked event {} skipped, an earlier event with key [{}] failed",
+        deadLetter.id(), deadLetter.key());
+      return succeededFuture(false);
+    }
+
+    return repository.withTrans(conn -> repository.lock(conn, deadLetter.id())
+      .compose(locked -> {
+        if (!locked) {
+          log.info("replay:: parked event {} is replayed by another request", deadLetter.id());
+          return succeededFuture(false);
+        }
+
+        return handle(deadLetter, okapiHeaders)
+          .compose(v -> repository.delete(conn, List.of(deadLetter.id())))
+          .map(true)
+          .recover(error -> {
+            log.warn("replay:: failed to replay parked event {}", deadLetter.id(), error);
+            failedKeys.add(deadLetter.key());
+            return repository.updateError(conn, deadLetter.id(), String.valueOf(error))
+              .map(false);
+          });
+      }));
+  }
+
+  private Future<Void> handle(DeadLetter deadLetter, Map<String, String> okapiHeaders) {
+    try {
+      return recordHandlers.apply(deadLetter.eventType())
+        .handle(toConsumerRecord(deadLetter, okapiHeaders))
+        .mapEmpty();
+    } catch (Exception e) {
+      return failedFuture(e);
+    }
+  }
+
+  private static KafkaConsumerRecord<String, String> toConsumerRecord(DeadLetter deadLetter,
+    Map<String, String> okapiHeaders) {
+
+    var consumerRecord = new ConsumerRecord<>(deadLetter.topic(), 0, -1L, deadLetter.key(),
+      deadLetter.payload());
+    Map<String, String> requestHeaders = new HashMap<>();
+    for (String header : List.of(OKAPI_URL_HEADER, OKAPI_HEADER_TOKEN)) {
+      String value = okapiHeaders.get(header);
+      if (value != null) {
+        requestHeaders.put(header, value);
+      }
+    }
+
+    deadLetter.headers().stream()
+      .map(JsonObject.class::cast)
+      .filter(header -> !requestHeaders.containsKey(header.getString(HEADER_KEY).toLowerCase()))
+      .forEach(header -> consumerRecord.headers().add(header.getString(HEADER_KEY),
+        header.getString(HEADER_VALUE).getBytes(UTF_8)));
+    requestHeaders.forEach((header, value) -> consumerRecord.headers().add(header,
+      value.getBytes(UTF_8)));
+
+    return new KafkaConsumerRecordImpl<>(consumerRecord);
+  }
+
+  public record ReplayResult(int replayed, long remaining) {
+
+    public JsonObject toJson() {
+      return new JsonObject()
+        .put("replayed", replayed)
+        .put("remaining", remaining);
+    }
+  }
+
+}
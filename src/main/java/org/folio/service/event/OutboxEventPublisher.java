@@ -0,0 +1,71 @@
+package org.folio.service.event;
+
+import static org.apache.logging.log4j.LogManager.getLogger;
+import static org.folio.rest.tools.utils.TenantTool.tenantId;
+
+import java.util.Map;
+
+import org.apache.logging.log4j.Logger;
+import org.folio.persist.DomainEventOutboxRepository;
+import org.folio.persist.DomainEventOutboxRepository.OutboxEntry;
+import org.folio.rest.persist.Conn;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * Publishes domain events by storing them in the tenant's outbox table. The events are sent
+ * to Kafka by {@link OutboxRelayService}, so the broker is not on the request path. The event
+ * should be stored in the transaction that changes the entity, see
+ * {@link #publish(Conn, Object, DomainEvent, Map)}, a failure to store it fails the write.
+ */
+public class OutboxEventPublisher<K, T> implements EventPublisher<K, T> {
+
+  private static final Logger log = getLogger(OutboxEventPublisher.class);
+
+  private final Vertx vertx;
+  private final String kafkaTopic;
+  private final DomainEventOutboxRepository repository;
+
+  public OutboxEventPublisher(Vertx vertx, String kafkaTopic,
+    DomainEventOutboxRepository repository) {
+
+    this.vertx = vertx;
+    this.kafkaTopic = kafkaTopic;
+    this.repository = repository;
+  }
+
+  @Override
+  public Future<Void> publish(K key, DomainEvent<T> event, Map<String, String> okapiHeaders) {
+    log.info("publish:: key = {}, eventId = {}, type = {}, topic = {}", key, event.getId(),
+      event.getType(), kafkaTopic);
+
+    return repository.save(toOutboxEntry(key, event, okapiHeaders))
+      .onSuccess(r -> committed(okapiHeaders))
+      .onFailure(cause -> log.error("publish:: Unable to store domain event with key [{}] " +
+        "in outbox", key, cause));
+  }
+
+  @Override
+  public Future<Void> publish(Conn conn, K key, DomainEvent<T> event,
+    Map<String, String> okapiHeaders) {
+
+    log.info("publish:: key = {}, eventId = {}, type = {}, topic = {} (in transaction)", key,
+      event.getId(), event.getType(), kafkaTopic);
+
+    return repository.save(conn, toOutboxEntry(key, event, okapiHeaders));
+  }
+
+  @Override
+  public void committed(Map<String, String> okapiHeaders) {
+    OutboxRelayService.notifyRelay(vertx, tenantId(okapiHeaders));
+  }
+
+  private OutboxEntry toOutboxEntry(K key, DomainEvent<T> event,
+    Map<String, String> okapiHeaders) {
+
+    return ProducerRecords.toEntry(
+      DomainEventPublisher.buildProducerRecord(kafkaTopic, key, event, okapiHeaders));
+  }
+
+}
@@ -0,0 +1,176 @@
+package org.folio.service.event;
+
+import static io.vertx.core.Future.succeededFuture;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.apache.logging.log4j.LogManager.getLogger;
+import static org.folio.support.DbUtil.findTenantsWithTable;
+import static org.folio.support.ModuleConstants.DOMAIN_EVENT_OUTBOX_TABLE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.KafkaProducerManager;
+import org.folio.persist.DomainEventOutboxRepository;
+import org.folio.persist.DomainEventOutboxRepository.OutboxEntry;
+import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.producer.KafkaProducer;
+
+/**
+ * Sends the domain events stored in the tenants' outbox tables to Kafka. Events are claimed
+ * in insertion order in batches by a short transaction, sent without holding a database
+ * connection and removed from the outbox once Kafka has acknowledged them; a failed send
+ * stops the later events of the same key so that they are not sent ahead of it. Delivery
+ * is at-least-once: an event whose removal fails, or whose claim expires before it has
+ * been removed, is sent again.
+ */
+public class OutboxRelayService {
+
+  public static final String OUTBOX_RELAY_ADDRESS = "mod-circulation-storage.outbox-relay";
+
+  private static final Logger log = getLogger(OutboxRelayService.class);
+  private static final int CLAIM_SECONDS = 300;
+
+  private final Vertx vertx;
+  private final KafkaProducerManager producerManager;
+  private final int batchSize;
+  private final Set<String> tenantsInProgress = new HashSet<>();
+  private final Set<String> tenantsPending = new HashSet<>();
+
+  public OutboxRelayService(Vertx vertx, KafkaProducerManager producerManager, int batchSize) {
+    this.vertx = vertx;
+    this.producerManager = producerManager;
+    this.batchSize = batchSize;
+  }
+
+  public static void notifyRelay(Vertx vertx, String tenantId) {
+    vertx.eventBus().send(OUTBOX_RELAY_ADDRESS, tenantId);
+  }
+
+  public Future<Void> relayAllTenants() {
+    return findTenantsWithTable(vertx, DOMAIN_EVENT_OUTBOX_TABLE)
+      .compose(tenants -> Future.join(tenants.stream().map(this::relay).toList()))
+      .onFailure(t -> log.warn("relayAllTenants:: failed to relay outbox events", t))
+      .mapEmpty();
+  }
+
+  /**
+   * Relays the tenant's outbox until it is empty. A request for a tenant that is already
+   * being relayed is remembered and served once the current run has finished.
+   */
+  public Future<Void> relay(String tenantId) {
+    if (!tenantsInProgress.add(tenantId)) {
+      tenantsPending.add(tenantId);
+      return succeededFuture();
+    }
+
+    var repository = new DomainEventOutboxRepository(PostgresClient.getInstance(vertx, tenantId));
+
+    return relayBatches(tenantId, repository)
+      .onFailure(t -> log.warn("relay:: failed to relay outbox events of tenant {}", tenantId, t))
+      .eventually(() -> {
+        tenantsInProgress.remove(tenantId);
+        if (tenantsPending.remove(tenantId)) {
+          relay(tenantId);
+        }
+        return succeededFuture();
+      });
+  }
+
+  private Future<Void> relayBatches(String tenantId, DomainEventOutboxRepository repository) {
+    return relayBatch(repository)
+      .compose(sentCount -> {
+        if (sentCount > 0) {
+          log.info("relayBatches:: {} event(s) relayed for tenant {}", sentCount, tenantId);
+        }
+        return sentCount == batchSize
+          ? relayBatches(tenantId, repository)
+          : succeededFuture();
+      });
+  }
+
+  private Future<Integer> relayBatch(DomainEventOutboxRepository repository) {
+    return repository.withTrans(conn -> claimBatch(conn, repository))
+      .compose(entries -> send(entries)
+        .compose(sentIds -> entries.isEmpty()
+          ? succeededFuture(0)
+          : repository.withTrans(conn -> repository.delete(conn, sentIds)
+              .compose(v -> repository.release(conn, unsentIds(entries, sentIds))))
+            .map(sentIds.size())));
+  }
+
+  private Future<List<OutboxEntry>> claimBatch(Conn conn,
+    DomainEventOutboxRepository repository) {
+
+    return repository.tryLock(conn)
+      .compose(locked -> Boolean.TRUE.equals(locked)
+        ? repository.claimOldest(conn, batchSize, CLAIM_SECONDS)
+        : succeededFuture(List.<OutboxEntry>of()));
+  }
+
+  private static List<Long> unsentIds(List<OutboxEntry> entries, List<Long> sentIds) {
+    Set<Long> sent = new HashSet<>(sentIds);
+
+    return entries.stream()
+      .map(OutboxEntry::id)
+      .filter(id -> !sent.contains(id))
+      .toList();
+  }
+
+  /**
+   * Sends the entries of each key one after the other, the keys are sent concurrently. The
+   * entries of a key that follow a failed send are not sent, so that they are not delivered
+   * ahead of it when the failed entry is retried. Returns the ids of the sent entries.
+   */
+  private Future<List<Long>> send(List<OutboxEntry> entries) {
+    if (entries.isEmpty()) {
+      return succeededFuture(List.of());
+    }
+
+    Map<String, List<OutboxEntry>> entriesByKey = entries.stream()
+      .collect(groupingBy(OutboxRelayService::orderingKey, LinkedHashMap::new, toList()));
+    List<Long> sentIds = Collections.synchronizedList(new ArrayList<>());
+
+    return Future.join(entriesByKey.values().stream()
+        .map(keyEntries -> sendInOrder(keyEntries, sentIds))
+        .toList())
+      .transform(ar -> {
+        if (ar.failed()) {
+          log.warn("send:: {} of {} event(s) sent, the rest will be retried", sentIds.size(),
+            entries.size(), ar.cause());
+        }
+        return succeededFuture(List.copyOf(sentIds));
+      });
+  }
+
+  private Future<Void> sendInOrder(List<OutboxEntry> entries, List<Long> sentIds) {
+    Future<Void> result = succeededFuture();
+    for (OutboxEntry entry : entries) {
+      result = result.compose(v -> send(entry)
+        .onSuccess(sent -> sentIds.add(entry.id())));
+    }
+    return result;
+  }
+
+  private static String orderingKey(OutboxEntry entry) {
+    return entry.topic() + "/" + entry.key();
+  }
+
+  private Future<Void> send(OutboxEntry entry) {
+    KafkaProducer<String, String> producer = producerManager.createShared(entry.topic());
+
+    return producer.send(ProducerRecords.toProducerRecord(entry))
+      .mapEmpty();
+  }
+
+}
@@ -0,0 +1,54 @@
+package org.folio.service.event;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+
+import org.folio.persist.DomainEventOutboxRepository.OutboxEntry;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.producer.KafkaHeader;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+
+/**
+ * Converts Kafka producer records to and from the form they are stored in the database. The
+ * Okapi token is not stored, it would be kept in plain text and expire before the record is
+ * sent.
+ */
+final class ProducerRecords {
+
+  private static final String HEADER_KEY = "key";
+  private static final String HEADER_VALUE = "value";
+
+  private ProducerRecords() {
+  }
+
+  static OutboxEntry toEntry(KafkaProducerRecord<?, String> producerRecord) {
+    JsonArray headers = new JsonArray();
+    for (KafkaHeader header : producerRecord.headers()) {
+      if (OKAPI_HEADER_TOKEN.equalsIgnoreCase(header.key())) {
+        continue;
+      }
+      headers.add(new JsonObject()
+        .put(HEADER_KEY, header.key())
+        .put(HEADER_VALUE, header.value().toString()));
+    }
+
+    Object key = producerRecord.key();
+
+    return new OutboxEntry(producerRecord.topic(), key == null ? null : key.toString(),
+      producerRecord.value(), headers);
+  }
+
+  static KafkaProducerRecord<String, String> toProducerRecord(OutboxEntry entry) {
+    KafkaProducerRecord<String, String> producerRecord =
+      KafkaProducerRecord.create(entry.topic(), entry.key(), entry.payload());
+
+    entry.headers().stream()
+      .map(JsonObject.class::cast)
+      .forEach(header -> producerRecord.addHeader(header.getString(HEADER_KEY),
+        header.getString(HEADER_VALUE)));
+
+    return producerRecord;
+  }
+
+}
@@ -0,0 +1,39 @@
+package org.folio.service.event;
+
+import static org.apache.logging.log4j.LogManager.getLogger;
+
+import org.apache.logging.log4j.Logger;
+import org.folio.persist.DomainEventRetryRepository;
+import org.folio.support.metrics.ModuleMetrics;
+
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+
+/**
+ * Stores the records that could not be sent to Kafka in the tenant's retry table, from
+ * where {@link DomainEventRetryService} replays them.
+ */
+public class RetryQueueFailureHandler implements FailureHandler {
+
+  private static final Logger log = getLogger(RetryQueueFailureHandler.class);
+
+  private final String tenantId;
+  private final DomainEventRetryRepository repository;
+
+  public RetryQueueFailureHandler(String tenantId, DomainEventRetryRepository repository) {
+    this.tenantId = tenantId;
+    this.repository = repository;
+  }
+
+  @Override
+  public <K> void handle(Throwable error, KafkaProducerRecord<K, String> producerRecord) {
+    log.warn("handle:: queueing domain event with key [{}] for retry, topic = {}",
+      producerRecord.key(), producerRecord.topic());
+
+    repository.save(ProducerRecords.toEntry(producerRecord), String.valueOf(error))
+      .onSuccess(v -> ModuleMetrics.counter(DomainEventRetryService.QUEUED_METRIC,
+        "tenant", tenantId).increment())
+      .onFailure(t -> log.error("handle:: failed to queue domain event with key [{}], " +
+        "the event is lost", producerRecord.key(), t));
+  }
+
+}
@@ -0,0 +1,171 @@
+package org.folio.service.event.handler;
+
+import static org.folio.kafka.KafkaHeaderUtils.kafkaHeadersToMap;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.collections4.map.CaseInsensitiveMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+/**
+ * Collects the records of a consumer into per-tenant batches. A batch is handed over when it
+ * has {@code maxBatchSize} records or when {@code windowMs} have passed since its first record.
+ * Update events of the same entity are coalesced into one event from the oldest "old" to the
+ * latest "new" version. The future of a record completes when its batch has been processed, so
+ * its offset is only committed after the changes of the batch are persisted.
+ * <p>
+ * The batches of a tenant are processed one after another, which keeps the records of the same
+ * key in order. The handler must not be wrapped in a {@link KeyOrderedRecordHandler}, that would
+ * hold back a record until the previous record of its key is processed, so two records of the
+ * same key could never be in one batch.
+ */
+public class BatchingRecordHandler implements AsyncRecordHandler<String, String> {
+  private static final Logger log = LogManager.getLogger(BatchingRecordHandler.class);
+
+  private static final String UPDATE_EVENT_TYPE = "UPDATE";
+
+  private final Vertx vertx;
+  private final int maxBatchSize;
+  private final long windowMs;
+  private final BatchHandler batchHandler;
+  private final Map<String, PendingBatch> pendingBatches = new HashMap<>();
+  private final Map<String, Future<Void>> lastBatchResultByTenant = new HashMap<>();
+
+  public BatchingRecordHandler(Vertx vertx, int maxBatchSize, long windowMs,
+    BatchHandler batchHandler) {
+
+    this.vertx = vertx;
+    this.maxBatchSize = maxBatchSize;
+    this.windowMs = windowMs;
+    this.batchHandler = batchHandler;
+  }
+
+  @Override
+  public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    JsonObject payload = new JsonObject(kafkaConsumerRecord.value());
+    var headers = new CaseInsensitiveMap<>(kafkaHeadersToMap(kafkaConsumerRecord.headers()));
+    String tenantId = headers.get(OKAPI_HEADER_TENANT);
+
+    PendingBatch batch = pendingBatches.computeIfAbsent(tenantId, this::startBatch);
+    Promise<String> promise = Promise.promise();
+    batch.add(kafkaConsumerRecord.key(), payload, headers, promise);
+
+    if (batch.recordCount() >= maxBatchSize) {
+      flush(tenantId, batch);
+    }
+
+    return promise.future();
+  }
+
+  private PendingBatch startBatch(String tenantId) {
+    PendingBatch batch = new PendingBatch();
+    batch.timerId = vertx.setTimer(windowMs, id -> flush(tenantId, batch));
+    return batch;
+  }
+
+  private void flush(String tenantId, PendingBatch batch) {
+    if (!pendingBatches.remove(tenantId, batch)) {
+      return;
+    }
+    vertx.cancelTimer(batch.timerId);
+
+    List<JsonObject> payloads = new ArrayList<>(batch.payloads.values());
+    log.info("flush:: processing batch of {} event(s) coalesced from {} record(s) for tenant {}",
+      payloads.size(), batch.recordCount(), tenantId);
+
+    Future<Void> previousResult = lastBatchResultByTenant.get(tenantId);
+    Future<Void> result = previousResult == null
+      ? handleBatch(batch, payloads)
+      : previousResult.transform(ar -> handleBatch(batch, payloads));
+    lastBatchResultByTenant.put(tenantId, result);
+
+    result.onComplete(batch::complete)
+      .onComplete(ar -> lastBatchResultByTenant.remove(tenantId, result));
+  }
+
+  private Future<Void> handleBatch(PendingBatch batch, List<JsonObject> payloads) {
+    try {
+      return batchHandler.handle(batch.headers, payloads);
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Key of the entity an event belongs to, events without an entity id are not coalesced.
+   */
+  private static String coalescingKey(JsonObject payload) {
+    JsonObject entity = payload.getJsonObject("new", payload.getJsonObject("old"));
+    String entityId = entity == null ? null : entity.getString("id");
+
+    return entityId == null
+      ? null
+      : payload.getString("type") + ":" + entityId;
+  }
+
+  private static JsonObject coalesce(JsonObject previous, JsonObject latest) {
+    if (!UPDATE_EVENT_TYPE.equals(previous.getString("type"))
+      || !UPDATE_EVENT_TYPE.equals(latest.getString("type"))) {
+
+      return latest;
+    }
+
+    return latest.copy()
+      .put("old", previous.getJsonObject("old"));
+  }
+
+  @FunctionalInterface
+  public interface BatchHandler {
+    Future<Void> handle(Map<String, String> okapiHeaders, List<JsonObject> payloads);
+  }
+
+  private static class PendingBatch {
+    private final Map<Object, JsonObject> payloads = new LinkedHashMap<>();
+    private final List<Promise<String>> promises = new ArrayList<>();
+    private final List<String> recordKeys = new ArrayList<>();
+    private Map<String, String> headers;
+    private long timerId;
+
+    void add(String recordKey, JsonObject payload, Map<String, String> recordHeaders,
+      Promise<String> promise) {
+
+      Object key = coalescingKey(payload);
+      if (key == null) {
+        key = new Object();
+      }
+      payloads.merge(key, payload, BatchingRecordHandler::coalesce);
+      headers = recordHeaders;
+      promises.add(promise);
+      recordKeys.add(recordKey);
+    }
+
+    int recordCount() {
+      return promises.size();
+    }
+
+    void complete(AsyncResult<Void> result) {
+      for (int i = 0; i < promises.size(); i++) {
+        if (result.succeeded()) {
+          promises.get(i).complete(recordKeys.get(i));
+        } else {
+          promises.get(i).fail(result.cause());
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,43 @@
+package org.folio.service.event.handler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.service.TenantCache;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+/**
+ * Invalidates the cached data of the tenant when an event about a change of the data is
+ * consumed, the events are consumed by every node so that changes made on the other nodes are
+ * seen.
+ */
+public class CacheInvalidationEventHandler implements AsyncRecordHandler<String, String> {
+  private static final Logger log = LogManager.getLogger(CacheInvalidationEventHandler.class);
+
+  private final TenantCache cache;
+
+  public CacheInvalidationEventHandler(TenantCache cache) {
+    this.cache = cache;
+  }
+
+  @Override
+  public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    String tenantId = RecordHeaders.tenantId(kafkaConsumerRecord.headers());
+    if (tenantId == null) {
+      tenantId = new JsonObject(kafkaConsumerRecord.value()).getString("tenant");
+    }
+
+    if (tenantId == null) {
+      log.warn("handle:: event without tenant, invalidating all tenants");
+      cache.invalidateAll();
+    } else {
+      cache.invalidate(tenantId);
+    }
+
+    return Future.succeededFuture(kafkaConsumerRecord.key());
+  }
+
+}
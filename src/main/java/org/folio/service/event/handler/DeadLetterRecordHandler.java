@@ -0,0 +1,103 @@
+package org.folio.service.event.handler;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.persist.InventoryEventDeadLetterRepository;
+import org.folio.persist.InventoryEventDeadLetterRepository.DeadLetter;
+import org.folio.support.metrics.ModuleMetrics;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+/**
+ * Parks the records the delegate failed to handle in the tenant's dead-letter table, so that
+ * a failing record neither blocks the partition nor gets lost. Parked records are replayed by
+ * {@link org.folio.service.event.InventoryEventReplayService}. The failure is passed on only
+ * when the record cannot be parked. The token of the record is not parked, it would expire
+ * long before the record is replayed and must not be kept in the database.
+ */
+public class DeadLetterRecordHandler implements AsyncRecordHandler<String, String> {
+  public static final String PARKED_METRIC = "inventory_event_dead_letter_parked_total";
+  public static final String HEADER_KEY = "key";
+  public static final String HEADER_VALUE = "value";
+
+  private static final Logger log = LogManager.getLogger(DeadLetterRecordHandler.class);
+
+  private final String eventType;
+  private final Function<String, InventoryEventDeadLetterRepository> repositories;
+  private final AsyncRecordHandler<String, String> delegate;
+
+  public DeadLetterRecordHandler(String eventType,
+    Function<String, InventoryEventDeadLetterRepository> repositories,
+    AsyncRecordHandler<String, String> delegate) {
+
+    this.eventType = eventType;
+    this.repositories = repositories;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    Future<String> result;
+    try {
+      result = delegate.handle(kafkaConsumerRecord);
+    } catch (Exception e) {
+      result = Future.failedFuture(e);
+    }
+
+    return result.recover(error -> park(kafkaConsumerRecord, error));
+  }
+
+  private Future<String> park(KafkaConsumerRecord<String, String> kafkaConsumerRecord,
+    Throwable error) {
+
+    String tenantId = RecordHeaders.tenantId(kafkaConsumerRecord.headers());
+    if (tenantId == null) {
+      log.warn("park:: record with key [{}] has no tenant, it cannot be parked",
+        kafkaConsumerRecord.key());
+      return Future.failedFuture(error);
+    }
+
+    log.warn("park:: parking {} record with key [{}] of tenant {}", eventType,
+      kafkaConsumerRecord.key(), tenantId, error);
+
+    var deadLetter = new DeadLetter(eventType, kafkaConsumerRecord.topic(),
+      kafkaConsumerRecord.key(), kafkaConsumerRecord.value(),
+      toJson(kafkaConsumerRecord), String.valueOf(error));
+
+    return repositories.apply(tenantId).save(deadLetter)
+      .onSuccess(v -> ModuleMetrics.counter(PARKED_METRIC, "event_type", eventType,
+        "tenant", tenantId).increment())
+      .transform(ar -> {
+        if (ar.failed()) {
+          log.error("park:: failed to park record with key [{}]", kafkaConsumerRecord.key(),
+            ar.cause());
+          return Future.failedFuture(error);
+        }
+        return succeededFuture(kafkaConsumerRecord.key());
+      });
+  }
+
+  private static JsonArray toJson(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    JsonArray headers = new JsonArray();
+    for (KafkaHeader header : kafkaConsumerRecord.headers()) {
+      if (OKAPI_HEADER_TOKEN.equalsIgnoreCase(header.key())) {
+        continue;
+      }
+      headers.add(new JsonObject()
+        .put(HEADER_KEY, header.key())
+        .put(HEADER_VALUE, header.value().toString()));
+    }
+    return headers;
+  }
+
+}
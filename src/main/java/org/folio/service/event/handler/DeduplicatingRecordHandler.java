@@ -0,0 +1,112 @@
+package org.folio.service.event.handler;
+
+import static io.vertx.core.Future.succeededFuture;
+
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.persist.InventoryEventProcessedRecordRepository;
+import org.folio.support.metrics.ModuleMetrics;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+/**
+ * Skips the records that have already been processed within the dedup window, e.g. records
+ * delivered again after a rebalance. Records are identified by topic, partition, offset and
+ * timestamp. The processed records are kept in memory and, when a repository is given, in the
+ * tenant's processed record table, which also recognizes records processed by other module
+ * instances.
+ */
+public class DeduplicatingRecordHandler implements AsyncRecordHandler<String, String> {
+  public static final String DUPLICATES_METRIC = "inventory_event_duplicates_total";
+
+  private static final Logger log = LogManager.getLogger(DeduplicatingRecordHandler.class);
+
+  private final String eventType;
+  private final ProcessedRecordCache processedRecords;
+  private final Function<String, InventoryEventProcessedRecordRepository> repositories;
+  private final AsyncRecordHandler<String, String> delegate;
+
+  public DeduplicatingRecordHandler(String eventType, ProcessedRecordCache processedRecords,
+    AsyncRecordHandler<String, String> delegate) {
+
+    this(eventType, processedRecords, null, delegate);
+  }
+
+  public DeduplicatingRecordHandler(String eventType, ProcessedRecordCache processedRecords,
+    Function<String, InventoryEventProcessedRecordRepository> repositories,
+    AsyncRecordHandler<String, String> delegate) {
+
+    this.eventType = eventType;
+    this.processedRecords = processedRecords;
+    this.repositories = repositories;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    String recordKey = recordKey(kafkaConsumerRecord);
+    if (processedRecords.contains(recordKey)) {
+      return skip(kafkaConsumerRecord, recordKey);
+    }
+
+    InventoryEventProcessedRecordRepository repository = getRepository(kafkaConsumerRecord);
+    if (repository == null) {
+      return process(kafkaConsumerRecord, recordKey, null);
+    }
+
+    return repository.isProcessed(recordKey, processedRecords.window().toMillis())
+      .recover(t -> {
+        log.warn("handle:: failed to check whether record {} was processed", recordKey, t);
+        return succeededFuture(false);
+      })
+      .compose(processed -> {
+        if (Boolean.TRUE.equals(processed)) {
+          processedRecords.add(recordKey);
+          return skip(kafkaConsumerRecord, recordKey);
+        }
+        return process(kafkaConsumerRecord, recordKey, repository);
+      });
+  }
+
+  private Future<String> process(KafkaConsumerRecord<String, String> kafkaConsumerRecord,
+    String recordKey, InventoryEventProcessedRecordRepository repository) {
+
+    return delegate.handle(kafkaConsumerRecord)
+      .onSuccess(r -> processedRecords.add(recordKey))
+      .compose(r -> repository == null
+        ? succeededFuture(r)
+        : repository.markProcessed(recordKey)
+          .onFailure(t -> log.warn("process:: failed to store processed record {}", recordKey, t))
+          .transform(ar -> succeededFuture(r)));
+  }
+
+  private Future<String> skip(KafkaConsumerRecord<String, String> kafkaConsumerRecord,
+    String recordKey) {
+
+    log.info("skip:: record {} with key [{}] was already processed", recordKey,
+      kafkaConsumerRecord.key());
+    ModuleMetrics.counter(DUPLICATES_METRIC, "event_type", eventType).increment();
+
+    return succeededFuture(kafkaConsumerRecord.key());
+  }
+
+  private InventoryEventProcessedRecordRepository getRepository(
+    KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+
+    if (repositories == null) {
+      return null;
+    }
+    String tenantId = RecordHeaders.tenantId(kafkaConsumerRecord.headers());
+    return tenantId == null ? null : repositories.apply(tenantId);
+  }
+
+  static String recordKey(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    return kafkaConsumerRecord.topic() + "/" + kafkaConsumerRecord.partition() + "/" +
+      kafkaConsumerRecord.offset() + "/" + kafkaConsumerRecord.timestamp();
+  }
+
+}
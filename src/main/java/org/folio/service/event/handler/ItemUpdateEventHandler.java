@@ -1,8 +1,8 @@
 package org.folio.service.event.handler;
 
-import static org.folio.kafka.KafkaHeaderUtils.kafkaHeadersToMap;
+import java.util.List;
+import java.util.Map;
 
-import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.folio.kafka.AsyncRecordHandler;
 import org.folio.persist.RequestRepository;
 import org.folio.rest.client.InventoryStorageClient;
@@ -15,20 +15,27 @@ import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 
 public class ItemUpdateEventHandler implements AsyncRecordHandler<String, String> {
   private final Context context;
+  private final TenantResourceRegistry<ItemUpdateProcessorForRequest> processors;
 
   public ItemUpdateEventHandler(Context context) {
     this.context = context;
+    this.processors = new TenantResourceRegistry<>(this::createProcessor);
   }
 
   @Override
   public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
     JsonObject payload = new JsonObject(kafkaConsumerRecord.value());
-    CaseInsensitiveMap<String, String> headers =
-      new CaseInsensitiveMap<>(kafkaHeadersToMap(kafkaConsumerRecord.headers()));
 
-    var itemUpdateProcessorForRequest = new ItemUpdateProcessorForRequest(
-      new RequestRepository(context, headers), new InventoryStorageClient(context.owner(), headers));
+    return processors.get(kafkaConsumerRecord.headers())
+      .run(kafkaConsumerRecord.key(), payload);
+  }
+
+  public Future<Void> handleBatch(Map<String, String> okapiHeaders, List<JsonObject> payloads) {
+    return processors.get(okapiHeaders).run(payloads);
+  }
 
-    return itemUpdateProcessorForRequest.run(kafkaConsumerRecord.key(), payload);
+  private ItemUpdateProcessorForRequest createProcessor(Map<String, String> okapiHeaders) {
+    return new ItemUpdateProcessorForRequest(new RequestRepository(context, okapiHeaders),
+      new InventoryStorageClient(context.owner(), okapiHeaders));
   }
 }
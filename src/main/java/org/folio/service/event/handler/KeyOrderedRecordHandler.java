@@ -0,0 +1,40 @@
+package org.folio.service.event.handler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.folio.kafka.AsyncRecordHandler;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+/**
+ * Hands the records over to the delegate in the order in which they are received, a record
+ * is only handled after the previous record with the same key has been handled. Records
+ * with different keys are handled concurrently, up to the load limit of the consumer.
+ */
+public class KeyOrderedRecordHandler implements AsyncRecordHandler<String, String> {
+  private final AsyncRecordHandler<String, String> delegate;
+  private final Map<String, Future<String>> lastResultByKey = new HashMap<>();
+
+  public KeyOrderedRecordHandler(AsyncRecordHandler<String, String> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    String key = kafkaConsumerRecord.key();
+    if (key == null) {
+      return delegate.handle(kafkaConsumerRecord);
+    }
+
+    Future<String> previousResult = lastResultByKey.get(key);
+    Future<String> result = previousResult == null
+      ? delegate.handle(kafkaConsumerRecord)
+      : previousResult.transform(ar -> delegate.handle(kafkaConsumerRecord));
+    lastResultByKey.put(key, result);
+
+    return result.onComplete(ar -> lastResultByKey.remove(key, result));
+  }
+
+}
@@ -1,9 +1,7 @@
 package org.folio.service.event.handler;
 
-import static org.folio.kafka.KafkaHeaderUtils.kafkaHeadersToMap;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
 
-import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.kafka.AsyncRecordHandler;
@@ -20,23 +18,21 @@ import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 public class LocationUpdateEventHandler implements AsyncRecordHandler<String, String> {
   private static final Logger log = LogManager.getLogger();
 
-  private final Context context;
+  private final TenantResourceRegistry<Processors> processors;
 
   public LocationUpdateEventHandler(Context context) {
-    this.context = context;
+    this.processors = new TenantResourceRegistry<>(headers -> new Processors(
+      headers.get(OKAPI_HEADER_TENANT),
+      new ItemLocationUpdateProcessorForRequest(new RequestRepository(context, headers))));
   }
 
   @Override
   public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
     JsonObject payload = new JsonObject(kafkaConsumerRecord.value());
-    CaseInsensitiveMap<String, String> headers =
-      new CaseInsensitiveMap<>(kafkaHeadersToMap(kafkaConsumerRecord.headers()));
-    String tenantId = headers.get(OKAPI_HEADER_TENANT);
+    Processors tenantProcessors = processors.get(kafkaConsumerRecord.headers());
+    String tenantId = tenantProcessors.tenantId();
 
-    ItemLocationUpdateProcessorForRequest itemLocationUpdateProcessorForRequest =
-      new ItemLocationUpdateProcessorForRequest(new RequestRepository(context, headers));
-
-    return itemLocationUpdateProcessorForRequest.run(kafkaConsumerRecord.key(), payload)
+    return tenantProcessors.forRequest().run(kafkaConsumerRecord.key(), payload)
       .onComplete(notUsed -> {
         // Update location cache
         JsonObject newObject = payload.getJsonObject("new");
@@ -48,4 +44,7 @@ public class LocationUpdateEventHandler implements AsyncRecordHandler<String, St
         }
       });
   }
+
+  private record Processors(String tenantId, ItemLocationUpdateProcessorForRequest forRequest) {
+  }
 }
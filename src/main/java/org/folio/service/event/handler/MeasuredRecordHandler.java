@@ -0,0 +1,46 @@
+package org.folio.service.event.handler;
+
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.support.metrics.ModuleMetrics;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+/**
+ * Counts the records handled by the delegate and records the time from receiving a record
+ * until it has been handled, per event type.
+ */
+public class MeasuredRecordHandler implements AsyncRecordHandler<String, String> {
+  public static final String RECORDS_METRIC = "inventory_event_records_total";
+  public static final String PROCESSING_TIME_METRIC = "inventory_event_processing_seconds";
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  private final String eventType;
+  private final AsyncRecordHandler<String, String> delegate;
+
+  public MeasuredRecordHandler(String eventType, AsyncRecordHandler<String, String> delegate) {
+    this.eventType = eventType;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    long startNanos = System.nanoTime();
+
+    Future<String> result;
+    try {
+      result = delegate.handle(kafkaConsumerRecord);
+    } catch (Exception e) {
+      result = Future.failedFuture(e);
+    }
+
+    return result.onComplete(ar -> {
+      ModuleMetrics.counter(RECORDS_METRIC, "event_type", eventType,
+        "result", ar.succeeded() ? "success" : "failure").increment();
+      ModuleMetrics.histogram(PROCESSING_TIME_METRIC, "event_type", eventType)
+        .observe((System.nanoTime() - startNanos) / NANOS_PER_SECOND);
+    });
+  }
+
+}
@@ -0,0 +1,51 @@
+package org.folio.service.event.handler;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.vertx.core.Vertx;
+
+/**
+ * Remembers the records processed within the dedup window, up to a maximum number of records.
+ * The cache is shared by all consumer verticle instances of a Vert.x instance, so that records
+ * are recognized when a rebalance moves their partition to another consumer.
+ */
+public class ProcessedRecordCache {
+
+  private static final Map<Vertx, ProcessedRecordCache> caches = new ConcurrentHashMap<>();
+
+  private final Duration window;
+  private final Cache<String, Boolean> processedRecords;
+
+  ProcessedRecordCache(Duration window, long maxSize, Ticker ticker) {
+    this.window = window;
+    this.processedRecords = Caffeine.newBuilder()
+      .expireAfterWrite(window)
+      .maximumSize(maxSize)
+      .ticker(ticker)
+      .build();
+  }
+
+  public static ProcessedRecordCache getInstance(Vertx vertx, Duration window, long maxSize) {
+    return caches.computeIfAbsent(vertx,
+      v -> new ProcessedRecordCache(window, maxSize, Ticker.systemTicker()));
+  }
+
+  public Duration window() {
+    return window;
+  }
+
+  public boolean contains(String recordKey) {
+    return processedRecords.getIfPresent(recordKey) != null;
+  }
+
+  public void add(String recordKey) {
+    processedRecords.put(recordKey, Boolean.TRUE);
+  }
+
+}
@@ -0,0 +1,26 @@
+package org.folio.service.event.handler;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+
+import java.util.List;
+
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+final class RecordHeaders {
+
+  private RecordHeaders() {
+  }
+
+  /**
+   * Returns the tenant of the record headers, or null when the record has no tenant header.
+   */
+  static String tenantId(List<KafkaHeader> headers) {
+    for (KafkaHeader header : headers) {
+      if (OKAPI_HEADER_TENANT.equalsIgnoreCase(header.key())) {
+        return header.value().toString();
+      }
+    }
+    return null;
+  }
+
+}
@@ -1,12 +1,14 @@
 package org.folio.service.event.handler;
 
-import static org.folio.kafka.KafkaHeaderUtils.kafkaHeadersToMap;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.support.ModuleConstants.REQUEST_POLICY_TABLE;
+
+import java.util.Map;
 
-import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.folio.kafka.AsyncRecordHandler;
 import org.folio.persist.RequestPolicyRepository;
 import org.folio.rest.client.InventoryStorageClient;
+import org.folio.service.ReferenceDataCache;
 import org.folio.service.event.handler.processor.ServicePointDeleteProcessorForRequestPolicy;
 
 import io.vertx.core.Context;
@@ -16,24 +18,32 @@ import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 
 public class ServicePointDeleteEventHandler implements AsyncRecordHandler<String, String> {
   private final Context context;
+  private final TenantResourceRegistry<Processors> processors;
 
   public ServicePointDeleteEventHandler(Context context) {
     this.context = context;
+    this.processors = new TenantResourceRegistry<>(headers -> new Processors(
+      headers.get(OKAPI_HEADER_TENANT), headers,
+      new ServicePointDeleteProcessorForRequestPolicy(new RequestPolicyRepository(context, headers))));
   }
 
   @Override
   public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
     JsonObject payload = new JsonObject(kafkaConsumerRecord.value());
-    CaseInsensitiveMap<String, String> headers =
-      new CaseInsensitiveMap<>(kafkaHeadersToMap(kafkaConsumerRecord.headers()));
-    String tenantId = headers.get(OKAPI_HEADER_TENANT);
+    Processors tenantProcessors = processors.get(kafkaConsumerRecord.headers());
 
     JsonObject oldObject = payload.getJsonObject("old");
     if (oldObject != null && oldObject.containsKey("id")) {
-      InventoryStorageClient.invalidateServicePoint(tenantId, oldObject.getString("id"));
+      InventoryStorageClient.invalidateServicePoint(tenantProcessors.tenantId(),
+        oldObject.getString("id"));
     }
 
-    return new ServicePointDeleteProcessorForRequestPolicy(new RequestPolicyRepository(context, headers))
-      .run(kafkaConsumerRecord.key(), payload);
+    return tenantProcessors.forRequestPolicy().run(kafkaConsumerRecord.key(), payload)
+      .onComplete(ignored -> ReferenceDataCache.forTable(REQUEST_POLICY_TABLE)
+        .invalidateOnAllNodes(context, tenantProcessors.okapiHeaders()));
+  }
+
+  private record Processors(String tenantId, Map<String, String> okapiHeaders,
+    ServicePointDeleteProcessorForRequestPolicy forRequestPolicy) {
   }
 }
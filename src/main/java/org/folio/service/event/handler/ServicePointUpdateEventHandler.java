@@ -1,9 +1,10 @@
 package org.folio.service.event.handler;
 
-import static org.folio.kafka.KafkaHeaderUtils.kafkaHeadersToMap;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.support.ModuleConstants.REQUEST_POLICY_TABLE;
+
+import java.util.Map;
 
-import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.kafka.AsyncRecordHandler;
@@ -11,6 +12,7 @@ import org.folio.persist.RequestPolicyRepository;
 import org.folio.persist.RequestRepository;
 import org.folio.rest.client.InventoryStorageClient;
 import org.folio.rest.jaxrs.model.Servicepoint;
+import org.folio.service.ReferenceDataCache;
 import org.folio.service.event.handler.processor.ItemRetrievalServicePointUpdateProcessorForRequest;
 import org.folio.service.event.handler.processor.ServicePointUpdateProcessorForRequest;
 import org.folio.service.event.handler.processor.ServicePointUpdateProcessorForRequestPolicy;
@@ -24,25 +26,32 @@ public class ServicePointUpdateEventHandler implements AsyncRecordHandler<String
   private static final Logger log = LogManager.getLogger();
 
   private final Context context;
+  private final TenantResourceRegistry<Processors> processors;
 
   public ServicePointUpdateEventHandler(Context context) {
     this.context = context;
+    this.processors = new TenantResourceRegistry<>(headers -> {
+      var requestRepository = new RequestRepository(context, headers);
+      return new Processors(headers.get(OKAPI_HEADER_TENANT), headers,
+        new ServicePointUpdateProcessorForRequest(requestRepository),
+        new ServicePointUpdateProcessorForRequestPolicy(
+          new RequestPolicyRepository(context, headers)),
+        new ItemRetrievalServicePointUpdateProcessorForRequest(requestRepository));
+    });
   }
 
   @Override
   public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
     JsonObject payload = new JsonObject(kafkaConsumerRecord.value());
-    var headers = new CaseInsensitiveMap<>(kafkaHeadersToMap(kafkaConsumerRecord.headers()));
-    String tenantId = headers.get(OKAPI_HEADER_TENANT);
-
-    var requestRepository = new RequestRepository(context, headers);
-    var requestPolicyRepository = new RequestPolicyRepository(context, headers);
+    Processors tenantProcessors = processors.get(kafkaConsumerRecord.headers());
+    String tenantId = tenantProcessors.tenantId();
 
-    return new ServicePointUpdateProcessorForRequest(requestRepository)
+    return tenantProcessors.forRequest().run(kafkaConsumerRecord.key(), payload)
+      .compose(notUsed -> tenantProcessors.forRequestPolicy()
         .run(kafkaConsumerRecord.key(), payload)
-      .compose(notUsed -> new ServicePointUpdateProcessorForRequestPolicy(requestPolicyRepository)
-        .run(kafkaConsumerRecord.key(), payload))
-      .compose(notUsed -> new ItemRetrievalServicePointUpdateProcessorForRequest(requestRepository)
+        .onComplete(ignored -> ReferenceDataCache.forTable(REQUEST_POLICY_TABLE)
+          .invalidateOnAllNodes(context, tenantProcessors.okapiHeaders())))
+      .compose(notUsed -> tenantProcessors.forRequestItem()
         .run(kafkaConsumerRecord.key(), payload))
       .onComplete(notUsed -> {
         // Update service point cache
@@ -55,4 +64,10 @@ public class ServicePointUpdateEventHandler implements AsyncRecordHandler<String
         }
       });
   }
+
+  private record Processors(String tenantId, Map<String, String> okapiHeaders,
+    ServicePointUpdateProcessorForRequest forRequest,
+    ServicePointUpdateProcessorForRequestPolicy forRequestPolicy,
+    ItemRetrievalServicePointUpdateProcessorForRequest forRequestItem) {
+  }
 }
@@ -0,0 +1,126 @@
+package org.folio.service.event.handler;
+
+import static org.folio.kafka.KafkaHeaderUtils.kafkaHeadersToMap;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.collections4.map.CaseInsensitiveMap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+/**
+ * Keeps the resources used to handle the events of a tenant (repositories, clients and
+ * processors), so that they are built once per tenant instead of for every record. The
+ * resources are built again when the Okapi URL of the tenant's records changes, and they are
+ * dropped when no record of the tenant has been handled for the idle timeout.
+ * <p>
+ * The token changes with almost every record, so it is not part of the key: the headers the
+ * resources are built with are updated in place with the token of the latest record, and the
+ * resources read the token from the headers when they send a request.
+ */
+public class TenantResourceRegistry<R> {
+  private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+  private static final String OKAPI_URL_HEADER = "x-okapi-url";
+
+  private final Function<Map<String, String>, R> factory;
+  private final Cache<ResourceKey, TenantResources<R>> resources;
+
+  public TenantResourceRegistry(Function<Map<String, String>, R> factory) {
+    this(factory, DEFAULT_IDLE_TIMEOUT, Ticker.systemTicker());
+  }
+
+  TenantResourceRegistry(Function<Map<String, String>, R> factory, Duration idleTimeout,
+    Ticker ticker) {
+
+    this.factory = factory;
+    this.resources = Caffeine.newBuilder()
+      .expireAfterAccess(idleTimeout)
+      .ticker(ticker)
+      .build();
+  }
+
+  /**
+   * Returns the resources for the tenant and Okapi URL of the record headers, the headers are
+   * only copied into a map when the resources have to be built.
+   */
+  public R get(List<KafkaHeader> headers) {
+    String token = null;
+    for (KafkaHeader header : headers) {
+      if (OKAPI_HEADER_TOKEN.equalsIgnoreCase(header.key())) {
+        token = header.value().toString();
+      }
+    }
+
+    return get(ResourceKey.of(headers), token,
+      () -> new CaseInsensitiveMap<>(kafkaHeadersToMap(headers)));
+  }
+
+  /**
+   * Returns the resources for the tenant and Okapi URL of the Okapi headers, e.g. the headers
+   * of a batch of records.
+   */
+  public R get(Map<String, String> headers) {
+    Map<String, String> okapiHeaders = new CaseInsensitiveMap<>(headers);
+
+    return get(new ResourceKey(okapiHeaders.get(OKAPI_HEADER_TENANT),
+      okapiHeaders.get(OKAPI_URL_HEADER)), okapiHeaders.get(OKAPI_HEADER_TOKEN),
+      () -> okapiHeaders);
+  }
+
+  private R get(ResourceKey resourceKey, String token,
+    Supplier<Map<String, String>> okapiHeaders) {
+
+    TenantResources<R> tenantResources = resources.get(resourceKey, key -> {
+      Map<String, String> resourceHeaders = okapiHeaders.get();
+      return new TenantResources<>(resourceHeaders, factory.apply(resourceHeaders));
+    });
+    tenantResources.refreshToken(token);
+
+    return tenantResources.resource();
+  }
+
+  long size() {
+    resources.cleanUp();
+    return resources.estimatedSize();
+  }
+
+  private record ResourceKey(String tenantId, String okapiUrl) {
+    static ResourceKey of(List<KafkaHeader> headers) {
+      String tenantId = null;
+      String okapiUrl = null;
+      for (KafkaHeader header : headers) {
+        if (OKAPI_HEADER_TENANT.equalsIgnoreCase(header.key())) {
+          tenantId = header.value().toString();
+        } else if (OKAPI_URL_HEADER.equalsIgnoreCase(header.key())) {
+          okapiUrl = header.value().toString();
+        }
+      }
+      return new ResourceKey(tenantId, okapiUrl);
+    }
+  }
+
+  private record TenantResources<R>(Map<String, String> okapiHeaders, R resource) {
+    void refreshToken(String token) {
+      if (Objects.equals(token, okapiHeaders.get(OKAPI_HEADER_TOKEN))) {
+        return;
+      }
+      if (token == null) {
+        okapiHeaders.remove(OKAPI_HEADER_TOKEN);
+      } else {
+        okapiHeaders.put(OKAPI_HEADER_TOKEN, token);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,17 @@
+package org.folio.service.event.handler.processor;
+
+import java.util.List;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Processor that can process a batch of events at once: the objects affected by all events
+ * of the batch are read with a single query and the changed ones are written with a single
+ * batch update.
+ */
+public interface BatchEventProcessor {
+
+  Future<Void> run(List<JsonObject> payloads);
+
+}
@@ -5,20 +5,27 @@ import static io.vertx.core.Future.succeededFuture;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.persist.AbstractRepository;
+import org.folio.persist.PropertyUpdate;
 import org.folio.rest.persist.Criteria.Criterion;
 import org.folio.service.event.InventoryEventType;
+import org.folio.support.metrics.ModuleMetrics;
 
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
-import lombok.RequiredArgsConstructor;
 
 public abstract class EventProcessor<T> {
+  public static final String CHANGES_METRIC = "inventory_event_changes_total";
+  public static final String DB_UPDATES_METRIC = "inventory_event_db_updates_total";
+
   private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
 
   protected final InventoryEventType supportedEventType;
@@ -38,20 +45,67 @@ public abstract class EventProcessor<T> {
       .map(eventKey);
   }
 
-  private Future<List<T>> processEvent(JsonObject payload) {
+  /**
+   * Processes the events of a batch for a {@link BatchEventProcessor}. The objects affected
+   * by the events are read with a single query of the ids of the event objects, and each
+   * object gets the changes of the event object it belongs to.
+   */
+  protected Future<Void> runBatch(List<JsonObject> payloads,
+    Function<Collection<String>, Future<List<T>>> objectsToBeUpdated,
+    Function<T, String> eventObjectIdOf) {
+
+    log.info("runBatch:: received batch of {} event(s)", payloads::size);
+
+    List<JsonObject> processablePayloads = payloads.stream()
+      .filter(this::isProcessable)
+      .toList();
+    List<Future<List<Change<T>>>> relevantChanges = processablePayloads.stream()
+      .map(this::collectRelevantChanges)
+      .toList();
+
+    return Future.all(relevantChanges)
+      .compose(r -> {
+        Map<String, List<Change<T>>> changesByObjectId = new LinkedHashMap<>();
+        for (int i = 0; i < processablePayloads.size(); i++) {
+          List<Change<T>> changes = relevantChanges.get(i).result();
+          countChanges(processablePayloads.get(i), changes);
+          if (!changes.isEmpty()) {
+            changesByObjectId.computeIfAbsent(
+                processablePayloads.get(i).getJsonObject("old").getString("id"),
+                id -> new ArrayList<>())
+              .addAll(changes);
+          }
+        }
+        return applyChanges(changesByObjectId, objectsToBeUpdated, eventObjectIdOf);
+      })
+      .onSuccess(r -> log.info("runBatch:: batch of {} event(s) processed successfully",
+        payloads::size))
+      .onFailure(t -> log.error("runBatch:: failed to process batch", t));
+  }
+
+  private boolean isProcessable(JsonObject payload) {
     String eventType = payload.getString("type");
     if (!supportedEventType.getPayloadType().name().equals(eventType)) {
-      log.info("processEvent:: unsupported event type: {}", eventType);
-      return succeededFuture();
+      log.info("isProcessable:: unsupported event type: {}", eventType);
+      return false;
     }
 
     if (!validatePayload(payload)) {
-      log.warn("processEvent:: payload validation failed");
+      log.warn("isProcessable:: payload validation failed");
+      return false;
+    }
+
+    return true;
+  }
+
+  private Future<Void> processEvent(JsonObject payload) {
+    if (!isProcessable(payload)) {
       return succeededFuture();
     }
 
     return collectRelevantChanges(payload)
       .compose(relevantChanges -> {
+        countChanges(payload, relevantChanges);
         if (relevantChanges.isEmpty()) {
           log.info("processEvent:: no relevant changes detected");
           return succeededFuture();
@@ -66,25 +120,71 @@ public abstract class EventProcessor<T> {
 
   protected abstract Future<List<Change<T>>> collectRelevantChanges(JsonObject payload);
 
-  private Future<List<T>> applyChanges(List<Change<T>> changes, JsonObject payload) {
+  private Future<Void> applyChanges(List<Change<T>> changes, JsonObject payload) {
     log.debug("applyChanges:: payload: {}", payload);
 
     JsonObject oldObject = payload.getJsonObject("old");
+    Criterion criterion = criterionForObjectsToBeUpdated(oldObject.getString("id"));
+
+    if (changes.stream().allMatch(Change::isPropertyUpdate)) {
+      return applyPropertyUpdates(criterion, changes);
+    }
+
+    return repository.get(criterion)
+      .compose(objects -> applyDbUpdates(objects, changes))
+      .mapEmpty();
+  }
+
+  /**
+   * Applies the changes with a single UPDATE statement, the objects are neither loaded
+   * nor written when they already have the new values.
+   */
+  private Future<Void> applyPropertyUpdates(Criterion criterion, List<Change<T>> changes) {
+    List<PropertyUpdate> propertyUpdates = changes.stream()
+      .map(change -> change.propertyUpdate)
+      .toList();
+
+    return repository.updateProperties(criterion, propertyUpdates)
+      .onSuccess(updatedCount -> log.info("applyPropertyUpdates:: {} object(s) updated",
+        updatedCount))
+      .onSuccess(this::countDbUpdates)
+      .mapEmpty();
+  }
+
+  private Future<Void> applyChanges(Map<String, List<Change<T>>> changesByObjectId,
+    Function<Collection<String>, Future<List<T>>> objectsToBeUpdated,
+    Function<T, String> eventObjectIdOf) {
+
+    if (changesByObjectId.isEmpty()) {
+      log.info("applyChanges:: no relevant changes detected");
+      return succeededFuture();
+    }
+
+    log.info("applyChanges:: relevant changes of {} object(s) detected, applying",
+      changesByObjectId::size);
 
-    return repository.get(criterionForObjectsToBeUpdated(oldObject.getString("id")))
-      .compose(objects -> applyDbUpdates(objects, changes));
+    return objectsToBeUpdated.apply(changesByObjectId.keySet())
+      .compose(objects -> applyDbUpdates(objects, object -> changesByObjectId.getOrDefault(
+        eventObjectIdOf.apply(object), List.of())))
+      .mapEmpty();
   }
 
   protected abstract Criterion criterionForObjectsToBeUpdated(String oldObjectId);
 
   protected Future<List<T>> applyDbUpdates(List<T> objects, Collection<Change<T>> changes) {
+    return applyDbUpdates(objects, object -> changes);
+  }
+
+  private Future<List<T>> applyDbUpdates(List<T> objects,
+    Function<T, Collection<Change<T>>> changesOfObject) {
+
     if (objects.isEmpty()) {
       log.info("applyDbUpdates:: no objects to update found, nothing to update");
       return succeededFuture(objects);
     }
 
     log.info("applyDbUpdates:: {} objects to update found, applying changes", objects.size());
-    List<T> updatedObjects = applyChanges(objects, changes);
+    List<T> updatedObjects = applyChanges(objects, changesOfObject);
     if (updatedObjects.isEmpty()) {
       log.info("applyDbUpdates:: no object were changed, nothing to persist");
       return succeededFuture(updatedObjects);
@@ -94,13 +194,20 @@ public abstract class EventProcessor<T> {
       updatedObjects::size, objects::size);
 
     return repository.update(updatedObjects)
+      .onSuccess(r -> countDbUpdates(updatedObjects.size()))
       .map(updatedObjects);
   }
 
-  private List<T> applyChanges(List<T> objects, Collection<Change<T>> changes) {
+  private List<T> applyChanges(List<T> objects,
+    Function<T, Collection<Change<T>>> changesOfObject) {
+
     List<T> updatedObjects = new ArrayList<>();
 
     for (T object : objects) {
+      Collection<Change<T>> changes = changesOfObject.apply(object);
+      if (changes.isEmpty()) {
+        continue;
+      }
       try {
         JsonObject originalJson = JsonObject.mapFrom(object);
         changes.forEach(change -> change.apply(object));
@@ -124,12 +231,46 @@ public abstract class EventProcessor<T> {
     return updatedObjects;
   }
 
-  @RequiredArgsConstructor
+  private void countChanges(JsonObject payload, List<Change<T>> relevantChanges) {
+    ModuleMetrics.counter(CHANGES_METRIC, "processor", getClass().getSimpleName(),
+      "tenant", payload.getString("tenant"),
+      "result", relevantChanges.isEmpty() ? "no_op" : "relevant").increment();
+  }
+
+  private void countDbUpdates(int updatedCount) {
+    ModuleMetrics.counter(DB_UPDATES_METRIC, "processor", getClass().getSimpleName())
+      .add(updatedCount);
+  }
+
   protected static class Change<T> {
     private final Consumer<T> changeConsumer;
+    private final PropertyUpdate propertyUpdate;
+
+    public Change(Consumer<T> changeConsumer) {
+      this(changeConsumer, null);
+    }
+
+    private Change(Consumer<T> changeConsumer, PropertyUpdate propertyUpdate) {
+      this.changeConsumer = changeConsumer;
+      this.propertyUpdate = propertyUpdate;
+    }
+
+    /**
+     * A change that sets the string property at the path, it is applied in the database
+     * when all changes of an event are property changes. The consumer is used otherwise.
+     */
+    public static <T> Change<T> setProperty(Consumer<T> changeConsumer, String value,
+      String... path) {
+
+      return new Change<>(changeConsumer, new PropertyUpdate(List.of(path), value));
+    }
 
     public void apply(T target) {
       changeConsumer.accept(target);
     }
+
+    public boolean isPropertyUpdate() {
+      return propertyUpdate != null;
+    }
   }
 }
@@ -38,7 +38,8 @@ public class ItemLocationUpdateProcessorForRequest extends UpdateEventProcessor<
     if (notEqual(oldLocationName, newLocationName)) {
       log.info("collectRelevantChanges:: changing item.itemEffectiveLocationName from {} to {}",
         oldLocationName, newLocationName);
-      changes.add(new Change<>(request -> request.getItem().setItemEffectiveLocationName(newLocationName)));
+      changes.add(Change.setProperty(request -> request.getItem().setItemEffectiveLocationName(newLocationName),
+        newLocationName, "item", "itemEffectiveLocationName"));
     }
 
     return succeededFuture(changes);
@@ -36,7 +36,8 @@ public class ItemRetrievalServicePointUpdateProcessorForRequest extends UpdateEv
     if (notEqual(oldServicePointName, newServicePointName)) {
       log.info("ItemRetrievalServicePointUpdateProcessorForRequest :: collectRelevantChanges:: changing item.retrievalServicePointName from {} to {}",
               oldServicePointName, newServicePointName);
-      changes.add(new Change<>(request -> request.getItem().setRetrievalServicePointName(newServicePointName)));
+      changes.add(Change.setProperty(request -> request.getItem().setRetrievalServicePointName(newServicePointName),
+        newServicePointName, "item", "retrievalServicePointName"));
     }
     return Future.succeededFuture(changes);
   }
@@ -28,11 +28,14 @@ import org.folio.rest.persist.Criteria.Criterion;
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
 
-public class ItemUpdateProcessorForRequest extends UpdateEventProcessor<Request> {
+public class ItemUpdateProcessorForRequest extends UpdateEventProcessor<Request>
+  implements BatchEventProcessor {
 
   private static final Logger log = LogManager.getLogger(ItemUpdateProcessorForRequest.class);
+  private final RequestRepository repository;
   private final InventoryStorageClient inventoryStorageClient;
 
+  private static final String EFFECTIVE_LOCATION_ID_KEY = "effectiveLocationId";
   private static final String EFFECTIVE_SHELVING_ORDER_KEY = "effectiveShelvingOrder";
   private static final String EFFECTIVE_CALL_NUMBER_COMPONENTS_KEY = "effectiveCallNumberComponents";
   private static final String CALL_NUMBER_KEY = "callNumber";
@@ -46,9 +49,15 @@ public class ItemUpdateProcessorForRequest extends UpdateEventProcessor<Request>
 
   public ItemUpdateProcessorForRequest(RequestRepository repository, InventoryStorageClient inventoryStorageClient) {
     super(INVENTORY_ITEM_UPDATED, repository);
+    this.repository = repository;
     this.inventoryStorageClient = inventoryStorageClient;
   }
 
+  @Override
+  public Future<Void> run(List<JsonObject> payloads) {
+    return runBatch(payloads, this::getRequestsOfItems, Request::getItemId);
+  }
+
   @Override
   protected Future<List<Change<Request>>> collectRelevantChanges(JsonObject payload) {
     JsonObject oldObject = payload.getJsonObject("old");
@@ -72,10 +81,18 @@ public class ItemUpdateProcessorForRequest extends UpdateEventProcessor<Request>
       changes.add(new Change<>(request -> request.getSearchIndex().setShelvingOrder(newShelvingOrder)));
     }
 
-    Future<Map<String, String>> fetchLocationAndServicePoint = updateItemAndServicePoint(newObject);
-    return fetchLocationAndServicePoint
-      .map(locationAndSpData -> addLocationAndServicePointChanges(locationAndSpData, changes))
-      .otherwise(throwable -> changes);
+    // the location and its service point are only looked up when the item was moved, a failed
+    // lookup fails the event so that it is parked and replayed instead of being acknowledged
+    String oldLocationId = oldObject.getString(EFFECTIVE_LOCATION_ID_KEY);
+    String newLocationId = newObject.getString(EFFECTIVE_LOCATION_ID_KEY);
+    if (notEqual(oldLocationId, newLocationId)) {
+      log.info("collectRelevantChanges:: effectiveLocationId changed from {} to {}",
+        oldLocationId, newLocationId);
+      return updateItemAndServicePoint(newObject)
+        .map(locationAndSpData -> addLocationAndServicePointChanges(locationAndSpData, changes));
+    }
+
+    return succeededFuture(changes);
   }
 
   private static List<Change<Request>> addLocationAndServicePointChanges(
@@ -95,7 +112,7 @@ public class ItemUpdateProcessorForRequest extends UpdateEventProcessor<Request>
   }
 
   private Future<Map<String, String>> updateItemAndServicePoint(JsonObject newObject) {
-    String effectiveLocationId = newObject.getString("effectiveLocationId");
+    String effectiveLocationId = newObject.getString(EFFECTIVE_LOCATION_ID_KEY);
     Map<String, String> locationAndSpData = new HashMap<>();
     locationAndSpData.put(ITEM_EFFECTIVE_LOCATION_ID, effectiveLocationId);
 
@@ -103,7 +120,7 @@ public class ItemUpdateProcessorForRequest extends UpdateEventProcessor<Request>
       .compose(locations -> setEffectiveLocationData(locations, effectiveLocationId, locationAndSpData))
       .compose(primaryServicePoint -> setRetrievalServicePointData(primaryServicePoint, locationAndSpData))
       .compose(e -> succeededFuture(locationAndSpData))
-      .onFailure(throwable -> log.info("updateItemAndServicePoint:: Error while fetching Locations: ", throwable));
+      .onFailure(throwable -> log.warn("updateItemAndServicePoint:: Error while fetching Locations: ", throwable));
   }
 
   private static Future<String> setEffectiveLocationData(Collection<Location> locations, String effectiveLocationId,
@@ -150,6 +167,12 @@ public class ItemUpdateProcessorForRequest extends UpdateEventProcessor<Request>
         .setVal(oldObjectId));
   }
 
+  private Future<List<Request>> getRequestsOfItems(Collection<String> itemIds) {
+    log.info("getRequestsOfItems:: {} item(s)", itemIds::size);
+
+    return repository.getByPropertyValues("itemId", itemIds);
+  }
+
   private static JsonObject extractCallNumberComponents(JsonObject itemJson) {
     JsonObject itemCallNumberComponents = itemJson.getJsonObject(EFFECTIVE_CALL_NUMBER_COMPONENTS_KEY);
     JsonObject callNumberComponents = new JsonObject();
@@ -37,8 +37,9 @@ public class ServicePointUpdateProcessorForRequest extends UpdateEventProcessor<
     if (notEqual(oldServicePointName, newServicePointName)) {
       log.info("collectRelevantChanges:: changing searchIndex.pickupServicePointName from {} to {}",
         oldServicePointName, newServicePointName);
-      changes.add(new Change<>(request -> request.getSearchIndex()
-        .setPickupServicePointName(newServicePointName)));
+      changes.add(Change.setProperty(request -> request.getSearchIndex()
+        .setPickupServicePointName(newServicePointName), newServicePointName,
+        "searchIndex", "pickupServicePointName"));
     }
 
     return succeededFuture(changes);
@@ -0,0 +1,92 @@
+package org.folio.service.export;
+
+import static io.vertx.core.Future.failedFuture;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static org.folio.rest.jaxrs.resource.CirculationStorageExport.NDJSON;
+import static org.folio.rest.persist.PgUtil.postgresClient;
+
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.cql2pgjson.CQL2PgJSON;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.rest.persist.cql.CQLWrapper;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+
+/**
+ * Writes the records of a table that match a CQL query to an HTTP response as newline-delimited
+ * JSON. The rows are fetched from a server side cursor a batch at a time and the cursor is paused
+ * while the response's write queue is full, so memory use does not depend on the result size.
+ */
+public class NdjsonExportService {
+
+  private static final Logger log = LogManager.getLogger(NdjsonExportService.class);
+  private static final int FETCH_SIZE = 1000;
+  private static final String SELECT_SQL = "SELECT jsonb::text FROM %s %s";
+
+  private final PostgresClient postgresClient;
+
+  public NdjsonExportService(Context vertxContext, Map<String, String> okapiHeaders) {
+    this.postgresClient = postgresClient(vertxContext, okapiHeaders);
+  }
+
+  /**
+   * Streams the matching records and ends the response. The returned future fails without
+   * touching the response when the query is invalid ({@link IllegalArgumentException}) or
+   * cannot be run; a failure after the first record has been written resets the response.
+   */
+  public Future<Void> export(String tableName, String cql, HttpServerResponse response) {
+    String sql;
+    try {
+      CQLWrapper cqlWrapper = new CQLWrapper(new CQL2PgJSON(tableName + ".jsonb"),
+        cql == null || cql.isBlank() ? "cql.allRecords=1" : cql, -1, -1);
+      sql = String.format(SELECT_SQL, postgresClient.getSchemaName() + "." + tableName,
+        cqlWrapper);
+    } catch (Exception e) {
+      return failedFuture(new IllegalArgumentException(e.getMessage(), e));
+    }
+
+    return postgresClient.withTrans(conn -> conn.getPgConnection().prepare(sql)
+        .compose(statement -> write(statement.createStream(FETCH_SIZE), response)))
+      .onSuccess(v -> response.end())
+      .recover(error -> {
+        if (!response.headWritten()) {
+          return failedFuture(error);
+        }
+        log.error("export:: export of {} failed after the response was started", tableName, error);
+        response.reset();
+        return Future.succeededFuture();
+      });
+  }
+
+  private static Future<Void> write(RowStream<Row> rows, HttpServerResponse response) {
+    Promise<Void> promise = Promise.promise();
+
+    response.setStatusCode(200)
+      .setChunked(true)
+      .putHeader(CONTENT_TYPE, NDJSON)
+      .exceptionHandler(promise::tryFail);
+
+    rows.exceptionHandler(promise::tryFail)
+      .endHandler(v -> promise.tryComplete())
+      .handler(row -> {
+        response.write(Buffer.buffer(row.getString(0)).appendString("\n"));
+        if (response.writeQueueFull()) {
+          rows.pause();
+          response.drainHandler(v -> rows.resume());
+        }
+      });
+
+    return promise.future()
+      .eventually(rows::close);
+  }
+
+}
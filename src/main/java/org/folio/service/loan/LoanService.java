@@ -1,7 +1,7 @@
 package org.folio.service.loan;
 
 import static io.vertx.core.Future.succeededFuture;
-import static io.vertx.core.Promise.promise;
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.folio.HttpStatus.HTTP_BAD_REQUEST;
 import static org.folio.rest.persist.PgUtil.postgresClient;
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.UUID;
 import java.util.function.Function;
 
 import javax.ws.rs.core.Response;
@@ -27,8 +28,8 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dbschema.ObjectMapperTool;
+import org.folio.persist.KeysetPageRepository;
 import org.folio.persist.LoanRepository;
-import org.folio.rest.impl.util.OkapiResponseUtil;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Errors;
 import org.folio.rest.jaxrs.model.Loan;
@@ -37,6 +38,7 @@ import org.folio.rest.jaxrs.model.LoansHistoryItem;
 import org.folio.rest.jaxrs.model.LoansHistoryItems;
 import org.folio.rest.jaxrs.model.Status;
 import org.folio.rest.jaxrs.resource.LoanStorage;
+import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.cql.CQLQueryValidationException;
@@ -53,16 +55,19 @@ import org.joda.time.DateTime;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
 import jakarta.validation.constraints.NotNull;
 
 public class LoanService {
 
   private static final Logger log = LogManager.getLogger(LoanService.class);
   private static final ObjectMapper MAPPER = ObjectMapperTool.getMapper();
+  private static final String ALL_RECORDS = "cql.allRecords=1";
+  private static final String EXACT_TOTAL_RECORDS = "exact";
 
   private final Context vertxContext;
   private final Map<String, String> okapiHeaders;
@@ -70,6 +75,8 @@ public class LoanService {
   private final LoanRepository repository;
   private final EntityChangedEventPublisher<String, Loan> eventPublisher;
   private final ServiceHelper<Loan> helper;
+  private final KeysetPageRepository<Loan> loanPages;
+  private final KeysetPageRepository<LoansHistoryItem> loanHistoryPages;
 
   public LoanService(Context vertxContext, Map<String, String> okapiHeaders) {
     this.vertxContext = vertxContext;
@@ -79,6 +86,11 @@ public class LoanService {
     this.repository = new LoanRepository(vertxContext, okapiHeaders);
     this.eventPublisher = loanEventPublisher(vertxContext, okapiHeaders);
     this.helper = new ServiceHelper<>(repository, eventPublisher);
+    this.loanPages = new KeysetPageRepository<>(postgresClient, LOAN_TABLE, LOAN_CLASS,
+      Map.of("loanDate", "COALESCE(jsonb->>'loanDate', '')",
+        "dueDate", "COALESCE(jsonb->>'dueDate', '')"));
+    this.loanHistoryPages = new KeysetPageRepository<>(postgresClient, LOAN_HISTORY_TABLE,
+      LoansHistoryItem.class, Map.of("createdDate", "COALESCE(jsonb->>'createdDate', '')"));
   }
 
   public Future<Response> findByQuery(String query, int offset, int limit) {
@@ -86,6 +98,20 @@ public class LoanService {
         LoanStorage.GetLoanStorageLoansResponse.class);
   }
 
+  public Future<Response> findByCursor(String query, String cursor, String totalRecords,
+    int limit) {
+
+    return loanPages.getPage(defaultIfBlank(query, ALL_RECORDS), cursor, limit,
+        EXACT_TOTAL_RECORDS.equals(totalRecords))
+      .map(page -> LoanStorage.GetLoanStorageLoansResponse.respond200WithApplicationJson(
+        new Loans()
+          .withLoans(page.records())
+          .withNextCursor(page.nextCursor())
+          .withTotalRecords(page.totalRecords())))
+      .map(Response.class::cast)
+      .otherwise(ResponseUtil::badRequestOrInternalErrorResponse);
+  }
+
   public Future<Response> findById(String loanId) {
     return PgUtil.getById(LOAN_TABLE, LOAN_CLASS, loanId, okapiHeaders, vertxContext,
         LoanStorage.GetLoanStorageLoansByLoanIdResponse.class);
@@ -111,28 +137,17 @@ public class LoanService {
         .respond400WithTextPlain(validationResult.getRight()));
     }
     log.info("create:: validateLoan() validation passed");
-    Promise<Response> createResult = Promise.promise();
-    log.info("create:: Executing PgUtil.post...");
-    PgUtil.post(LOAN_TABLE, loan, okapiHeaders, vertxContext,
-      LoanStorage.PostLoanStorageLoansResponse.class, reply -> {
-        log.info("create:: PgUtil.post returned, succeeded={}", reply.succeeded());
-        if (isMultipleOpenLoanError(reply)) {
-          log.info("create:: isMultipleOpenLoanError is true");
-          createResult.complete(LoanStorage.PostLoanStorageLoansResponse
-            .respond422WithApplicationJson(moreThanOneOpenLoanError(loan)));
-        } else {
-          log.info("create:: isMultipleOpenLoanError is false, handling and returning");
-          createResult.handle(reply);
-        }
-      });
+    if (loan.getId() == null) {
+      loan.setId(UUID.randomUUID().toString());
+    }
 
-    log.info("create:: Returning result...");
-    return createResult.future()
-      .map(r -> {
-        log.info("create:: Composing eventPublisher.publishCreated() to PgUtil.post result");
-        return r;
-      })
-      .compose(eventPublisher.publishCreated());
+    return helper.createAndPublishEvent(loan.getId(), loan,
+        created -> LoanStorage.PostLoanStorageLoansResponse.respond201WithApplicationJson(created,
+          LoanStorage.PostLoanStorageLoansResponse.headersFor201().withLocation(created.getId())))
+      .recover(err -> isMultipleOpenLoanError(err)
+        ? succeededFuture(LoanStorage.PostLoanStorageLoansResponse
+          .respond422WithApplicationJson(moreThanOneOpenLoanError(loan)))
+        : ServiceHelper.dbErrorResponse(err));
   }
 
   public Future<Response> createOrUpdate(String loanId, Loan loan) {
@@ -163,17 +178,11 @@ public class LoanService {
   }
 
   public Future<Response> deleteById(String loanId) {
-    return repository.getById(loanId)
-        .compose(loan -> {
-          final Promise<Response> deleteResult = promise();
-
-          PgUtil.deleteById(LOAN_TABLE, loanId, okapiHeaders, vertxContext,
-              LoanStorage.DeleteLoanStorageLoansByLoanIdResponse.class, deleteResult::handle);
-
-          return deleteResult.future()
-              .compose(eventPublisher.publishRemoved(loan));
-        });
+    return helper.deleteAndPublishEvent(loanId,
+        () -> LoanStorage.DeleteLoanStorageLoansByLoanIdResponse.respond404WithTextPlain("Not found"))
+      .recover(ServiceHelper::dbErrorResponse);
   }
+
   public Future<Response> deleteByCql(String cql) {
     if (isBlank(cql)) {
       return succeededFuture(LoanStorage.DeleteLoanStorageLoansResponse.respond400WithTextPlain(
@@ -183,19 +192,10 @@ public class LoanService {
       return deleteAll();  // faster: TRUNCATE (not DELETE), only one Kafka message
     }
 
-    return repository.deleteByCql(cql)
-      .map(rowSet -> {
-        rowSet.iterator().forEachRemaining(row -> {
-          var loanId = row.getString(0);
-          try {
-            var loan = MAPPER.readValue(row.getString(1), Loan.class);
-            eventPublisher.publishRemoved(loanId, loan);
-          } catch (IOException e) {
-            log.error("deleteByCql:: Failed to parse json of loanId {}: {}", loanId, e.getMessage(), e);
-          }
-        });
-        return Response.noContent().build();
-      })
+    return repository.withTrans(conn -> repository.deleteByCql(conn, cql)
+        .compose(rowSet -> publishRemoved(conn, rowSet)))
+      .onSuccess(v -> eventPublisher.committed())
+      .map(v -> Response.noContent().build())
       .otherwise(e -> {
         log.error("deleteByCql:: {}", e.getMessage(), e);
         if (e instanceof CQLQueryValidationException) {
@@ -205,24 +205,57 @@ public class LoanService {
       });
   }
 
+  private Future<Void> publishRemoved(Conn conn, RowSet<Row> rowSet) {
+    Future<Void> future = succeededFuture();
+    for (Row row : rowSet) {
+      var loanId = row.getString(0);
+      try {
+        var loan = MAPPER.readValue(row.getString(1), Loan.class);
+        future = future.compose(v -> eventPublisher.publishRemoved(conn, loanId, loan));
+      } catch (IOException e) {
+        log.error("deleteByCql:: Failed to parse json of loanId {}: {}", loanId, e.getMessage(), e);
+      }
+    }
+    return future;
+  }
+
   private Future<Response> deleteAll() {
-    return postgresClient.execute(String.format("TRUNCATE TABLE %s_%s.loan", tenantId(okapiHeaders), MODULE_NAME))
+    return repository.withTrans(conn -> conn.execute(String.format("TRUNCATE TABLE %s_%s.loan", tenantId(okapiHeaders), MODULE_NAME))
+          .compose(r -> eventPublisher.publishAllRemoved(conn)))
+        .onSuccess(v -> eventPublisher.committed())
         .<Response>map(LoanStorage.DeleteLoanStorageLoansResponse.respond204())
-        .otherwise(e -> LoanStorage.DeleteLoanStorageLoansResponse.respond500WithTextPlain(e.getMessage()))
-        .compose(eventPublisher.publishAllRemoved());
+        .otherwise(e -> LoanStorage.DeleteLoanStorageLoansResponse.respond500WithTextPlain(e.getMessage()));
   }
 
   public Future<Response> getLoanHistory(String query, int offset, int limit) {
+    return PgUtil.get(LOAN_HISTORY_TABLE, LoansHistoryItem.class, LoansHistoryItems.class,
+        loanHistoryQuery(query), offset, limit, okapiHeaders, vertxContext,
+        LoanStorage.GetLoanStorageLoanHistoryResponse.class);
+  }
+
+  public Future<Response> getLoanHistoryByCursor(String query, String cursor,
+    String totalRecords, int limit) {
+
+    return loanHistoryPages.getPage(loanHistoryQuery(query), cursor, limit,
+        EXACT_TOTAL_RECORDS.equals(totalRecords))
+      .map(page -> LoanStorage.GetLoanStorageLoanHistoryResponse.respond200WithApplicationJson(
+        new LoansHistoryItems()
+          .withLoansHistory(page.records())
+          .withNextCursor(page.nextCursor())
+          .withTotalRecords(page.totalRecords())))
+      .map(Response.class::cast)
+      .otherwise(ResponseUtil::badRequestOrInternalErrorResponse);
+  }
+
+  private static String loanHistoryQuery(String query) {
     String cql = query;
     if (StringUtils.isBlank(cql)) {
-      cql = "cql.allRecords=1";
+      cql = ALL_RECORDS;
     }
     if (!cql.toLowerCase().contains(" sortby ")) {
       cql += " sortBy createdDate/sort.descending";
     }
-
-    return PgUtil.get(LOAN_HISTORY_TABLE, LoansHistoryItem.class, LoansHistoryItems.class, cql, offset, limit,
-        okapiHeaders, vertxContext, LoanStorage.GetLoanStorageLoanHistoryResponse.class);
+    return cql;
   }
 
   public Future<Response> anonymizeByUserId(String userId) {
@@ -285,9 +318,9 @@ public class LoanService {
     return new ImmutablePair<>(valid, messages.toString());
   }
 
-  private boolean isMultipleOpenLoanError(AsyncResult<Response> reply) {
-    return OkapiResponseUtil.containsErrorMessage(
-        reply, "value already exists in table loan: ");
+  private boolean isMultipleOpenLoanError(Throwable error) {
+    return error.getMessage() != null
+        && error.getMessage().contains("loan_itemid_idx_unique");
   }
 
   private Function<Response, Response> checkForMultipleOpenLoanError(Loan loan) {
@@ -5,24 +5,26 @@ import static io.vertx.core.Future.succeededFuture;
 import static java.lang.String.format;
 import static java.lang.String.join;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.getenv;
 import static java.lang.System.lineSeparator;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.IntStream.range;
 import static org.apache.commons.lang3.time.DurationFormatUtils.formatDurationHMS;
 import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
 import static org.folio.rest.tools.utils.TenantTool.tenantId;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.StreamSupport;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.okapi.common.ModuleId;
 import org.folio.okapi.common.SemVer;
+import org.folio.persist.MigrationCheckpointRepository;
 import org.folio.rest.client.OkapiClient;
 import org.folio.rest.jaxrs.model.TenantAttributes;
 import org.folio.rest.persist.Conn;
@@ -36,6 +38,7 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
 
 abstract class AbstractRequestMigrationService<T extends RequestMigrationContext> {
   public static final Logger log = LogManager.getLogger(AbstractRequestMigrationService.class);
@@ -43,6 +46,14 @@ abstract class AbstractRequestMigrationService<T extends RequestMigrationContext
   // safe number of UUIDs which fits into Okapi's URL length limit (4096 characters)
   public static final int BATCH_SIZE = 80;
 
+  private static final String CONCURRENCY_ENV = "REQUEST_MIGRATION_CONCURRENCY";
+  private static final int DEFAULT_CONCURRENCY = 1;
+
+  private static final String SELECT_FIRST_BATCH_SQL =
+    "SELECT jsonb FROM %s.%s ORDER BY id LIMIT $1";
+  private static final String SELECT_NEXT_BATCH_SQL =
+    "SELECT jsonb FROM %s.%s WHERE id > $1::uuid ORDER BY id LIMIT $2";
+
   public final TenantAttributes attributes;
   public final OkapiClient okapiClient;
   public final PostgresClient postgresClient;
@@ -51,12 +62,25 @@ abstract class AbstractRequestMigrationService<T extends RequestMigrationContext
   public final String tableName;
   public final String moduleVersion;
   private final String migrationName;
+  private final MigrationCheckpointRepository checkpointRepository;
+  private final int concurrency;
+  private final Context context;
 
   protected AbstractRequestMigrationService(TenantAttributes attributes, Context context,
     Map<String, String> okapiHeaders, String tableName, String moduleVersion,
     String migrationName) {
 
+    this(attributes, context, okapiHeaders, tableName, moduleVersion, migrationName,
+      Integer.parseInt(getenv().getOrDefault(CONCURRENCY_ENV,
+        String.valueOf(DEFAULT_CONCURRENCY))));
+  }
+
+  AbstractRequestMigrationService(TenantAttributes attributes, Context context,
+    Map<String, String> okapiHeaders, String tableName, String moduleVersion,
+    String migrationName, int concurrency) {
+
     this.attributes = attributes;
+    this.context = context;
     okapiClient = new OkapiClient(context.owner(), okapiHeaders);
     postgresClient = PgUtil.postgresClient(context, okapiHeaders);
     schemaName = convertToPsqlStandard(tenantId(okapiHeaders));
@@ -64,6 +88,8 @@ abstract class AbstractRequestMigrationService<T extends RequestMigrationContext
     this.tableName = tableName;
     this.moduleVersion = moduleVersion;
     this.migrationName = migrationName;
+    checkpointRepository = new MigrationCheckpointRepository(postgresClient);
+    this.concurrency = Math.max(1, concurrency);
   }
 
   public Future<Void> migrate() {
@@ -75,12 +101,20 @@ abstract class AbstractRequestMigrationService<T extends RequestMigrationContext
       return succeededFuture();
     }
 
-    log.info("migrate:: {} started, batch size is {}", migrationName, BATCH_SIZE);
+    log.info("migrate:: {} started, batch size is {}, concurrency is {}", migrationName,
+      BATCH_SIZE, concurrency);
 
-    return getBatchCount()
+    return checkpointRepository.getLastId(migrationName)
+      .onSuccess(lastId -> {
+        if (lastId != null) {
+          log.info("migrate:: {} resumes after request {}", migrationName, lastId);
+        }
+      })
       .compose(this::migrateRequests)
+      .compose(r -> checkpointRepository.delete(migrationName))
       .onSuccess(r -> log.info("migrate:: {} finished successfully", migrationName))
-      .onFailure(r -> log.error("migrate:: {} failed, rolling back the changes: {}", migrationName,
+      .onFailure(r -> log.error("migrate:: {} failed, the changes of the failed batch were " +
+        "rolled back, the next run resumes after the last migrated batch: {}", migrationName,
         errorMessages))
       .onComplete(r -> logDuration(startTime));
   }
@@ -119,40 +153,71 @@ abstract class AbstractRequestMigrationService<T extends RequestMigrationContext
     return true;
   }
 
-  public Future<Integer> getBatchCount() {
-    return selectRead(format("SELECT COUNT(*) FROM %s.%s", schemaName, tableName))
-      .compose(this::getBatchCount);
+  /**
+   * Migrates the requests in batches ordered by id, starting after the given request id.
+   * Every batch is written in its own transaction together with the checkpoint, so a
+   * failure only rolls back the batch it occurred in.
+   */
+  public Future<Void> migrateRequests(String previousRequestId) {
+    Promise<Void> migrated = Promise.promise();
+    migrateNextBatch(0, previousRequestId, new ArrayDeque<>(), succeededFuture(), migrated);
+    return migrated.future();
   }
 
-  private Future<RowSet<Row>> selectRead(String sql) {
-    Promise<RowSet<Row>> promise = Promise.promise();
-    postgresClient.selectRead(sql, 0, promise::handle);
-    return promise.future();
+  /**
+   * Fetches and prepares the batches one after another, while the prepared batches are
+   * written in their order. Up to {@code concurrency} batches are in flight at a time, so
+   * with a concurrency above one the lookups of the next batches overlap with the write of
+   * the current one. Every next batch is started from the context instead of from the
+   * future of the previous one, so the futures do not nest however many batches there are.
+   */
+  private void migrateNextBatch(int batchNumber, String previousRequestId,
+    Deque<Future<Void>> pendingWrites, Future<Void> previousWrite, Promise<Void> migrated) {
+
+    Future<Void> freeSlot = pendingWrites.size() < concurrency
+      ? succeededFuture()
+      : pendingWrites.remove();
+
+    freeSlot
+      .compose(v -> fetchRequests(new Batch<>(batchNumber, previousRequestId)))
+      .onSuccess(batch -> {
+        log.info("migrateNextBatch:: {}, {} processing started", migrationName, batch);
+        Future<Batch<T>> preparedBatch = prepareBatch(batch)
+          .onFailure(t -> handleError(batch, t));
+        Future<Void> write = Future.all(previousWrite, preparedBatch)
+          .compose(v -> writeBatch(batch))
+          .onSuccess(v -> log.info("migrateNextBatch:: {}, {} processing finished " +
+            "successfully", migrationName, batch));
+        pendingWrites.add(write);
+
+        if (batch.getRequestMigrationContexts().size() < BATCH_SIZE) {
+          write.onComplete(migrated::handle);
+        } else {
+          context.runOnContext(v -> migrateNextBatch(batchNumber + 1, batch.getLastRequestId(),
+            pendingWrites, write, migrated));
+        }
+      })
+      .onFailure(migrated::tryFail);
   }
 
-  public Future<Void> migrateRequests(int batchCount) {
-    return postgresClient.withTrans(conn ->
-      chainFutures(buildBatches(batchCount, conn), this::processBatch)
-        .compose(r -> failIfErrorsOccurred())
-    );
+  Future<Void> writeBatch(Batch<T> batch) {
+    if (batch.getRequestMigrationContexts().isEmpty()) {
+      return succeededFuture();
+    }
+
+    return postgresClient.withTrans(conn -> updateRequests(conn, batch)
+      .compose(v -> checkpointRepository.save(conn, migrationName, batch.getLastRequestId())));
   }
 
-  public Future<Void> updateRequests(Batch<T> batch) {
+  public Future<Void> updateRequests(Conn conn, Batch<T> batch) {
     log.debug("updateRequests:: {}, batch: {}", migrationName, batch);
 
-    if (!errorMessages.isEmpty()) {
-      log.info("updateRequests:: {}, {} update aborted - errors in previous batch(es) occurred",
-        migrationName, batch);
-      return succeededFuture();
-    }
-
     List<JsonObject> migratedRequests = batch.getRequestMigrationContexts()
       .stream()
       .map(T::getNewRequest)
       .collect(toList());
 
-    return batch.getConnection()
-      .updateBatch(tableName, new JsonArray(migratedRequests))
+    return conn.updateBatch(tableName, new JsonArray(migratedRequests))
       .onSuccess(r -> log.info("updateRequests:: {}, all requests from {} were successfully " +
         "updated", migrationName, batch))
       .mapEmpty();
@@ -168,8 +233,14 @@ abstract class AbstractRequestMigrationService<T extends RequestMigrationContext
   public Future<Batch<T>> fetchRequests(Batch<T> batch) {
     log.debug("fetchRequests:: {}, batch: {}", migrationName, batch);
 
-    return selectRead(format("SELECT jsonb FROM %s.%s ORDER BY id LIMIT %d OFFSET %d",
-        schemaName, tableName, BATCH_SIZE, batch.getBatchNumber() * BATCH_SIZE))
+    String previousRequestId = batch.getPreviousRequestId();
+    Future<RowSet<Row>> rows = previousRequestId == null
+      ? postgresClient.execute(format(SELECT_FIRST_BATCH_SQL, schemaName, tableName),
+        Tuple.of(BATCH_SIZE))
+      : postgresClient.execute(format(SELECT_NEXT_BATCH_SQL, schemaName, tableName),
+        Tuple.of(previousRequestId, BATCH_SIZE));
+
+    return rows
       .onSuccess(r -> log.info("fetchRequests:: {}, {} {} requests fetched", migrationName, batch,
         r.size()))
       .map(this::rowSetToRequestContexts)
@@ -200,7 +271,11 @@ abstract class AbstractRequestMigrationService<T extends RequestMigrationContext
       : failedFuture(join(lineSeparator(), errors));
   }
 
-  abstract Future<Void> processBatch(Batch<T> batch);
+  /**
+   * Looks up the data the migration needs and builds the new requests of the batch; the
+   * requests are written by the caller.
+   */
+  abstract Future<Batch<T>> prepareBatch(Batch<T> batch);
 
   Collection<String> validateRequest(T context) {
     return List.of();
@@ -211,46 +286,9 @@ abstract class AbstractRequestMigrationService<T extends RequestMigrationContext
     log.info("logDuration:: {} finished in {}", migrationName, duration);
   }
 
-  public static <T> Future<Void> chainFutures(Collection<T> list, Function<T, Future<Void>> method) {
-    return list.stream().reduce(succeededFuture(),
-      (acc, item) -> acc.compose(v -> method.apply(item)),
-      (a, b) -> succeededFuture());
-  }
-
-  public Future<Void> handleError(Batch<T> batch, Throwable throwable) {
+  public void handleError(Batch<T> batch, Throwable throwable) {
     log.error("handleError:: {}, {} processing failed", migrationName, batch, throwable);
     errorMessages.add(throwable.getMessage());
-
-    return succeededFuture();
-  }
-
-  private Future<Void> failIfErrorsOccurred() {
-    return errorMessages.isEmpty()
-      ? succeededFuture()
-      : failedFuture(join(", ", errorMessages));
-  }
-
-  private Collection<Batch<T>> buildBatches(int numberOfBatches, Conn connection) {
-    log.debug("buildBatches:: {}, numberOfBatches: {}", migrationName, numberOfBatches);
-
-    return range(0, numberOfBatches)
-      .boxed()
-      .map(num -> new Batch<T>(num, connection))
-      .collect(toList());
-  }
-
-  private Future<Integer> getBatchCount(RowSet<Row> result) {
-    log.debug("getBatchCount:: {}, result.size: {}", migrationName, result.size());
-
-    if (!result.iterator().hasNext()) {
-      return failedFuture("failed to get total number of requests");
-    }
-
-    Integer requestsCount = result.iterator().next().get(Integer.class, 0);
-    int batchesCount = requestsCount / BATCH_SIZE + (requestsCount % BATCH_SIZE == 0 ? 0 : 1);
-    log.info("getBatchCount:: found {} requests ({} batches)", requestsCount, batchesCount);
-
-    return succeededFuture(batchesCount);
   }
 
   private static SemVer moduleVersionToSemVer(String version) {
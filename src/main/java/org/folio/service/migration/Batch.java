@@ -5,8 +5,6 @@ import static java.lang.String.format;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.folio.rest.persist.Conn;
-
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -16,9 +14,16 @@ import lombok.Setter;
 @RequiredArgsConstructor
 public class Batch<T extends RequestMigrationContext> {
   private final int batchNumber;
-  private final Conn connection;
+  // id of the last request of the previous batch, null for the first batch
+  private final String previousRequestId;
   private List<T> requestMigrationContexts = new ArrayList<>();
 
+  public String getLastRequestId() {
+    return requestMigrationContexts.isEmpty()
+      ? previousRequestId
+      : requestMigrationContexts.get(requestMigrationContexts.size() - 1).getRequestId();
+  }
+
   @Override
   public String toString() {
     return format("Batch(batchNumber=%d, numberOfRequests=%d)", batchNumber,
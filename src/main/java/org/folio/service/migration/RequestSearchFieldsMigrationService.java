@@ -41,17 +41,14 @@ public class RequestSearchFieldsMigrationService
       MIGRATION_NAME);
   }
 
-  public Future<Void> processBatch(Batch<RequestSearchMigrationContext> batch) {
-    log.info("processBatch:: {} processing started", batch);
-
-    return succeededFuture(batch)
-      .compose(this::fetchRequests)
-      .compose(this::findServicePointNames)
-      .compose(this::findCallNumbers)
-      .onSuccess(this::buildNewRequests)
-      .compose(this::updateRequests)
-      .onSuccess(r -> log.info("{} processing finished successfully", batch))
-      .recover(t -> handleError(batch, t));
+  @Override
+  Future<Batch<RequestSearchMigrationContext>> prepareBatch(
+    Batch<RequestSearchMigrationContext> batch) {
+
+    // the lookups are independent of each other, so they are made concurrently
+    return Future.all(findServicePointNames(batch), findCallNumbers(batch))
+      .map(batch)
+      .onSuccess(this::buildNewRequests);
   }
 
   @Override
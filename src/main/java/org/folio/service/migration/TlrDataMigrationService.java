@@ -55,18 +55,13 @@ public class TlrDataMigrationService extends AbstractRequestMigrationService<Tlr
         MIGRATION_NAME);
     }
 
-  public Future<Void> processBatch(Batch<TlrMigrationContext> batch) {
-    log.info("{} processing started", batch);
-
+  @Override
+  Future<Batch<TlrMigrationContext>> prepareBatch(Batch<TlrMigrationContext> batch) {
     return succeededFuture(batch)
-      .compose(this::fetchRequests)
       .compose(this::validateRequests)
       .compose(this::findHoldingsRecordIds)
       .compose(this::findInstanceIds)
-      .onSuccess(this::buildNewRequests)
-      .compose(this::updateRequests)
-      .onSuccess(r -> log.info("{} processing finished successfully", batch))
-      .recover(t -> handleError(batch, t));
+      .onSuccess(this::buildNewRequests);
   }
 
   @Override
@@ -1,7 +1,7 @@
 package org.folio.service.request;
 
 import static io.vertx.core.Future.succeededFuture;
-import static io.vertx.core.Promise.promise;
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
 import static org.folio.HttpStatus.HTTP_BAD_REQUEST;
 import static org.folio.rest.jaxrs.model.Request.Status.CLOSED_CANCELLED;
 import static org.folio.rest.persist.PgUtil.postgresClient;
@@ -13,14 +13,15 @@ import static org.folio.support.ModuleConstants.REQUEST_TABLE;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 import javax.ws.rs.core.Response;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.persist.KeysetPageRepository;
 import org.folio.persist.RequestRepository;
-import org.folio.rest.impl.util.OkapiResponseUtil;
 import org.folio.rest.impl.util.RequestsApiUtil;
 import org.folio.rest.jaxrs.model.CancellationReason;
 import org.folio.rest.jaxrs.model.Error;
@@ -35,15 +36,15 @@ import org.folio.support.ErrorCode;
 import org.folio.support.ResponseUtil;
 import org.folio.support.ServiceHelper;
 
-import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
 
 public class RequestService {
 
   private static final Logger log = LogManager.getLogger(RequestService.class);
   private static final String CANCELLATION_REASON_TABLE = "cancellation_reason";
+  private static final String ALL_RECORDS = "cql.allRecords=1";
+  private static final String EXACT_TOTAL_RECORDS = "exact";
 
   private final Context vertxContext;
   private final Map<String, String> okapiHeaders;
@@ -51,6 +52,7 @@ public class RequestService {
   private final RequestRepository repository;
   private final EntityChangedEventPublisher<String, Request> eventPublisher;
   private final ServiceHelper<Request> helper;
+  private final KeysetPageRepository<Request> requestPages;
 
   public RequestService(Context vertxContext, Map<String, String> okapiHeaders) {
     this.vertxContext = vertxContext;
@@ -60,6 +62,8 @@ public class RequestService {
     this.repository = new RequestRepository(vertxContext, okapiHeaders);
     this.eventPublisher = requestEventPublisher(vertxContext, okapiHeaders);
     this.helper = new ServiceHelper<>(repository, eventPublisher);
+    this.requestPages = new KeysetPageRepository<>(postgresClient, REQUEST_TABLE, REQUEST_CLASS,
+      Map.of("requestDate", "COALESCE(jsonb->>'requestDate', '')"));
   }
 
   public Future<Response> findByQuery(String query, int offset, int limit) {
@@ -67,6 +71,20 @@ public class RequestService {
         RequestStorage.GetRequestStorageRequestsResponse.class);
   }
 
+  public Future<Response> findByCursor(String query, String cursor, String totalRecords,
+    int limit) {
+
+    return requestPages.getPage(defaultIfBlank(query, ALL_RECORDS), cursor, limit,
+        EXACT_TOTAL_RECORDS.equals(totalRecords))
+      .map(page -> RequestStorage.GetRequestStorageRequestsResponse.respond200WithApplicationJson(
+        new Requests()
+          .withRequests(page.records())
+          .withNextCursor(page.nextCursor())
+          .withTotalRecords(page.totalRecords())))
+      .map(Response.class::cast)
+      .otherwise(ResponseUtil::badRequestOrInternalErrorResponse);
+  }
+
   public Future<Response> findById(String requestId) {
     return PgUtil.getById(REQUEST_TABLE, REQUEST_CLASS, requestId, okapiHeaders, vertxContext,
         RequestStorage.GetRequestStorageRequestsByRequestIdResponse.class);
@@ -80,20 +98,18 @@ public class RequestService {
           .respond422WithApplicationJson(errors));
     }
 
-    Promise<Response> createResult = Promise.promise();
-
-    PgUtil.post(REQUEST_TABLE, request, okapiHeaders, vertxContext,
-        RequestStorage.PostRequestStorageRequestsResponse.class, reply -> {
-          if (isSamePositionInQueueError(reply)) {
-            createResult.complete(RequestStorage.PostRequestStorageRequestsResponse
-                .respond422WithApplicationJson(samePositionInQueueError(request)));
-          } else {
-            createResult.handle(reply);
-          }
-        });
+    if (request.getId() == null) {
+      request.setId(UUID.randomUUID().toString());
+    }
 
-    return createResult.future()
-        .compose(eventPublisher.publishCreated());
+    return helper.createAndPublishEvent(request.getId(), request,
+        created -> RequestStorage.PostRequestStorageRequestsResponse
+          .respond201WithApplicationJson(created, RequestStorage.PostRequestStorageRequestsResponse
+            .headersFor201().withLocation(created.getId())))
+      .recover(err -> RequestsApiUtil.hasSamePositionConstraintViolated(err)
+        ? succeededFuture(RequestStorage.PostRequestStorageRequestsResponse
+          .respond422WithApplicationJson(samePositionInQueueError(request)))
+        : ServiceHelper.dbErrorResponse(err));
   }
 
   public Future<Response> createOrUpdate(String requestId, Request request) {
@@ -137,39 +153,18 @@ public class RequestService {
   }
 
   public Future<Response> delete(String requestId) {
-    return repository.getById(requestId)
-        .compose(request -> {
-          final Promise<Response> deleteResult = promise();
-
-          PgUtil.deleteById(REQUEST_TABLE, requestId, okapiHeaders, vertxContext,
-              RequestStorage.DeleteRequestStorageRequestsByRequestIdResponse.class, deleteResult::handle);
-
-          return deleteResult.future()
-              .compose(eventPublisher.publishRemoved(request));
-        });
+    return helper.deleteAndPublishEvent(requestId,
+        () -> RequestStorage.DeleteRequestStorageRequestsByRequestIdResponse
+          .respond404WithTextPlain("Not found"))
+      .recover(ServiceHelper::dbErrorResponse);
   }
 
   public Future<Response> deleteAll() {
-    Promise<Response> deleteAllResult = Promise.promise();
-
-    try {
-      postgresClient.execute(String.format("TRUNCATE TABLE %s_%s.%s", tenantId(okapiHeaders), MODULE_NAME, REQUEST_TABLE),
-          reply -> deleteAllResult.complete(reply.succeeded()
-              ? RequestStorage.DeleteRequestStorageRequestsResponse.respond204()
-              : RequestStorage.DeleteRequestStorageRequestsResponse.respond500WithTextPlain(reply.cause().getMessage())));
-    }
-    catch(Exception e) {
-      deleteAllResult.complete(RequestStorage.DeleteRequestStorageRequestsResponse
-          .respond500WithTextPlain(e.getMessage()));
-    }
-
-    return deleteAllResult.future()
-        .compose(eventPublisher.publishAllRemoved());
-  }
-
-  private boolean isSamePositionInQueueError(AsyncResult<Response> reply) {
-    String message = OkapiResponseUtil.getErrorMessage(reply);
-    return RequestsApiUtil.hasSamePositionConstraintViolated(message);
+    return repository.withTrans(conn -> conn.execute(String.format("TRUNCATE TABLE %s_%s.%s", tenantId(okapiHeaders), MODULE_NAME, REQUEST_TABLE))
+          .compose(r -> eventPublisher.publishAllRemoved(conn)))
+        .onSuccess(v -> eventPublisher.committed())
+        .<Response>map(RequestStorage.DeleteRequestStorageRequestsResponse.respond204())
+        .otherwise(e -> RequestStorage.DeleteRequestStorageRequestsResponse.respond500WithTextPlain(e.getMessage()));
   }
 
   private Errors samePositionInQueueError(Request request) {
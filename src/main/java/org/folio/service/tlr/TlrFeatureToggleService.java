@@ -2,35 +2,23 @@ package org.folio.service.tlr;
 
 import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
-import static java.util.stream.Collectors.toList;
-import static org.folio.rest.jaxrs.model.Request.Status.OPEN_AWAITING_DELIVERY;
-import static org.folio.rest.jaxrs.model.Request.Status.OPEN_AWAITING_PICKUP;
-import static org.folio.rest.jaxrs.model.Request.Status.OPEN_IN_TRANSIT;
-import static org.folio.rest.jaxrs.model.Request.Status.OPEN_NOT_YET_FILLED;
+import static java.lang.String.format;
 import static org.folio.rest.jaxrs.model.TlrFeatureToggleJob.Status.DONE;
 import static org.folio.rest.jaxrs.model.TlrFeatureToggleJob.Status.FAILED;
 import static org.folio.rest.jaxrs.model.TlrFeatureToggleJob.Status.IN_PROGRESS;
-import static org.folio.support.ModuleConstants.REQUEST_STATUS_FIELD;
 import static org.folio.support.ModuleConstants.TLR_FEATURE_TOGGLE_JOB_STATUS_FIELD;
 
 import java.lang.invoke.MethodHandles;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.persist.RequestRepository;
 import org.folio.persist.TlrFeatureToggleJobRepository;
-import org.folio.rest.configuration.TlrSettings;
-import org.folio.rest.jaxrs.model.Request;
 import org.folio.rest.jaxrs.model.TlrFeatureToggleJob;
 import org.folio.rest.persist.Criteria.Criteria;
 import org.folio.rest.persist.Criteria.Criterion;
-import org.folio.rest.persist.Criteria.GroupedCriterias;
 import org.folio.rest.persist.Criteria.Order;
 import org.folio.service.CirculationSettingsService;
 import org.folio.support.exception.TlrFeatureToggleJobAlreadyRunningException;
@@ -42,8 +30,9 @@ import io.vertx.sqlclient.RowSet;
 
 public class TlrFeatureToggleService {
   private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
-  private static final List<Request.Status> OPEN_REQUEST_STATUSES = List.of(
-    OPEN_NOT_YET_FILLED, OPEN_AWAITING_PICKUP, OPEN_IN_TRANSIT, OPEN_AWAITING_DELIVERY);
+  private static final String ITEM_ID_QUEUE_PROPERTY = "itemId";
+  private static final String INSTANCE_ID_QUEUE_PROPERTY = "instanceId";
+  private static final int QUEUES_PER_CHUNK = 500;
 
   private final TlrFeatureToggleJobRepository tlrFeatureToggleJobRepository;
   private final RequestRepository requestRepository;
@@ -74,70 +63,46 @@ public class TlrFeatureToggleService {
     log.info("Processing TLR feature toggle job {}", job.getId());
 
     return succeededFuture(job)
-      .compose(j -> updateJobStatus(job, IN_PROGRESS))
+      .compose(j -> updateJobStatus(job.withNumberOfUpdatedRequests(0), IN_PROGRESS))
       .compose(r -> circulationSettingsService.getTlrSettingsOrThrow())
-      .compose(this::fetchAndGroupOpenRequests)
-      .map(groupedRequests -> updatePosition(groupedRequests, job))
-      .compose(requestRepository::update)
+      .map(settings -> settings.isTitleLevelRequestsFeatureEnabled()
+        ? INSTANCE_ID_QUEUE_PROPERTY
+        : ITEM_ID_QUEUE_PROPERTY)
+      .compose(queueProperty -> refuseWhenRequestsWithoutQueueExist(queueProperty)
+        .compose(r -> renumberQueues(job, queueProperty, "")))
       .compose(r -> updateJobStatus(job, DONE))
       .recover(throwable -> updateJobAsFailed(job, throwable))
       .mapEmpty();
   }
 
-  private Future<Map<String, List<Request>>> fetchAndGroupOpenRequests(
-    TlrSettings tlrSettingsConfiguration) {
-
-    return fetchOpenRequests()
-      .map(requests -> groupRequests(requests, tlrSettingsConfiguration));
-  }
-
-  private Map<String, List<Request>> groupRequests(List<Request> requests,
-    TlrSettings tlrSettingsConfiguration) {
-
-    return requests.stream()
-      .collect(Collectors.groupingBy(tlrSettingsConfiguration.isTitleLevelRequestsFeatureEnabled()
-        ? Request::getInstanceId
-        : Request::getItemId));
-  }
-
-  private Future<List<Request>> fetchOpenRequests() {
-    return requestRepository.get(new Criterion().addGroupOfCriterias(
-      buildGroupedCriterias(getStatusCriterias())));
-  }
-
-  private List<Criteria> getStatusCriterias() {
-    return OPEN_REQUEST_STATUSES.stream()
-      .map(status -> List.of(
-        new Criteria()
-          .addField(REQUEST_STATUS_FIELD)
-          .setOperation("=")
-          .setVal(status.toString())))
-      .flatMap(Collection::stream)
-      .collect(toList());
-  }
-
-  private GroupedCriterias buildGroupedCriterias(List<Criteria> criterias) {
-    GroupedCriterias groupedCriterias = new GroupedCriterias();
-    criterias.forEach(criteria -> groupedCriterias.addCriteria(criteria, "OR"));
-
-    return groupedCriterias;
+  private Future<Void> refuseWhenRequestsWithoutQueueExist(String queueProperty) {
+    return requestRepository.findOpenRequestWithoutQueueId(queueProperty)
+      .compose(requestId -> requestId == null
+        ? succeededFuture()
+        : failedFuture(format("Open request %s has no %s", requestId, queueProperty)));
   }
 
-  private List<Request> updatePosition(Map<String, List<Request>> groupedRequests,
-    TlrFeatureToggleJob job) {
-
-    List<Request> updatedRequests = new ArrayList<>();
-    for (var requests : groupedRequests.values()) {
-      requests.sort(Comparator.comparingInt(Request::getPosition));
-      int position = 1;
-      for (var request : requests) {
-        request.setPosition(position++);
-      }
-      updatedRequests.addAll(requests);
-    }
-    job.setNumberOfUpdatedRequests(updatedRequests.size());
-
-    return updatedRequests;
+  /**
+   * Renumbers the queues in chunks of {@link #QUEUES_PER_CHUNK} queues, each in its own
+   * transaction, and stores the progress in the job after every chunk.
+   */
+  private Future<Void> renumberQueues(TlrFeatureToggleJob job, String queueProperty,
+    String afterQueueId) {
+
+    return requestRepository.getOpenQueueIds(queueProperty, afterQueueId, QUEUES_PER_CHUNK)
+      .compose(queueIds -> {
+        if (queueIds.isEmpty()) {
+          return succeededFuture();
+        }
+
+        return requestRepository.withTrans(conn ->
+            requestRepository.renumberQueues(conn, queueProperty, queueIds))
+          .compose(updatedCount -> updateJobStatus(job.withNumberOfUpdatedRequests(
+            job.getNumberOfUpdatedRequests() + updatedCount), IN_PROGRESS))
+          .compose(r -> queueIds.size() < QUEUES_PER_CHUNK
+            ? succeededFuture()
+            : renumberQueues(job, queueProperty, queueIds.get(queueIds.size() - 1)));
+      });
   }
 
   private Future<List<TlrFeatureToggleJob>> findJobsByStatus(String status) {
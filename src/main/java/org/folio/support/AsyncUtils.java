@@ -4,10 +4,12 @@ import static io.vertx.core.Future.succeededFuture;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 
 public class AsyncUtils {
 
@@ -29,4 +31,70 @@ public class AsyncUtils {
     return future.map(results);
   }
 
+  /**
+   * Maps the elements with up to {@code concurrency} mapper futures in flight at a time. The
+   * results are in the order of the elements, the first failure fails the returned future and
+   * no further elements are mapped.
+   */
+  public static <E, R> Future<List<R>> mapConcurrently(List<E> elements, int concurrency,
+    Function<E, Future<R>> mapper) {
+
+    if (elements.isEmpty()) {
+      return succeededFuture(List.of());
+    }
+
+    var mapping = new ConcurrentMapping<>(elements, mapper);
+    for (int i = 0; i < Math.min(Math.max(1, concurrency), elements.size()); i++) {
+      mapping.mapNext();
+    }
+
+    return mapping.promise.future();
+  }
+
+  private static final class ConcurrentMapping<E, R> {
+    private final List<E> elements;
+    private final Function<E, Future<R>> mapper;
+    private final List<R> results;
+    private final Promise<List<R>> promise = Promise.promise();
+    private int nextIndex;
+    private int completedCount;
+
+    private ConcurrentMapping(List<E> elements, Function<E, Future<R>> mapper) {
+      this.elements = elements;
+      this.mapper = mapper;
+      this.results = new ArrayList<>(Collections.nCopies(elements.size(), null));
+    }
+
+    private synchronized void mapNext() {
+      if (nextIndex >= elements.size() || promise.future().isComplete()) {
+        return;
+      }
+
+      int index = nextIndex++;
+      Future<R> result;
+      try {
+        result = mapper.apply(elements.get(index));
+      } catch (Exception e) {
+        result = Future.failedFuture(e);
+      }
+
+      result.onComplete(ar -> completed(index, ar.succeeded() ? ar.result() : null, ar.cause()));
+    }
+
+    private void completed(int index, R result, Throwable failure) {
+      synchronized (this) {
+        if (failure != null) {
+          promise.tryFail(failure);
+          return;
+        }
+        results.set(index, result);
+        if (++completedCount == elements.size()) {
+          promise.tryComplete(results);
+          return;
+        }
+      }
+      mapNext();
+    }
+  }
+
 }
@@ -1,15 +1,40 @@
 package org.folio.support;
 
+import static org.folio.support.ModuleConstants.MODULE_NAME;
+
+import java.util.List;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.folio.rest.persist.PostgresClient;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
 
 public final class DbUtil {
+  private static final String SCHEMA_SUFFIX = "_" + MODULE_NAME;
+  private static final String FIND_SCHEMAS_WITH_TABLE_SQL =
+    "SELECT table_schema FROM information_schema.tables WHERE table_name = $1";
+
   private DbUtil() {}
 
   public static Stream<Row> rowSetToStream(RowSet<Row> rowSet) {
     return StreamSupport.stream(rowSet.spliterator(), false);
   }
+
+  /**
+   * Returns the ids of the tenants whose schema of this module contains the table.
+   */
+  public static Future<List<String>> findTenantsWithTable(Vertx vertx, String tableName) {
+    return PostgresClient.getInstance(vertx)
+      .execute(FIND_SCHEMAS_WITH_TABLE_SQL, Tuple.of(tableName))
+      .map(rowSet -> rowSetToStream(rowSet)
+        .map(row -> row.getString(0))
+        .filter(schema -> schema.endsWith(SCHEMA_SUFFIX))
+        .map(schema -> schema.substring(0, schema.length() - SCHEMA_SUFFIX.length()))
+        .toList());
+  }
 }
@@ -0,0 +1,48 @@
+package org.folio.support;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import io.vertx.core.json.Json;
+
+/**
+ * Entity tags for conditional GET requests. A tag is a hash of the JSON representation, so
+ * every module instance computes the same tag for the same content.
+ */
+public final class EntityTag {
+
+  private EntityTag() {
+  }
+
+  public static String of(Object entity) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256")
+        .digest(Json.encode(entity).getBytes(UTF_8));
+      return "\"" + HexFormat.of().formatHex(hash) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Whether the value of an {@code If-None-Match} header matches the tag, weak tags are
+   * compared by value.
+   */
+  public static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+
+    for (String tag : ifNoneMatch.split(",")) {
+      String trimmed = tag.trim();
+      if (trimmed.equals("*") || trimmed.replaceFirst("^W/", "").equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -30,6 +30,12 @@ public class ModuleConstants {
   public static final String REQUEST_POLICY_TABLE = "request_policy";
   public static final Class<RequestPolicy> REQUEST_POLICY_CLASS = RequestPolicy.class;
   public static final String PRINT_EVENTS_TABLE = "print_events";
+  public static final String DOMAIN_EVENT_OUTBOX_TABLE = "domain_event_outbox";
+  public static final String DOMAIN_EVENT_RETRY_TABLE = "domain_event_retry";
+  public static final String INVENTORY_EVENT_DEAD_LETTER_TABLE = "inventory_event_dead_letter";
+  public static final String INVENTORY_EVENT_PROCESSED_RECORD_TABLE =
+    "inventory_event_processed_record";
+  public static final String MIGRATION_CHECKPOINT_TABLE = "migration_checkpoint";
 
   private ModuleConstants(){
   }
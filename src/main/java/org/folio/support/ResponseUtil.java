@@ -1,6 +1,7 @@
 package org.folio.support;
 
 import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static javax.ws.rs.core.HttpHeaders.ETAG;
 import static org.folio.HttpStatus.HTTP_BAD_REQUEST;
 import static org.folio.HttpStatus.HTTP_CREATED;
 import static org.folio.HttpStatus.HTTP_INTERNAL_SERVER_ERROR;
@@ -35,6 +36,21 @@ public final class ResponseUtil {
         .entity(entity).build();
   }
 
+  /**
+   * Responds with the entity and its tag, or with 304 and no body when the tag matches the
+   * {@code If-None-Match} header of the request.
+   */
+  public static Response entityTagResponse(Object entity, String etag, String ifNoneMatch) {
+    if (EntityTag.matches(ifNoneMatch, etag)) {
+      return Response.notModified().header(ETAG, etag).build();
+    }
+
+    return Response.ok()
+        .header(CONTENT_TYPE, "application/json")
+        .header(ETAG, etag)
+        .entity(entity).build();
+  }
+
   public static Response noContentResponse() {
     return Response.status(HTTP_NO_CONTENT.toInt()).build();
   }
@@ -47,6 +63,15 @@ public final class ResponseUtil {
     return failedResponse(HTTP_BAD_REQUEST, error);
   }
 
+  /**
+   * Responds with 400 to an {@link IllegalArgumentException} and with 500 to other errors.
+   */
+  public static Response badRequestOrInternalErrorResponse(Throwable error) {
+    return error instanceof IllegalArgumentException
+      ? badRequestResponse(error)
+      : internalErrorResponse(error);
+  }
+
   private static boolean responseHasStatus(Response response, HttpStatus expectedStatus) {
     return response != null && response.getStatus() == expectedStatus.toInt();
   }
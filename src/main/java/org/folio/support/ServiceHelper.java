@@ -1,19 +1,24 @@
 package org.folio.support;
 
+import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
 import static org.folio.support.ResponseUtil.badRequestResponse;
-import static org.folio.support.ResponseUtil.isCreateSuccessResponse;
 import static org.folio.support.ResponseUtil.noContentResponse;
 
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.ws.rs.core.Response;
 
 import org.apache.commons.lang3.StringUtils;
 import org.folio.persist.AbstractRepository;
+import org.folio.persist.UpsertResult;
+import org.folio.rest.persist.Conn;
+import org.folio.rest.tools.utils.ValidationHelper;
 import org.folio.service.event.EntityChangedEventPublisher;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.json.EncodeException;
 import io.vertx.core.json.Json;
 
@@ -28,13 +33,59 @@ public class ServiceHelper<T> {
     this.eventPublisher = eventPublisher;
   }
 
+  /**
+   * Upserts the record and stores the corresponding domain event in the same transaction.
+   * The old and new state of the record come from the upsert statement itself, so no
+   * additional reads are needed to build the event.
+   */
   public Future<Response> upsertAndPublishEvents(String id, T rec) {
-    return repository.getById(id)
-        .compose(
-            oldRecord -> upsert(id, rec, oldRecord)
-                .compose(publishCreatedOrUpdatedEvent(oldRecord))
-                .compose(toNoContentResponse())
-        );
+    return repository.withTrans(conn -> upsert(conn, id, rec)
+            .compose(result -> eventPublisher.publishUpserted(conn, id, result)))
+        .onSuccess(v -> eventPublisher.committed())
+        .map(v -> noContentResponse())
+        .recover(err -> err instanceof UpsertException
+            ? succeededFuture(badRequestResponse(err.getCause())) // upsert failure is treated as BAD REQUEST in MyPgUtil.putUpsert204()
+            : failedFuture(err));
+  }
+
+  /**
+   * Saves the new record and stores its created event in the same transaction. A failure of
+   * either statement fails the returned future, see {@link #dbErrorResponse(Throwable)}.
+   */
+  public Future<Response> createAndPublishEvent(String id, T rec,
+      Function<T, Response> createdResponse) {
+
+    return repository.withTrans(conn -> repository.saveAndReturnUpdatedEntity(conn, id, rec)
+            .compose(created -> eventPublisher.publishCreated(conn, id, created).map(created)))
+        .onSuccess(v -> eventPublisher.committed())
+        .map(createdResponse);
+  }
+
+  /**
+   * Deletes the record and stores its removed event in the same transaction. Responds with
+   * the not found response when there is no record with the id.
+   */
+  public Future<Response> deleteAndPublishEvent(String id, Supplier<Response> notFoundResponse) {
+    return repository.withTrans(conn -> repository.deleteById(conn, id)
+            .compose(deleted -> deleted == null
+                ? succeededFuture(false)
+                : eventPublisher.publishRemoved(conn, id, deleted).map(true)))
+        .onSuccess(deleted -> {
+          if (deleted) {
+            eventPublisher.committed();
+          }
+        })
+        .map(deleted -> deleted ? noContentResponse() : notFoundResponse.get());
+  }
+
+  /**
+   * Responds to a database error the way {@code PgUtil} does, e.g. with 400 or 422 to a
+   * constraint violation and with 500 to other errors.
+   */
+  public static Future<Response> dbErrorResponse(Throwable error) {
+    Promise<Response> response = Promise.promise();
+    ValidationHelper.handleError(error, response::handle);
+    return response.future();
   }
 
   public String jsonStringOrEmpty(Object obj) {
@@ -52,32 +103,15 @@ public class ServiceHelper<T> {
     return result;
   }
 
-  private Future<Response> upsert(String id, T rec, T oldRecord) {
-    return repository.upsert(id, rec)
-        .compose(
-            upsertId -> toCreatedOrUpdatedResponse(upsertId, oldRecord),
-            err -> succeededFuture(badRequestResponse(err)) // upsert failure is treated as BAD REQUEST in MyPgUtil.putUpsert204()
-        );
+  private Future<UpsertResult<T>> upsert(Conn conn, String id, T rec) {
+    return repository.upsertAndReturnOldAndNew(conn, id, rec)
+        .recover(err -> failedFuture(new UpsertException(err)));
   }
 
-  private Future<Response> toCreatedOrUpdatedResponse(String id, T oldRecord) {
-    return oldRecord == null
-        ? repository.getById(id).map(ResponseUtil::createdResponse)
-        : succeededFuture(noContentResponse());
-  }
-
-  private Function<Response, Future<Response>> publishCreatedOrUpdatedEvent(T oldRecord) {
-    return oldRecord == null
-        ? eventPublisher.publishCreated()
-        : eventPublisher.publishUpdated(oldRecord);
-  }
-
-  private Function<Response, Future<Response>> toNoContentResponse() {
-    return response -> succeededFuture(
-        isCreateSuccessResponse(response) // transform CREATED to NO_CONTENT (see MyPgUtil.putUpsert204() )
-            ? noContentResponse()
-            : response
-    );
+  private static class UpsertException extends RuntimeException {
+    UpsertException(Throwable cause) {
+      super(cause);
+    }
   }
 
 }
@@ -0,0 +1,8 @@
+package org.folio.support.exception;
+
+public class CircuitBreakerOpenException extends RuntimeException {
+
+  public CircuitBreakerOpenException(String endpoint) {
+    super("Circuit breaker is open for " + endpoint + ", request was not sent");
+  }
+}
@@ -0,0 +1,74 @@
+package org.folio.support.kafka;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.apache.logging.log4j.LogManager.getLogger;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.Logger;
+import org.folio.support.metrics.ModuleMetrics;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.admin.KafkaAdminClient;
+import io.vertx.kafka.admin.OffsetSpec;
+import io.vertx.kafka.client.common.TopicPartition;
+import io.vertx.kafka.client.consumer.OffsetAndMetadata;
+
+/**
+ * Records the lag of consumer groups, i.e. the number of records of each topic partition
+ * that were published after the last offset committed by the group.
+ */
+public class ConsumerLagMonitor {
+
+  public static final String LAG_METRIC = "inventory_event_consumer_lag";
+
+  private static final Logger log = getLogger(ConsumerLagMonitor.class);
+
+  private final KafkaAdminClient adminClient;
+  private final Map<String, String> groupIdByEventType;
+
+  public ConsumerLagMonitor(KafkaAdminClient adminClient, Map<String, String> groupIdByEventType) {
+    this.adminClient = adminClient;
+    this.groupIdByEventType = groupIdByEventType;
+  }
+
+  public Future<Void> update() {
+    return Future.join(groupIdByEventType.entrySet().stream()
+        .map(entry -> update(entry.getKey(), entry.getValue()))
+        .toList())
+      .onFailure(t -> log.warn("update:: failed to get the lag of consumer groups", t))
+      .mapEmpty();
+  }
+
+  public Future<Void> close() {
+    return adminClient.close();
+  }
+
+  private Future<Void> update(String eventType, String groupId) {
+    return adminClient.listConsumerGroupOffsets(groupId)
+      .compose(committedOffsets -> {
+        if (committedOffsets.isEmpty()) {
+          return succeededFuture();
+        }
+
+        Map<TopicPartition, OffsetSpec> latestOffsets = new HashMap<>();
+        committedOffsets.keySet().forEach(partition -> latestOffsets.put(partition,
+          OffsetSpec.LATEST));
+
+        return adminClient.listOffsets(latestOffsets)
+          .onSuccess(endOffsets -> endOffsets.forEach((partition, endOffset) ->
+            ModuleMetrics.gauge(LAG_METRIC, "event_type", eventType,
+                "topic", partition.getTopic(), "partition", String.valueOf(partition.getPartition()))
+              .set(lag(committedOffsets.get(partition), endOffset.getOffset()))))
+          .mapEmpty();
+      });
+  }
+
+  private static long lag(OffsetAndMetadata committedOffset, long endOffset) {
+    return committedOffset == null
+      ? endOffset
+      : Math.max(0, endOffset - committedOffset.getOffset());
+  }
+
+}
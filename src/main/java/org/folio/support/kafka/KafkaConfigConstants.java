@@ -8,6 +8,22 @@ public final class KafkaConfigConstants {
   public static final String KAFKA_REPLICATION_FACTOR = "REPLICATION_FACTOR";
   public static final String KAFKA_ENV = "ENV";
   public static final String KAFKA_MAX_REQUEST_SIZE = "MAX_REQUEST_SIZE";
+  public static final String KAFKA_PRODUCER_LINGER_MS = "KAFKA_PRODUCER_LINGER_MS";
+  public static final String KAFKA_PRODUCER_BATCH_SIZE = "KAFKA_PRODUCER_BATCH_SIZE";
+  public static final String OUTBOX_RELAY_BATCH_SIZE = "OUTBOX_RELAY_BATCH_SIZE";
+  public static final String OUTBOX_RELAY_INTERVAL_MS = "OUTBOX_RELAY_INTERVAL_MS";
+  public static final String DOMAIN_EVENT_RETRY_BATCH_SIZE = "DOMAIN_EVENT_RETRY_BATCH_SIZE";
+  public static final String DOMAIN_EVENT_RETRY_INTERVAL_MS = "DOMAIN_EVENT_RETRY_INTERVAL_MS";
+  public static final String EVENT_CONSUMER_INSTANCES = "EVENT_CONSUMER_INSTANCES";
+  public static final String EVENT_CONSUMER_WORKER_POOL_SIZE = "EVENT_CONSUMER_WORKER_POOL_SIZE";
+  public static final String EVENT_CONSUMER_LOAD_LIMIT = "EVENT_CONSUMER_LOAD_LIMIT";
+  public static final String EVENT_CONSUMER_LAG_INTERVAL_MS = "EVENT_CONSUMER_LAG_INTERVAL_MS";
+  public static final String EVENT_CONSUMER_NODE_ID = "EVENT_CONSUMER_NODE_ID";
+  public static final String INVENTORY_EVENT_BATCH_SIZE = "INVENTORY_EVENT_BATCH_SIZE";
+  public static final String INVENTORY_EVENT_BATCH_WINDOW_MS = "INVENTORY_EVENT_BATCH_WINDOW_MS";
+  public static final String INVENTORY_EVENT_DEDUP_WINDOW_MS = "INVENTORY_EVENT_DEDUP_WINDOW_MS";
+  public static final String INVENTORY_EVENT_DEDUP_MAX_SIZE = "INVENTORY_EVENT_DEDUP_MAX_SIZE";
+  public static final String INVENTORY_EVENT_DEDUP_PERSISTENT = "INVENTORY_EVENT_DEDUP_PERSISTENT";
 
   private KafkaConfigConstants() {
   }
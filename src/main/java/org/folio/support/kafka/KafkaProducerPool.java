@@ -0,0 +1,97 @@
+package org.folio.support.kafka;
+
+import static io.vertx.core.Future.succeededFuture;
+import static java.lang.System.getenv;
+import static org.folio.support.kafka.KafkaConfigConstants.KAFKA_PRODUCER_BATCH_SIZE;
+import static org.folio.support.kafka.KafkaConfigConstants.KAFKA_PRODUCER_LINGER_MS;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.KafkaConfig;
+import org.folio.kafka.KafkaProducerManager;
+import org.folio.kafka.services.KafkaEnvironmentProperties;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.producer.KafkaProducer;
+
+/**
+ * Keeps one long-lived Kafka producer per topic for the lifetime of a Vert.x instance.
+ * Producers are created lazily on first use and closed by {@link #closeAll(Vertx)}
+ * when the module shuts down.
+ */
+public class KafkaProducerPool implements KafkaProducerManager {
+  private static final Logger log = LogManager.getLogger(KafkaProducerPool.class);
+
+  private static final String DEFAULT_LINGER_MS = "5";
+  private static final String DEFAULT_BATCH_SIZE = "65536";
+
+  private static final Map<Vertx, KafkaProducerPool> pools = new ConcurrentHashMap<>();
+
+  private final Vertx vertx;
+  private final Map<String, String> producerProps;
+  private final Map<String, KafkaProducer<?, ?>> producers = new ConcurrentHashMap<>();
+
+  KafkaProducerPool(Vertx vertx, Map<String, String> producerProps) {
+    this.vertx = vertx;
+    this.producerProps = producerProps;
+  }
+
+  public static KafkaProducerPool getInstance(Vertx vertx) {
+    return pools.computeIfAbsent(vertx, KafkaProducerPool::create);
+  }
+
+  public static Future<Void> closeAll(Vertx vertx) {
+    KafkaProducerPool pool = pools.remove(vertx);
+
+    return pool == null ? succeededFuture() : pool.close();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <K, V> KafkaProducer<K, V> createShared(String producerName) {
+    return (KafkaProducer<K, V>) producers.computeIfAbsent(producerName, this::createProducer);
+  }
+
+  public Future<Void> close() {
+    log.info("close:: closing {} Kafka producer(s)", producers.size());
+
+    List<Future<Void>> closeFutures = producers.values().stream()
+      .map(producer -> producer.flush()
+        .eventually(producer::close))
+      .toList();
+    producers.clear();
+
+    return Future.all(closeFutures)
+      .onSuccess(r -> log.info("close:: Kafka producers closed"))
+      .onFailure(t -> log.warn("close:: failed to close Kafka producers", t))
+      .mapEmpty();
+  }
+
+  private KafkaProducer<?, ?> createProducer(String producerName) {
+    log.info("createProducer:: creating Kafka producer {}", producerName);
+
+    return KafkaProducer.createShared(vertx, producerName, producerProps);
+  }
+
+  private static KafkaProducerPool create(Vertx vertx) {
+    KafkaConfig kafkaConfig = KafkaConfig.builder()
+      .kafkaPort(KafkaEnvironmentProperties.port())
+      .kafkaHost(KafkaEnvironmentProperties.host())
+      .build();
+
+    Map<String, String> producerProps = new HashMap<>(kafkaConfig.getProducerProps());
+    producerProps.put(ProducerConfig.LINGER_MS_CONFIG,
+      getenv().getOrDefault(KAFKA_PRODUCER_LINGER_MS, DEFAULT_LINGER_MS));
+    producerProps.put(ProducerConfig.BATCH_SIZE_CONFIG,
+      getenv().getOrDefault(KAFKA_PRODUCER_BATCH_SIZE, DEFAULT_BATCH_SIZE));
+
+    return new KafkaProducerPool(vertx, producerProps);
+  }
+}
@@ -0,0 +1,61 @@
+package org.folio.support.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of observed values, e.g. durations in seconds, over fixed buckets.
+ */
+public class Histogram {
+
+  private static final double[] DEFAULT_UPPER_BOUNDS =
+    {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+  private final double[] upperBounds;
+  // the last bucket holds the values above the highest upper bound
+  private final LongAdder[] bucketCounts;
+  private final DoubleAdder sum = new DoubleAdder();
+
+  Histogram() {
+    this(DEFAULT_UPPER_BOUNDS);
+  }
+
+  Histogram(double[] upperBounds) {
+    this.upperBounds = upperBounds.clone();
+    this.bucketCounts = new LongAdder[upperBounds.length + 1];
+    Arrays.setAll(bucketCounts, i -> new LongAdder());
+  }
+
+  public void observe(double value) {
+    int bucket = 0;
+    while (bucket < upperBounds.length && value > upperBounds[bucket]) {
+      bucket++;
+    }
+    bucketCounts[bucket].increment();
+    sum.add(value);
+  }
+
+  public double[] upperBounds() {
+    return upperBounds.clone();
+  }
+
+  /**
+   * Returns the number of values less than or equal to each upper bound, followed by the
+   * number of all values.
+   */
+  public long[] cumulativeCounts() {
+    long[] counts = new long[bucketCounts.length];
+    long count = 0;
+    for (int i = 0; i < bucketCounts.length; i++) {
+      count += bucketCounts[i].sum();
+      counts[i] = count;
+    }
+    return counts;
+  }
+
+  public double sum() {
+    return sum.sum();
+  }
+
+}
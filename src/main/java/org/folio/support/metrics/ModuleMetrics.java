@@ -0,0 +1,64 @@
+package org.folio.support.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process registry of the module's operational metrics. Metrics are identified by
+ * a name and an optional list of label name/value pairs, e.g.
+ * {@code ModuleMetrics.counter("events_total", "tenant", tenantId).increment()}.
+ */
+public final class ModuleMetrics {
+
+  private static final Map<MetricKey, LongAdder> counters = new ConcurrentHashMap<>();
+  private static final Map<MetricKey, AtomicLong> gauges = new ConcurrentHashMap<>();
+  private static final Map<MetricKey, Histogram> histograms = new ConcurrentHashMap<>();
+
+  private ModuleMetrics() {
+  }
+
+  public static LongAdder counter(String name, String... labels) {
+    return counters.computeIfAbsent(MetricKey.of(name, labels), k -> new LongAdder());
+  }
+
+  public static AtomicLong gauge(String name, String... labels) {
+    return gauges.computeIfAbsent(MetricKey.of(name, labels), k -> new AtomicLong());
+  }
+
+  public static Histogram histogram(String name, String... labels) {
+    return histograms.computeIfAbsent(MetricKey.of(name, labels), k -> new Histogram());
+  }
+
+  public static Map<MetricKey, LongAdder> counters() {
+    return counters;
+  }
+
+  public static Map<MetricKey, AtomicLong> gauges() {
+    return gauges;
+  }
+
+  public static Map<MetricKey, Histogram> histograms() {
+    return histograms;
+  }
+
+  public record MetricKey(String name, SortedMap<String, String> labels) {
+
+    static MetricKey of(String name, String... labels) {
+      if (labels.length % 2 != 0) {
+        throw new IllegalArgumentException("Labels must be name/value pairs: " + name);
+      }
+
+      SortedMap<String, String> labelMap = new TreeMap<>();
+      for (int i = 0; i < labels.length; i += 2) {
+        labelMap.put(labels[i], labels[i + 1]);
+      }
+
+      return new MetricKey(name, labelMap);
+    }
+  }
+
+}
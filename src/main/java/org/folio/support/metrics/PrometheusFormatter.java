@@ -0,0 +1,84 @@
+package org.folio.support.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+import org.folio.support.metrics.ModuleMetrics.MetricKey;
+
+/**
+ * Writes the metrics of {@link ModuleMetrics} in the Prometheus text exposition format.
+ */
+public final class PrometheusFormatter {
+
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private PrometheusFormatter() {
+  }
+
+  public static String format() {
+    StringBuilder output = new StringBuilder();
+
+    write(output, "counter", ModuleMetrics.counters(),
+      (key, counter) -> writeSample(output, key.name(), key.labels(), counter.sum()));
+    write(output, "gauge", ModuleMetrics.gauges(),
+      (key, gauge) -> writeSample(output, key.name(), key.labels(), gauge.get()));
+    write(output, "histogram", ModuleMetrics.histograms(),
+      (key, histogram) -> writeHistogram(output, key, histogram));
+
+    return output.toString();
+  }
+
+  private static <T> void write(StringBuilder output, String type, Map<MetricKey, T> metrics,
+    BiConsumer<MetricKey, T> sampleWriter) {
+
+    SortedMap<String, SortedMap<String, Map.Entry<MetricKey, T>>> metricsByName = new TreeMap<>();
+    metrics.entrySet().forEach(entry -> metricsByName
+      .computeIfAbsent(entry.getKey().name(), name -> new TreeMap<>())
+      .put(entry.getKey().labels().toString(), entry));
+
+    metricsByName.forEach((name, samples) -> {
+      output.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+      samples.values().forEach(entry -> sampleWriter.accept(entry.getKey(), entry.getValue()));
+    });
+  }
+
+  private static void writeHistogram(StringBuilder output, MetricKey key, Histogram histogram) {
+    double[] upperBounds = histogram.upperBounds();
+    long[] cumulativeCounts = histogram.cumulativeCounts();
+
+    for (int i = 0; i < cumulativeCounts.length; i++) {
+      SortedMap<String, String> labels = new TreeMap<>(key.labels());
+      labels.put("le", i < upperBounds.length ? Double.toString(upperBounds[i]) : "+Inf");
+      writeSample(output, key.name() + "_bucket", labels, cumulativeCounts[i]);
+    }
+    writeSample(output, key.name() + "_sum", key.labels(), histogram.sum());
+    writeSample(output, key.name() + "_count", key.labels(),
+      cumulativeCounts[cumulativeCounts.length - 1]);
+  }
+
+  private static void writeSample(StringBuilder output, String name,
+    Map<String, String> labels, Number value) {
+
+    output.append(name);
+    if (!labels.isEmpty()) {
+      output.append('{');
+      String separator = "";
+      for (Map.Entry<String, String> label : labels.entrySet()) {
+        output.append(separator).append(label.getKey()).append("=\"")
+          .append(escape(label.getValue())).append('"');
+        separator = ",";
+      }
+      output.append('}');
+    }
+    output.append(' ').append(value).append('\n');
+  }
+
+  private static String escape(String labelValue) {
+    return labelValue == null
+      ? ""
+      : labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+}
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.domain_event_outbox (
+  id BIGSERIAL PRIMARY KEY,
+  topic TEXT NOT NULL,
+  event_key TEXT NOT NULL,
+  payload TEXT NOT NULL,
+  headers JSONB NOT NULL DEFAULT '[]'::jsonb,
+  created_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  claimed_until TIMESTAMP WITH TIME ZONE
+);
+
+ALTER TABLE ${myuniversity}_${mymodule}.domain_event_outbox
+  ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP WITH TIME ZONE;
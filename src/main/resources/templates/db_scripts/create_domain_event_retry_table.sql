@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.domain_event_retry (
+  id BIGSERIAL PRIMARY KEY,
+  topic TEXT NOT NULL,
+  event_key TEXT,
+  payload TEXT NOT NULL,
+  headers JSONB NOT NULL DEFAULT '[]'::jsonb,
+  attempts INTEGER NOT NULL DEFAULT 0,
+  next_attempt_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  last_error TEXT,
+  created_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS domain_event_retry_next_attempt_date_idx
+  ON ${myuniversity}_${mymodule}.domain_event_retry (next_attempt_date);
+
+CREATE INDEX IF NOT EXISTS domain_event_retry_topic_event_key_id_idx
+  ON ${myuniversity}_${mymodule}.domain_event_retry (topic, event_key, id);
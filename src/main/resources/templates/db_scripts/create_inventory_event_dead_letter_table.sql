@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.inventory_event_dead_letter (
+  id BIGSERIAL PRIMARY KEY,
+  event_type TEXT NOT NULL,
+  topic TEXT NOT NULL,
+  event_key TEXT,
+  payload TEXT NOT NULL,
+  headers JSONB NOT NULL DEFAULT '[]'::jsonb,
+  last_error TEXT,
+  created_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
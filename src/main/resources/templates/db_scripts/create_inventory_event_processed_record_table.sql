@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.inventory_event_processed_record (
+  record_key TEXT PRIMARY KEY,
+  processed_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS inventory_event_processed_record_processed_date_idx
+  ON ${myuniversity}_${mymodule}.inventory_event_processed_record (processed_date);
@@ -0,0 +1,22 @@
+    -- Indexes on (sort key, id) used by the cursor (keyset) paging of loans, requests and
+    -- loan history, see KeysetPageRepository. The expressions must match the sort keys used there.
+    -- This SQL must always run (no "fromModuleVersion") to signal RMB to not delete the indexes.
+    DO $do$
+    BEGIN
+      PERFORM rmb_internal_index(
+      'loan',                    'loan_loanDate_id_idx', 'ADD',
+      'CREATE INDEX IF NOT EXISTS loan_loanDate_id_idx ON ${myuniversity}_${mymodule}.loan '
+      || $rmb$((COALESCE(jsonb->>'loanDate', '')), id)$rmb$);
+      PERFORM rmb_internal_index(
+      'loan',                    'loan_dueDate_id_idx', 'ADD',
+      'CREATE INDEX IF NOT EXISTS loan_dueDate_id_idx ON ${myuniversity}_${mymodule}.loan '
+      || $rmb$((COALESCE(jsonb->>'dueDate', '')), id)$rmb$);
+      PERFORM rmb_internal_index(
+      'request',                 'request_requestDate_id_idx', 'ADD',
+      'CREATE INDEX IF NOT EXISTS request_requestDate_id_idx ON ${myuniversity}_${mymodule}.request '
+      || $rmb$((COALESCE(jsonb->>'requestDate', '')), id)$rmb$);
+      PERFORM rmb_internal_index(
+      'audit_loan',              'audit_loan_createdDate_id_idx', 'ADD',
+      'CREATE INDEX IF NOT EXISTS audit_loan_createdDate_id_idx ON ${myuniversity}_${mymodule}.audit_loan '
+      || $rmb$((COALESCE(jsonb->>'createdDate', '')), id)$rmb$);
+    END $do$;
@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.migration_checkpoint (
+  migration_name TEXT PRIMARY KEY,
+  last_id UUID NOT NULL,
+  updated_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
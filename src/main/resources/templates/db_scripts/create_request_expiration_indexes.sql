@@ -0,0 +1,22 @@
+    -- Partial indexes used by the request expiration, see RequestExpirationService. The expressions
+    -- and the status literals must match the queries there, otherwise the indexes are not used.
+    -- This SQL must always run (no "fromModuleVersion") to signal RMB to not delete the indexes.
+    DO $do$
+    BEGIN
+      PERFORM rmb_internal_index(
+      'request',                 'request_requestExpirationDate_open_idx', 'ADD',
+      'CREATE INDEX IF NOT EXISTS request_requestExpirationDate_open_idx ON ${myuniversity}_${mymodule}.request '
+      || $rmb$((jsonb->>'requestExpirationDate')) WHERE jsonb->>'status' IN ('Open - Not yet filled', 'Open - Awaiting delivery', 'Open - In transit')$rmb$);
+      PERFORM rmb_internal_index(
+      'request',                 'request_holdShelfExpirationDate_pickup_idx', 'ADD',
+      'CREATE INDEX IF NOT EXISTS request_holdShelfExpirationDate_pickup_idx ON ${myuniversity}_${mymodule}.request '
+      || $rmb$((jsonb->>'holdShelfExpirationDate')) WHERE jsonb->>'status' = 'Open - Awaiting pickup'$rmb$);
+      PERFORM rmb_internal_index(
+      'request',                 'request_itemId_position_open_idx', 'ADD',
+      'CREATE INDEX IF NOT EXISTS request_itemId_position_open_idx ON ${myuniversity}_${mymodule}.request '
+      || $rmb$((jsonb->>'itemId'), ((jsonb->>'position')::int)) WHERE jsonb->>'status' IN ('Open - Not yet filled', 'Open - Awaiting delivery', 'Open - In transit', 'Open - Awaiting pickup')$rmb$);
+      PERFORM rmb_internal_index(
+      'request',                 'request_instanceId_position_open_idx', 'ADD',
+      'CREATE INDEX IF NOT EXISTS request_instanceId_position_open_idx ON ${myuniversity}_${mymodule}.request '
+      || $rmb$((jsonb->>'instanceId'), ((jsonb->>'position')::int)) WHERE jsonb->>'status' IN ('Open - Not yet filled', 'Open - Awaiting delivery', 'Open - In transit', 'Open - Awaiting pickup')$rmb$);
+    END $do$;
@@ -0,0 +1,48 @@
+package org.folio.persist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class KeysetCursorTest {
+
+  @Test
+  void encodedCursorCanBeDecoded() {
+    var cursor = new KeysetCursor("loanDate", "2017-03-01T23:11:00.000+00:00",
+      "cf23adf0-61ba-4887-bf82-956c4aae2260");
+
+    assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+  }
+
+  @Test
+  void encodedCursorIsUrlSafe() {
+    var encoded = new KeysetCursor("id", null, "cf23adf0-61ba-4887-bf82-956c4aae2260").encode();
+
+    assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+  }
+
+  @ParameterizedTest
+  @NullAndEmptySource
+  @ValueSource(strings = {" ", "*"})
+  void isFirstPage_true(String cursor) {
+    assertTrue(KeysetCursor.isFirstPage(cursor));
+  }
+
+  @Test
+  void isFirstPage_false() {
+    assertFalse(KeysetCursor.isFirstPage(
+      new KeysetCursor("id", null, "cf23adf0-61ba-4887-bf82-956c4aae2260").encode()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"not a cursor", "e30", "bm90IGpzb24"})
+  void decodeFailsForInvalidCursor(String cursor) {
+    assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(cursor));
+  }
+}
@@ -1,5 +1,7 @@
 package org.folio.rest.api;
 
+import static javax.ws.rs.core.HttpHeaders.ETAG;
+import static javax.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
 import static org.folio.rest.persist.PostgresClient.getInstance;
 import static org.folio.rest.support.matchers.DomainEventAssertions.assertUpdateEventForCirculationRules;
 import static org.folio.rest.support.matchers.OkapiResponseStatusCodeMatchers.matchesNoContent;
@@ -13,6 +15,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Date;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -24,7 +27,9 @@ import org.folio.rest.support.ResponseHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
 import lombok.SneakyThrows;
 
 public class CirculationRulesApiTest extends ApiTests {
@@ -122,6 +127,33 @@ public class CirculationRulesApiTest extends ApiTests {
     putAndGet(exampleRules());
   }
 
+  @Test
+  void getWithCurrentEtagRespondsNotModified() throws Exception {
+    HttpResponse<Buffer> first = getResponse(Map.of());
+    String etag = first.getHeader(ETAG);
+    assertThat(first.statusCode(), is(200));
+    assertThat(etag, is(not(nullValue())));
+
+    HttpResponse<Buffer> notModified = getResponse(Map.of(IF_NONE_MATCH, etag));
+    assertThat(notModified.statusCode(), is(304));
+    assertThat(notModified.getHeader(ETAG), is(etag));
+
+    put204(exampleRules2());
+
+    HttpResponse<Buffer> changed = getResponse(Map.of(IF_NONE_MATCH, etag));
+    assertThat(changed.statusCode(), is(200));
+    assertThat(changed.getHeader(ETAG), is(not(etag)));
+    assertThat(changed.bodyAsJsonObject().getString("rulesAsText"),
+      is(exampleRules2().getRulesAsText()));
+  }
+
+  private HttpResponse<Buffer> getResponse(Map<String, String> headers) throws Exception {
+    CompletableFuture<HttpResponse<Buffer>> getCompleted = new CompletableFuture<>();
+    client.get(rulesStorageUrl().toString(), StorageTestSuite.TENANT_ID, headers,
+      ar -> getCompleted.complete(ar.result()));
+    return getCompleted.get(5, TimeUnit.SECONDS);
+  }
+
   @Test
   void putNullFields() throws Exception {
     CirculationRules circulationRules = new CirculationRules();
@@ -5,12 +5,15 @@ import lombok.SneakyThrows;
 import org.folio.rest.support.ApiTests;
 import org.folio.rest.support.http.AssertingRecordClient;
 import org.folio.rest.support.http.InterfaceUrls;
+import org.folio.rest.support.kafka.FakeKafkaConsumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.UUID;
 
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 
 class CirculationSettingsAPITest extends ApiTests {
@@ -52,6 +55,21 @@ class CirculationSettingsAPITest extends ApiTests {
     assertThat(getValue(circulationSettingsJsonUpdated), is(getValue(circulationSettingsById)));
   }
 
+  @Test
+  @SneakyThrows
+  void updateInsteadCreatePublishesPreviousValue() {
+    String id = UUID.randomUUID().toString();
+    circulationSettingsClient.create(getCirculationSetting(id));
+    circulationSettingsClient.create(getUpdatedSettingsJson());
+
+    await().until(() -> FakeKafkaConsumer.getCirculationSettingsEvents(id), hasSize(2));
+    JsonObject eventData = FakeKafkaConsumer.getLastCirculationSettingsEvent(id)
+      .value().getJsonObject("data");
+
+    assertThat(getValue(eventData.getJsonObject("old")), is(INITIAL_VALUE));
+    assertThat(getValue(eventData.getJsonObject("new")), is(UPDATED_VALUE));
+  }
+
   @Test
   @SneakyThrows
   void canCreateAndRetrieveCirculationSettings() {
@@ -0,0 +1,85 @@
+package org.folio.rest.api;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.core.Is.is;
+
+import java.net.HttpURLConnection;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.rest.support.ApiTests;
+import org.folio.rest.support.IndividualResource;
+import org.folio.rest.support.ResponseHandler;
+import org.folio.rest.support.TextResponse;
+import org.folio.rest.support.builders.LoanRequestBuilder;
+import org.folio.rest.support.http.AssertingRecordClient;
+import org.folio.rest.support.http.InterfaceUrls;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+import lombok.SneakyThrows;
+
+class CirculationStorageExportApiTest extends ApiTests {
+
+  private final AssertingRecordClient loansClient = new AssertingRecordClient(
+    client, StorageTestSuite.TENANT_ID, InterfaceUrls::loanStorageUrl, "loans");
+
+  @BeforeEach
+  @SneakyThrows
+  void beforeEach() {
+    pgClient.execute("TRUNCATE loan")
+      .toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @SneakyThrows
+  void canExportMatchingLoansAsNewlineDelimitedJson() {
+    UUID userId = UUID.randomUUID();
+    IndividualResource firstLoan = loansClient.create(
+      new LoanRequestBuilder().withUserId(userId).create());
+    IndividualResource secondLoan = loansClient.create(
+      new LoanRequestBuilder().withUserId(userId).create());
+    loansClient.create(new LoanRequestBuilder().withUserId(UUID.randomUUID()).create());
+
+    TextResponse response = export("/loans?query=userId==" + userId);
+
+    assertThat(response.getStatusCode(), is(HttpURLConnection.HTTP_OK));
+    assertThat(Arrays.stream(response.getBody().split("\n"))
+        .map(JsonObject::new)
+        .map(loan -> loan.getString("id"))
+        .toList(),
+      containsInAnyOrder(firstLoan.getId(), secondLoan.getId()));
+  }
+
+  @Test
+  @SneakyThrows
+  void exportOfNoMatchingRecordsIsEmpty() {
+    TextResponse response = export("/requests?query=requesterId==" + UUID.randomUUID());
+
+    assertThat(response.getStatusCode(), is(HttpURLConnection.HTTP_OK));
+    assertThat(response.getBody(), is(emptyString()));
+  }
+
+  @Test
+  @SneakyThrows
+  void cannotExportWithInvalidQuery() {
+    TextResponse response = export("/loan-history?query=loan.userId%3D%3D");
+
+    assertThat(response.getStatusCode(), is(HttpURLConnection.HTTP_BAD_REQUEST));
+  }
+
+  @SneakyThrows
+  private TextResponse export(String subPath) {
+    CompletableFuture<TextResponse> getCompleted = new CompletableFuture<>();
+
+    client.get(InterfaceUrls.exportUrl(subPath), StorageTestSuite.TENANT_ID,
+      ResponseHandler.text(getCompleted));
+
+    return getCompleted.get(5, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,94 @@
+package org.folio.rest.api;
+
+import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.persist.DomainEventOutboxRepository.OutboxEntry;
+import org.folio.persist.DomainEventRetryRepository;
+import org.folio.persist.DomainEventRetryRepository.RetryEntry;
+import org.folio.rest.persist.PostgresClient;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import lombok.SneakyThrows;
+
+/**
+ * Checks that the queued events of a key are replayed in their order: only the oldest entry
+ * of a key is due, also when it has been rescheduled.
+ */
+class DomainEventRetryRepositoryTest {
+
+  private static final String TOPIC = "folio.test_tenant.circulation.loan";
+
+  private static PostgresClient pgClient;
+  private static DomainEventRetryRepository repository;
+
+  @BeforeAll
+  @SneakyThrows
+  static void beforeAll() {
+    if (StorageTestSuite.isNotInitialised()) {
+      StorageTestSuite.before();
+    }
+    pgClient = PostgresClient.getInstance(StorageTestSuite.getVertx(), StorageTestSuite.TENANT_ID);
+    repository = new DomainEventRetryRepository(pgClient);
+  }
+
+  @BeforeEach
+  void beforeEach() {
+    get(pgClient.execute("DELETE FROM " + convertToPsqlStandard(StorageTestSuite.TENANT_ID)
+      + ".domain_event_retry"));
+  }
+
+  @Test
+  void onlyOldestEntryOfKeyIsDue() {
+    save("loan-1", "first");
+    save("loan-1", "second");
+    save("loan-2", "other");
+
+    assertThat(duePayloads(), contains("first", "other"));
+  }
+
+  @Test
+  void laterEntriesOfKeyWaitForRescheduledEntry() {
+    save("loan-1", "first");
+    save("loan-1", "second");
+    save("loan-2", "other");
+
+    long firstId = getDue().get(0).event().id();
+    get(repository.withTrans(conn -> repository.reschedule(conn, firstId, 60_000, "failed")));
+
+    assertThat(duePayloads(), contains("other"));
+
+    get(repository.withTrans(conn -> repository.delete(conn, List.of(firstId))));
+
+    assertThat(duePayloads(), contains("second", "other"));
+  }
+
+  private static void save(String key, String payload) {
+    get(repository.save(new OutboxEntry(TOPIC, key, payload, new JsonArray()), "error"));
+  }
+
+  private static List<RetryEntry> getDue() {
+    return get(repository.withTrans(conn -> repository.getDue(conn, 10)));
+  }
+
+  private static List<String> duePayloads() {
+    return getDue().stream()
+      .map(entry -> entry.event().payload())
+      .toList();
+  }
+
+  @SneakyThrows
+  private static <T> T get(Future<T> future) {
+    return future.toCompletionStage()
+      .toCompletableFuture()
+      .get(5, TimeUnit.SECONDS);
+  }
+}
@@ -1,6 +1,8 @@
 package org.folio.rest.api;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.ws.rs.core.HttpHeaders.ETAG;
+import static javax.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
 import static org.folio.rest.support.builders.LoanPolicyRequestBuilder.defaultRollingPolicy;
 import static org.folio.rest.support.builders.LoanPolicyRequestBuilder.emptyPolicy;
 import static org.folio.rest.support.matchers.periodJsonObjectMatcher.matchesPeriod;
@@ -15,11 +17,13 @@ import static org.folio.rest.support.matchers.ValidationErrorMatchers.hasErrorWi
 import static org.folio.rest.support.matchers.ValidationErrorMatchers.hasMessageContaining;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.hamcrest.core.IsNull.notNullValue;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -41,8 +45,10 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
 
 class LoanPoliciesApiTest extends ApiTests {
   @BeforeEach
@@ -826,6 +832,31 @@ class LoanPoliciesApiTest extends ApiTests {
     assertThat(renewalsPolicy.getJsonObject("period"), matchesPeriod(30, "Days"));
   }
 
+  @Test
+  void updatedPolicyIsServedInsteadOfCachedOne() throws Exception {
+    UUID id = UUID.randomUUID();
+    createLoanPolicy(defaultRollingPolicy().withId(id).create());
+
+    HttpResponse<Buffer> first = getPolicyResponse(id, Map.of());
+    String etag = first.getHeader(ETAG);
+    assertThat(first.statusCode(), is(200));
+    assertThat(etag, notNullValue());
+
+    HttpResponse<Buffer> notModified = getPolicyResponse(id, Map.of(IF_NONE_MATCH, etag));
+    assertThat(notModified.statusCode(), is(304));
+
+    CompletableFuture<JsonResponse> updateCompleted = new CompletableFuture<>();
+    client.put(loanPolicyStorageUrl(String.format("/%s", id)),
+      defaultRollingPolicy().withId(id).withName("A Different Name").create(),
+      StorageTestSuite.TENANT_ID, ResponseHandler.json(updateCompleted));
+    assertThat(updateCompleted.get(5, TimeUnit.SECONDS), matchesNoContent());
+
+    HttpResponse<Buffer> changed = getPolicyResponse(id, Map.of(IF_NONE_MATCH, etag));
+    assertThat(changed.statusCode(), is(200));
+    assertThat(changed.getHeader(ETAG), not(etag));
+    assertThat(changed.bodyAsJsonObject().getString("name"), is("A Different Name"));
+  }
+
   @Test
   void canDeleteALoanPolicy()
     throws InterruptedException,
@@ -918,6 +949,15 @@ class LoanPoliciesApiTest extends ApiTests {
     return loanPolicyStorageUrl("");
   }
 
+  private HttpResponse<Buffer> getPolicyResponse(UUID id, Map<String, String> headers)
+    throws Exception {
+
+    CompletableFuture<HttpResponse<Buffer>> getCompleted = new CompletableFuture<>();
+    client.get(loanPolicyStorageUrl(String.format("/%s", id)).toString(),
+      StorageTestSuite.TENANT_ID, headers, ar -> getCompleted.complete(ar.result()));
+    return getCompleted.get(5, TimeUnit.SECONDS);
+  }
+
   private static URL loanPolicyStorageUrl(String subPath)
     throws MalformedURLException {
 
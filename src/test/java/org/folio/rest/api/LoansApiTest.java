@@ -1,6 +1,7 @@
 package org.folio.rest.api;
 
 import static java.lang.Boolean.TRUE;
+import static org.awaitility.Awaitility.await;
 import static org.folio.rest.support.matchers.DomainEventAssertions.assertCreateEventForLoan;
 import static org.folio.rest.support.matchers.DomainEventAssertions.assertLoanEventCount;
 import static org.folio.rest.support.matchers.DomainEventAssertions.assertNoLoanEvent;
@@ -430,6 +431,45 @@ class LoansApiTest extends ApiTests {
     assertCreateEventForLoan(loan);
   }
 
+  @Test
+  void concurrentPutsOfNewLoanPublishOneCreatedEvent()
+    throws MalformedURLException,
+    InterruptedException,
+    ExecutionException,
+    TimeoutException {
+
+    UUID id = UUID.randomUUID();
+
+    JsonObject loanRequest = new LoanRequestBuilder()
+      .withId(id)
+      .withItemId(UUID.randomUUID())
+      .withUserId(UUID.randomUUID())
+      .withLoanDate(new DateTime(2017, 2, 27, 21, 14, 43, DateTimeZone.UTC))
+      .open()
+      .withAction("checkedout")
+      .create();
+
+    CompletableFuture<TextResponse> firstPutCompleted = new CompletableFuture<>();
+    CompletableFuture<TextResponse> secondPutCompleted = new CompletableFuture<>();
+
+    client.put(InterfaceUrls.loanStorageUrl(String.format("/%s", id)), loanRequest,
+      StorageTestSuite.TENANT_ID, ResponseHandler.text(firstPutCompleted));
+    client.put(InterfaceUrls.loanStorageUrl(String.format("/%s", id)), loanRequest,
+      StorageTestSuite.TENANT_ID, ResponseHandler.text(secondPutCompleted));
+
+    assertThat(firstPutCompleted.get(5, TimeUnit.SECONDS).getStatusCode(), is(204));
+    assertThat(secondPutCompleted.get(5, TimeUnit.SECONDS).getStatusCode(), is(204));
+
+    await().until(() -> FakeKafkaConsumer.getLoanEvents(id.toString()), hasSize(2));
+
+    List<String> eventTypes = FakeKafkaConsumer.getLoanEvents(id.toString()).stream()
+      .map(event -> event.value().getString("type"))
+      .toList();
+
+    assertThat(eventTypes.stream().filter("CREATED"::equals).count(), is(1L));
+    assertThat(eventTypes, hasItem("UPDATED"));
+  }
+
   @Test
   void canCreateALoanAtViaPutToSpecificLocation()
     throws MalformedURLException,
@@ -1228,6 +1268,61 @@ class LoansApiTest extends ApiTests {
     assertThat(secondPage.getInteger("totalRecords"), is(7));
   }
 
+  @Test
+  void canPageLoansByCursor()
+    throws InterruptedException,
+    MalformedURLException,
+    TimeoutException,
+    ExecutionException {
+
+    for (int i = 0; i < 7; i++) {
+      loansClient.create(loanRequest());
+    }
+
+    JsonObject firstPage = getLoansPage("?limit=4&cursor=*");
+
+    assertThat(firstPage.getJsonArray("loans").size(), is(4));
+    assertThat(firstPage.getString("nextCursor"), notNullValue());
+    assertThat(firstPage.getInteger("totalRecords"), nullValue());
+
+    JsonObject secondPage = getLoansPage("?limit=4&totalRecords=exact&cursor="
+      + firstPage.getString("nextCursor"));
+
+    assertThat(secondPage.getJsonArray("loans").size(), is(3));
+    assertThat(secondPage.getString("nextCursor"), nullValue());
+    assertThat(secondPage.getInteger("totalRecords"), is(7));
+
+    List<String> ids = firstPage.getJsonArray("loans").stream()
+      .map(JsonObject.class::cast)
+      .map(loan -> loan.getString("id"))
+      .collect(Collectors.toList());
+    secondPage.getJsonArray("loans").stream()
+      .map(JsonObject.class::cast)
+      .map(loan -> loan.getString("id"))
+      .forEach(ids::add);
+
+    assertThat(ids, is(ids.stream().distinct().sorted().collect(Collectors.toList())));
+    assertThat(ids, hasSize(7));
+  }
+
+  @Test
+  void cannotPageLoansByCursorWithUnsupportedSortKey()
+    throws InterruptedException,
+    MalformedURLException,
+    TimeoutException,
+    ExecutionException {
+
+    CompletableFuture<TextResponse> getCompleted = new CompletableFuture<>();
+
+    client.get(InterfaceUrls.loanStorageUrl() + "?cursor=*&query=cql.allRecords=1"
+        + "%20sortBy%20itemId", StorageTestSuite.TENANT_ID, ResponseHandler.text(getCompleted));
+
+    TextResponse response = getCompleted.get(5, TimeUnit.SECONDS);
+
+    assertThat(response.getStatusCode(), is(HttpURLConnection.HTTP_BAD_REQUEST));
+    assertThat(response.getBody(), containsString("does not support sortBy itemId"));
+  }
+
   @Test
   void canSearchByUserId()
     throws MalformedURLException,
@@ -1628,6 +1723,25 @@ class LoansApiTest extends ApiTests {
     assertThat(filteredLoans, hasItem(loanToBillTomorrow.getId()));
   }
 
+  private JsonObject getLoansPage(String queryString)
+    throws InterruptedException,
+    MalformedURLException,
+    TimeoutException,
+    ExecutionException {
+
+    CompletableFuture<JsonResponse> getCompleted = new CompletableFuture<>();
+
+    client.get(InterfaceUrls.loanStorageUrl() + queryString, StorageTestSuite.TENANT_ID,
+      ResponseHandler.json(getCompleted));
+
+    JsonResponse response = getCompleted.get(5, TimeUnit.SECONDS);
+
+    assertThat(String.format("Failed to get page of loans: %s", response.getBody()),
+      response.getStatusCode(), is(200));
+
+    return response.getJson();
+  }
+
   private JsonObject loanRequest() {
     return new LoanRequestBuilder().create();
   }
@@ -0,0 +1,79 @@
+package org.folio.rest.api;
+
+import static org.folio.persist.RequestRepository.resetQueuePositionsSql;
+import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
+import static org.folio.service.RequestExpirationService.closeExpiredRequestsSql;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.folio.rest.persist.PostgresClient;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import io.vertx.sqlclient.Tuple;
+import lombok.SneakyThrows;
+
+/**
+ * Checks that the statements of the request expiration are backed by the partial indexes
+ * instead of scanning the whole request table. Sequential scans are disabled for the
+ * planner, so a sequential scan in the plan means that no index matches the statement.
+ */
+class RequestExpirationIndexesTest {
+
+  private static final String REQUEST_TABLE = convertToPsqlStandard(StorageTestSuite.TENANT_ID)
+    + ".request";
+
+  private static PostgresClient pgClient;
+
+  @BeforeAll
+  @SneakyThrows
+  static void beforeAll() {
+    if (StorageTestSuite.isNotInitialised()) {
+      StorageTestSuite.before();
+    }
+    pgClient = PostgresClient.getInstance(StorageTestSuite.getVertx(), StorageTestSuite.TENANT_ID);
+  }
+
+  @Test
+  void closingExpiredRequestsUsesPartialIndexes() {
+    String plan = explain(closeExpiredRequestsSql(REQUEST_TABLE), Tuple.of(
+      "2025-01-01T00:00:00.000+0000", 500, "Closed - Pickup expired", "Closed - Unfilled"));
+
+    assertThat(plan, not(containsString("Seq Scan")));
+    assertThat(plan, containsString("request_requestexpirationdate_open_idx"));
+    assertThat(plan, containsString("request_holdshelfexpirationdate_pickup_idx"));
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "itemId,     request_itemid_position_open_idx",
+    "instanceId, request_instanceid_position_open_idx"
+  })
+  void renumberingQueuesUsesPartialIndexes(String queueProperty, String indexName) {
+    String plan = explain(resetQueuePositionsSql(REQUEST_TABLE, queueProperty),
+      Tuple.tuple().addArrayOfString(new String[] { UUID.randomUUID().toString() }));
+
+    assertThat(plan, not(containsString("Seq Scan")));
+    assertThat(plan, containsString(indexName));
+  }
+
+  @SneakyThrows
+  private static String explain(String sql, Tuple parameters) {
+    return pgClient.withTrans(conn -> conn.execute("SET LOCAL enable_seqscan = off")
+        .compose(v -> conn.execute("EXPLAIN " + sql, parameters)))
+      .map(rowSet -> StreamSupport.stream(rowSet.spliterator(), false)
+        .map(row -> row.getString(0))
+        .collect(Collectors.joining("\n")))
+      .toCompletionStage()
+      .toCompletableFuture()
+      .get(5, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,131 @@
+package org.folio.rest.api;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.net.URL;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.persist.PropertyUpdate;
+import org.folio.persist.RequestRepository;
+import org.folio.rest.jaxrs.model.SearchIndex;
+import org.folio.rest.persist.Criteria.Criteria;
+import org.folio.rest.persist.Criteria.Criterion;
+import org.folio.rest.support.ApiTests;
+import org.folio.rest.support.builders.RequestItemSummary;
+import org.folio.rest.support.builders.RequestRequestBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+import lombok.SneakyThrows;
+
+/**
+ * Checks the single statement that applies the denormalized property changes of inventory
+ * events to the requests.
+ */
+class RequestPropertyUpdatesTest extends ApiTests {
+
+  private static final List<String> PICKUP_SERVICE_POINT_NAME =
+    List.of("searchIndex", "pickupServicePointName");
+  private static final List<String> RETRIEVAL_SERVICE_POINT_NAME =
+    List.of("item", "retrievalServicePointName");
+
+  private final String servicePointId = UUID.randomUUID().toString();
+  private final String otherServicePointId = UUID.randomUUID().toString();
+
+  @BeforeEach
+  void beforeEach() {
+    truncateTables("request");
+  }
+
+  @Test
+  void setsPropertiesOfMatchingRequests() {
+    String first = createRequest(servicePointId, "Circ Desk 1");
+    String second = createRequest(servicePointId, "Circ Desk 1");
+    String other = createRequest(otherServicePointId, "Circ Desk 1");
+
+    int updatedCount = updateProperties(servicePointId,
+      new PropertyUpdate(PICKUP_SERVICE_POINT_NAME, "Circ Desk 2"),
+      new PropertyUpdate(RETRIEVAL_SERVICE_POINT_NAME, "Circ Desk 2"));
+
+    assertThat(updatedCount, is(2));
+    for (String id : List.of(first, second)) {
+      JsonObject request = getRequest(id);
+      assertThat(pickupServicePointName(request), is("Circ Desk 2"));
+      assertThat(request.getJsonObject("item").getString("retrievalServicePointName"),
+        is("Circ Desk 2"));
+      assertThat(request.getJsonObject("item").getString("title"), is("Nod"));
+    }
+    assertThat(pickupServicePointName(getRequest(other)), is("Circ Desk 1"));
+  }
+
+  @Test
+  void removesProperty() {
+    String id = createRequest(servicePointId, "Circ Desk 1");
+
+    int updatedCount = updateProperties(servicePointId,
+      new PropertyUpdate(PICKUP_SERVICE_POINT_NAME, null));
+
+    assertThat(updatedCount, is(1));
+    assertThat(pickupServicePointName(getRequest(id)), nullValue());
+    assertThat(updateProperties(servicePointId,
+      new PropertyUpdate(PICKUP_SERVICE_POINT_NAME, null)), is(0));
+  }
+
+  @Test
+  void requestsThatAreAlreadyCurrentAreNotUpdated() {
+    String current = createRequest(servicePointId, "Circ Desk 2");
+    createRequest(servicePointId, "Circ Desk 1");
+    String updatedDate = updatedDate(getRequest(current));
+
+    int updatedCount = updateProperties(servicePointId,
+      new PropertyUpdate(PICKUP_SERVICE_POINT_NAME, "Circ Desk 2"));
+
+    assertThat(updatedCount, is(1));
+    assertThat(updatedDate(getRequest(current)), is(updatedDate));
+    assertThat(updateProperties(servicePointId,
+      new PropertyUpdate(PICKUP_SERVICE_POINT_NAME, "Circ Desk 2")), is(0));
+  }
+
+  private int updateProperties(String pickupServicePointId, PropertyUpdate... updates) {
+    Criterion criterion = new Criterion(new Criteria()
+      .addField("'pickupServicePointId'")
+      .setOperation("=")
+      .setVal(pickupServicePointId));
+
+    return waitFor(new RequestRepository(pgClient).updateProperties(criterion,
+      List.of(updates)));
+  }
+
+  @SneakyThrows
+  private String createRequest(String pickupServicePointId, String pickupServicePointName) {
+    JsonObject request = new RequestRequestBuilder()
+      .withItemId(UUID.randomUUID())
+      .withItem(new RequestItemSummary("Nod", "565578437802"))
+      .withPickupServicePointId(UUID.fromString(pickupServicePointId))
+      .withSearchIndex(new SearchIndex().withPickupServicePointName(pickupServicePointName))
+      .create();
+
+    return createEntity(request, requestStorageUrl("")).getId();
+  }
+
+  private JsonObject getRequest(String id) {
+    return getById(requestStorageUrl("/" + id));
+  }
+
+  private static String pickupServicePointName(JsonObject request) {
+    return request.getJsonObject("searchIndex").getString("pickupServicePointName");
+  }
+
+  private static String updatedDate(JsonObject request) {
+    return request.getJsonObject("metadata").getString("updatedDate");
+  }
+
+  @SneakyThrows
+  private static URL requestStorageUrl(String subPath) {
+    return StorageTestSuite.storageUrl("/request-storage/requests" + subPath);
+  }
+}
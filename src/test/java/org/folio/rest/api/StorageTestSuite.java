@@ -34,6 +34,9 @@ import org.folio.rest.support.OkapiHttpClient;
 import org.folio.rest.support.Response;
 import org.folio.rest.support.ResponseHandler;
 import org.folio.rest.tools.utils.NetworkUtils;
+import org.folio.service.CirculationRulesCache;
+import org.folio.service.CirculationSettingsCache;
+import org.folio.service.ReferenceDataCache;
 import org.folio.support.MockServer;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -76,6 +79,9 @@ import lombok.SneakyThrows;
   StaffSlipsHoldTransitMigrationScriptTest.class,
   CirculationSettingsMigrationScriptTest.class,
   RequestUpdateTriggerTest.class,
+  RequestExpirationIndexesTest.class,
+  DomainEventRetryRepositoryTest.class,
+  RequestPropertyUpdatesTest.class,
   JsonPropertyWriterTest.class,
   IsbnNormalizationTest.class,
   TlrFeatureToggleJobAPITest.class,
@@ -83,7 +89,8 @@ import lombok.SneakyThrows;
   EventConsumerVerticleTest.class,
   CheckOutLockAPITest.class,
   CirculationSettingsAPITest.class,
-  PrintEventsAPITest.class
+  PrintEventsAPITest.class,
+  CirculationStorageExportApiTest.class
 })
 public class StorageTestSuite {
 
@@ -247,6 +254,9 @@ public class StorageTestSuite {
     PostgresClient.getInstance(getVertx(), TENANT_ID)
       .delete(tableName, new Criterion(), updateResult -> {
         if (updateResult.succeeded()) {
+          CirculationSettingsCache.getInstance().invalidateAll();
+          CirculationRulesCache.getInstance().invalidateAll();
+          ReferenceDataCache.invalidateAllTables(TENANT_ID);
           removeCompleted.complete(null);
         } else {
           removeCompleted.completeExceptionally(updateResult.cause());
@@ -114,6 +114,7 @@ class TenantRefApiTests {
   private static final String REQUEST_ID_MISSING_PICKUP_SERVICE_POINT_NAME =
     "87a7dfd9-8fdb-4b0d-9529-14912b484860";
   private static final String OTHER_CANCELLATION_REASON_ID = "b548b182-55c2-4741-b169-616d9cd995a8";
+  private static final int MIGRATION_BATCH_SIZE = 80;
 
   private static StubMapping itemStorageStub;
   private static StubMapping holdingsStorageStub;
@@ -162,6 +163,7 @@ class TenantRefApiTests {
   @BeforeEach
   void beforeEach(VertxTestContext context) throws Exception {
     waitFor(postgresClient.execute("TRUNCATE rmb_internal"));
+    waitFor(postgresClient.execute("TRUNCATE migration_checkpoint"));
     loadRequests()
       .compose(r -> getAllRequestsAsJson())
       .onComplete(context.succeeding(requests -> {
@@ -331,7 +333,9 @@ class TenantRefApiTests {
   }
 
   @Test
-  void changesMadeForAllBatchesAreRevertedInCaseOfError(VertxTestContext context) {
+  void changesMadeForFailedBatchAreRevertedAndMigrationResumesAfterLastMigratedBatch(
+    VertxTestContext context) {
+
     wireMock.removeStub(itemStorageStub);
 
     // first batch - return valid response
@@ -349,10 +353,21 @@ class TenantRefApiTests {
       .willReturn(serverError()));
 
     postTenant(TLR_MIGRATION_PREV_MODULE_VERSION, TLR_MIGRATION_MODULE_VERSION)
-      .onComplete(context.succeeding(job -> {
+      .compose(job -> {
         context.verify(() -> assertThat(job.getError().isEmpty(), is(false)));
-        assertThatNoRequestsWereUpdatedByMigration(context, "requestLevel");
-        context.completeNow();
+        return selectRead("SELECT COUNT(*) FROM " + REQUEST_TABLE +
+          " WHERE jsonb->>'requestLevel' IS NOT null");
+      })
+      .compose(rowSet -> {
+        // the first batch has been committed, the second one has been rolled back
+        context.verify(() -> assertThat(getCount(rowSet), is(MIGRATION_BATCH_SIZE)));
+        mockEndpoints();
+        return postTenant(TLR_MIGRATION_PREV_MODULE_VERSION, TLR_MIGRATION_MODULE_VERSION);
+      })
+      .onComplete(context.succeeding(job -> {
+        // requests of the first batch would fail the validation if they were migrated again
+        context.verify(() -> assertThat(job.getError(), is(nullValue())));
+        validateTlrMigrationResult(context);
       }));
   }
 
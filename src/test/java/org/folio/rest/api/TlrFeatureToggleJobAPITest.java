@@ -230,7 +230,7 @@ class TlrFeatureToggleJobAPITest extends ApiTests {
     circulationSettingsHelper.changeTlrSettings(false);
     UUID firstItemId = UUID.randomUUID();
     createTitleLevelRequestsQueue(firstItemId, null);
-    checkFailedTlrFeatureToggleJob("element cannot be mapped to a null key");
+    checkFailedTlrFeatureToggleJob("has no itemId");
   }
 
   private void checkPosition(JsonObject jsonObject, List<JsonObject> queue,
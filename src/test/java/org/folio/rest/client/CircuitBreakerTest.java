@@ -0,0 +1,106 @@
+package org.folio.rest.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.folio.rest.client.CircuitBreaker.State;
+import org.folio.support.exception.CircuitBreakerOpenException;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+class CircuitBreakerTest {
+  private final AtomicLong nanoTime = new AtomicLong();
+  private final AtomicInteger calls = new AtomicInteger();
+  private final CircuitBreaker breaker = new CircuitBreaker("test_tenant", "/test", 3,
+    Duration.ofSeconds(10), nanoTime::get);
+
+  @Test
+  void opensAfterConsecutiveFailures() {
+    fail(2);
+    assertThat(breaker.state(), is(State.CLOSED));
+
+    fail(1);
+    assertThat(breaker.state(), is(State.OPEN));
+
+    Future<Integer> rejected = breaker.execute(this::succeed, r -> false);
+    assertThat(rejected.cause(), is(instanceOf(CircuitBreakerOpenException.class)));
+    assertThat(calls.get(), is(3));
+  }
+
+  @Test
+  void successResetsFailureCount() {
+    fail(2);
+    breaker.execute(this::succeed, r -> false);
+    fail(2);
+
+    assertThat(breaker.state(), is(State.CLOSED));
+  }
+
+  @Test
+  void matchingResultCountsAsFailure() {
+    for (int i = 0; i < 3; i++) {
+      breaker.execute(() -> Future.succeededFuture(500), status -> status >= 500);
+    }
+
+    assertThat(breaker.state(), is(State.OPEN));
+  }
+
+  @Test
+  void halfOpenLetsSingleTrialThroughAndClosesOnSuccess() {
+    fail(3);
+    nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    Promise<Integer> trial = Promise.promise();
+    breaker.execute(trial::future, r -> false);
+    assertThat(breaker.state(), is(State.HALF_OPEN));
+
+    Future<Integer> concurrent = breaker.execute(this::succeed, r -> false);
+    assertThat(concurrent.cause(), is(instanceOf(CircuitBreakerOpenException.class)));
+
+    trial.complete(200);
+    assertThat(breaker.state(), is(State.CLOSED));
+  }
+
+  @Test
+  void failedTrialOpensAgain() {
+    fail(3);
+    nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    fail(1);
+    assertThat(breaker.state(), is(State.OPEN));
+
+    nanoTime.addAndGet(Duration.ofSeconds(5).toNanos());
+    Future<Integer> rejected = breaker.execute(this::succeed, r -> false);
+    assertThat(rejected.failed(), is(true));
+  }
+
+  @Test
+  void breakersAreSeparatePerTenant() {
+    CircuitBreaker breaker = CircuitBreaker.forEndpoint("breaker_tenant_a", "/breaker-test");
+
+    assertThat(CircuitBreaker.forEndpoint("breaker_tenant_a", "/breaker-test"), is(breaker));
+    assertThat(CircuitBreaker.forEndpoint("breaker_tenant_b", "/breaker-test"), is(not(breaker)));
+  }
+
+  private void fail(int times) {
+    for (int i = 0; i < times; i++) {
+      breaker.execute(() -> {
+        calls.incrementAndGet();
+        return Future.failedFuture(new RuntimeException("failure"));
+      }, r -> false);
+    }
+  }
+
+  private Future<Integer> succeed() {
+    calls.incrementAndGet();
+    return Future.succeededFuture(200);
+  }
+}
@@ -0,0 +1,148 @@
+package org.folio.rest.client;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.folio.rest.client.InventoryStorageClient.CacheKey;
+import org.folio.rest.jaxrs.model.Location;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+class InventoryCacheTest {
+
+  private static final String TENANT = "cache_tenant";
+
+  private final Vertx vertx = Vertx.vertx();
+  private final Context context = vertx.getOrCreateContext();
+  private final AtomicLong nanos = new AtomicLong();
+  private final InventoryCache<Location> cache = new InventoryCache<>("location",
+    Location::getId, 2, Duration.ofHours(1), Duration.ofMinutes(15), nanos::get);
+  private final List<Collection<String>> fetchedIds = new ArrayList<>();
+  private final List<Promise<Collection<Location>>> fetches = new ArrayList<>();
+
+  private final Function<Collection<String>, Future<Collection<Location>>> fetcher = ids -> {
+    fetchedIds.add(ids);
+    Promise<Collection<Location>> fetch = Promise.promise();
+    fetches.add(fetch);
+    return fetch.future();
+  };
+
+  @AfterEach
+  void tearDown() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void concurrentMissesForSameRecordAreFetchedOnce() throws Exception {
+    Future<Collection<Location>> first = cache.getAll(context, TENANT, List.of("loc1"), fetcher);
+    Future<Collection<Location>> second = cache.getAll(context, TENANT, List.of("loc1"), fetcher);
+
+    assertEquals(1, fetches.size());
+
+    fetches.get(0).complete(List.of(location("loc1")));
+
+    assertEquals("loc1", await(first).iterator().next().getId());
+    assertEquals("loc1", await(second).iterator().next().getId());
+  }
+
+  @Test
+  void resultCompletesOnTheContextOfTheCall() throws Exception {
+    Promise<Context> completedOn = Promise.promise();
+    cache.getAll(context, TENANT, List.of("loc1"), fetcher)
+      .onComplete(ar -> completedOn.complete(Vertx.currentContext()));
+
+    fetches.get(0).complete(List.of(location("loc1")));
+
+    assertSame(context, await(completedOn.future()));
+  }
+
+  @Test
+  void onlyMissingRecordsAreFetched() throws Exception {
+    cache.put(new CacheKey(TENANT, "loc1"), location("loc1"));
+
+    Future<Collection<Location>> result = cache.getAll(context, TENANT, List.of("loc1", "loc2"),
+      fetcher);
+    fetches.get(0).complete(List.of(location("loc2")));
+
+    assertEquals(List.of(List.of("loc2")), fetchedIds);
+    assertEquals(2, await(result).size());
+  }
+
+  @Test
+  void recordsThatDoNotExistAreLeftOut() throws Exception {
+    Future<Collection<Location>> result = cache.getAll(context, TENANT,
+      List.of("loc1", "missing"), fetcher);
+    fetches.get(0).complete(List.of(location("loc1")));
+
+    assertEquals(1, await(result).size());
+    assertEquals(Set.of("loc1", "missing"), Set.copyOf(fetchedIds.get(0)));
+  }
+
+  @Test
+  void staleRecordIsRefreshedWithTheFetcherOfTheCall() throws Exception {
+    cache.put(new CacheKey(TENANT, "loc1"), location("loc1").withName("old"));
+    nanos.addAndGet(Duration.ofMinutes(15).toNanos());
+    List<Collection<String>> refreshedIds = new ArrayList<>();
+
+    Collection<Location> stale = await(cache.getAll(context, TENANT, List.of("loc1"), ids -> {
+      refreshedIds.add(ids);
+      return succeededFuture(List.of(location("loc1").withName("new")));
+    }));
+
+    assertEquals("old", stale.iterator().next().getName());
+    assertEquals(List.of(List.of("loc1")), refreshedIds);
+    assertTrue(fetchedIds.isEmpty());
+    assertEquals("new", cache.getIfPresent(new CacheKey(TENANT, "loc1")).getName());
+  }
+
+  @Test
+  void sizeIsLimitedPerTenant() {
+    for (int i = 0; i < 5; i++) {
+      cache.put(new CacheKey("tenant_a", "loc" + i), location("loc" + i));
+    }
+    cache.put(new CacheKey("tenant_b", "loc1"), location("loc1"));
+    cache.cleanUp();
+
+    assertEquals(3, cache.estimatedSize());
+    assertTrue(cache.getIfPresent(new CacheKey("tenant_b", "loc1")) != null);
+  }
+
+  @Test
+  void failedFetchIsNotCached() throws Exception {
+    Future<Collection<Location>> failed = cache.getAll(context, TENANT, List.of("loc1"), fetcher);
+    fetches.get(0).fail("inventory unavailable");
+
+    assertThrows(ExecutionException.class, () -> await(failed));
+
+    await(cache.getAll(context, TENANT, List.of("loc1"),
+      ids -> succeededFuture(List.of(location("loc1")))));
+
+    assertEquals("loc1", cache.getIfPresent(new CacheKey(TENANT, "loc1")).getId());
+  }
+
+  private static <T> T await(Future<T> future) throws Exception {
+    return future.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+  }
+
+  private static Location location(String id) {
+    return new Location().withId(id);
+  }
+}
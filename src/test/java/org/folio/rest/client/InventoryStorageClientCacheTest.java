@@ -11,8 +11,6 @@ import org.folio.rest.jaxrs.model.Servicepoint;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import com.github.benmanes.caffeine.cache.Cache;
-
 class InventoryStorageClientCacheTest {
 
   private static final String TENANT = "test_tenant";
@@ -61,7 +59,7 @@ class InventoryStorageClientCacheTest {
 
   @Test
   void testInvalidateAllLocations() {
-    Cache<InventoryStorageClient.CacheKey, Location> cache = InventoryStorageClient.locationCache();
+    InventoryCache<Location> cache = InventoryStorageClient.locationCache();
     for (int i = 0; i < 5; i++) {
       cache.put(new InventoryStorageClient.CacheKey(TENANT, "location-" + i), new Location().withId("location-" + i));
     }
@@ -74,7 +72,7 @@ class InventoryStorageClientCacheTest {
 
   @Test
   void testInvalidateAllServicePoints() {
-    Cache<InventoryStorageClient.CacheKey, Servicepoint> cache = InventoryStorageClient.servicePointCache();
+    InventoryCache<Servicepoint> cache = InventoryStorageClient.servicePointCache();
     for (int i = 0; i < 5; i++) {
       cache.put(new InventoryStorageClient.CacheKey(TENANT, "sp-" + i), new Servicepoint().withId("sp-" + i));
     }
@@ -109,7 +107,7 @@ class InventoryStorageClientCacheTest {
 
   @Test
   void testCacheMaxSize() {
-    Cache<InventoryStorageClient.CacheKey, Location> cache = InventoryStorageClient.locationCache();
+    InventoryCache<Location> cache = InventoryStorageClient.locationCache();
     cache.invalidateAll();
     cache.cleanUp();
 
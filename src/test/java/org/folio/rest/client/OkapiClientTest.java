@@ -4,13 +4,18 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.folio.util.StringUtil.urlEncode;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import java.net.MalformedURLException;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
@@ -39,4 +44,38 @@ class OkapiClientTest {
       }));
   }
 
+  @Test
+  void idsArePartitionedByUrlLength() {
+    List<String> ids = IntStream.range(0, 500)
+      .mapToObj(i -> UUID.randomUUID().toString())
+      .toList();
+
+    List<List<String>> batches = OkapiClient.partitionByUrlLength("/item-storage/items", ids);
+
+    assertThat(batches.stream().mapToInt(List::size).sum(), is(500));
+    assertThat(batches.stream().flatMap(List::stream).toList(), is(ids));
+    batches.forEach(batch -> assertThat(("/item-storage/items?query=" +
+        urlEncode("id==(" + String.join(" or ", batch) + ")") + "&limit=" + batch.size()).length(),
+      lessThanOrEqualTo(4000)));
+  }
+
+  @Test
+  void collectionIsDecodedFromResponseBody() throws Exception {
+    Buffer body = Buffer.buffer("{\"totalRecords\": 2, \"resultInfo\": {\"facets\": []}, " +
+      "\"locations\": [{\"id\": \"1\", \"name\": \"A\"}, {\"id\": \"2\"}]}");
+
+    List<Map> locations = OkapiClient.readCollection(body, "locations", Map.class);
+
+    assertThat(locations.size(), is(2));
+    assertThat(locations.get(0).get("name"), is("A"));
+    assertThat(locations.get(1).get("id"), is("2"));
+  }
+
+  @Test
+  void endpointIsPathWithoutQuery() {
+    assertThat(OkapiClient.endpointOf("/service-points?query=id%3D%3D1&limit=1"),
+      is("/service-points"));
+    assertThat(OkapiClient.endpointOf("/locations"), is("/locations"));
+  }
+
 }
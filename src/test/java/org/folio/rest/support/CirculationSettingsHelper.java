@@ -9,6 +9,7 @@ import org.folio.rest.jaxrs.model.Value;
 import org.folio.rest.persist.Criteria.Criteria;
 import org.folio.rest.persist.Criteria.Criterion;
 import org.folio.rest.persist.PostgresClient;
+import org.folio.service.CirculationSettingsCache;
 
 import io.vertx.core.Future;
 import lombok.RequiredArgsConstructor;
@@ -44,8 +45,8 @@ public class CirculationSettingsHelper {
       pgClient.get(CIRCULATION_SETTINGS_TABLE, CirculationSetting.class, GENERAL_TLR_SETTING_CRITERION)
         .compose(settings -> settings.getResults().isEmpty()
           ? createTlrSettings(newValue)
-          : updateTlrSettings(settings.getResults().getFirst().withValue(newValue))
-    ));
+          : updateTlrSettings(settings.getResults().getFirst().withValue(newValue)))
+        .onComplete(r -> CirculationSettingsCache.getInstance().invalidateAll()));
   }
 
   private Future<Void> createTlrSettings(Value newSettingValue) {
@@ -64,7 +65,8 @@ public class CirculationSettingsHelper {
   }
 
   public void removeTlrSettings() {
-    waitFor(pgClient.delete(CIRCULATION_SETTINGS_TABLE, GENERAL_TLR_SETTING_CRITERION));
+    waitFor(pgClient.delete(CIRCULATION_SETTINGS_TABLE, GENERAL_TLR_SETTING_CRITERION)
+      .onComplete(r -> CirculationSettingsCache.getInstance().invalidateAll()));
   }
 
 }
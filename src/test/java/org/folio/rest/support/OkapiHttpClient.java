@@ -3,6 +3,7 @@ package org.folio.rest.support;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Map;
 import java.util.UUID;
 
 import org.apache.logging.log4j.LogManager;
@@ -140,9 +141,18 @@ public class OkapiHttpClient {
     String tenantId,
     Handler<AsyncResult<HttpResponse<Buffer>>> responseHandler) {
 
+    get(url, tenantId, Map.of(), responseHandler);
+  }
+
+  public void get(String url,
+    String tenantId,
+    Map<String, String> headers,
+    Handler<AsyncResult<HttpResponse<Buffer>>> responseHandler) {
+
     HttpRequest<Buffer> request = client.requestAbs(HttpMethod.GET, url);
 
     request.headers().add("Accept", "application/json");
+    headers.forEach(request.headers()::add);
 
     stdHeaders(request, null, tenantId, defaultUserId);
     request.send().onComplete(responseHandler);
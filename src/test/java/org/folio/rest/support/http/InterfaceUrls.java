@@ -51,6 +51,10 @@ public class InterfaceUrls {
     return storageUrl("/print-events-storage" + subPath);
   }
 
+  public static URL exportUrl(String subPath) throws MalformedURLException {
+    return storageUrl("/circulation-storage-export" + subPath);
+  }
+
   public static URL circulationSettingsUrl(String subPath) throws MalformedURLException {
     return storageUrl("/circulation-settings-storage/circulation-settings" + subPath);
   }
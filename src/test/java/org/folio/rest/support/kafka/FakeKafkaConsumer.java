@@ -28,6 +28,7 @@ public final class FakeKafkaConsumer {
   private static final String CHECKIN_TOPIC_NAME = "folio.test_tenant.circulation.check-in";
   private static final String CIRCULATION_RULES_TOPIC_NAME = "folio.test_tenant.circulation.rules";
   private static final String REQUEST_QUEUE_REORDERING_TOPIC_NAME = "folio.test_tenant.circulation.request-queue-reordering";
+  private static final String CIRCULATION_SETTINGS_TOPIC_NAME = "folio.test_tenant.circulation.circulation-settings";
 
   private static final Map<String, List<KafkaConsumerRecord<String, JsonObject>>> loanEvents =
       new ConcurrentHashMap<>();
@@ -39,19 +40,23 @@ public final class FakeKafkaConsumer {
     new ConcurrentHashMap<>();
   private static final Map<String, List<KafkaConsumerRecord<String, JsonObject>>> requestQueueReorderingEvents =
     new ConcurrentHashMap<>();
+  private static final Map<String, List<KafkaConsumerRecord<String, JsonObject>>> circulationSettingsEvents =
+    new ConcurrentHashMap<>();
   private static final Map<String, Map<String, List<KafkaConsumerRecord<String, JsonObject>>>> topicToEvents = Map.of(
     LOAN_TOPIC_NAME, loanEvents,
     REQUEST_TOPIC_NAME, requestEvents,
     CHECKIN_TOPIC_NAME, checkInEvents,
     CIRCULATION_RULES_TOPIC_NAME, circulationRulesEvents,
-    REQUEST_QUEUE_REORDERING_TOPIC_NAME, requestQueueReorderingEvents
+    REQUEST_QUEUE_REORDERING_TOPIC_NAME, requestQueueReorderingEvents,
+    CIRCULATION_SETTINGS_TOPIC_NAME, circulationSettingsEvents
   );
 
   public FakeKafkaConsumer consume(Vertx vertx) {
     final KafkaConsumer<String, JsonObject> consumer = create(vertx, consumerProperties());
 
     consumer.subscribe(Set.of(LOAN_TOPIC_NAME, REQUEST_TOPIC_NAME, CHECKIN_TOPIC_NAME,
-      CIRCULATION_RULES_TOPIC_NAME, REQUEST_QUEUE_REORDERING_TOPIC_NAME));
+      CIRCULATION_RULES_TOPIC_NAME, REQUEST_QUEUE_REORDERING_TOPIC_NAME,
+      CIRCULATION_SETTINGS_TOPIC_NAME));
 
     consumer.handler(message -> {
       var recordEvents = topicToEvents.get(message.topic());
@@ -73,6 +78,7 @@ public final class FakeKafkaConsumer {
     checkInEvents.clear();
     circulationRulesEvents.clear();
     requestQueueReorderingEvents.clear();
+    circulationSettingsEvents.clear();
   }
 
   public static int getAllPublishedLoanCount() {
@@ -91,6 +97,12 @@ public final class FakeKafkaConsumer {
     return checkInEvents.getOrDefault(checkInId, emptyList());
   }
 
+  public static Collection<KafkaConsumerRecord<String, JsonObject> > getCirculationSettingsEvents(
+    String settingId) {
+
+    return circulationSettingsEvents.getOrDefault(settingId, emptyList());
+  }
+
   public static Collection<KafkaConsumerRecord<String, JsonObject>> getCirculationRulesEvents() {
     return circulationRulesEvents.values()
       .stream()
@@ -137,6 +149,12 @@ public final class FakeKafkaConsumer {
     return getFirstEvent(getCheckInEvents(checkInId));
   }
 
+  public static KafkaConsumerRecord<String, JsonObject> getLastCirculationSettingsEvent(
+    String settingId) {
+
+    return getLastEvent(getCirculationSettingsEvents(settingId));
+  }
+
   public static KafkaConsumerRecord<String, JsonObject> getFirstRequestQueueReorderingEvent() {
     return getFirstEvent(getRequestQueueReorderingEvents());
   }
@@ -0,0 +1,60 @@
+package org.folio.service;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.folio.rest.jaxrs.model.CirculationRules;
+import org.folio.service.CirculationRulesCache.VersionedCirculationRules;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+
+class CirculationRulesCacheTest {
+
+  private static final String TENANT = "rules_tenant";
+
+  private final CirculationRulesCache cache = new CirculationRulesCache(Duration.ofMinutes(5),
+    Ticker.systemTicker());
+  private final AtomicInteger loads = new AtomicInteger();
+  private CirculationRules storedRules = rules("priority: t, s, c, b, a, m, g");
+
+  @Test
+  void rulesAreLoadedOnceUntilInvalidated() {
+    String etag = get().etag();
+    assertEquals(etag, get().etag());
+    assertEquals(1, loads.get());
+
+    storedRules = rules("priority: t, a, b, c, s, m, g");
+    cache.invalidate(TENANT);
+
+    assertNotEquals(etag, get().etag());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void sameRulesHaveSameEtag() {
+    VersionedCirculationRules first = VersionedCirculationRules.of(storedRules);
+    VersionedCirculationRules second = VersionedCirculationRules.of(
+      rules(storedRules.getRulesAsText()));
+
+    assertEquals(first.etag(), second.etag());
+  }
+
+  private VersionedCirculationRules get() {
+    return cache.get(TENANT, () -> {
+      loads.incrementAndGet();
+      return succeededFuture(storedRules);
+    }).result();
+  }
+
+  private static CirculationRules rules(String rulesAsText) {
+    return new CirculationRules()
+      .withId("2d7589ab-a889-bb8e-e15a-1a65fe86cb22")
+      .withRulesAsText(rulesAsText);
+  }
+
+}
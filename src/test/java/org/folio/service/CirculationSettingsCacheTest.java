@@ -0,0 +1,105 @@
+package org.folio.service;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.folio.rest.jaxrs.model.CirculationSetting;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+class CirculationSettingsCacheTest {
+
+  private static final String TENANT = "settings_tenant";
+  private static final String OTHER_TENANT = "other_settings_tenant";
+
+  private final AtomicLong nanoTime = new AtomicLong();
+  private final CirculationSettingsCache cache = new CirculationSettingsCache(
+    Duration.ofMinutes(5), nanoTime::get);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private final Supplier<Future<List<CirculationSetting>>> loader = () -> {
+    loads.incrementAndGet();
+    return succeededFuture(List.of(new CirculationSetting().withName("generalTlr")));
+  };
+
+  @Test
+  void settingsAreLoadedOnce() {
+    cache.getByName(TENANT, "generalTlr", loader);
+    Future<List<CirculationSetting>> cached = cache.getByName(TENANT, "generalTlr", loader);
+
+    assertEquals(1, loads.get());
+    assertEquals("generalTlr", cached.result().get(0).getName());
+  }
+
+  @Test
+  void concurrentReadsShareOneLoad() {
+    Promise<List<CirculationSetting>> load = Promise.promise();
+    Supplier<Future<List<CirculationSetting>>> pendingLoader = () -> {
+      loads.incrementAndGet();
+      return load.future();
+    };
+
+    Future<List<CirculationSetting>> first = cache.getByName(TENANT, "TLR", pendingLoader);
+    Future<List<CirculationSetting>> second = cache.getByName(TENANT, "TLR", pendingLoader);
+    load.complete(List.of());
+
+    assertEquals(1, loads.get());
+    assertTrue(first.succeeded());
+    assertTrue(second.succeeded());
+  }
+
+  @Test
+  void invalidateDropsSettingsOfTenantOnly() {
+    cache.getByName(TENANT, "generalTlr", loader);
+    cache.getByName(OTHER_TENANT, "generalTlr", loader);
+
+    cache.invalidate(TENANT);
+    cache.getByName(TENANT, "generalTlr", loader);
+    cache.getByName(OTHER_TENANT, "generalTlr", loader);
+
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  void settingsLoadedBeforeInvalidationAreNotCached() {
+    Promise<List<CirculationSetting>> load = Promise.promise();
+    cache.getByName(TENANT, "generalTlr", () -> load.future());
+
+    cache.invalidate(TENANT);
+    load.complete(List.of());
+    cache.getByName(TENANT, "generalTlr", loader);
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void failedLoadIsNotCached() {
+    Future<List<CirculationSetting>> failed = cache.getByName(TENANT, "generalTlr",
+      () -> failedFuture("connection refused"));
+    cache.getByName(TENANT, "generalTlr", loader);
+
+    assertTrue(failed.failed());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void settingsExpireAfterTimeToLive() {
+    cache.getByName(TENANT, "generalTlr", loader);
+
+    nanoTime.addAndGet(Duration.ofMinutes(5).toNanos());
+    cache.getByName(TENANT, "generalTlr", loader);
+
+    assertEquals(2, loads.get());
+  }
+
+}
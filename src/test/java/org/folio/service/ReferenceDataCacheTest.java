@@ -0,0 +1,152 @@
+package org.folio.service;
+
+import static io.vertx.core.Future.succeededFuture;
+import static javax.ws.rs.core.HttpHeaders.ETAG;
+import static org.folio.service.ReferenceDataCache.collectionKey;
+import static org.folio.service.ReferenceDataCache.itemKey;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.Response;
+
+import org.folio.rest.jaxrs.model.CancellationReason;
+import org.folio.service.event.DomainEvent;
+import org.folio.service.event.EventPublisher;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+class ReferenceDataCacheTest {
+
+  private static final String TENANT = "reference_data_tenant";
+  private static final String OTHER_TENANT = "other_reference_data_tenant";
+  private static final Map<String, String> HEADERS = Map.of("x-okapi-tenant", TENANT);
+  private static final Map<String, String> OTHER_HEADERS = Map.of("x-okapi-tenant", OTHER_TENANT);
+  private static final String ID = "75187e8d-e25a-47a7-89ad-23ba612338de";
+
+  private final AtomicLong nanoTime = new AtomicLong();
+  private final List<DomainEvent<Map<String, String>>> publishedEvents = new ArrayList<>();
+  private final EventPublisher<String, Map<String, String>> eventPublisher =
+    (key, event, okapiHeaders) -> {
+      publishedEvents.add(event);
+      return succeededFuture();
+    };
+  private final ReferenceDataCache cache = new ReferenceDataCache("cancellation_reason", 10,
+    Duration.ofMinutes(1), nanoTime::get, (context, okapiHeaders) -> eventPublisher);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private final Supplier<Future<Response>> loader = () -> {
+    loads.incrementAndGet();
+    return succeededFuture(Response.ok(new CancellationReason().withId(ID).withName("Patron"))
+      .build());
+  };
+
+  @Test
+  void responseIsLoadedOncePerRequest() {
+    Response loaded = cache.get(HEADERS, itemKey(ID), null, loader).result();
+    Response cached = cache.get(HEADERS, itemKey(ID), null, loader).result();
+    cache.get(HEADERS, collectionKey("cql.allRecords=1", 0, 10), null, loader);
+
+    assertEquals(2, loads.get());
+    assertEquals(200, cached.getStatus());
+    assertEquals(loaded.getHeaderString(ETAG), cached.getHeaderString(ETAG));
+    assertEquals(loaded.getEntity(), cached.getEntity());
+  }
+
+  @Test
+  void matchingTagRespondsNotModified() {
+    String etag = cache.get(HEADERS, itemKey(ID), null, loader).result().getHeaderString(ETAG);
+
+    Response notModified = cache.get(HEADERS, itemKey(ID), etag, loader).result();
+
+    assertNotNull(etag);
+    assertEquals(304, notModified.getStatus());
+    assertNull(notModified.getEntity());
+  }
+
+  @Test
+  void notFoundIsNotCached() {
+    cache.get(HEADERS, itemKey(ID), null, () -> succeededFuture(Response.status(404)
+      .entity("Not found").build()));
+    cache.get(HEADERS, itemKey(ID), null, loader);
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void writeDropsResponsesOfTenantOnly() {
+    cache.get(HEADERS, itemKey(ID), null, loader);
+    cache.get(OTHER_HEADERS, itemKey(ID), null, loader);
+
+    cache.invalidating(null, HEADERS, result -> {}).handle(succeededFuture());
+    cache.get(HEADERS, itemKey(ID), null, loader);
+    cache.get(OTHER_HEADERS, itemKey(ID), null, loader);
+
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  void writePublishesInvalidationForOtherNodes() {
+    cache.invalidating(null, HEADERS, result -> {}).handle(succeededFuture());
+
+    assertEquals(1, publishedEvents.size());
+    assertEquals(TENANT, publishedEvents.get(0).getTenant());
+    assertEquals(Map.of("table", "cancellation_reason"), publishedEvents.get(0).getData());
+  }
+
+  @Test
+  void consumedInvalidationDropsResponsesOfTenant() {
+    var registered = ReferenceDataCache.forTable("reference_data_test_table");
+    registered.get(HEADERS, itemKey(ID), null, loader);
+
+    ReferenceDataCache.allTables().invalidate(TENANT);
+    registered.get(HEADERS, itemKey(ID), null, loader);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void responseLoadedDuringWriteIsNotCached() {
+    Promise<Response> load = Promise.promise();
+    cache.get(HEADERS, itemKey(ID), null, load::future);
+
+    cache.invalidate(TENANT);
+    load.complete(Response.ok(new CancellationReason().withId(ID)).build());
+    cache.get(HEADERS, itemKey(ID), null, loader);
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void responseExpiresAfterTimeToLive() {
+    cache.get(HEADERS, itemKey(ID), null, loader);
+
+    nanoTime.addAndGet(Duration.ofMinutes(1).toNanos());
+    cache.get(HEADERS, itemKey(ID), null, loader);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void disabledCacheStillTagsResponses() {
+    var disabled = new ReferenceDataCache("cancellation_reason", 0, Duration.ofMinutes(1),
+      nanoTime::get, (context, okapiHeaders) -> eventPublisher);
+
+    String etag = disabled.get(HEADERS, itemKey(ID), null, loader).result().getHeaderString(ETAG);
+    Response notModified = disabled.get(HEADERS, itemKey(ID), etag, loader).result();
+
+    assertEquals(2, loads.get());
+    assertEquals(304, notModified.getStatus());
+  }
+
+}
@@ -3,12 +3,14 @@ package org.folio.service;
 import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.Function;
@@ -32,6 +34,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
 import org.junit.jupiter.api.Assertions;
 
 @ExtendWith({VertxExtension.class})
@@ -39,8 +42,6 @@ public class RequestExpirationServiceTest {
 
   private static final String TENANT_ID = "test_tenant";
 
-  private RequestExpirationService service;
-
   @Mock private Conn conn;
   @Mock private PostgresClient postgresClient;
   @Mock private EventPublisherService eventPublisherService;
@@ -49,58 +50,122 @@ public class RequestExpirationServiceTest {
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
-    service = new RequestExpirationService("itemId", Request::getItemId,
-      postgresClient, eventPublisherService, eventPublisher);
+    when(postgresClient.getTenantId()).thenReturn(TENANT_ID);
+    when(postgresClient.withTrans(any())).then(this::withTransHandler);
+    when(conn.execute(argThat(sql -> !isCloseStatement(sql)), any(Tuple.class)))
+      .thenReturn(succeededFuture(new LocalRowSet(0)));
+    when(eventPublisherService.publishLogRecord(any(), any())).thenReturn(succeededFuture());
+    when(eventPublisher.publishUpdated(eq(conn), any(), any(), any()))
+      .thenReturn(succeededFuture());
   }
 
   @Test
-  void shouldDoRequestExpirationWithoutErrorIfEventFailedToSent(VertxTestContext context) {
-    var id1 = UUID.randomUUID().toString();
-    var id2 = UUID.randomUUID().toString();
-    var id3 = UUID.randomUUID().toString();
-    when(postgresClient.getTenantId()).thenReturn(TENANT_ID);
-    when(postgresClient.withTrans(any())).then(this::withTransHandler);
+  void shouldCloseExpiredRequestsAndPublishEventsInTransaction(VertxTestContext context) {
+    var service = service(10, 60_000);
+    when(conn.execute(argThat(RequestExpirationServiceTest::isCloseStatement), any(Tuple.class)))
+      .thenReturn(succeededFuture(expiredRequests(3)));
 
-    var expiredRequestsRowSet = new LocalRowSet(3).withRows(List.of(
-        getRequestRowSetMock(id1), getRequestRowSetMock(id2), getRequestRowSetMock(id3)));
-    when(conn.execute(anyString())).thenReturn(succeededFuture(expiredRequestsRowSet));
-    when(conn.update(anyString(), any(), any())).thenReturn(succeededFuture(new LocalRowSet(0)));
-    when(eventPublisherService.publishLogRecord(any(), any())).thenReturn(succeededFuture());
-    when(eventPublisher.publishUpdated(eq(id1), any(), any())).thenReturn(succeededFuture());
-    when(eventPublisher.publishUpdated(eq(id2), any(), any())).thenReturn(
-      failedFuture(new NoStackTraceThrowable("Event publishing failed: " + id2)));
-    when(eventPublisher.publishUpdated(eq(id3), any(), any())).thenReturn(succeededFuture());
+    service.doRequestExpiration().onComplete(ar -> {
+      context.verify(() -> {
+        Assertions.assertTrue(ar.succeeded());
+        verify(eventPublisher, times(3)).publishUpdated(eq(conn), any(), any(), any());
+        verify(eventPublisher).committed();
+        verify(eventPublisherService, times(3)).publishLogRecord(any(), any());
+      });
+      context.completeNow();
+    });
+  }
+
+  @Test
+  void shouldExpireInChunksUntilNoExpiredRequestsAreLeft(VertxTestContext context) {
+    var service = service(2, 60_000);
+    when(conn.execute(argThat(RequestExpirationServiceTest::isCloseStatement), any(Tuple.class)))
+      .thenReturn(succeededFuture(expiredRequests(2)))
+      .thenReturn(succeededFuture(expiredRequests(2)))
+      .thenReturn(succeededFuture(expiredRequests(1)));
 
     service.doRequestExpiration().onComplete(ar -> {
       context.verify(() -> {
-        Assertions.assertNull(ar.result());
-        verify(eventPublisher, times(3)).publishUpdated(any(), any(), any());
+        Assertions.assertTrue(ar.succeeded());
+        verify(postgresClient, times(3)).withTrans(any());
+        verify(eventPublisher, times(5)).publishUpdated(eq(conn), any(), any(), any());
+        verify(eventPublisher, times(3)).committed();
       });
       context.completeNow();
     });
   }
 
+  @Test
+  void shouldStopWhenTimeBudgetIsUsedUp(VertxTestContext context) {
+    var service = service(2, 0);
+    when(conn.execute(argThat(RequestExpirationServiceTest::isCloseStatement), any(Tuple.class)))
+      .thenReturn(succeededFuture(expiredRequests(2)));
+
+    service.doRequestExpiration().onComplete(ar -> {
+      context.verify(() -> {
+        Assertions.assertTrue(ar.succeeded());
+        verify(postgresClient, times(1)).withTrans(any());
+      });
+      context.completeNow();
+    });
+  }
+
+  @Test
+  void shouldNotNotifyAboutEventsWhenTheyCannotBeStored(VertxTestContext context) {
+    var service = service(10, 60_000);
+    when(conn.execute(argThat(RequestExpirationServiceTest::isCloseStatement), any(Tuple.class)))
+      .thenReturn(succeededFuture(expiredRequests(1)));
+    when(eventPublisher.publishUpdated(eq(conn), any(), any(), any())).thenReturn(
+      failedFuture(new NoStackTraceThrowable("Event could not be stored")));
+
+    service.doRequestExpiration().onComplete(ar -> {
+      context.verify(() -> {
+        Assertions.assertTrue(ar.failed());
+        verify(eventPublisher, never()).committed();
+        verify(eventPublisherService, never()).publishLogRecord(any(), any());
+      });
+      context.completeNow();
+    });
+  }
+
+  private RequestExpirationService service(int chunkSize, long timeBudgetMs) {
+    return new RequestExpirationService("itemId", Request::getItemId,
+      postgresClient, eventPublisherService, eventPublisher, chunkSize, timeBudgetMs);
+  }
+
+  private static boolean isCloseStatement(String sql) {
+    return sql != null && sql.startsWith("WITH expired");
+  }
+
   private Future<?> withTransHandler(InvocationOnMock inv) {
     var handler = inv.<Function<Conn, Future<?>>>getArgument(0);
     return handler.apply(conn);
   }
 
-  private static JsonObject getRequestJson(String id) {
+  private static LocalRowSet expiredRequests(int count) {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      rows.add(getExpiredRequestRowMock(UUID.randomUUID().toString()));
+    }
+    return new LocalRowSet(count).withRows(rows);
+  }
+
+  private static JsonObject getRequestJson(String id, String status) {
     return new JsonObject()
       .put("id", id)
       .put("itemId", "2baee507-b0c3-4dc9-b571-cd29d2c9e9e6")
       .put("requesterId", "83b1a7e9-7bb5-47d1-9c39-336545f17e80")
-      .put("status", "Open - Awaiting pickup")
+      .put("status", status)
       .put("metadata", new JsonObject()
         .put("createdDate", "2023-10-01T10:00:00Z")
         .put("createdByUserId", "83b1a7e9-7bb5-47d1-9c39-336545f17e80")
         .put("createdByUsername", "test_user"));
   }
 
-  private static Row getRequestRowSetMock(String id) {
+  private static Row getExpiredRequestRowMock(String id) {
     var rowMock = Mockito.mock(Row.class);
-    when(rowMock.getColumnIndex("jsonb")).thenReturn(1);
-    when(rowMock.get(JsonObject.class, 1)).thenReturn(getRequestJson(id));
+    when(rowMock.getValue("old_jsonb")).thenReturn(getRequestJson(id, "Open - Awaiting pickup"));
+    when(rowMock.getValue("new_jsonb")).thenReturn(getRequestJson(id, "Closed - Pickup expired"));
 
     return rowMock;
   }
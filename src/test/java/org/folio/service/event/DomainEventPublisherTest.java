@@ -0,0 +1,74 @@
+package org.folio.service.event;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.folio.kafka.KafkaProducerManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.kafka.client.producer.KafkaProducer;
+
+class DomainEventPublisherTest {
+
+  private static final String TOPIC = "folio.test_tenant.circulation.loan";
+  private static final Map<String, String> OKAPI_HEADERS = Map.of("x-okapi-tenant", "test_tenant");
+
+  private final KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
+  private final FailureHandler failureHandler = mock(FailureHandler.class);
+  @SuppressWarnings("unchecked")
+  private final KafkaProducer<String, String> producer = mock(KafkaProducer.class);
+
+  private DomainEventPublisher<String, String> publisher;
+
+  @BeforeEach
+  void setUp() {
+    when(producerManager.<String, String>createShared(anyString())).thenReturn(producer);
+    publisher = new DomainEventPublisher<>(TOPIC, producerManager, failureHandler);
+  }
+
+  @Test
+  void shouldReuseProducerAndNotCloseItAfterEachEvent() {
+    when(producer.send(any())).thenReturn(succeededFuture());
+
+    publisher.publish("key-1", event(), OKAPI_HEADERS);
+    publisher.publish("key-2", event(), OKAPI_HEADERS);
+
+    verify(producerManager, times(2)).createShared(eq(TOPIC));
+    verify(producer, times(2)).send(any());
+    verify(producer, never()).flush();
+    verify(producer, never()).close();
+  }
+
+  @Test
+  void shouldPassFailedRecordToFailureHandler() {
+    RuntimeException error = new RuntimeException("broker unavailable");
+    when(producer.send(any())).thenReturn(failedFuture(error));
+
+    publisher.publish("key-1", event(), OKAPI_HEADERS);
+
+    verify(failureHandler).handle(eq(error), any());
+    verify(producer, never()).close();
+  }
+
+  private static DomainEvent<String> event() {
+    return DomainEvent.<String>builder()
+      .id(UUID.randomUUID())
+      .type(DomainEventType.CREATED)
+      .tenant("test_tenant")
+      .timestamp(System.currentTimeMillis())
+      .data("data")
+      .build();
+  }
+}
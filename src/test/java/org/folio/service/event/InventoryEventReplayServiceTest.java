@@ -0,0 +1,133 @@
+package org.folio.service.event;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.folio.persist.InventoryEventDeadLetterRepository;
+import org.folio.persist.InventoryEventDeadLetterRepository.DeadLetter;
+import org.folio.rest.persist.Conn;
+import org.folio.service.event.InventoryEventReplayService.ReplayResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+class InventoryEventReplayServiceTest {
+
+  private static final String TENANT_ID = "replay_tenant";
+  private static final String EVENT_TYPE = "INVENTORY_ITEM_UPDATED";
+  private static final Map<String, String> OKAPI_HEADERS = Map.of(
+    "x-okapi-tenant", TENANT_ID,
+    "x-okapi-url", "http://okapi:9130",
+    "x-okapi-token", "request-token");
+
+  private final InventoryEventDeadLetterRepository repository =
+    mock(InventoryEventDeadLetterRepository.class);
+  private final Conn conn = mock(Conn.class);
+  private final List<KafkaConsumerRecord<String, String>> handledRecords = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    when(repository.withTrans(any())).thenAnswer(invocation ->
+      invocation.<Function<Conn, Future<?>>>getArgument(0).apply(conn));
+    when(repository.lock(any(), anyLong())).thenReturn(succeededFuture(true));
+    when(repository.delete(any(), any())).thenReturn(succeededFuture());
+    when(repository.updateError(any(), anyLong(), any())).thenReturn(succeededFuture());
+    when(repository.count()).thenReturn(succeededFuture(2L));
+  }
+
+  @Test
+  void recordsAreHandledByTheModuleWithTheTokenOfTheRequest() {
+    when(repository.getOldest(10)).thenReturn(succeededFuture(List.of(deadLetter(1L, "item1"))));
+
+    ReplayResult result = service(succeededFuture("item1")).replay(OKAPI_HEADERS, 10).result();
+
+    assertEquals(1, result.replayed());
+    assertEquals(2, result.remaining());
+    verify(repository).delete(conn, List.of(1L));
+    KafkaConsumerRecord<String, String> handledRecord = handledRecords.get(0);
+    assertEquals("item1", handledRecord.key());
+    assertEquals("{\"type\":\"UPDATE\"}", handledRecord.value());
+    assertEquals(TENANT_ID, header(handledRecord, "X-Okapi-Tenant"));
+    assertEquals("http://okapi:9130", header(handledRecord, "x-okapi-url"));
+    assertEquals("request-token", header(handledRecord, "x-okapi-token"));
+  }
+
+  @Test
+  void laterRecordsOfFailedKeyStayParked() {
+    when(repository.getOldest(10)).thenReturn(succeededFuture(List.of(
+      deadLetter(1L, "item1"), deadLetter(2L, "item1"), deadLetter(3L, "item2"))));
+
+    ReplayResult result = service(failedFuture("inventory unavailable"), succeededFuture("item2"))
+      .replay(OKAPI_HEADERS, 10).result();
+
+    assertEquals(1, result.replayed());
+    assertEquals(List.of("item1", "item2"), handledRecords.stream()
+      .map(KafkaConsumerRecord::key)
+      .toList());
+    verify(repository).updateError(eq(conn), eq(1L), any());
+    verify(repository, never()).delete(conn, List.of(1L));
+    verify(repository, never()).delete(conn, List.of(2L));
+    verify(repository).delete(conn, List.of(3L));
+  }
+
+  @Test
+  void recordLockedByAnotherReplayIsSkipped() {
+    when(repository.getOldest(10)).thenReturn(succeededFuture(List.of(deadLetter(1L, "item1"))));
+    when(repository.lock(conn, 1L)).thenReturn(succeededFuture(false));
+
+    ReplayResult result = service(succeededFuture("item1")).replay(OKAPI_HEADERS, 10).result();
+
+    assertEquals(0, result.replayed());
+    assertTrue(handledRecords.isEmpty());
+    verify(repository, never()).delete(any(), any());
+  }
+
+  @SafeVarargs
+  private InventoryEventReplayService service(Future<String>... handlerResults) {
+    List<Future<String>> results = new ArrayList<>(List.of(handlerResults));
+
+    return new InventoryEventReplayService(repository, eventType -> kafkaRecord -> {
+      assertEquals(EVENT_TYPE, eventType);
+      handledRecords.add(kafkaRecord);
+      return results.remove(0);
+    });
+  }
+
+  private static DeadLetter deadLetter(long id, String key) {
+    return new DeadLetter(id, EVENT_TYPE, "folio.replay_tenant.inventory.item", key,
+      "{\"type\":\"UPDATE\"}", new JsonArray()
+        .add(new JsonObject().put("key", "X-Okapi-Tenant").put("value", TENANT_ID))
+        .add(new JsonObject().put("key", "X-Okapi-Url").put("value", "http://old-okapi:9130")),
+      "inventory unavailable");
+  }
+
+  private static String header(KafkaConsumerRecord<String, String> kafkaRecord, String key) {
+    List<String> values = kafkaRecord.headers().stream()
+      .filter(header -> header.key().equalsIgnoreCase(key))
+      .map(KafkaHeader::value)
+      .map(Object::toString)
+      .toList();
+
+    assertEquals(1, values.size(), "header " + key);
+    return values.get(0);
+  }
+}
@@ -0,0 +1,126 @@
+package org.folio.service.event;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.service.event.OutboxRelayService.OUTBOX_RELAY_ADDRESS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.folio.persist.DomainEventOutboxRepository;
+import org.folio.persist.DomainEventOutboxRepository.OutboxEntry;
+import org.folio.rest.persist.Conn;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
+
+class OutboxEventPublisherTest {
+
+  private static final String TENANT_ID = "test_tenant";
+  private static final String TOPIC = "folio.test_tenant.circulation.loan";
+  private static final Map<String, String> OKAPI_HEADERS = Map.of("x-okapi-tenant", TENANT_ID);
+
+  private final Vertx vertx = mock(Vertx.class);
+  private final EventBus eventBus = mock(EventBus.class);
+  private final Conn conn = mock(Conn.class);
+  private final DomainEventOutboxRepository repository = mock(DomainEventOutboxRepository.class);
+
+  private OutboxEventPublisher<String, String> publisher;
+
+  @BeforeEach
+  void setUp() {
+    when(vertx.eventBus()).thenReturn(eventBus);
+    publisher = new OutboxEventPublisher<>(vertx, TOPIC, repository);
+  }
+
+  @Test
+  void shouldStoreEventInOutboxAndNotifyRelay() {
+    when(repository.save(any(OutboxEntry.class))).thenReturn(succeededFuture());
+    var event = event();
+
+    var result = publisher.publish("key-1", event, OKAPI_HEADERS);
+
+    var captor = ArgumentCaptor.forClass(OutboxEntry.class);
+    verify(repository).save(captor.capture());
+    var entry = captor.getValue();
+    assertTrue(result.succeeded());
+    assertEquals(TOPIC, entry.topic());
+    assertEquals("key-1", entry.key());
+    assertEquals(event.getId().toString(), new JsonObject(entry.payload()).getString("id"));
+    verify(eventBus).send(OUTBOX_RELAY_ADDRESS, TENANT_ID);
+  }
+
+  @Test
+  void shouldNotStoreOkapiToken() {
+    when(repository.save(any(OutboxEntry.class))).thenReturn(succeededFuture());
+
+    publisher.publish("key-1", event(), Map.of("x-okapi-tenant", TENANT_ID,
+      "x-okapi-token", "secret-token", "x-okapi-url", "http://okapi:9130"));
+
+    var captor = ArgumentCaptor.forClass(OutboxEntry.class);
+    verify(repository).save(captor.capture());
+    var headerKeys = captor.getValue().headers().stream()
+      .map(JsonObject.class::cast)
+      .map(header -> header.getString("key").toLowerCase())
+      .toList();
+    assertTrue(headerKeys.contains("x-okapi-tenant"));
+    assertFalse(headerKeys.contains("x-okapi-token"));
+  }
+
+  @Test
+  void shouldNotNotifyRelayBeforeTransactionIsCommitted() {
+    when(repository.save(eq(conn), any())).thenReturn(succeededFuture());
+
+    var result = publisher.publish(conn, "key-1", event(), OKAPI_HEADERS);
+
+    assertTrue(result.succeeded());
+    verify(repository).save(eq(conn), any());
+    verify(eventBus, never()).send(any(), any());
+
+    publisher.committed(OKAPI_HEADERS);
+
+    verify(eventBus).send(OUTBOX_RELAY_ADDRESS, TENANT_ID);
+  }
+
+  @Test
+  void shouldFailPublishWhenOutboxIsNotWritten() {
+    when(repository.save(any(OutboxEntry.class))).thenReturn(failedFuture("outbox unavailable"));
+
+    var result = publisher.publish("key-1", event(), OKAPI_HEADERS);
+
+    assertTrue(result.failed());
+    verify(eventBus, never()).send(any(), any());
+  }
+
+  @Test
+  void shouldFailTransactionalPublishWhenOutboxIsNotWritten() {
+    when(repository.save(eq(conn), any())).thenReturn(failedFuture("outbox unavailable"));
+
+    var result = publisher.publish(conn, "key-1", event(), OKAPI_HEADERS);
+
+    assertTrue(result.failed());
+  }
+
+  private static DomainEvent<String> event() {
+    return DomainEvent.<String>builder()
+      .id(UUID.randomUUID())
+      .type(DomainEventType.CREATED)
+      .tenant(TENANT_ID)
+      .timestamp(System.currentTimeMillis())
+      .data("data")
+      .build();
+  }
+}
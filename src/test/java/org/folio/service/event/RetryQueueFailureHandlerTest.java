@@ -0,0 +1,59 @@
+package org.folio.service.event;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.service.event.DomainEventRetryService.MAX_DELAY_MS;
+import static org.folio.service.event.DomainEventRetryService.QUEUED_METRIC;
+import static org.folio.service.event.DomainEventRetryService.backoffDelay;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.folio.persist.DomainEventOutboxRepository.OutboxEntry;
+import org.folio.persist.DomainEventRetryRepository;
+import org.folio.support.metrics.ModuleMetrics;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+
+class RetryQueueFailureHandlerTest {
+
+  private static final String TENANT_ID = "retry_tenant";
+  private static final String TOPIC = "folio.retry_tenant.circulation.rules";
+
+  private final DomainEventRetryRepository repository = mock(DomainEventRetryRepository.class);
+
+  @Test
+  void shouldStoreFailedRecordInRetryTable() {
+    when(repository.save(any(), anyString())).thenReturn(succeededFuture());
+    var producerRecord = KafkaProducerRecord.create(TOPIC, "key-1", "{\"id\":\"1\"}");
+    producerRecord.addHeader("x-okapi-tenant", TENANT_ID);
+    long queuedBefore = ModuleMetrics.counter(QUEUED_METRIC, "tenant", TENANT_ID).sum();
+
+    new RetryQueueFailureHandler(TENANT_ID, repository)
+      .handle(new RuntimeException("broker unavailable"), producerRecord);
+
+    var captor = ArgumentCaptor.forClass(OutboxEntry.class);
+    verify(repository).save(captor.capture(), anyString());
+    var entry = captor.getValue();
+    assertEquals(TOPIC, entry.topic());
+    assertEquals("key-1", entry.key());
+    assertEquals("{\"id\":\"1\"}", entry.payload());
+    assertEquals(TENANT_ID, ProducerRecords.toProducerRecord(entry).headers().get(0)
+      .value().toString());
+    assertEquals(queuedBefore + 1,
+      ModuleMetrics.counter(QUEUED_METRIC, "tenant", TENANT_ID).sum());
+  }
+
+  @Test
+  void backoffShouldDoubleUpToMaximum() {
+    assertEquals(30_000, backoffDelay(0));
+    assertEquals(60_000, backoffDelay(1));
+    assertEquals(120_000, backoffDelay(2));
+    assertEquals(MAX_DELAY_MS, backoffDelay(10));
+    assertEquals(MAX_DELAY_MS, backoffDelay(Integer.MAX_VALUE));
+  }
+}
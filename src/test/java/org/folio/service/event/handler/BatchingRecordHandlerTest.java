@@ -0,0 +1,160 @@
+package org.folio.service.event.handler;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.kafka.AsyncRecordHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+class BatchingRecordHandlerTest {
+
+  private static final String TENANT_ID = "test_tenant";
+
+  private final Vertx vertx = Vertx.vertx();
+  private final List<List<JsonObject>> batches = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void updatesOfTheSameEntityAreCoalescedIntoOneEvent() throws Exception {
+    var handler = new BatchingRecordHandler(vertx, 3, 60_000, (headers, payloads) -> {
+      batches.add(payloads);
+      return succeededFuture();
+    });
+
+    List<Future<String>> results = handleOnContext(handler, List.of(
+      record("item1", update("item1", "A", "B")),
+      record("item2", update("item2", "X", "Y")),
+      record("item1", update("item1", "B", "C"))));
+
+    awaitAll(results);
+    assertEquals(1, batches.size());
+    List<JsonObject> batch = batches.get(0);
+    assertEquals(2, batch.size());
+    assertEquals("A", batch.get(0).getJsonObject("old").getString("barcode"));
+    assertEquals("C", batch.get(0).getJsonObject("new").getString("barcode"));
+    assertEquals("X", batch.get(1).getJsonObject("old").getString("barcode"));
+    assertEquals("item1", results.get(2).result());
+  }
+
+  @Test
+  void sameKeyRecordsEndUpInOneBatchBehindTheConsumerHandlers() throws Exception {
+    var batchingHandler = new BatchingRecordHandler(vertx, 2, 60_000, (headers, payloads) -> {
+      batches.add(payloads);
+      return succeededFuture();
+    });
+    var handler = new DeadLetterRecordHandler("INVENTORY_ITEM_UPDATED", tenantId -> null,
+      new MeasuredRecordHandler("INVENTORY_ITEM_UPDATED", batchingHandler));
+
+    List<Future<String>> results = handleOnContext(handler, List.of(
+      record("item1", update("item1", "A", "B")),
+      record("item1", update("item1", "B", "C"))));
+
+    awaitAll(results);
+    assertEquals(1, batches.size());
+    assertEquals(1, batches.get(0).size());
+    assertEquals("A", batches.get(0).get(0).getJsonObject("old").getString("barcode"));
+    assertEquals("C", batches.get(0).get(0).getJsonObject("new").getString("barcode"));
+  }
+
+  @Test
+  void batchesOfTenantAreProcessedOneAfterAnother() throws Exception {
+    Promise<Void> firstBatch = Promise.promise();
+    var handler = new BatchingRecordHandler(vertx, 1, 60_000, (headers, payloads) -> {
+      batches.add(payloads);
+      return batches.size() == 1 ? firstBatch.future() : succeededFuture();
+    });
+
+    List<Future<String>> results = handleOnContext(handler, List.of(
+      record("item1", update("item1", "A", "B")),
+      record("item1", update("item1", "B", "C"))));
+
+    assertEquals(1, batches.size());
+    vertx.runOnContext(v -> firstBatch.complete());
+    awaitAll(results);
+    assertEquals(2, batches.size());
+    assertEquals("B", batches.get(1).get(0).getJsonObject("old").getString("barcode"));
+  }
+
+  @Test
+  void batchIsProcessedWhenWindowHasPassed() throws Exception {
+    var handler = new BatchingRecordHandler(vertx, 100, 10, (headers, payloads) -> {
+      batches.add(payloads);
+      return succeededFuture();
+    });
+
+    List<Future<String>> results = handleOnContext(handler,
+      List.of(record("item1", update("item1", "A", "B"))));
+
+    awaitAll(results);
+    assertEquals(1, batches.size());
+    assertEquals(1, batches.get(0).size());
+  }
+
+  @Test
+  void allRecordsOfBatchFailWhenBatchFails() throws Exception {
+    var handler = new BatchingRecordHandler(vertx, 2, 60_000,
+      (headers, payloads) -> failedFuture("database unavailable"));
+
+    List<Future<String>> results = handleOnContext(handler, List.of(
+      record("item1", update("item1", "A", "B")),
+      record("item2", update("item2", "X", "Y"))));
+
+    Future.join(results).toCompletionStage().toCompletableFuture()
+      .handle((r, t) -> null)
+      .get(5, TimeUnit.SECONDS);
+    assertTrue(results.stream().allMatch(Future::failed));
+  }
+
+  private List<Future<String>> handleOnContext(AsyncRecordHandler<String, String> handler,
+    List<KafkaConsumerRecord<String, String>> records) throws Exception {
+
+    Promise<List<Future<String>>> handled = Promise.promise();
+    vertx.runOnContext(v -> handled.complete(records.stream()
+      .map(handler::handle)
+      .toList()));
+
+    return handled.future().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+  }
+
+  private static void awaitAll(List<Future<String>> results) throws Exception {
+    Future.all(results).toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static KafkaConsumerRecord<String, String> record(String key, JsonObject payload) {
+    KafkaConsumerRecord<String, String> kafkaRecord = mock(KafkaConsumerRecord.class);
+    when(kafkaRecord.key()).thenReturn(key);
+    when(kafkaRecord.value()).thenReturn(payload.encode());
+    when(kafkaRecord.headers()).thenReturn(
+      List.of(KafkaHeader.header("x-okapi-tenant", TENANT_ID)));
+    return kafkaRecord;
+  }
+
+  private static JsonObject update(String id, String oldBarcode, String newBarcode) {
+    return new JsonObject()
+      .put("type", "UPDATE")
+      .put("tenant", TENANT_ID)
+      .put("old", new JsonObject().put("id", id).put("barcode", oldBarcode))
+      .put("new", new JsonObject().put("id", id).put("barcode", newBarcode));
+  }
+}
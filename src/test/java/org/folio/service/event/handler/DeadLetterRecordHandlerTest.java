@@ -0,0 +1,121 @@
+package org.folio.service.event.handler;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.service.event.handler.DeadLetterRecordHandler.PARKED_METRIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.folio.persist.InventoryEventDeadLetterRepository;
+import org.folio.persist.InventoryEventDeadLetterRepository.DeadLetter;
+import org.folio.support.metrics.ModuleMetrics;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+class DeadLetterRecordHandlerTest {
+
+  private static final String TENANT_ID = "dead_letter_tenant";
+  private static final String EVENT_TYPE = "INVENTORY_ITEM_UPDATED";
+  private static final String TOPIC = "folio.dead_letter_tenant.inventory.item";
+
+  private final InventoryEventDeadLetterRepository repository =
+    mock(InventoryEventDeadLetterRepository.class);
+
+  @Test
+  void failedRecordIsParkedAndAcknowledged() {
+    when(repository.save(any())).thenReturn(succeededFuture());
+    long parkedBefore = parkedCount();
+
+    Future<String> result = handler(failedFuture("inventory unavailable"))
+      .handle(record(List.of(KafkaHeader.header("X-Okapi-Tenant", TENANT_ID))));
+
+    assertTrue(result.succeeded());
+    assertEquals("item1", result.result());
+    var captor = ArgumentCaptor.forClass(DeadLetter.class);
+    verify(repository).save(captor.capture());
+    DeadLetter deadLetter = captor.getValue();
+    assertEquals(EVENT_TYPE, deadLetter.eventType());
+    assertEquals(TOPIC, deadLetter.topic());
+    assertEquals("item1", deadLetter.key());
+    assertEquals("{\"type\":\"UPDATE\"}", deadLetter.payload());
+    assertEquals(new JsonObject().put("key", "X-Okapi-Tenant").put("value", TENANT_ID),
+      deadLetter.headers().getJsonObject(0));
+    assertTrue(deadLetter.error().contains("inventory unavailable"));
+    assertEquals(parkedBefore + 1, parkedCount());
+  }
+
+  @Test
+  void tokenIsNotParked() {
+    when(repository.save(any())).thenReturn(succeededFuture());
+
+    handler(failedFuture("inventory unavailable")).handle(record(List.of(
+      KafkaHeader.header("X-Okapi-Tenant", TENANT_ID),
+      KafkaHeader.header("X-Okapi-Token", "secret-token"))));
+
+    var captor = ArgumentCaptor.forClass(DeadLetter.class);
+    verify(repository).save(captor.capture());
+    assertEquals(1, captor.getValue().headers().size());
+    assertEquals("X-Okapi-Tenant", captor.getValue().headers().getJsonObject(0).getString("key"));
+  }
+
+  @Test
+  void recordIsNotParkedWhenHandled() {
+    Future<String> result = handler(succeededFuture("item1"))
+      .handle(record(List.of(KafkaHeader.header("X-Okapi-Tenant", TENANT_ID))));
+
+    assertTrue(result.succeeded());
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void failureIsPassedOnWhenRecordCannotBeParked() {
+    when(repository.save(any())).thenReturn(failedFuture("database unavailable"));
+
+    Future<String> result = handler(failedFuture("inventory unavailable"))
+      .handle(record(List.of(KafkaHeader.header("X-Okapi-Tenant", TENANT_ID))));
+
+    assertTrue(result.failed());
+    assertEquals("inventory unavailable", result.cause().getMessage());
+  }
+
+  @Test
+  void failureIsPassedOnWhenRecordHasNoTenant() {
+    Future<String> result = handler(failedFuture("inventory unavailable"))
+      .handle(record(List.of()));
+
+    assertTrue(result.failed());
+    verify(repository, never()).save(any());
+  }
+
+  private DeadLetterRecordHandler handler(Future<String> delegateResult) {
+    return new DeadLetterRecordHandler(EVENT_TYPE, tenantId -> repository,
+      kafkaRecord -> delegateResult);
+  }
+
+  private static long parkedCount() {
+    return ModuleMetrics.counter(PARKED_METRIC, "event_type", EVENT_TYPE, "tenant", TENANT_ID)
+      .sum();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static KafkaConsumerRecord<String, String> record(List<KafkaHeader> headers) {
+    KafkaConsumerRecord<String, String> kafkaRecord = mock(KafkaConsumerRecord.class);
+    when(kafkaRecord.topic()).thenReturn(TOPIC);
+    when(kafkaRecord.key()).thenReturn("item1");
+    when(kafkaRecord.value()).thenReturn("{\"type\":\"UPDATE\"}");
+    when(kafkaRecord.headers()).thenReturn(headers);
+    return kafkaRecord;
+  }
+}
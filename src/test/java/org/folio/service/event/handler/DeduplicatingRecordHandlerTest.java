@@ -0,0 +1,105 @@
+package org.folio.service.event.handler;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.folio.persist.InventoryEventProcessedRecordRepository;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+class DeduplicatingRecordHandlerTest {
+
+  private static final Duration WINDOW = Duration.ofMinutes(10);
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final ProcessedRecordCache processedRecords =
+    new ProcessedRecordCache(WINDOW, 1000, nanos::get);
+  private final List<Long> handledOffsets = new ArrayList<>();
+  private Future<String> delegateResult = succeededFuture("item1");
+
+  private final DeduplicatingRecordHandler handler = new DeduplicatingRecordHandler(
+    "INVENTORY_ITEM_UPDATED", processedRecords, kafkaRecord -> {
+      handledOffsets.add(kafkaRecord.offset());
+      return delegateResult;
+    });
+
+  @Test
+  void redeliveredRecordIsSkipped() {
+    handler.handle(record(1));
+    Future<String> redelivered = handler.handle(record(1));
+
+    assertTrue(redelivered.succeeded());
+    assertEquals(List.of(1L), handledOffsets);
+  }
+
+  @Test
+  void recordsWithDifferentOffsetsAreHandled() {
+    handler.handle(record(1));
+    handler.handle(record(2));
+
+    assertEquals(List.of(1L, 2L), handledOffsets);
+  }
+
+  @Test
+  void recordIsHandledAgainAfterDedupWindow() {
+    handler.handle(record(1));
+    nanos.addAndGet(WINDOW.toNanos() + 1);
+    handler.handle(record(1));
+
+    assertEquals(List.of(1L, 1L), handledOffsets);
+  }
+
+  @Test
+  void failedRecordIsNotRemembered() {
+    delegateResult = Future.failedFuture("database unavailable");
+    handler.handle(record(1));
+    delegateResult = succeededFuture("item1");
+    handler.handle(record(1));
+
+    assertEquals(List.of(1L, 1L), handledOffsets);
+  }
+
+  @Test
+  void recordProcessedByAnotherInstanceIsSkipped() {
+    var repository = mock(InventoryEventProcessedRecordRepository.class);
+    when(repository.isProcessed(anyString(), anyLong())).thenReturn(succeededFuture(true));
+    var persistentHandler = new DeduplicatingRecordHandler("INVENTORY_ITEM_UPDATED",
+      processedRecords, tenantId -> repository, kafkaRecord -> {
+        handledOffsets.add(kafkaRecord.offset());
+        return delegateResult;
+      });
+
+    Future<String> result = persistentHandler.handle(record(1));
+
+    assertTrue(result.succeeded());
+    assertTrue(handledOffsets.isEmpty());
+    verify(repository, never()).markProcessed(anyString());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static KafkaConsumerRecord<String, String> record(long offset) {
+    KafkaConsumerRecord<String, String> kafkaRecord = mock(KafkaConsumerRecord.class);
+    when(kafkaRecord.topic()).thenReturn("folio.diku.inventory.item");
+    when(kafkaRecord.partition()).thenReturn(0);
+    when(kafkaRecord.offset()).thenReturn(offset);
+    when(kafkaRecord.timestamp()).thenReturn(1_700_000_000_000L);
+    when(kafkaRecord.key()).thenReturn("item1");
+    when(kafkaRecord.headers()).thenReturn(List.of(KafkaHeader.header("x-okapi-tenant", "diku")));
+    return kafkaRecord;
+  }
+}
@@ -0,0 +1,75 @@
+package org.folio.service.event.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+class KeyOrderedRecordHandlerTest {
+
+  private final List<String> handledValues = new ArrayList<>();
+  private final Map<String, Promise<String>> results = new HashMap<>();
+
+  private final KeyOrderedRecordHandler handler = new KeyOrderedRecordHandler(kafkaRecord -> {
+    handledValues.add(kafkaRecord.value());
+    Promise<String> result = Promise.promise();
+    results.put(kafkaRecord.value(), result);
+    return result.future();
+  });
+
+  @Test
+  void recordWithSameKeyIsHandledAfterPreviousOne() {
+    Future<String> first = handler.handle(record("item1", "first"));
+    Future<String> second = handler.handle(record("item1", "second"));
+
+    assertEquals(List.of("first"), handledValues);
+
+    results.get("first").complete("item1");
+
+    assertTrue(first.succeeded());
+    assertEquals(List.of("first", "second"), handledValues);
+
+    results.get("second").complete("item1");
+
+    assertTrue(second.succeeded());
+  }
+
+  @Test
+  void recordWithSameKeyIsHandledAfterPreviousOneFailed() {
+    Future<String> first = handler.handle(record("item1", "first"));
+    handler.handle(record("item1", "second"));
+
+    results.get("first").fail("failure");
+
+    assertTrue(first.failed());
+    assertEquals(List.of("first", "second"), handledValues);
+  }
+
+  @Test
+  void recordsWithDifferentKeysAreHandledConcurrently() {
+    handler.handle(record("item1", "first"));
+    handler.handle(record("item2", "second"));
+    handler.handle(record(null, "third"));
+
+    assertEquals(List.of("first", "second", "third"), handledValues);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static KafkaConsumerRecord<String, String> record(String key, String value) {
+    KafkaConsumerRecord<String, String> kafkaRecord = mock(KafkaConsumerRecord.class);
+    when(kafkaRecord.key()).thenReturn(key);
+    when(kafkaRecord.value()).thenReturn(value);
+    return kafkaRecord;
+  }
+}
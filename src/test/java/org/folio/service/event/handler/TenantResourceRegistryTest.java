@@ -0,0 +1,144 @@
+package org.folio.service.event.handler;
+
+import static org.folio.kafka.KafkaHeaderUtils.kafkaHeadersToMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.commons.collections4.map.CaseInsensitiveMap;
+import org.folio.rest.client.InventoryStorageClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+class TenantResourceRegistryTest {
+
+  private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+  private static final int RECORD_COUNT = 20_000;
+
+  private final Vertx vertx = Vertx.vertx();
+  private final AtomicLong nanos = new AtomicLong();
+  private Object lastResource;
+
+  @AfterEach
+  void tearDown() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void resourcesAreReusedForRecordsOfTheSameTenant() {
+    var registry = registry(headers -> new Object());
+
+    Object first = registry.get(headers("tenant1", "token1"));
+
+    assertSame(first, registry.get(headers("tenant1", "token1")));
+    assertNotSame(first, registry.get(headers("tenant2", "token1")));
+  }
+
+  @Test
+  void resourcesAreReusedWithTheTokenOfTheLatestRecord() {
+    var registry = registry(headers -> headers);
+
+    Map<String, String> first = registry.get(headers("tenant1", "token1"));
+    Map<String, String> second = registry.get(headers("tenant1", "token2"));
+
+    assertSame(first, second);
+    assertEquals("token2", second.get("x-okapi-token"));
+    assertEquals(1, registry.size());
+  }
+
+  @Test
+  void resourcesAreSharedByRecordsAndBatchesOfTheSameTenant() {
+    var registry = registry(headers -> headers);
+
+    Map<String, String> first = registry.get(headers("tenant1", "token1"));
+    Map<String, String> batchResources = registry.get(Map.of("X-Okapi-Tenant", "tenant1",
+      "X-Okapi-Url", "http://okapi:9130", "X-Okapi-Token", "token2"));
+
+    assertSame(first, batchResources);
+    assertEquals("token2", batchResources.get("x-okapi-token"));
+    assertEquals(1, registry.size());
+  }
+
+  @Test
+  void resourcesOfIdleTenantsAreEvicted() {
+    var registry = registry(headers -> new Object());
+    registry.get(headers("tenant1", "token1"));
+    nanos.addAndGet(IDLE_TIMEOUT.toNanos() / 2);
+    registry.get(headers("tenant2", "token1"));
+
+    nanos.addAndGet(IDLE_TIMEOUT.toNanos() / 2 + 1);
+
+    assertEquals(1, registry.size());
+  }
+
+  /**
+   * Allocation benchmark: compares the bytes allocated per record when the headers map and
+   * the client are built for every record with the bytes allocated for a registry lookup.
+   */
+  @Test
+  void registryAllocatesLessPerRecordThanBuildingResourcesForEveryRecord() {
+    List<KafkaHeader> headers = headers("tenant1", "token1");
+    Function<Map<String, String>, InventoryStorageClient> factory =
+      okapiHeaders -> new InventoryStorageClient(vertx, okapiHeaders);
+    var registry = registry(factory);
+
+    // warm-up of both paths
+    buildPerRecord(headers, factory);
+    lookUpInRegistry(headers, registry);
+
+    long bytesPerRecordWithoutRegistry = buildPerRecord(headers, factory) / RECORD_COUNT;
+    long bytesPerRecordWithRegistry = lookUpInRegistry(headers, registry) / RECORD_COUNT;
+
+    assertTrue(bytesPerRecordWithRegistry * 2 < bytesPerRecordWithoutRegistry,
+      "allocated bytes per record with registry: " + bytesPerRecordWithRegistry +
+        ", without registry: " + bytesPerRecordWithoutRegistry);
+  }
+
+  private long buildPerRecord(List<KafkaHeader> headers,
+    Function<Map<String, String>, InventoryStorageClient> factory) {
+
+    long allocatedBefore = allocatedBytes();
+    for (int i = 0; i < RECORD_COUNT; i++) {
+      lastResource = factory.apply(new CaseInsensitiveMap<>(kafkaHeadersToMap(headers)));
+    }
+    return allocatedBytes() - allocatedBefore;
+  }
+
+  private long lookUpInRegistry(List<KafkaHeader> headers,
+    TenantResourceRegistry<InventoryStorageClient> registry) {
+
+    long allocatedBefore = allocatedBytes();
+    for (int i = 0; i < RECORD_COUNT; i++) {
+      lastResource = registry.get(headers);
+    }
+    return allocatedBytes() - allocatedBefore;
+  }
+
+  private static long allocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+      .getCurrentThreadAllocatedBytes();
+  }
+
+  private <R> TenantResourceRegistry<R> registry(Function<Map<String, String>, R> factory) {
+    return new TenantResourceRegistry<>(factory, IDLE_TIMEOUT, nanos::get);
+  }
+
+  private static List<KafkaHeader> headers(String tenantId, String token) {
+    return List.of(
+      KafkaHeader.header("x-okapi-tenant", tenantId),
+      KafkaHeader.header("x-okapi-url", "http://okapi:9130"),
+      KafkaHeader.header("x-okapi-token", token));
+  }
+}
@@ -1,23 +1,117 @@
 package org.folio.service.event.handler.processor;
 
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.service.event.handler.processor.EventProcessor.CHANGES_METRIC;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.Set;
+
+import org.folio.persist.RequestRepository;
 import org.folio.rest.client.InventoryStorageClient;
 import org.folio.rest.jaxrs.model.Location;
+import org.folio.rest.jaxrs.model.Request;
+import org.folio.rest.jaxrs.model.SearchIndex;
 import org.folio.rest.jaxrs.model.Servicepoint;
+import org.folio.rest.persist.Criteria.Criterion;
+import org.folio.support.metrics.ModuleMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
 class ItemUpdateProcessorForRequestTest {
 
   private static final String TENANT = "test_tenant";
 
+  private RequestRepository requestRepository;
+  private InventoryStorageClient inventoryStorageClient;
+  private ItemUpdateProcessorForRequest processor;
+
   @BeforeEach
   void setUp() {
     InventoryStorageClient.invalidateAllLocations();
     InventoryStorageClient.invalidateAllServicePoints();
+    requestRepository = Mockito.mock(RequestRepository.class);
+    inventoryStorageClient = Mockito.mock(InventoryStorageClient.class);
+    processor = new ItemUpdateProcessorForRequest(requestRepository, inventoryStorageClient);
+  }
+
+  @Test
+  void testNoChangeAndNoLookupWhenOnlyIrrelevantPropertiesChange() {
+    JsonObject oldItem = item("loc1").put("barcode", "old-barcode").put("status",
+      new JsonObject().put("name", "Available"));
+    JsonObject newItem = oldItem.copy().put("barcode", "new-barcode").put("status",
+      new JsonObject().put("name", "Checked out"));
+    long noOpBefore = noOpEvents();
+
+    processor.run("item1", payload(oldItem, newItem));
+
+    verify(inventoryStorageClient, never()).getLocations(any());
+    verify(requestRepository, never()).get(any(Criterion.class));
+    assertEquals(noOpBefore + 1, noOpEvents());
+  }
+
+  @Test
+  void testLocationIsLookedUpWhenEffectiveLocationChanges() {
+    when(inventoryStorageClient.getLocations(any())).thenReturn(succeededFuture(List.of()));
+
+    List<?> changes = processor.collectRelevantChanges(payload(item("loc1"), item("loc2")))
+      .result();
+
+    assertEquals(1, changes.size());
+    verify(inventoryStorageClient).getLocations(List.of("loc2"));
+  }
+
+  @Test
+  void testLocationLookupFailureFailsEventWhenEffectiveLocationChanges() {
+    RuntimeException lookupFailure = new RuntimeException("inventory is unavailable");
+    when(inventoryStorageClient.getLocations(any())).thenReturn(failedFuture(lookupFailure));
+    JsonObject newItem = item("loc2").put("effectiveShelvingOrder", "A 2");
+
+    Future<?> changes = processor.collectRelevantChanges(payload(item("loc1"), newItem));
+
+    assertTrue(changes.failed());
+    assertEquals(lookupFailure, changes.cause());
+  }
+
+  @Test
+  void testOnlySearchIndexChangeWhenShelvingOrderChanges() {
+    JsonObject oldItem = item("loc1").put("effectiveShelvingOrder", "A 1");
+    JsonObject newItem = item("loc1").put("effectiveShelvingOrder", "A 2");
+
+    List<?> changes = processor.collectRelevantChanges(payload(oldItem, newItem)).result();
+
+    assertEquals(1, changes.size());
+    verify(inventoryStorageClient, never()).getLocations(any());
+  }
+
+  @Test
+  void testBatchReadsRequestsOfChangedItemsOnly() {
+    Request request = new Request().withItemId("item1").withSearchIndex(new SearchIndex());
+    when(requestRepository.getByPropertyValues(any(), any()))
+      .thenReturn(succeededFuture(List.of(request)));
+    when(requestRepository.update(anyList())).thenReturn(succeededFuture());
+    JsonObject changedItem = item("loc1").put("effectiveShelvingOrder", "A 1");
+    JsonObject unchangedItem = item("loc1").put("id", "item2");
+
+    processor.run(List.of(
+      payload(changedItem, changedItem.copy().put("effectiveShelvingOrder", "A 2")),
+      payload(unchangedItem, unchangedItem.copy().put("barcode", "new-barcode"))));
+
+    verify(requestRepository).getByPropertyValues("itemId", Set.of("item1"));
+    verify(requestRepository).update(List.of(request));
+    assertEquals("A 2", request.getSearchIndex().getShelvingOrder());
   }
 
   @Test
@@ -59,4 +153,24 @@ class ItemUpdateProcessorForRequestTest {
 
     assertEquals(sp, InventoryStorageClient.servicePointCache().getIfPresent(key));
   }
+
+  private static JsonObject item(String effectiveLocationId) {
+    return new JsonObject()
+      .put("id", "item1")
+      .put("effectiveLocationId", effectiveLocationId);
+  }
+
+  private static JsonObject payload(JsonObject oldItem, JsonObject newItem) {
+    return new JsonObject()
+      .put("tenant", TENANT)
+      .put("type", "UPDATE")
+      .put("old", oldItem)
+      .put("new", newItem);
+  }
+
+  private static long noOpEvents() {
+    return ModuleMetrics.counter(CHANGES_METRIC, "processor",
+      ItemUpdateProcessorForRequest.class.getSimpleName(), "tenant", TENANT, "result", "no_op")
+      .sum();
+  }
 }
@@ -47,7 +47,8 @@ class KafkaAdminClientServiceTest {
     "folio.foo-tenant.circulation.check-in",
     "folio.foo-tenant.circulation.rules",
     "folio.foo-tenant.circulation.circulation-settings",
-    "folio.foo-tenant.circulation.request-queue-reordering"
+    "folio.foo-tenant.circulation.request-queue-reordering",
+    "folio.foo-tenant.circulation.reference-data"
   );
 
   private KafkaAdminClient mockClient;
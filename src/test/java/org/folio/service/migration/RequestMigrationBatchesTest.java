@@ -0,0 +1,127 @@
+package org.folio.service.migration;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.service.migration.AbstractRequestMigrationService.BATCH_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.folio.rest.jaxrs.model.TenantAttributes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.SneakyThrows;
+
+class RequestMigrationBatchesTest {
+
+  private final Vertx vertx = Vertx.vertx();
+
+  @AfterEach
+  void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  @SneakyThrows
+  void migratesThousandsOfBatches() {
+    var migration = new BatchMigration(5_000, 1);
+
+    await(migration.migrateRequests(null));
+
+    assertEquals(5_000, migration.writtenBatches.size());
+    assertEquals(IntStream.range(0, 5_000).boxed().toList(), migration.writtenBatches);
+  }
+
+  @Test
+  @SneakyThrows
+  void writesBatchesInOrderWithConcurrency() {
+    var migration = new BatchMigration(50, 4);
+    migration.delayedPreparation = true;
+
+    await(migration.migrateRequests(null));
+
+    assertEquals(IntStream.range(0, 50).boxed().toList(), migration.writtenBatches);
+  }
+
+  @Test
+  void failedWriteStopsMigration() {
+    var migration = new BatchMigration(50, 3);
+    migration.failingBatch = 10;
+
+    Future<Void> result = migration.migrateRequests(null);
+
+    assertThrows(ExecutionException.class, () -> await(result));
+    assertEquals(IntStream.range(0, 10).boxed().toList(), migration.writtenBatches);
+  }
+
+  private static void await(Future<Void> future) throws Exception {
+    future.toCompletionStage().toCompletableFuture().get(60, TimeUnit.SECONDS);
+  }
+
+  private class BatchMigration extends AbstractRequestMigrationService<RequestMigrationContext> {
+    private final int numberOfBatches;
+    private final List<Integer> writtenBatches = new ArrayList<>();
+    private boolean delayedPreparation;
+    private int failingBatch = -1;
+
+    BatchMigration(int numberOfBatches, int concurrency) {
+      super(new TenantAttributes(), vertx.getOrCreateContext(),
+        Map.of("x-okapi-tenant", "migration_test_tenant"), "request", "1.0.0",
+        "batch migration", concurrency);
+      this.numberOfBatches = numberOfBatches;
+    }
+
+    @Override
+    public Future<Batch<RequestMigrationContext>> fetchRequests(
+      Batch<RequestMigrationContext> batch) {
+
+      int batchNumber = batch.getBatchNumber();
+      int size = batchNumber < numberOfBatches - 1 ? BATCH_SIZE : 1;
+      batch.setRequestMigrationContexts(IntStream.range(0, size)
+        .mapToObj(i -> buildContext(new JsonObject().put("id", batchNumber + "-" + i)))
+        .toList());
+
+      return succeededFuture(batch);
+    }
+
+    @Override
+    Future<Batch<RequestMigrationContext>> prepareBatch(Batch<RequestMigrationContext> batch) {
+      if (!delayedPreparation || batch.getBatchNumber() % 2 == 1) {
+        return succeededFuture(batch);
+      }
+
+      Promise<Batch<RequestMigrationContext>> prepared = Promise.promise();
+      vertx.setTimer(5, id -> prepared.complete(batch));
+      return prepared.future();
+    }
+
+    @Override
+    Future<Void> writeBatch(Batch<RequestMigrationContext> batch) {
+      if (batch.getBatchNumber() == failingBatch) {
+        return failedFuture("write failed");
+      }
+      writtenBatches.add(batch.getBatchNumber());
+      return succeededFuture();
+    }
+
+    @Override
+    void buildNewRequest(RequestMigrationContext context) {
+    }
+
+    @Override
+    RequestMigrationContext buildContext(JsonObject request) {
+      return new RequestMigrationContext(request);
+    }
+  }
+}
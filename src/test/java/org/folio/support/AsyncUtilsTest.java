@@ -1,13 +1,16 @@
 package org.folio.support;
 
 import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.folio.support.AsyncUtils.mapConcurrently;
 import static org.folio.support.AsyncUtils.mapSequentially;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -15,6 +18,7 @@ import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import lombok.SneakyThrows;
 
 class AsyncUtilsTest {
@@ -40,4 +44,55 @@ class AsyncUtilsTest {
     assertEquals(numbers, mappingResults);
     assertEquals(numbers, invocationResults);
   }
-}
\ No newline at end of file
+
+  @Test
+  @SneakyThrows
+  void mapConcurrentlyKeepsOrderOfElements() {
+    List<Integer> numbers = IntStream.range(0, 100)
+      .boxed()
+      .toList();
+
+    Function<Integer, Future<Integer>> mapper = number ->
+      Future.fromCompletionStage(supplyAsync(() -> number * 2));
+
+    List<Integer> results = mapConcurrently(numbers, 4, mapper)
+      .toCompletionStage()
+      .toCompletableFuture()
+      .get(5, TimeUnit.SECONDS);
+
+    assertEquals(numbers.stream().map(number -> number * 2).toList(), results);
+  }
+
+  @Test
+  void mapConcurrentlyLimitsFuturesInFlight() {
+    List<Promise<Integer>> inFlight = new ArrayList<>();
+    AtomicInteger maxInFlight = new AtomicInteger();
+
+    Future<List<Integer>> result = mapConcurrently(List.of(1, 2, 3, 4, 5), 2, number -> {
+      Promise<Integer> promise = Promise.promise();
+      inFlight.add(promise);
+      maxInFlight.accumulateAndGet(inFlight.stream()
+        .filter(p -> !p.future().isComplete())
+        .toList().size(), Math::max);
+      return promise.future();
+    });
+
+    assertEquals(2, inFlight.size());
+
+    for (int i = 0; i < 5; i++) {
+      inFlight.get(i).complete(i);
+    }
+
+    assertEquals(2, maxInFlight.get());
+    assertEquals(List.of(0, 1, 2, 3, 4), result.result());
+  }
+
+  @Test
+  void mapConcurrentlyFailsOnFirstFailure() {
+    Future<List<Integer>> result = mapConcurrently(List.of(1, 2, 3), 1,
+      number -> number == 2 ? Future.failedFuture("failure") : Future.succeededFuture(number));
+
+    assertTrue(result.failed());
+    assertEquals("failure", result.cause().getMessage());
+  }
+}
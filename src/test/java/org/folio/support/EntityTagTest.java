@@ -0,0 +1,39 @@
+package org.folio.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.folio.rest.jaxrs.model.CancellationReason;
+import org.junit.jupiter.api.Test;
+
+class EntityTagTest {
+
+  @Test
+  void tagDependsOnContentOnly() {
+    String etag = EntityTag.of(reason("Patron cancelled"));
+
+    assertEquals(etag, EntityTag.of(reason("Patron cancelled")));
+    assertNotEquals(etag, EntityTag.of(reason("Item not available")));
+  }
+
+  @Test
+  void ifNoneMatchIsComparedWithTag() {
+    String etag = EntityTag.of(reason("Patron cancelled"));
+
+    assertTrue(EntityTag.matches(etag, etag));
+    assertTrue(EntityTag.matches("W/" + etag, etag));
+    assertTrue(EntityTag.matches("\"other\", " + etag, etag));
+    assertTrue(EntityTag.matches("*", etag));
+    assertFalse(EntityTag.matches("\"other\"", etag));
+    assertFalse(EntityTag.matches(null, etag));
+  }
+
+  private static CancellationReason reason(String name) {
+    return new CancellationReason()
+      .withId("75187e8d-e25a-47a7-89ad-23ba612338de")
+      .withName(name);
+  }
+
+}
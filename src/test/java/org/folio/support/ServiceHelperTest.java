@@ -1,11 +1,14 @@
 package org.folio.support;
 
+import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -13,6 +16,7 @@ import static org.folio.rest.jaxrs.model.Request.Status.OPEN_IN_TRANSIT;
 import static org.folio.rest.jaxrs.model.Request.Status.OPEN_NOT_YET_FILLED;
 
 import java.util.UUID;
+import java.util.function.Function;
 
 import io.vertx.core.Future;
 import io.vertx.junit5.VertxExtension;
@@ -20,10 +24,13 @@ import io.vertx.junit5.VertxTestContext;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.invocation.InvocationOnMock;
 
 import org.folio.persist.AbstractRepository;
 import org.folio.persist.RequestRepository;
+import org.folio.persist.UpsertResult;
 import org.folio.rest.jaxrs.model.Request;
+import org.folio.rest.persist.Conn;
 import org.folio.service.event.EntityChangedEventPublisher;
 
 @ExtendWith(VertxExtension.class)
@@ -34,22 +41,26 @@ class ServiceHelperTest {
   private static final Request NEW_ENTITY = new Request().withId(ENTITY_ID).withStatus(OPEN_IN_TRANSIT);
 
   private final AbstractRepository<Request> repository = mock(RequestRepository.class);
+  private final Conn conn = mock(Conn.class);
   @SuppressWarnings("unchecked")
   private final EntityChangedEventPublisher<String, Request> eventPublisher = (EntityChangedEventPublisher<String, Request>) mock(EntityChangedEventPublisher.class);
   private final ServiceHelper<Request> serviceHelper = new ServiceHelper<>(repository, eventPublisher);
 
   @Test
   void shouldPublishCreatedEvent(VertxTestContext testContext) {
-    when(repository.getById(eq(ENTITY_ID))).thenReturn(succeededFuture());
-    when(repository.upsert(eq(ENTITY_ID), any())).thenReturn(succeededFuture(ENTITY_ID));
-    when(eventPublisher.publishCreated()).thenReturn(Future::succeededFuture);
+    when(repository.withTrans(any())).then(this::withTransHandler);
+    when(repository.upsertAndReturnOldAndNew(eq(conn), eq(ENTITY_ID), any()))
+      .thenReturn(succeededFuture(new UpsertResult<>(null, NEW_ENTITY)));
+    when(eventPublisher.publishUpserted(eq(conn), any(), any())).thenReturn(succeededFuture());
 
     serviceHelper.upsertAndPublishEvents(ENTITY_ID, NEW_ENTITY)
       .onComplete(ar -> {
         testContext.verify(() -> {
           assertTrue(ar.succeeded());
-          verify(repository).upsert(eq(ENTITY_ID), eq(NEW_ENTITY));
-          verify(eventPublisher).publishCreated();
+          verify(repository).upsertAndReturnOldAndNew(eq(conn), eq(ENTITY_ID), eq(NEW_ENTITY));
+          verify(eventPublisher).publishUpserted(eq(conn), eq(ENTITY_ID),
+            eq(new UpsertResult<>(null, NEW_ENTITY)));
+          verify(eventPublisher).committed();
         });
         testContext.completeNow();
       });
@@ -57,16 +68,37 @@ class ServiceHelperTest {
 
   @Test
   void shouldPushUpdatedEvent(VertxTestContext testContext) {
-    when(repository.getById(eq(ENTITY_ID))).thenReturn(succeededFuture(OLD_ENTITY));
-    when(repository.upsert(any(), any())).thenReturn(succeededFuture(ENTITY_ID));
-    when(eventPublisher.publishUpdated(any())).thenReturn(Future::succeededFuture);
+    when(repository.withTrans(any())).then(this::withTransHandler);
+    when(repository.upsertAndReturnOldAndNew(eq(conn), any(), any()))
+      .thenReturn(succeededFuture(new UpsertResult<>(OLD_ENTITY, NEW_ENTITY)));
+    when(eventPublisher.publishUpserted(eq(conn), any(), any())).thenReturn(succeededFuture());
 
     serviceHelper.upsertAndPublishEvents(ENTITY_ID, NEW_ENTITY)
       .onComplete(ar -> {
         testContext.verify(() -> {
           assertTrue(ar.succeeded());
-          verify(repository).upsert(eq(ENTITY_ID), eq(NEW_ENTITY));
-          verify(eventPublisher).publishUpdated(eq(OLD_ENTITY));
+          verify(repository).upsertAndReturnOldAndNew(eq(conn), eq(ENTITY_ID), eq(NEW_ENTITY));
+          verify(eventPublisher).publishUpserted(eq(conn), eq(ENTITY_ID),
+            eq(new UpsertResult<>(OLD_ENTITY, NEW_ENTITY)));
+          verify(eventPublisher).committed();
+        });
+        testContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldRespondWithBadRequestAndNotPublishEventWhenUpsertFails(VertxTestContext testContext) {
+    when(repository.withTrans(any())).then(this::withTransHandler);
+    when(repository.upsertAndReturnOldAndNew(eq(conn), any(), any()))
+      .thenReturn(failedFuture("constraint violation"));
+
+    serviceHelper.upsertAndPublishEvents(ENTITY_ID, NEW_ENTITY)
+      .onComplete(ar -> {
+        testContext.verify(() -> {
+          assertTrue(ar.succeeded());
+          assertEquals(400, ar.result().getStatus());
+          verify(eventPublisher, never()).publishUpserted(any(), any(), any());
+          verify(eventPublisher, never()).committed();
         });
         testContext.completeNow();
       });
@@ -90,4 +122,9 @@ class ServiceHelperTest {
     assertTrue(StringUtils.isEmpty(json));
   }
 
+  private Future<?> withTransHandler(InvocationOnMock inv) {
+    var handler = inv.<Function<Conn, Future<?>>>getArgument(0);
+    return handler.apply(conn);
+  }
+
 }
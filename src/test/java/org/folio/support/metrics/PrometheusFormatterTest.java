@@ -0,0 +1,51 @@
+package org.folio.support.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PrometheusFormatterTest {
+
+  @Test
+  void countersAreWrittenWithTypeAndLabels() {
+    ModuleMetrics.counter("formatter_test_events_total", "tenant", "diku", "result", "ok")
+      .add(3);
+
+    String output = PrometheusFormatter.format();
+
+    assertTrue(output.contains("# TYPE formatter_test_events_total counter\n"), output);
+    assertTrue(output.contains(
+      "formatter_test_events_total{result=\"ok\",tenant=\"diku\"} 3\n"), output);
+  }
+
+  @Test
+  void labelValuesAreEscaped() {
+    ModuleMetrics.gauge("formatter_test_lag", "topic", "a\"b\\c").set(7);
+
+    String output = PrometheusFormatter.format();
+
+    assertTrue(output.contains("formatter_test_lag{topic=\"a\\\"b\\\\c\"} 7\n"), output);
+  }
+
+  @Test
+  void histogramsAreWrittenWithCumulativeBuckets() {
+    Histogram histogram = ModuleMetrics.histogram("formatter_test_seconds", "event_type", "x");
+    histogram.observe(0.003);
+    histogram.observe(0.2);
+    histogram.observe(20);
+
+    String output = PrometheusFormatter.format();
+
+    assertTrue(output.contains("# TYPE formatter_test_seconds histogram\n"), output);
+    assertTrue(output.contains(
+      "formatter_test_seconds_bucket{event_type=\"x\",le=\"0.005\"} 1\n"), output);
+    assertTrue(output.contains(
+      "formatter_test_seconds_bucket{event_type=\"x\",le=\"0.25\"} 2\n"), output);
+    assertTrue(output.contains(
+      "formatter_test_seconds_bucket{event_type=\"x\",le=\"10.0\"} 2\n"), output);
+    assertTrue(output.contains(
+      "formatter_test_seconds_bucket{event_type=\"x\",le=\"+Inf\"} 3\n"), output);
+    assertTrue(output.contains("formatter_test_seconds_count{event_type=\"x\"} 3\n"), output);
+  }
+
+}